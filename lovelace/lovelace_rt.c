@@ -0,0 +1,17 @@
+/*
+ * lovelace_rt.c -- the I/O runtime as external functions, for LLVM IR
+ * generated with --target=llvm.
+ *
+ * Written next to every generated .ll file (unless --stdio is given) along
+ * with lovelace_rt.h, whose static functions it exports under the names the
+ * module declares:
+ *
+ *   clang -O2 prog.ll lovelace_rt.c -o prog
+ */
+#include "lovelace_rt.h"
+
+void lv__rt_print_float(double v) { lv__print_float(v); }
+
+void lv__rt_print_int(int v) { lv__print_int(v); }
+
+void lv__rt_read_float(float *dst) { lv__read_float(dst); }
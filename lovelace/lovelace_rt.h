@@ -0,0 +1,299 @@
+/*
+ * lovelace_rt.h -- I/O runtime for C generated by the Lovelace compiler.
+ *
+ * Written next to every generated .c file (unless --stdio is given) and
+ * included instead of <stdio.h>. It replaces printf("%f\n") / printf("%d\n")
+ * and scanf("%f") with:
+ *
+ *   - one large output buffer, flushed when full, before stdin is refilled
+ *     and at exit;
+ *   - number formatting that produces exactly the digits printf would
+ *     (round-half-even on the exact binary value), with snprintf as the
+ *     fallback for values it does not cover;
+ *   - a bulk stdin reader with a float fast path for short decimal tokens
+ *     and strtof for everything else, so results match scanf("%f").
+ *
+ * All names start with lv__, which Lovelace identifiers can never contain.
+ *
+ * A program built from modules has one buffer for all its translation
+ * units, or output from different units would come out of order: the
+ * program's unit defines LV__RT_PRINCIPAL and holds the buffers, each
+ * module's unit defines LV__RT_MODULO and refers to them.
+ */
+#ifndef LOVELACE_RT_H
+#define LOVELACE_RT_H
+
+#include <stdio.h>
+#include <stdlib.h>
+#include <string.h>
+#include <errno.h>
+#include <float.h>
+
+#if defined(__unix__) || defined(__APPLE__)
+#include <unistd.h>
+#define LV__READ(buf, n) ((long) read(0, (buf), (n)))
+#else
+#define LV__READ(buf, n) ((long) fread((buf), 1, (n), stdin))
+#endif
+
+#define LV__OUT_SIZE (1 << 16)
+#define LV__IN_SIZE  (1 << 16)
+#define LV__TOKEN_MAX 512
+
+#if defined(LV__RT_MODULO)
+#define LV__RT_DADO extern
+#elif defined(LV__RT_PRINCIPAL)
+#define LV__RT_DADO
+#else
+#define LV__RT_DADO static
+#endif
+
+/* Zero-initialised, so the same lines declare and define. */
+LV__RT_DADO char lv__out[LV__OUT_SIZE];
+LV__RT_DADO size_t lv__out_len;
+LV__RT_DADO int lv__registered;
+
+static inline void lv__flush(void) {
+    if (lv__out_len > 0) {
+        fwrite(lv__out, 1, lv__out_len, stdout);
+        lv__out_len = 0;
+    }
+    fflush(stdout);
+}
+
+/* Makes room for n more bytes (n <= 64) in the output buffer. */
+static inline char *lv__reserve(size_t n) {
+    if (!lv__registered) {
+        atexit(lv__flush);
+        lv__registered = 1;
+    }
+    if (lv__out_len + n > LV__OUT_SIZE) {
+        fwrite(lv__out, 1, lv__out_len, stdout);
+        lv__out_len = 0;
+    }
+    return lv__out + lv__out_len;
+}
+
+/* ------------------------------------------------------------------------ */
+/* Output                                                                   */
+/* ------------------------------------------------------------------------ */
+
+/* Writes the decimal digits of v at p, returns the number of bytes. */
+static inline size_t lv__utoa(char *p, unsigned long long v) {
+    char tmp[20];
+    size_t n = 0, i;
+    do {
+        tmp[n++] = (char) ('0' + v % 10);
+        v /= 10;
+    } while (v != 0);
+    for (i = 0; i < n; i++) p[i] = tmp[n - 1 - i];
+    return n;
+}
+
+/* printf("%d\n", v) */
+static inline void lv__print_int(int v) {
+    char *p = lv__reserve(16);
+    size_t n = 0;
+    unsigned long long u = (unsigned long long) (long long) v;
+    if (v < 0) {
+        p[n++] = '-';
+        u = 0ULL - u;
+    }
+    n += lv__utoa(p + n, u);
+    p[n++] = '\n';
+    lv__out_len += n;
+}
+
+/* printf("%f\n", v) */
+static inline void lv__print_float(double v) {
+#if defined(__SIZEOF_INT128__) && FLT_RADIX == 2 && DBL_MANT_DIG == 53 && DBL_MAX_EXP == 1024
+    unsigned long long bits;
+    int be;
+    memcpy(&bits, &v, sizeof bits);
+    be = (int) ((bits >> 52) & 0x7ff);
+    if (be < 1076) { /* |v| < 2^53: finite, and v * 10^6 fits in 128 bits */
+        /* |v| = m * 2^-k exactly, so |v| * 10^6 = m * 10^6 / 2^k. */
+        unsigned long long m = bits & ((1ULL << 52) - 1);
+        int k;
+        unsigned __int128 q;
+        unsigned frac;
+        char *p;
+        size_t n = 0;
+        int i;
+
+        if (be == 0) {
+            k = 1074;
+        } else {
+            m |= 1ULL << 52;
+            k = 1075 - be;
+        }
+        q = (unsigned __int128) m * 1000000u;
+        if (k >= 128) {
+            q = 0;
+        } else if (k > 0) {
+            unsigned __int128 r = q & (((unsigned __int128) 1 << k) - 1);
+            unsigned __int128 half = (unsigned __int128) 1 << (k - 1);
+            q >>= k;
+            if (r > half || (r == half && (q & 1))) q++;
+        }
+
+        p = lv__reserve(40);
+        if (bits >> 63) p[n++] = '-';
+        n += lv__utoa(p + n, (unsigned long long) (q / 1000000u));
+        frac = (unsigned) (q % 1000000u);
+        p[n++] = '.';
+        for (i = 5; i >= 0; i--) {
+            p[n + i] = (char) ('0' + frac % 10);
+            frac /= 10;
+        }
+        n += 6;
+        p[n++] = '\n';
+        lv__out_len += n;
+        return;
+    }
+#endif
+    {
+        /* Huge values, inf and nan: let the C library do it. */
+        char buf[400];
+        int len = snprintf(buf, sizeof buf, "%f\n", v);
+        int i = 0;
+        while (i < len) {
+            int chunk = len - i < 64 ? len - i : 64;
+            memcpy(lv__reserve((size_t) chunk), buf + i, (size_t) chunk);
+            lv__out_len += (size_t) chunk;
+            i += chunk;
+        }
+    }
+}
+
+/* ------------------------------------------------------------------------ */
+/* Input                                                                    */
+/* ------------------------------------------------------------------------ */
+
+LV__RT_DADO char lv__in[LV__IN_SIZE + 1];
+LV__RT_DADO size_t lv__in_pos;
+LV__RT_DADO size_t lv__in_len;
+LV__RT_DADO int lv__in_eof;
+
+/* Moves the unread bytes to the front and reads whatever is available.
+ * Output is flushed first so prompts appear before the program blocks. */
+static inline void lv__refill(void) {
+    long n;
+    if (lv__in_eof) return;
+    lv__flush();
+    if (lv__in_pos > 0) {
+        memmove(lv__in, lv__in + lv__in_pos, lv__in_len - lv__in_pos);
+        lv__in_len -= lv__in_pos;
+        lv__in_pos = 0;
+    }
+    if (lv__in_len == LV__IN_SIZE) return;
+    do {
+        n = LV__READ(lv__in + lv__in_len, LV__IN_SIZE - lv__in_len);
+    } while (n < 0 && errno == EINTR);
+    if (n <= 0) {
+        lv__in_eof = 1;
+    } else {
+        lv__in_len += (size_t) n;
+    }
+    lv__in[lv__in_len] = '\0';
+}
+
+static inline int lv__is_space(char c) {
+    return c == ' ' || c == '\n' || c == '\t' || c == '\r' || c == '\v' || c == '\f';
+}
+
+static inline int lv__is_digit(char c) {
+    return c >= '0' && c <= '9';
+}
+
+/* Exact float powers of ten; 10^10 = 2^10 * 5^10 and 5^10 < 2^24. */
+static const float lv__p10f[] = {
+    1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+};
+
+/* Parses [sign] digits [. digits] [e [sign] digits] at s. When the mantissa
+ * fits in 24 bits and the decimal exponent is at most 10 in magnitude, one
+ * float multiply or divide of two exact values is correctly rounded, so the
+ * result equals strtof's. Returns the length consumed, or 0 when the token
+ * needs strtof. */
+static inline size_t lv__parse_fast(const char *s, float *out) {
+    const char *p = s;
+    unsigned long w = 0;
+    int digits = 0, exp10 = 0, neg = 0;
+
+#if FLT_EVAL_METHOD != 0
+    return 0; /* excess precision would round twice */
+#endif
+    if (*p == '+' || *p == '-') neg = (*p++ == '-');
+    while (*p == '0') { p++; digits = 1; }
+    for (; lv__is_digit(*p); p++, digits++) {
+        if (w > (1UL << 24)) return 0;
+        w = w * 10 + (unsigned long) (*p - '0');
+    }
+    if (*p == '.') {
+        p++;
+        for (; lv__is_digit(*p); p++, digits++) {
+            if (w > (1UL << 24)) return 0;
+            w = w * 10 + (unsigned long) (*p - '0');
+            exp10--;
+        }
+    }
+    if (digits == 0 || w > (1UL << 24)) return 0;
+    if (*p == 'e' || *p == 'E') {
+        const char *q = p + 1;
+        int eneg = 0, e = 0, edigits = 0;
+        if (*q == '+' || *q == '-') eneg = (*q++ == '-');
+        for (; lv__is_digit(*q); q++, edigits++) {
+            if (e > 100) return 0;
+            e = e * 10 + (*q - '0');
+        }
+        if (edigits == 0) return 0;
+        exp10 += eneg ? -e : e;
+        p = q;
+    }
+    /* A trailing letter or '.' (hex, inf/nan, odd tokens) goes to strtof. */
+    if ((*p >= 'a' && *p <= 'z') || (*p >= 'A' && *p <= 'Z') || *p == '.') return 0;
+    if (exp10 < -10 || exp10 > 10) return 0;
+    {
+        float f = (float) w;
+        f = exp10 < 0 ? f / lv__p10f[-exp10] : f * lv__p10f[exp10];
+        *out = neg ? -f : f;
+    }
+    return (size_t) (p - s);
+}
+
+/* scanf("%f", dst): skips white space and reads one float. On failure or
+ * end of input *dst is left unchanged, as with scanf. */
+static inline void lv__read_float(float *dst) {
+    size_t end, used;
+    float v;
+    char *stop;
+
+    for (;;) {
+        while (lv__in_pos < lv__in_len && lv__is_space(lv__in[lv__in_pos])) lv__in_pos++;
+        if (lv__in_pos < lv__in_len || lv__in_eof) break;
+        lv__refill();
+    }
+    if (lv__in_pos >= lv__in_len) return;
+
+    /* Make sure the whole token is buffered (up to LV__TOKEN_MAX bytes). */
+    end = lv__in_pos;
+    for (;;) {
+        while (end < lv__in_len && !lv__is_space(lv__in[end])) end++;
+        if (end < lv__in_len || lv__in_eof || end - lv__in_pos >= LV__TOKEN_MAX) break;
+        end -= lv__in_pos;
+        lv__refill();
+        end += lv__in_pos;
+    }
+
+    used = lv__parse_fast(lv__in + lv__in_pos, &v);
+    if (used == 0) {
+        v = strtof(lv__in + lv__in_pos, &stop);
+        used = (size_t) (stop - (lv__in + lv__in_pos));
+        if (used == 0) return;
+    }
+    lv__in_pos += used;
+    *dst = v;
+}
+
+#endif
@@ -3,8 +3,11 @@
 #
 # Usage:
 #   ./scripts/ast_diagram.sh <file.lov> [--format text|dot|png|svg]
+#                            [--max-depth N] [--collapse N]
 #
 # Default format is "text" (prints ASCII tree to terminal).
+# --max-depth cuts the tree below level N; --collapse shows only the first
+# N entries of every list. Both keep diagrams of huge programs renderable.
 
 SCRIPT_DIR="$( cd "$( dirname "${BASH_SOURCE[0]}" )" && pwd )"
 PROJECT_ROOT="$( cd "$SCRIPT_DIR/.." && pwd )"
@@ -16,6 +19,7 @@ cd "$PROJECT_ROOT"
 # ---------------------------------------------------------------------------
 FILE=""
 FORMAT="text"
+LIMITS=()
 
 while [[ $# -gt 0 ]]; do
     case "$1" in
@@ -23,6 +27,10 @@ while [[ $# -gt 0 ]]; do
             FORMAT="$2"
             shift 2
             ;;
+        --max-depth|--collapse)
+            LIMITS+=("$1=$2")
+            shift 2
+            ;;
         *)
             FILE="$1"
             shift
@@ -31,7 +39,7 @@ while [[ $# -gt 0 ]]; do
 done
 
 if [ -z "$FILE" ]; then
-    echo "Usage: ./scripts/ast_diagram.sh <file.lov> [--format text|dot|png|svg]"
+    echo "Usage: ./scripts/ast_diagram.sh <file.lov> [--format text|dot|png|svg] [--max-depth N] [--collapse N]"
     exit 1
 fi
 
@@ -57,7 +65,7 @@ fi
 # Text mode: just print to terminal
 # ---------------------------------------------------------------------------
 if [ "$FORMAT" = "text" ]; then
-    java lovelace.LovelaceASTDiagram "$FILE"
+    java lovelace.LovelaceASTDiagram "$FILE" "${LIMITS[@]}"
     exit $?
 fi
 
@@ -68,7 +76,7 @@ BASE=$(basename "$FILE" .lov)
 DIR=$(dirname "$FILE")
 DOT_FILE="${DIR}/${BASE}_ast.dot"
 
-java lovelace.LovelaceASTDiagram "$FILE" --dot > "$DOT_FILE"
+java lovelace.LovelaceASTDiagram "$FILE" --dot "${LIMITS[@]}" > "$DOT_FILE"
 if [ $? -ne 0 ]; then
     echo "Error: Failed to generate AST."
     rm -f "$DOT_FILE"
@@ -0,0 +1,467 @@
+#!/bin/bash
+# bench.sh -- Benchmarks for the Lovelace toolchain.
+#
+# Usage:
+#   ./scripts/bench.sh [SUITE] [SIZE]
+#
+# Suites:
+#   cache      Parse vs. .lovast load on a generated program with SIZE functions
+#   dispatch   instanceof cascade vs. visitor dispatch over the same program
+#   io         I/O runtime vs. --stdio on a program echoing SIZE numbers
+#   pgo        Plain vs. profile-guided build of test/bench/pgo.lov, trained on
+#              SIZE/100 iterations and timed on SIZE
+#   memo       Plain vs. --memo build of test/bench/memo.lov for n = 4..SIZE
+#   narrow     Plain vs. --narrow build of test/bench/narrow.lov, SIZE passes
+#   parallel   Plain vs. --parallel build of test/bench/parallel.lov over SIZE
+#              terms, on 1 thread and on every CPU
+#   runtime    Native builds of test/bench/runtime/*.lov, each run SIZE times;
+#              checks outputs, records medians, flags regressions
+#
+# Default suite is "cache"; default SIZE is 2000 (1000000 for io, 16000000
+# for pgo -- loop counters are floats, so keep it below 2^24 -- 28 for memo,
+# 10 for narrow, 4000000 for parallel and 5 for runtime).
+
+SCRIPT_DIR="$( cd "$( dirname "${BASH_SOURCE[0]}" )" && pwd )"
+PROJECT_ROOT="$( cd "$SCRIPT_DIR/.." && pwd )"
+
+cd "$PROJECT_ROOT"
+
+SUITE="${1:-cache}"
+SIZE="${2:-}"
+
+# ---------------------------------------------------------------------------
+# Auto-build if needed
+# ---------------------------------------------------------------------------
+if [ ! -d "lovelace" ] || [ ! -f "lovelace/Lovelace.class" ]; then
+    echo "Classes not found. Building automatically..."
+    bash "${SCRIPT_DIR}/build.sh" -q
+    if [ $? -ne 0 ]; then
+        echo "Error: Auto-build failed. Please run ./scripts/build.sh manually."
+        exit 1
+    fi
+    echo ""
+fi
+
+WORK_DIR=$(mktemp -d "${TMPDIR:-/tmp}/lovelace-bench.XXXXXX")
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+# Compile the Java benchmark harnesses in test/bench against the build.
+compile_harness() {
+    javac -cp . -d "$WORK_DIR" test/bench/*.java
+    if [ $? -ne 0 ]; then
+        echo "Error: Failed to compile benchmark harnesses."
+        exit 1
+    fi
+}
+
+# ---------------------------------------------------------------------------
+# generate_program N -- write a valid program with N functions to stdout
+# ---------------------------------------------------------------------------
+generate_program() {
+    awk -v n="$1" 'BEGIN {
+        print "main ()"
+        print "begin"
+        print "  let Float acc;"
+        print "  acc := 0.0;"
+        for (i = 0; i < n; i++)
+            printf "  acc := (acc + f%d(acc, 1.5));\n", i
+        print "  print acc;"
+        print "end"
+        for (i = 0; i < n; i++) {
+            printf "def Float f%d(Float a, Float b)\n", i
+            print "begin"
+            print "  let Float x;"
+            print "  let Bool ok;"
+            print "  x := ((a * b) + (a / (b - 0.5)));"
+            print "  ok := ((x > 10.0) && (a < 1.0E5));"
+            print "  while (x > 100.0) begin"
+            print "    x := (x / 2.0);"
+            print "  end;"
+            print "  if ok begin"
+            print "    x := (x - 1.0);"
+            print "  end;"
+            print "  return x;"
+            print "end"
+        }
+    }'
+}
+
+# ---------------------------------------------------------------------------
+# Suites
+# ---------------------------------------------------------------------------
+bench_cache() {
+    local SRC="$WORK_DIR/large.lov"
+    SIZE="${SIZE:-2000}"
+    generate_program "$SIZE" > "$SRC"
+
+    echo "=========================================="
+    echo "AST cache: parse vs. load (${SIZE} functions)"
+    echo "=========================================="
+    echo ""
+    compile_harness
+    java -cp ".:$WORK_DIR" CacheBench "$SRC"
+}
+
+bench_dispatch() {
+    local SRC="$WORK_DIR/large.lov"
+    SIZE="${SIZE:-2000}"
+    generate_program "$SIZE" > "$SRC"
+
+    echo "=========================================="
+    echo "AST dispatch: instanceof vs. visitor (${SIZE} functions)"
+    echo "=========================================="
+    echo ""
+    compile_harness
+    java -cp ".:$WORK_DIR" DispatchBench "$SRC"
+}
+
+# best_of N CMD... -- prints the fastest of N wall-clock runs in ms
+best_of() {
+    local n="$1" best="" i start end ms
+    shift
+    for ((i = 0; i < n; i++)); do
+        start=$(date +%s%N)
+        "$@"
+        end=$(date +%s%N)
+        ms=$(( (end - start) / 1000000 ))
+        if [ -z "$best" ] || (( ms < best )); then best=$ms; fi
+    done
+    echo "$best"
+}
+
+bench_io() {
+    SIZE="${SIZE:-1000000}"
+    mkdir -p "$WORK_DIR/rt" "$WORK_DIR/stdio"
+    local PROG="$WORK_DIR/echo.lov"
+    cat > "$PROG" <<'LOV'
+main ()
+begin
+  let Float n;
+  let Float i;
+  let Float x;
+  let Float s;
+  n := read();
+  i := 0.0;
+  s := 0.0;
+  while (i < n) begin
+    x := read();
+    s := (s + x);
+    print x;
+    print (x * 0.5);
+    print (x > s);
+    i := (i + 1.0);
+  end;
+  print s;
+end
+LOV
+    awk -v n="$SIZE" 'BEGIN {
+        srand(42)
+        print n
+        for (i = 0; i < n; i++) printf "%.3f\n", (rand() - 0.5) * 2000
+    }' > "$WORK_DIR/input.txt"
+
+    echo "=========================================="
+    echo "I/O runtime vs. stdio (${SIZE} numbers in, $((SIZE * 3)) lines out)"
+    echo "=========================================="
+    echo ""
+
+    cp "$PROG" "$WORK_DIR/rt/echo.lov"
+    cp "$PROG" "$WORK_DIR/stdio/echo.lov"
+    export LOVELACE_CACHE_DIR="$WORK_DIR/cache"
+    if ! java lovelace.LovelaceCompiler --native "$WORK_DIR/rt/echo.lov" > /dev/null \
+            || ! java lovelace.LovelaceCompiler --native --stdio "$WORK_DIR/stdio/echo.lov" > /dev/null; then
+        echo "Error: native build failed."
+        exit 1
+    fi
+
+    "$WORK_DIR/rt/echo" < "$WORK_DIR/input.txt" > "$WORK_DIR/rt.out"
+    "$WORK_DIR/stdio/echo" < "$WORK_DIR/input.txt" > "$WORK_DIR/stdio.out"
+    if ! cmp -s "$WORK_DIR/rt.out" "$WORK_DIR/stdio.out"; then
+        echo "Error: runtime and stdio outputs differ."
+        exit 1
+    fi
+
+    local T_STDIO T_RT
+    T_STDIO=$(best_of 3 sh -c "'$WORK_DIR/stdio/echo' < '$WORK_DIR/input.txt' > /dev/null")
+    T_RT=$(best_of 3 sh -c "'$WORK_DIR/rt/echo' < '$WORK_DIR/input.txt' > /dev/null")
+    printf "stdio:    %6d ms\n" "$T_STDIO"
+    printf "runtime:  %6d ms\n" "$T_RT"
+    if (( T_RT > 0 )); then
+        awk -v a="$T_STDIO" -v b="$T_RT" 'BEGIN { printf "speedup:  %.1fx (outputs identical)\n", a / b }'
+    fi
+}
+
+bench_pgo() {
+    SIZE="${SIZE:-16000000}"
+    mkdir -p "$WORK_DIR/plain" "$WORK_DIR/pgo"
+    cp test/bench/pgo.lov "$WORK_DIR/plain/pgo.lov"
+    cp test/bench/pgo.lov "$WORK_DIR/pgo/pgo.lov"
+    export LOVELACE_CACHE_DIR="$WORK_DIR/cache"
+
+    echo "=========================================="
+    echo "PGO: plain -O2 vs. --pgo-use (trained on $((SIZE / 100)), run on ${SIZE})"
+    echo "=========================================="
+    echo ""
+
+    if ! java lovelace.LovelaceCompiler --native "$WORK_DIR/plain/pgo.lov" > /dev/null \
+            || ! java lovelace.LovelaceCompiler --native --pgo-gen "$WORK_DIR/pgo/pgo.lov" > /dev/null \
+            || ! echo $((SIZE / 100)) | LOVELACE_PGO="$WORK_DIR/pgo.lovpgo" "$WORK_DIR/pgo/pgo" > /dev/null \
+            || ! java lovelace.LovelaceCompiler --native --pgo-use="$WORK_DIR/pgo.lovpgo" "$WORK_DIR/pgo/pgo.lov" > /dev/null; then
+        echo "Error: PGO build failed."
+        exit 1
+    fi
+
+    if [ "$(echo "$SIZE" | "$WORK_DIR/plain/pgo")" != "$(echo "$SIZE" | "$WORK_DIR/pgo/pgo")" ]; then
+        echo "Error: plain and PGO outputs differ."
+        exit 1
+    fi
+
+    local T_PLAIN T_PGO
+    T_PLAIN=$(best_of 5 sh -c "echo $SIZE | '$WORK_DIR/plain/pgo' > /dev/null")
+    T_PGO=$(best_of 5 sh -c "echo $SIZE | '$WORK_DIR/pgo/pgo' > /dev/null")
+    printf "plain:    %6d ms\n" "$T_PLAIN"
+    printf "pgo:      %6d ms\n" "$T_PGO"
+    if (( T_PGO > 0 )); then
+        awk -v a="$T_PLAIN" -v b="$T_PGO" 'BEGIN { printf "speedup:  %.2fx (outputs identical)\n", a / b }'
+    fi
+}
+
+bench_memo() {
+    SIZE="${SIZE:-28}"
+    mkdir -p "$WORK_DIR/plain" "$WORK_DIR/memo"
+    cp test/bench/memo.lov "$WORK_DIR/plain/memo.lov"
+    cp test/bench/memo.lov "$WORK_DIR/memo/memo.lov"
+    export LOVELACE_CACHE_DIR="$WORK_DIR/cache"
+
+    echo "=========================================="
+    echo "Memoisation: plain vs. --memo (fib(n) and C(n, n/2), naive recursion)"
+    echo "=========================================="
+    echo ""
+
+    if ! java lovelace.LovelaceCompiler --native "$WORK_DIR/plain/memo.lov" > /dev/null \
+            || ! java lovelace.LovelaceCompiler --native --memo "$WORK_DIR/memo/memo.lov" > /dev/null; then
+        echo "Error: native build failed."
+        exit 1
+    fi
+
+    printf "%4s %12s %12s %10s\n" "n" "plain (ms)" "memo (ms)" "speedup"
+    local n T_PLAIN T_MEMO
+    for ((n = 4; n <= SIZE; n += 4)); do
+        if [ "$(echo $n | "$WORK_DIR/plain/memo")" != "$(echo $n | "$WORK_DIR/memo/memo")" ]; then
+            echo "Error: plain and memo outputs differ for n = $n."
+            exit 1
+        fi
+        T_PLAIN=$(best_of 3 sh -c "echo $n | '$WORK_DIR/plain/memo' > /dev/null")
+        T_MEMO=$(best_of 3 sh -c "echo $n | '$WORK_DIR/memo/memo' > /dev/null")
+        awk -v n="$n" -v a="$T_PLAIN" -v b="$T_MEMO" \
+            'BEGIN { printf "%4d %12d %12d %9.1fx\n", n, a, b, a / (b > 0 ? b : 1) }'
+    done
+}
+
+bench_narrow() {
+    SIZE="${SIZE:-10}"
+    mkdir -p "$WORK_DIR/plain" "$WORK_DIR/narrow"
+    cp test/bench/narrow.lov "$WORK_DIR/plain/narrow.lov"
+    cp test/bench/narrow.lov "$WORK_DIR/narrow/narrow.lov"
+    export LOVELACE_CACHE_DIR="$WORK_DIR/cache"
+
+    echo "=========================================="
+    echo "Narrowing: plain vs. --narrow (lattice points in a circle, ${SIZE} passes)"
+    echo "=========================================="
+    echo ""
+
+    if ! java lovelace.LovelaceCompiler --native "$WORK_DIR/plain/narrow.lov" > /dev/null \
+            || ! java lovelace.LovelaceCompiler --native --narrow "$WORK_DIR/narrow/narrow.lov" > /dev/null; then
+        echo "Error: native build failed."
+        exit 1
+    fi
+
+    if [ "$(echo "$SIZE" | "$WORK_DIR/plain/narrow")" != "$(echo "$SIZE" | "$WORK_DIR/narrow/narrow")" ]; then
+        echo "Error: plain and narrowed outputs differ."
+        exit 1
+    fi
+
+    local T_PLAIN T_NARROW
+    T_PLAIN=$(best_of 5 sh -c "echo $SIZE | '$WORK_DIR/plain/narrow' > /dev/null")
+    T_NARROW=$(best_of 5 sh -c "echo $SIZE | '$WORK_DIR/narrow/narrow' > /dev/null")
+    printf "plain:    %6d ms\n" "$T_PLAIN"
+    printf "narrow:   %6d ms\n" "$T_NARROW"
+    if (( T_NARROW > 0 )); then
+        awk -v a="$T_PLAIN" -v b="$T_NARROW" 'BEGIN { printf "speedup:  %.2fx (outputs identical)\n", a / b }'
+    fi
+}
+
+bench_parallel() {
+    SIZE="${SIZE:-4000000}"
+    mkdir -p "$WORK_DIR/plain" "$WORK_DIR/parallel"
+    cp test/bench/parallel.lov "$WORK_DIR/plain/parallel.lov"
+    cp test/bench/parallel.lov "$WORK_DIR/parallel/parallel.lov"
+    export LOVELACE_CACHE_DIR="$WORK_DIR/cache"
+    local CPUS
+    CPUS=$(nproc 2>/dev/null || echo 1)
+
+    echo "=========================================="
+    echo "Parallel reductions: plain vs. --parallel (sum of ${SIZE} square roots, ${CPUS} CPUs)"
+    echo "=========================================="
+    echo ""
+
+    if ! java lovelace.LovelaceCompiler --native "$WORK_DIR/plain/parallel.lov" > /dev/null \
+            || ! java lovelace.LovelaceCompiler --native --parallel "$WORK_DIR/parallel/parallel.lov" > /dev/null; then
+        echo "Error: native build failed."
+        exit 1
+    fi
+
+    # Float sums depend on the order of the additions, so the results are
+    # compared with a relative tolerance rather than for equality.
+    local A B
+    A=$(echo "$SIZE" | "$WORK_DIR/plain/parallel")
+    B=$(echo "$SIZE" | "$WORK_DIR/parallel/parallel")
+    if ! awk -v a="$A" -v b="$B" 'BEGIN { d = a - b; if (d < 0) d = -d; exit !(b != "" && d <= 0.01 * a) }'; then
+        echo "Error: results differ by more than 1% ($A vs $B)."
+        exit 1
+    fi
+
+    local T_PLAIN T_ONE T_ALL
+    T_PLAIN=$(best_of 3 sh -c "echo $SIZE | '$WORK_DIR/plain/parallel' > /dev/null")
+    T_ONE=$(best_of 3 sh -c "echo $SIZE | OMP_NUM_THREADS=1 '$WORK_DIR/parallel/parallel' > /dev/null")
+    T_ALL=$(best_of 3 sh -c "echo $SIZE | '$WORK_DIR/parallel/parallel' > /dev/null")
+    printf "plain:                %6d ms\n" "$T_PLAIN"
+    printf "parallel, 1 thread:   %6d ms\n" "$T_ONE"
+    printf "parallel, %2d threads: %6d ms\n" "$CPUS" "$T_ALL"
+    if (( T_ALL > 0 )); then
+        awk -v a="$T_PLAIN" -v b="$T_ALL" -v x="$A" -v y="$B" \
+            'BEGIN { d = x - y; if (d < 0) d = -d;
+                     printf "speedup:  %.2fx (relative difference %.2e)\n", a / b, d / x }'
+    fi
+}
+
+# ---------------------------------------------------------------------------
+# runtime: how fast generated programs run
+# ---------------------------------------------------------------------------
+# Each test/bench/runtime/<name>.lov reads <name>.in, or the output of the awk
+# program <name>.gen, and must print exactly <name>.out (or, for long output,
+# output whose SHA-256 is in <name>.out.sha256). Medians go to the JSON Lines
+# history $LOVELACE_BENCH_HISTORY (default test/bench/runtime/history.jsonl),
+# one record per run of the suite. A benchmark whose median is more than
+# $BENCH_TOLERANCE percent (default 15) and 5 ms above the median of its last
+# five records from the same host and C compiler is a regression, and the
+# suite exits with status 1.
+RUNTIME_DIR=test/bench/runtime
+
+# median_of N CMD... -- prints the median of N wall-clock runs in ms
+median_of() {
+    local n="$1" i start end
+    shift
+    for ((i = 0; i < n; i++)); do
+        start=$(date +%s%N)
+        "$@"
+        end=$(date +%s%N)
+        echo $(( (end - start) / 1000000 ))
+    done | median
+}
+
+# median -- median of the integers on stdin, or nothing if there are none
+median() {
+    sort -n | awk '{ v[NR] = $1 }
+        END { if (NR) print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+# baseline NAME -- median of the last five recorded medians of NAME from
+# this host and C compiler
+baseline() {
+    [ -f "$HISTORY" ] || return
+    grep -F "\"host\": \"$HOST\", \"cc\": \"$CC_VERSION\"" "$HISTORY" \
+        | sed -n "s/.*\"median_ms\": {[^}]*\"$1\": \([0-9]*\).*/\1/p" \
+        | tail -5 | median
+}
+
+bench_runtime() {
+    local RUNS="${SIZE:-5}"
+    local TOLERANCE="${BENCH_TOLERANCE:-15}"
+    HISTORY="${LOVELACE_BENCH_HISTORY:-$RUNTIME_DIR/history.jsonl}"
+    HOST=$(hostname 2>/dev/null || echo unknown)
+    local CC_CMD="${CC:-$(command -v cc || command -v gcc || command -v clang)}"
+    CC_VERSION=$("$CC_CMD" --version 2>/dev/null | head -1 | tr -d '"\\')
+    local COMMIT
+    COMMIT=$(git describe --always --dirty 2>/dev/null || echo unknown)
+    export LOVELACE_CACHE_DIR="$WORK_DIR/cache"
+
+    echo "=========================================="
+    echo "Runtime: median of ${RUNS} runs per benchmark (${CC_VERSION})"
+    echo "=========================================="
+    echo ""
+
+    mkdir -p "$WORK_DIR/rt"
+    cp "$RUNTIME_DIR"/*.lov "$WORK_DIR/rt/"
+    if ! java lovelace.LovelaceCompiler --native "$WORK_DIR"/rt/*.lov > /dev/null; then
+        echo "Error: native build failed."
+        exit 1
+    fi
+
+    printf "%-12s %10s %12s %8s\n" "benchmark" "median(ms)" "baseline(ms)" "change"
+    local name src input base medians="" regressions=0 m status
+    for src in "$RUNTIME_DIR"/*.lov; do
+        name=$(basename "$src" .lov)
+        input="$WORK_DIR/$name.in"
+        if [ -f "$RUNTIME_DIR/$name.gen" ]; then
+            awk -f "$RUNTIME_DIR/$name.gen" > "$input"
+        else
+            cp "$RUNTIME_DIR/$name.in" "$input"
+        fi
+
+        "$WORK_DIR/rt/$name" < "$input" > "$WORK_DIR/$name.out"
+        if [ -f "$RUNTIME_DIR/$name.out" ]; then
+            cmp -s "$RUNTIME_DIR/$name.out" "$WORK_DIR/$name.out"
+        elif [ -f "$RUNTIME_DIR/$name.out.sha256" ]; then
+            [ "$(sha256sum < "$WORK_DIR/$name.out" | cut -d' ' -f1)" = "$(cat "$RUNTIME_DIR/$name.out.sha256")" ]
+        else
+            echo "Error: $name has no golden output."
+            exit 1
+        fi
+        if [ $? -ne 0 ]; then
+            echo "Error: $name output differs from its golden output."
+            exit 1
+        fi
+
+        m=$(median_of "$RUNS" sh -c "'$WORK_DIR/rt/$name' < '$input' > /dev/null")
+        base=$(baseline "$name")
+        if [ -z "$base" ]; then
+            printf "%-12s %10d %12s %8s\n" "$name" "$m" "-" "new"
+        else
+            status=$(awk -v m="$m" -v b="$base" -v t="$TOLERANCE" 'BEGIN {
+                printf "%+7.1f%%", (b > 0 ? (m - b) * 100 / b : 0)
+                if (m > b * (1 + t / 100) && m - b > 5) printf "  REGRESSION"
+            }')
+            [[ "$status" == *REGRESSION* ]] && regressions=$((regressions + 1))
+            printf "%-12s %10d %12d %s\n" "$name" "$m" "$base" "$status"
+        fi
+        medians="${medians:+$medians, }\"$name\": $m"
+    done
+
+    mkdir -p "$(dirname "$HISTORY")"
+    printf '{"date": "%s", "commit": "%s", "host": "%s", "cc": "%s", "runs": %d, "median_ms": {%s}}\n' \
+        "$(date -u +%Y-%m-%dT%H:%M:%SZ)" "$COMMIT" "$HOST" "$CC_VERSION" "$RUNS" "$medians" >> "$HISTORY"
+    echo ""
+    echo "Recorded in $HISTORY"
+
+    if (( regressions > 0 )); then
+        echo "$regressions benchmark(s) more than ${TOLERANCE}% slower than their baseline."
+        exit 1
+    fi
+}
+
+case "$SUITE" in
+    cache) bench_cache ;;
+    dispatch) bench_dispatch ;;
+    io) bench_io ;;
+    pgo) bench_pgo ;;
+    memo) bench_memo ;;
+    narrow) bench_narrow ;;
+    parallel) bench_parallel ;;
+    runtime) bench_runtime ;;
+    *)
+        echo "Unknown suite: $SUITE"
+        echo "Usage: $0 [cache|dispatch|io|pgo|memo|narrow|parallel|runtime] [SIZE]"
+        exit 1
+        ;;
+esac
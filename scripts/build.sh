@@ -57,6 +57,10 @@ if [ $? -ne 0 ]; then
     exit 1
 fi
 
+# Resources loaded from the classpath (the C runtime headers, and the
+# runtime source LLVM modules link with)
+cp src/lovelace/*.h src/lovelace/*.c lovelace/
+
 log "Build completed successfully!"
 if [ "$QUIET" -eq 0 ]; then
     echo ""
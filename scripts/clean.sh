@@ -37,8 +37,8 @@ for f in "${GENERATED_FILES[@]}"; do
     fi
 done
 
-# Remove stray .c files generated by the compiler in test/examples/
-STRAY_C=$(find test/examples -name "*.c" 2>/dev/null)
+# Remove stray .c and .ll files generated by the compiler in test/examples/
+STRAY_C=$(find test/examples -name "*.c" -o -name "*.ll" 2>/dev/null)
 if [ -n "$STRAY_C" ]; then
     echo "$STRAY_C" | while read -r f; do
         rm -f "$f"
@@ -46,6 +46,33 @@ if [ -n "$STRAY_C" ]; then
     done
 fi
 
+# Remove the runtime headers written next to generated .c files
+for h in lovelace_rt.h lovelace_prof.h lovelace_pgo.h lovelace_memo.h lovelace_omp.h; do
+    if [ -f "test/examples/$h" ]; then
+        rm -f "test/examples/$h"
+        echo "  Removed test/examples/$h"
+    fi
+done
+
+# Remove .lovast AST cache sidecars written by --cache
+STRAY_CACHE=$(find test/examples -name "*.lovast" 2>/dev/null)
+if [ -n "$STRAY_CACHE" ]; then
+    echo "$STRAY_CACHE" | while read -r f; do
+        rm -f "$f"
+        echo "  Removed $f"
+    done
+fi
+
+# Remove the .c, .h and .lovsig files written next to modules in test/modules/
+STRAY_MOD=$(find test/modules -path test/modules/expected -prune -o \
+    \( -name "*.c" -o -name "*.h" -o -name "*.lovsig" -o -name "*.lovast" \) -print 2>/dev/null)
+if [ -n "$STRAY_MOD" ]; then
+    echo "$STRAY_MOD" | while read -r f; do
+        rm -f "$f"
+        echo "  Removed $f"
+    done
+fi
+
 # Remove AST diagram files generated in test/examples/
 STRAY_AST=$(find test/examples -name "*_ast.dot" -o -name "*_ast.png" -o -name "*_ast.svg" 2>/dev/null)
 if [ -n "$STRAY_AST" ]; then
@@ -23,6 +23,7 @@ fi
 mkdir -p test/expected
 mkdir -p test/expected_sintatico
 mkdir -p test/expected_compiler
+mkdir -p test/expected_llvm
 
 source "${SCRIPT_DIR}/test_discover.sh"
 
@@ -76,6 +77,23 @@ for test in "${VALID_TESTS[@]}"; do
     else
         SKIPPED=$((SKIPPED + 1))
     fi
+
+    # LLVM IR expected output
+    LLVM_FILE="test/expected_llvm/${test}.ll"
+    if [ ! -f "$LLVM_FILE" ]; then
+        java lovelace.LovelaceCompiler --target=llvm "$INPUT_FILE" > /dev/null 2>&1
+        GENERATED_LL="test/examples/${test}.ll"
+        if [ -f "$GENERATED_LL" ]; then
+            cp "$GENERATED_LL" "$LLVM_FILE"
+            rm -f "$GENERATED_LL"
+            echo "  Created: $LLVM_FILE"
+            GENERATED=$((GENERATED + 1))
+        else
+            echo "  WARNING: Compiler did not generate LLVM file for $test"
+        fi
+    else
+        SKIPPED=$((SKIPPED + 1))
+    fi
 done
 
 echo ""
@@ -104,6 +122,32 @@ for test in "${ERROR_TESTS[@]}"; do
     rm -f "test/examples/${test}.c"
 done
 
+echo ""
+echo "--- Generating module expected outputs ---"
+echo ""
+
+# Every .c and .h of the multi-file program, built in a scratch copy
+mkdir -p test/modules/expected/geometria
+MODULE_DIR=$(mktemp -d "${TMPDIR:-/tmp}/lovelace-modules.XXXXXX")
+cp test/modules/geometria/*.lov "$MODULE_DIR/"
+java lovelace.LovelaceCompiler "$MODULE_DIR/prog.lov" > /dev/null 2>&1
+for f in base.c base.h vetor.c vetor.h estat.c estat.h prog.c; do
+    MODULE_FILE="test/modules/expected/geometria/$f"
+    if [ -f "$MODULE_FILE" ]; then
+        SKIPPED=$((SKIPPED + 1))
+    elif [ -f "$MODULE_DIR/$f" ]; then
+        cp "$MODULE_DIR/$f" "$MODULE_FILE"
+        echo "  Created: $MODULE_FILE"
+        GENERATED=$((GENERATED + 1))
+    else
+        echo "  WARNING: Compiler did not generate $f"
+    fi
+done
+rm -rf "$MODULE_DIR"
+
+# The runtime written next to the generated .c and .ll files
+rm -f test/examples/lovelace_rt.h test/examples/lovelace_rt.c
+
 echo ""
 echo "=========================================="
 echo "Generated: $GENERATED files"
@@ -2,10 +2,12 @@
 # run.sh -- Unified interactive runner for Lovelace compiler phases.
 #
 # Usage:
-#   ./scripts/run.sh [lexer|parser|compiler] [FILE]
+#   ./scripts/run.sh [lexer|parser|compiler|ast] [FILE]
 #
-# If no phase is given, runs all three phases on the file.
-# If no FILE is given, shows an interactive menu.
+# If no phase is given, runs the lexer, parser and compiler on the file.
+# If no FILE is given, shows an interactive menu. Every run is one
+# LovelaceDriver call, which reads, lexes and parses the file once for all
+# the phases shown.
 
 SCRIPT_DIR="$( cd "$( dirname "${BASH_SOURCE[0]}" )" && pwd )"
 PROJECT_ROOT="$( cd "$SCRIPT_DIR/.." && pwd )"
@@ -20,7 +22,7 @@ FILE=""
 
 for arg in "$@"; do
     case "$arg" in
-        lexer|parser|compiler) PHASE="$arg" ;;
+        lexer|parser|compiler|ast) PHASE="$arg" ;;
         *) FILE="$arg" ;;
     esac
 done
@@ -96,31 +98,48 @@ fi
 # ---------------------------------------------------------------------------
 # Run phase(s)
 # ---------------------------------------------------------------------------
-run_lexer() {
+TMP=$(mktemp -d "${TMPDIR:-/tmp}/lovelace-run.XXXXXX")
+trap 'rm -rf "$TMP"' EXIT
+
+VERDICT="Análise sintática concluída com sucesso!"
+
+header() {
     echo "=========================================="
-    echo "Lexical Analysis: $(basename "$FILE")"
+    echo "$1: $(basename "$FILE")"
     echo "=========================================="
     echo ""
-    java lovelace.Lovelace "$FILE"
-    echo ""
 }
 
-run_parser() {
-    echo "=========================================="
-    echo "Syntax Analysis: $(basename "$FILE")"
-    echo "=========================================="
-    echo ""
-    java lovelace.LovelaceSintatico "$FILE"
+# One driver run for the selected outputs; its stdout and stderr land in
+# $TMP/out.txt, the token dump and AST text in their own files.
+drive() {
+    java lovelace.LovelaceDriver "$@" "$FILE" > "$TMP/out.txt" 2>&1
+}
+
+show_lexer() {
+    header "Lexical Analysis"
+    cat "$TMP/tokens.txt" 2>/dev/null
+    grep "^Erro léxico" "$TMP/out.txt"
     echo ""
 }
 
-run_compiler() {
-    echo "=========================================="
-    echo "Compilation: $(basename "$FILE")"
-    echo "=========================================="
+show_parser() {
+    header "Syntax Analysis"
+    if [ "$(head -1 "$TMP/out.txt")" = "$VERDICT" ]; then
+        echo "$VERDICT"
+    else
+        cat "$TMP/out.txt"
+    fi
     echo ""
-    java lovelace.LovelaceCompiler "$FILE"
-    local EC=$?
+}
+
+show_compiler() {
+    header "Compilation"
+    if [ "$(head -1 "$TMP/out.txt")" = "$VERDICT" ]; then
+        tail -n +2 "$TMP/out.txt"
+    else
+        echo "Not compiled: the program did not parse."
+    fi
     echo ""
 
     # Show generated C file if it exists
@@ -132,26 +151,45 @@ run_compiler() {
         cat -n "$C_FILE"
         echo ""
     fi
-
-    return $EC
 }
 
-run_phase() {
-    case "$1" in
-        lexer)    run_lexer ;;
-        parser)   run_parser ;;
-        compiler) run_compiler ;;
-    esac
+show_ast() {
+    header "Abstract Syntax Tree"
+    if [ -f "$TMP/ast.txt" ]; then
+        cat "$TMP/ast.txt"
+    else
+        cat "$TMP/out.txt"
+    fi
+    echo ""
 }
 
 output() {
-    if [ -n "$PHASE" ]; then
-        run_phase "$PHASE"
-    else
-        run_lexer
-        run_parser
-        run_compiler
-    fi
+    local EC
+    case "$PHASE" in
+        lexer)
+            drive --tokens="$TMP/tokens.txt"; EC=$?
+            show_lexer
+            ;;
+        parser)
+            drive --parse; EC=$?
+            show_parser
+            ;;
+        compiler)
+            drive --parse --c; EC=$?
+            show_compiler
+            ;;
+        ast)
+            drive --ast="$TMP/ast.txt"; EC=$?
+            show_ast
+            ;;
+        *)
+            drive --tokens="$TMP/tokens.txt" --parse --c; EC=$?
+            show_lexer
+            show_parser
+            show_compiler
+            ;;
+    esac
+    return $EC
 }
 
 if [ -t 1 ]; then
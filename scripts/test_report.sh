@@ -138,6 +138,7 @@ for t in "${VALID_TESTS[@]}"; do run_test "$t" compiler_valid; done
 
 echo "Running compiler tests (error)..."
 for t in "${ERROR_TESTS[@]}"; do run_test "$t" compiler_error; done
+rm -f test/examples/lovelace_rt.h
 
 # ---------------------------------------------------------------------------
 # Compute totals
@@ -2,7 +2,7 @@
 # test_runner.sh -- Unified test runner for all Lovelace compiler phases.
 #
 # Usage:
-#   ./scripts/test_runner.sh [lexer|parser|compiler|all] [OPTIONS]
+#   ./scripts/test_runner.sh [lexer|parser|compiler|variants|llvm|cache|driver|stress|incremental|native|modules|all] [OPTIONS]
 #
 # Options:
 #   -f, --filter PATTERN   Only run tests whose name matches PATTERN
@@ -26,7 +26,7 @@ NO_PAGER=0
 
 while [[ $# -gt 0 ]]; do
     case "$1" in
-        lexer|parser|compiler|all)
+        lexer|parser|compiler|variants|llvm|cache|driver|stress|incremental|native|modules|all)
             PHASES+=("$1")
             shift
             ;;
@@ -44,7 +44,7 @@ while [[ $# -gt 0 ]]; do
             ;;
         *)
             echo "Unknown argument: $1"
-            echo "Usage: $0 [lexer|parser|compiler|all] [-f PATTERN] [-v] [--no-pager]"
+            echo "Usage: $0 [lexer|parser|compiler|variants|llvm|cache|driver|stress|incremental|native|modules|all] [-f PATTERN] [-v] [--no-pager]"
             exit 1
             ;;
     esac
@@ -61,7 +61,7 @@ fi
 EXPANDED_PHASES=()
 for p in "${PHASES[@]}"; do
     if [ "$p" = "all" ]; then
-        EXPANDED_PHASES+=("lexer" "parser" "compiler")
+        EXPANDED_PHASES+=("lexer" "parser" "compiler" "variants" "llvm" "cache" "driver" "stress" "incremental" "native" "modules")
     else
         EXPANDED_PHASES+=("$p")
     fi
@@ -411,6 +411,8 @@ run_compiler_tests() {
         rm -f "test/examples/${test}.c"
     done
 
+    rm -f test/examples/lovelace_rt.h
+
     print_summary $PASSED $FAILED
     print_timing
 
@@ -418,12 +420,1259 @@ run_compiler_tests() {
     COMPILER_FAILED=$FAILED
 }
 
+# ---------------------------------------------------------------------------
+# Phase: Code generation variants
+# ---------------------------------------------------------------------------
+# Each test/expected_variants/<name>/ holds a FLAGS file with extra compiler
+# options and the expected .c output for the programs it covers.
+run_variant_tests() {
+    local PASSED=0
+    local FAILED=0
+    local DIR
+    DIR=$(mktemp -d "${TMPDIR:-/tmp}/lovelace-variants.XXXXXX")
+
+    local CASES=()
+    local variant expected test
+    for variant in test/expected_variants/*/; do
+        variant=$(basename "$variant")
+        for expected in test/expected_variants/"$variant"/*.c; do
+            [ -f "$expected" ] || continue
+            test=$(basename "$expected" .c)
+            if [ -n "$FILTER" ] && [[ "$test" != *${FILTER}* ]]; then
+                continue
+            fi
+            CASES+=("$variant/$test")
+        done
+    done
+
+    start_timer
+    print_suite_header "Lovelace Code Generation Variant Tests"
+    init_progress ${#CASES[@]}
+
+    local entry
+    for entry in "${CASES[@]}"; do
+        variant="${entry%%/*}"
+        test="${entry#*/}"
+        local FLAGS
+        FLAGS=$(cat "test/expected_variants/${variant}/FLAGS" 2>/dev/null)
+        local EXPECTED_FILE="test/expected_variants/${variant}/${test}.c"
+        local desc="${TEST_DESC[$test]:-$test} [${FLAGS}]"
+
+        advance_progress
+        cp "test/examples/${test}.lov" "$DIR/${test}.lov"
+
+        if ! java lovelace.LovelaceCompiler $FLAGS "$DIR/${test}.lov" > /dev/null 2>&1; then
+            print_fail "$test" "$desc" "compiler error"
+            FAILED=$((FAILED + 1))
+        elif diff -q "$EXPECTED_FILE" "$DIR/${test}.c" > /dev/null 2>&1; then
+            print_pass "$test" "$desc"
+            PASSED=$((PASSED + 1))
+        else
+            print_fail "$test" "$desc" "output mismatch"
+            colored_diff "$EXPECTED_FILE" "$DIR/${test}.c"
+            FAILED=$((FAILED + 1))
+        fi
+        rm -f "$DIR/${test}.c"
+    done
+
+    rm -rf "$DIR"
+
+    print_summary $PASSED $FAILED
+    print_timing
+
+    VARIANTS_PASSED=$PASSED
+    VARIANTS_FAILED=$FAILED
+}
+
+# ---------------------------------------------------------------------------
+# Phase: LLVM IR backend (--target=llvm)
+# ---------------------------------------------------------------------------
+# Compares the .ll of every valid program with test/expected_llvm/ and checks
+# that error programs are rejected. Where lli is installed, each program's
+# --stdio module also runs and must print what its --stdio C build prints;
+# where a C compiler is, lovelace_rt.c (the runtime modules link with) must
+# compile.
+run_llvm_tests() {
+    local PASSED=0
+    local FAILED=0
+    local DIR
+    DIR=$(mktemp -d "${TMPDIR:-/tmp}/lovelace-llvm.XXXXXX")
+    local INPUT="3.5 -2 1e3 0.1 7 abc"
+    local LLI="" CC_LLVM=""
+    command -v lli &> /dev/null && LLI=lli
+    for cc in "$CC" cc gcc clang; do
+        if [ -n "$cc" ] && command -v "${cc%% *}" &> /dev/null; then CC_LLVM="$cc"; break; fi
+    done
+
+    start_timer
+    print_suite_header "Lovelace LLVM IR Backend Tests"
+    init_progress $(( ${#FILTERED_VALID[@]} + ${#FILTERED_ERROR[@]} + 1 ))
+
+    print_section_header "Valid Programs (${#FILTERED_VALID[@]})"
+
+    for test in "${FILTERED_VALID[@]}"; do
+        local EXPECTED_FILE="test/expected_llvm/${test}.ll"
+        local desc="${TEST_DESC[$test]:-$test}"
+
+        advance_progress
+        cp "test/examples/${test}.lov" "$DIR/${test}.lov"
+
+        if ! java lovelace.LovelaceCompiler --target=llvm "$DIR/${test}.lov" > "$DIR/out.txt" 2>&1; then
+            print_fail "$test" "$desc" "compiler error: $(tail -1 "$DIR/out.txt" | cut -c1-120)"
+            FAILED=$((FAILED + 1))
+            continue
+        fi
+
+        if [ ! -f "$EXPECTED_FILE" ]; then
+            mkdir -p test/expected_llvm
+            cp "$DIR/${test}.ll" "$EXPECTED_FILE"
+            print_pass "$test" "$desc (baseline created)"
+            PASSED=$((PASSED + 1))
+            continue
+        fi
+        if ! diff -q "$EXPECTED_FILE" "$DIR/${test}.ll" > /dev/null 2>&1; then
+            print_fail "$test" "$desc" "output mismatch"
+            colored_diff "$EXPECTED_FILE" "$DIR/${test}.ll"
+            FAILED=$((FAILED + 1))
+            continue
+        fi
+
+        if [ -n "$LLI" ] && [ -n "$CC_LLVM" ]; then
+            local A B
+            mkdir -p "$DIR/stdio"
+            cp "$DIR/${test}.lov" "$DIR/stdio/"
+            java lovelace.LovelaceCompiler --stdio "$DIR/stdio/${test}.lov" > /dev/null 2>&1
+            java lovelace.LovelaceCompiler --target=llvm --stdio "$DIR/stdio/${test}.lov" > /dev/null 2>&1
+            $CC_LLVM -w -o "$DIR/stdio/${test}" "$DIR/stdio/${test}.c" > /dev/null 2>&1
+            A=$(echo "$INPUT" | timeout 10 "$DIR/stdio/${test}" 2>&1; echo "exit $?")
+            B=$(echo "$INPUT" | timeout 10 "$LLI" "$DIR/stdio/${test}.ll" 2>&1; echo "exit $?")
+            if [ "$A" != "$B" ]; then
+                print_fail "$test" "$desc" "lli output differs from the C build"
+                FAILED=$((FAILED + 1))
+                continue
+            fi
+            desc="$desc (run under lli)"
+        fi
+        print_pass "$test" "$desc"
+        PASSED=$((PASSED + 1))
+    done
+
+    print_section_header "Error Programs (${#FILTERED_ERROR[@]})"
+
+    for test in "${FILTERED_ERROR[@]}"; do
+        local desc="${TEST_DESC[$test]:-$test}"
+        advance_progress
+        cp "test/examples/${test}.lov" "$DIR/${test}.lov"
+        if java lovelace.LovelaceCompiler --target=llvm "$DIR/${test}.lov" > /dev/null 2>&1; then
+            print_fail "$test" "$desc" "should have reported an error"
+            FAILED=$((FAILED + 1))
+        else
+            print_pass "$test" "$desc"
+            PASSED=$((PASSED + 1))
+        fi
+    done
+
+    # The runtime shim written next to each module must build.
+    advance_progress
+    if [ -z "$CC_LLVM" ]; then
+        print_skip llvm_runtime "runtime for LLVM modules" "no C compiler found"
+    elif [ ! -f "$DIR/lovelace_rt.c" ]; then
+        print_skip llvm_runtime "runtime for LLVM modules" "no module generated"
+    elif $CC_LLVM -c -o "$DIR/lovelace_rt.o" "$DIR/lovelace_rt.c" > "$DIR/out.txt" 2>&1; then
+        print_pass llvm_runtime "lovelace_rt.c compiles"
+        PASSED=$((PASSED + 1))
+    else
+        print_fail llvm_runtime "runtime for LLVM modules" "$(head -1 "$DIR/out.txt" | cut -c1-120)"
+        FAILED=$((FAILED + 1))
+    fi
+
+    rm -rf "$DIR"
+
+    print_summary $PASSED $FAILED
+    print_timing
+
+    LLVM_PASSED=$PASSED
+    LLVM_FAILED=$FAILED
+}
+
+# ---------------------------------------------------------------------------
+# Phase: AST cache
+# ---------------------------------------------------------------------------
+# Compiles every valid program twice with --cache: the first run parses and
+# writes the .lovast sidecar, the second loads the tree from it. Both runs
+# must produce the expected C output.
+run_cache_tests() {
+    local PASSED=0
+    local FAILED=0
+
+    start_timer
+    print_suite_header "Lovelace AST Cache Tests"
+    init_progress $(( ${#FILTERED_VALID[@]} + 2 ))
+
+    for test in "${FILTERED_VALID[@]}"; do
+        local INPUT_FILE="test/examples/${test}.lov"
+        local EXPECTED_FILE="test/expected_compiler/${test}.c"
+        local GENERATED_FILE="test/examples/${test}.c"
+        local CACHE_FILE="test/examples/${test}.lovast"
+        local desc="${TEST_DESC[$test]:-$test}"
+        local reason=""
+
+        advance_progress
+
+        if [ ! -f "$EXPECTED_FILE" ]; then
+            print_skip "$test" "$desc" "no expected C output"
+            continue
+        fi
+
+        rm -f "$CACHE_FILE"
+
+        for run in cold warm; do
+            if ! java lovelace.LovelaceCompiler --cache "$INPUT_FILE" > /dev/null 2>&1; then
+                reason="compiler error ($run cache)"
+            elif [ ! -f "$CACHE_FILE" ]; then
+                reason="no .lovast file written ($run cache)"
+            elif ! diff -q "$EXPECTED_FILE" "$GENERATED_FILE" > /dev/null 2>&1; then
+                reason="output mismatch ($run cache)"
+            fi
+            [ -n "$reason" ] && break
+        done
+
+        if [ -z "$reason" ]; then
+            print_pass "$test" "$desc"
+            PASSED=$((PASSED + 1))
+        else
+            print_fail "$test" "$desc" "$reason"
+            if [ -f "$GENERATED_FILE" ]; then
+                colored_diff "$EXPECTED_FILE" "$GENERATED_FILE"
+            fi
+            FAILED=$((FAILED + 1))
+        fi
+
+        rm -f "$GENERATED_FILE" "$CACHE_FILE"
+    done
+
+    # A damaged sidecar is a cache miss: the file is parsed again and the
+    # sidecar rewritten. The header is 38 bytes (magic, version, SHA-256);
+    # the string count follows it.
+    local DIR
+    DIR=$(mktemp -d "${TMPDIR:-/tmp}/lovelace-cache.XXXXXX")
+    cp test/examples/exemplo2.lov "$DIR/"
+    java lovelace.LovelaceCompiler --cache "$DIR/exemplo2.lov" > /dev/null 2>&1
+    cp "$DIR/exemplo2.lovast" "$DIR/valid.lovast"
+    for damage in truncated bit_flipped; do
+        local reason=""
+        advance_progress
+        cp "$DIR/valid.lovast" "$DIR/exemplo2.lovast"
+        if [ "$damage" = truncated ]; then
+            head -c 60 "$DIR/valid.lovast" > "$DIR/exemplo2.lovast"
+        else
+            printf '\xff\xff\xff\xff\x0f' | dd of="$DIR/exemplo2.lovast" bs=1 seek=38 conv=notrunc 2> /dev/null
+        fi
+        if ! java lovelace.LovelaceCompiler --cache "$DIR/exemplo2.lov" > "$DIR/out.txt" 2>&1; then
+            reason="compiler error: $(tail -1 "$DIR/out.txt" | cut -c1-100)"
+        elif ! diff -q test/expected_compiler/exemplo2.c "$DIR/exemplo2.c" > /dev/null 2>&1; then
+            reason="output mismatch"
+        elif ! cmp -s "$DIR/valid.lovast" "$DIR/exemplo2.lovast"; then
+            reason="sidecar not rewritten"
+        fi
+        if [ -z "$reason" ]; then
+            print_pass "cache_${damage}" "${damage/_/-} sidecar is parsed again"
+            PASSED=$((PASSED + 1))
+        else
+            print_fail "cache_${damage}" "${damage/_/-} sidecar" "$reason"
+            FAILED=$((FAILED + 1))
+        fi
+    done
+    rm -rf "$DIR"
+
+    rm -f test/examples/lovelace_rt.h
+
+    print_summary $PASSED $FAILED
+    print_timing
+
+    CACHE_PASSED=$PASSED
+    CACHE_FAILED=$FAILED
+}
+
+# ---------------------------------------------------------------------------
+# Phase: Driver (all outputs from one parse)
+# ---------------------------------------------------------------------------
+# Runs LovelaceDriver once per program for every output and checks each one
+# against what its standalone program produces: the lexer and C baselines,
+# the parser baseline and the AST text of LovelaceASTDiagram. Then checks
+# that one driver run costs clearly less than the four separate programs.
+run_driver_tests() {
+    local PASSED=0
+    local FAILED=0
+    local DIR
+    DIR=$(mktemp -d "${TMPDIR:-/tmp}/lovelace-driver.XXXXXX")
+
+    start_timer
+    print_suite_header "Lovelace Driver Tests"
+    init_progress $(( ${#FILTERED_VALID[@]} + ${#FILTERED_ERROR[@]} + 1 ))
+
+    for test in "${FILTERED_VALID[@]}"; do
+        local INPUT_FILE="test/examples/${test}.lov"
+        local GENERATED_FILE="test/examples/${test}.c"
+        local desc="${TEST_DESC[$test]:-$test}"
+        local reason=""
+
+        advance_progress
+        rm -f "$DIR/tokens.txt" "$DIR/ast.txt"
+
+        if ! java lovelace.LovelaceDriver --tokens="$DIR/tokens.txt" --parse --c --ast="$DIR/ast.txt" \
+                "$INPUT_FILE" > "$DIR/out.txt" 2>&1; then
+            reason="driver error: $(tail -1 "$DIR/out.txt" | cut -c1-100)"
+        elif ! diff -q "test/expected/${test}.out" "$DIR/tokens.txt" > /dev/null 2>&1; then
+            reason="token dump mismatch"
+        elif ! head -1 "$DIR/out.txt" | diff -q "test/expected_sintatico/${test}.out" - > /dev/null 2>&1; then
+            reason="parse verdict mismatch"
+        elif ! diff -q "test/expected_compiler/${test}.c" "$GENERATED_FILE" > /dev/null 2>&1; then
+            reason="C output mismatch"
+        else
+            java lovelace.LovelaceASTDiagram "$INPUT_FILE" > "$DIR/ast_expected.txt" 2> /dev/null
+            if ! diff -q "$DIR/ast_expected.txt" "$DIR/ast.txt" > /dev/null 2>&1; then
+                reason="AST text mismatch"
+            fi
+        fi
+
+        if [ -z "$reason" ]; then
+            print_pass "$test" "$desc"
+            PASSED=$((PASSED + 1))
+        else
+            print_fail "$test" "$desc" "$reason"
+            FAILED=$((FAILED + 1))
+        fi
+        rm -f "$GENERATED_FILE"
+    done
+
+    for test in "${FILTERED_ERROR[@]}"; do
+        local INPUT_FILE="test/examples/${test}.lov"
+        local desc="${TEST_DESC[$test]:-$test}"
+        local reason=""
+
+        advance_progress
+        rm -f "$DIR/tokens.txt"
+
+        if java lovelace.LovelaceDriver --tokens="$DIR/tokens.txt" --parse --c \
+                "$INPUT_FILE" > "$DIR/out.txt" 2>&1; then
+            reason="should have reported an error"
+        elif ! diff -q "test/expected_sintatico/${test}.out" "$DIR/out.txt" > /dev/null 2>&1; then
+            reason="error message mismatch"
+        else
+            java lovelace.Lovelace "$INPUT_FILE" > "$DIR/tokens_expected.txt" 2> /dev/null
+            if ! diff -q "$DIR/tokens_expected.txt" "$DIR/tokens.txt" > /dev/null 2>&1; then
+                reason="token dump mismatch"
+            fi
+        fi
+
+        if [ -z "$reason" ]; then
+            print_pass "$test" "$desc"
+            PASSED=$((PASSED + 1))
+        else
+            print_fail "$test" "$desc" "$reason"
+            FAILED=$((FAILED + 1))
+        fi
+        rm -f "test/examples/${test}.c"
+    done
+
+    # The four standalone programs each read, lex and parse the file; the
+    # driver does it once and only pays for writing each output.
+    advance_progress
+    many_functions 4000 > "$DIR/large.lov"
+    local T_LEX T_PARSE T_C T_AST T_ALL SUM
+    elapsed_ms java lovelace.Lovelace "$DIR/large.lov"; T_LEX=$ELAPSED_MS
+    elapsed_ms java lovelace.LovelaceSintatico "$DIR/large.lov"; T_PARSE=$ELAPSED_MS
+    elapsed_ms java lovelace.LovelaceCompiler "$DIR/large.lov"; T_C=$ELAPSED_MS
+    elapsed_ms java lovelace.LovelaceASTDiagram "$DIR/large.lov"; T_AST=$ELAPSED_MS
+    elapsed_ms java lovelace.LovelaceDriver --tokens="$DIR/tokens.txt" --parse --c --ast="$DIR/ast.txt" \
+        "$DIR/large.lov"; T_ALL=$ELAPSED_MS
+    SUM=$((T_LEX + T_PARSE + T_C + T_AST))
+    if (( 4 * T_ALL < 3 * SUM )); then
+        print_pass driver_single_pass "all outputs in ${T_ALL}ms vs ${SUM}ms as four programs"
+        PASSED=$((PASSED + 1))
+    else
+        print_fail driver_single_pass "single pass" "${T_ALL}ms vs ${SUM}ms as four programs"
+        FAILED=$((FAILED + 1))
+    fi
+
+    rm -f test/examples/lovelace_rt.h
+    rm -rf "$DIR"
+
+    print_summary $PASSED $FAILED
+    print_timing
+
+    DRIVER_PASSED=$PASSED
+    DRIVER_FAILED=$FAILED
+}
+
+# ---------------------------------------------------------------------------
+# Phase: Stress (generated inputs)
+# ---------------------------------------------------------------------------
+# nested_expr DEPTH -- program assigning an expression nested DEPTH levels deep
+nested_expr() {
+    awk -v d="$1" 'BEGIN {
+        print "main ()"
+        print "begin"
+        print "  let Float x;"
+        print "  x := 1.0;"
+        printf "  x := "
+        for (i = 0; i < d; i++) printf "("
+        printf "x"
+        for (i = 0; i < d; i++) printf " + 1.0)"
+        print ";"
+        print "  print x;"
+        print "end"
+    }'
+}
+
+# nested_while DEPTH -- program with DEPTH nested while statements
+nested_while() {
+    awk -v d="$1" 'BEGIN {
+        print "main ()"
+        print "begin"
+        print "  let Float x;"
+        print "  x := 0.0;"
+        for (i = 0; i < d; i++) print "while (x < 1.0) begin"
+        print "x := (x + 1.0);"
+        for (i = 0; i < d; i++) print "end;"
+        print "end"
+    }'
+}
+
+# flat_program N NAME -- program with N assignments to one variable NAME
+flat_program() {
+    awk -v n="$1" -v v="$2" 'BEGIN {
+        print "main ()"
+        print "begin"
+        printf "  let Float %s;\n", v
+        printf "  %s := 0.0;\n", v
+        for (i = 0; i < n; i++) printf "  %s := (%s + 1.5);\n", v, v
+        printf "  print %s;\n", v
+        print "end"
+    }'
+}
+
+elapsed_ms() {
+    local start=$(date +%s%N)
+    "$@" > /dev/null 2>&1
+    local status=$?
+    local end=$(date +%s%N)
+    ELAPSED_MS=$(( (end - start) / 1000000 ))
+    return $status
+}
+
+run_stress_tests() {
+    local PASSED=0
+    local FAILED=0
+    local DEPTH=100000
+    local DIR
+    DIR=$(mktemp -d "${TMPDIR:-/tmp}/lovelace-stress.XXXXXX")
+
+    start_timer
+    print_suite_header "Lovelace Stress Tests"
+    init_progress 18
+
+    nested_expr "$DEPTH" > "$DIR/deep.lov"
+    nested_expr $((DEPTH * 2)) > "$DIR/deeper.lov"
+    nested_while 2000 > "$DIR/blocks.lov"
+    flat_program 300000 contador_de_iteracoes_do_laco_principal_com_um_nome_bem_comprido > "$DIR/flat.lov"
+    many_functions 2000 > "$DIR/functions.lov"
+
+    stress_check() {
+        local name="$1" desc="$2"
+        shift 2
+        advance_progress
+        if "$@" > "$DIR/out.txt" 2>&1; then
+            print_pass "$name" "$desc"
+            PASSED=$((PASSED + 1))
+        else
+            print_fail "$name" "$desc" "$(tail -1 "$DIR/out.txt" | cut -c1-120)"
+            FAILED=$((FAILED + 1))
+        fi
+    }
+
+    stress_check stress_parser "parser, expression nested ${DEPTH} deep" \
+        java lovelace.LovelaceSintatico "$DIR/deep.lov"
+    stress_check stress_compiler "compiler, expression nested ${DEPTH} deep" \
+        java lovelace.LovelaceCompiler "$DIR/deep.lov"
+    stress_check stress_cache "compiler --cache (cold + warm), nesting ${DEPTH}" \
+        bash -c "java lovelace.LovelaceCompiler --cache '$DIR/deep.lov' && java lovelace.LovelaceCompiler --cache '$DIR/deep.lov'"
+    stress_check stress_dot "AST diagram --dot, nesting ${DEPTH}" \
+        java lovelace.LovelaceASTDiagram "$DIR/deep.lov" --dot
+    stress_check stress_text "AST diagram text --max-depth=64, nesting ${DEPTH}" \
+        java lovelace.LovelaceASTDiagram "$DIR/deep.lov" --max-depth=64
+    stress_check stress_blocks "compiler, 2000 nested while blocks" \
+        java lovelace.LovelaceCompiler "$DIR/blocks.lov"
+
+    # A 43 MB source with 2.1M tokens in a 64 MB heap: the parser must keep
+    # only the AST (one interned name, no token chain, no copy of the text).
+    stress_check stress_heap_parser "parser, 300000 statements (43 MB) in -Xmx64m" \
+        java -Xmx64m lovelace.LovelaceSintatico "$DIR/flat.lov"
+    stress_check stress_heap_compiler "compiler, 300000 statements (43 MB) in -Xmx64m" \
+        java -Xmx64m lovelace.LovelaceCompiler "$DIR/flat.lov"
+
+    # Each resource limit rejects an input over it with a one-line error that
+    # names the limit, and no partial .c file.
+    limit_check() {
+        local name="$1" desc="$2" pattern="$3" file="$4"
+        shift 4
+        advance_progress
+        rm -f "${file%.lov}.c"
+        if java lovelace.LovelaceCompiler "$@" "$file" > "$DIR/out.txt" 2>&1; then
+            print_fail "$name" "$desc" "compiled despite the limit"
+            FAILED=$((FAILED + 1))
+        elif ! grep -q "^Erro de limite: ${pattern} excedido" "$DIR/out.txt" \
+                || grep -q "Exception\|Error" "$DIR/out.txt"; then
+            print_fail "$name" "$desc" "$(tail -1 "$DIR/out.txt" | cut -c1-120)"
+            FAILED=$((FAILED + 1))
+        elif [ -f "${file%.lov}.c" ]; then
+            print_fail "$name" "$desc" "left a partial C file"
+            FAILED=$((FAILED + 1))
+        else
+            print_pass "$name" "$desc"
+            PASSED=$((PASSED + 1))
+        fi
+    }
+
+    limit_check limit_bytes "--max-bytes=1000000 rejects the 43 MB program" \
+        "--max-bytes=1000000" "$DIR/flat.lov" --max-bytes=1000000
+    limit_check limit_tokens "--max-tokens=100000 rejects 2.1M tokens" \
+        "--max-tokens=100000" "$DIR/flat.lov" --max-tokens=100000
+    limit_check limit_depth "--max-depth=1000 rejects expression nesting ${DEPTH}" \
+        "--max-depth=1000" "$DIR/deep.lov" --max-depth=1000
+    limit_check limit_depth_blocks "--max-depth=1000 rejects 2000 nested blocks" \
+        "--max-depth=1000" "$DIR/blocks.lov" --max-depth=1000
+    limit_check limit_nodes "--max-nodes=100000 rejects 1.2M nodes" \
+        "--max-nodes=100000" "$DIR/flat.lov" --max-nodes=100000
+    limit_check limit_functions "--max-functions=1000 rejects 2000 functions" \
+        "--max-functions=1000" "$DIR/functions.lov" --max-functions=1000
+    limit_check limit_timeout "--timeout=1 stops nesting ${DEPTH}" \
+        "--timeout=1" "$DIR/deep.lov" --timeout=1
+
+    # Limits above the input change nothing in the output.
+    stress_check limit_within "limits above the input, same C as without" \
+        bash -c "java lovelace.LovelaceCompiler '$DIR/blocks.lov' && mv '$DIR/blocks.c' '$DIR/blocks_ref.c' \
+            && java lovelace.LovelaceCompiler --max-bytes=100000 --max-tokens=100000 --max-depth=2001 \
+                --max-nodes=100000 --max-functions=1 --timeout=600000 '$DIR/blocks.lov' \
+            && cmp '$DIR/blocks_ref.c' '$DIR/blocks.c'"
+
+    # Rejection stops at the limit instead of reading the whole input.
+    advance_progress
+    local T_FULL T_REJECT
+    elapsed_ms java lovelace.LovelaceCompiler "$DIR/flat.lov"; T_FULL=$ELAPSED_MS
+    elapsed_ms java lovelace.LovelaceCompiler --max-tokens=100000 "$DIR/flat.lov"; T_REJECT=$ELAPSED_MS
+    if (( 4 * T_REJECT < T_FULL )); then
+        print_pass limit_fast "rejected in ${T_REJECT}ms, full compile ${T_FULL}ms"
+        PASSED=$((PASSED + 1))
+    else
+        print_fail limit_fast "fast rejection" "rejected in ${T_REJECT}ms vs ${T_FULL}ms full compile"
+        FAILED=$((FAILED + 1))
+    fi
+
+    # Doubling the depth must not more than roughly double the time
+    # (a quadratic walk would quadruple it; JVM start-up only helps).
+    advance_progress
+    local T1 T2
+    elapsed_ms java lovelace.LovelaceCompiler "$DIR/deep.lov"; T1=$ELAPSED_MS
+    elapsed_ms java lovelace.LovelaceCompiler "$DIR/deeper.lov"; T2=$ELAPSED_MS
+    if (( T2 < 3 * T1 + 200 )); then
+        print_pass stress_linear "linear time: ${T1}ms at ${DEPTH}, ${T2}ms at $((DEPTH * 2))"
+        PASSED=$((PASSED + 1))
+    else
+        print_fail stress_linear "linear time" "${T1}ms at ${DEPTH} vs ${T2}ms at $((DEPTH * 2))"
+        FAILED=$((FAILED + 1))
+    fi
+
+    rm -rf "$DIR"
+
+    print_summary $PASSED $FAILED
+    print_timing
+
+    STRESS_PASSED=$PASSED
+    STRESS_FAILED=$FAILED
+}
+
+# ---------------------------------------------------------------------------
+# Phase: Incremental front end (LovelaceDocument)
+# ---------------------------------------------------------------------------
+# Applies random edits to every example and checks after each one that the
+# incrementally maintained tree matches a full parse of the edited text, then
+# checks that edit latency does not grow with the size of the file.
+
+# many_functions N -- program with N small functions called from main
+many_functions() {
+    awk -v n="$1" 'BEGIN {
+        print "main ()"
+        print "begin"
+        print "  let Float x;"
+        print "  x := 0.0;"
+        for (i = 0; i < n; i++) printf "  x := f%d(x);\n", i
+        print "  print x;"
+        print "end"
+        for (i = 0; i < n; i++) {
+            print ""
+            printf "def Float f%d (Float a)\n", i
+            print "begin"
+            print "  let Float b;"
+            print "  b := (a + 1.0);"
+            print "  if (b > 100.0) begin"
+            print "    b := (b - 100.0);"
+            print "  end;"
+            print "  return b;"
+            print "end"
+        }
+    }'
+}
+
+run_incremental_tests() {
+    local PASSED=0
+    local FAILED=0
+    local EDITS=300
+    local DIR
+    DIR=$(mktemp -d "${TMPDIR:-/tmp}/lovelace-incremental.XXXXXX")
+
+    start_timer
+    print_suite_header "Lovelace Incremental Front End Tests"
+    init_progress $(( ${#FILTERED_VALID[@]} + ${#FILTERED_ERROR[@]} + 1 ))
+
+    for test in "${FILTERED_VALID[@]}" "${FILTERED_ERROR[@]}"; do
+        local desc="${TEST_DESC[$test]:-$test}"
+        advance_progress
+        if java lovelace.LovelaceDocument --edicoes=$EDITS "test/examples/${test}.lov" > "$DIR/out.txt" 2>&1; then
+            print_pass "$test" "$desc"
+            PASSED=$((PASSED + 1))
+        else
+            print_fail "$test" "$desc" "$(tail -1 "$DIR/out.txt" | cut -c1-160)"
+            FAILED=$((FAILED + 1))
+        fi
+    done
+
+    # One-character edits in a file 200 times larger must cost about the
+    # same, and far less than parsing that file -- also line breaks added and
+    # removed near the top, which move every line after them.
+    advance_progress
+    many_functions 10 > "$DIR/small.lov"
+    many_functions 2000 > "$DIR/large.lov"
+    local SMALL LARGE NL_SMALL NL_LARGE FULL
+    java lovelace.LovelaceDocument --latencia "$DIR/small.lov" "$DIR/large.lov" > "$DIR/out.txt" 2>&1
+    SMALL=$(sed -n '1s/.*edição \([0-9]*\) us.*/\1/p' "$DIR/out.txt")
+    LARGE=$(sed -n '2s/.*edição \([0-9]*\) us.*/\1/p' "$DIR/out.txt")
+    NL_SMALL=$(sed -n '1s/.*quebra de linha \([0-9]*\) us.*/\1/p' "$DIR/out.txt")
+    NL_LARGE=$(sed -n '2s/.*quebra de linha \([0-9]*\) us.*/\1/p' "$DIR/out.txt")
+    FULL=$(sed -n '2s/.*completa \([0-9]*\) us.*/\1/p' "$DIR/out.txt")
+    if [ -n "$SMALL" ] && [ -n "$LARGE" ] && [ -n "$NL_SMALL" ] && [ -n "$NL_LARGE" ] && [ -n "$FULL" ] \
+            && (( LARGE < 3 * SMALL + 100 && 10 * LARGE < FULL )) \
+            && (( NL_LARGE < 3 * NL_SMALL + 100 && 10 * NL_LARGE < FULL )); then
+        print_pass incremental_latency "edit latency: ${SMALL}us small, ${LARGE}us large; newline ${NL_SMALL}us small, ${NL_LARGE}us large (full parse ${FULL}us)"
+        PASSED=$((PASSED + 1))
+    else
+        print_fail incremental_latency "edit latency" "$(tr '\n' ' ' < "$DIR/out.txt" | cut -c1-160)"
+        FAILED=$((FAILED + 1))
+    fi
+
+    rm -rf "$DIR"
+
+    print_summary $PASSED $FAILED
+    print_timing
+
+    INCREMENTAL_PASSED=$PASSED
+    INCREMENTAL_FAILED=$FAILED
+}
+
+# ---------------------------------------------------------------------------
+# Phase: Native build (--native)
+# ---------------------------------------------------------------------------
+# Builds every valid program in one parallel --native batch, then checks that
+# an unchanged rebuild takes every object from the cache, that each
+# optimisation profile produces a working executable, and that programs built
+# on the I/O runtime print exactly what their --stdio builds print. --profile
+# builds must print the same plus a report, --memo, --narrow and --ipcp
+# builds must print the same, a --line-directives debug build must carry .lov lines in its
+# line table, the --parallel build of test/bench must agree with the plain
+# one within a tolerance (and beat it on a multicore host), and the PGO and
+# memo builds of test/bench must beat the
+# plain ones.
+# The runtime benchmarks in test/bench/runtime must print their goldens.
+
+# best_of N CMD... -- prints the fastest of N wall-clock runs in ms
+best_of() {
+    local n="$1" best="" i start end ms
+    shift
+    for ((i = 0; i < n; i++)); do
+        start=$(date +%s%N)
+        "$@"
+        end=$(date +%s%N)
+        ms=$(( (end - start) / 1000000 ))
+        if [ -z "$best" ] || (( ms < best )); then best=$ms; fi
+    done
+    echo "$best"
+}
+
+run_native_tests() {
+    local PASSED=0
+    local FAILED=0
+    local DIR
+    DIR=$(mktemp -d "${TMPDIR:-/tmp}/lovelace-native.XXXXXX")
+
+    start_timer
+    print_suite_header "Lovelace Native Build Tests"
+    init_progress $(( ${#FILTERED_VALID[@]} * 6 + 12 ))
+
+    if ! command -v cc &> /dev/null && ! command -v gcc &> /dev/null \
+            && ! command -v clang &> /dev/null && [ -z "$CC" ]; then
+        advance_progress
+        print_skip "native" "native build" "no C compiler found"
+        rm -rf "$DIR"
+        NATIVE_PASSED=0
+        NATIVE_FAILED=0
+        return
+    fi
+
+    local SOURCES=()
+    for test in "${FILTERED_VALID[@]}"; do
+        cp "test/examples/${test}.lov" "$DIR/"
+        SOURCES+=("$DIR/${test}.lov")
+    done
+    export LOVELACE_CACHE_DIR="$DIR/cache"
+
+    java lovelace.LovelaceCompiler --native "${SOURCES[@]}" > "$DIR/cold.txt" 2>&1
+    for test in "${FILTERED_VALID[@]}"; do
+        local desc="${TEST_DESC[$test]:-$test}"
+        advance_progress
+        if [ -x "$DIR/${test}" ]; then
+            print_pass "$test" "$desc"
+            PASSED=$((PASSED + 1))
+        else
+            print_fail "$test" "$desc" "no executable built"
+            FAILED=$((FAILED + 1))
+        fi
+    done
+
+    advance_progress
+    java lovelace.LovelaceCompiler --native --jobs=2 "${SOURCES[@]}" > "$DIR/warm.txt" 2>&1
+    local BUILT CACHED
+    BUILT=$(grep -c "^Executável gerado em:" "$DIR/warm.txt")
+    CACHED=$(grep -c "(objeto em cache)$" "$DIR/warm.txt")
+    if (( BUILT == ${#SOURCES[@]} && CACHED == BUILT )); then
+        print_pass native_cache "unchanged rebuild reuses all ${CACHED} cached objects"
+        PASSED=$((PASSED + 1))
+    else
+        print_fail native_cache "unchanged rebuild" "${CACHED} of ${BUILT} objects from cache"
+        FAILED=$((FAILED + 1))
+    fi
+
+    cp test/examples/exemplo.lov "$DIR/profile.lov"
+    for opt in debug O2 O3 lto; do
+        advance_progress
+        rm -f "$DIR/profile"
+        if java lovelace.LovelaceCompiler --native --opt=$opt "$DIR/profile.lov" > "$DIR/out.txt" 2>&1 \
+                && [ "$("$DIR/profile" < /dev/null)" = "9.000000" ]; then
+            print_pass native_$opt "profile --opt=$opt builds and runs"
+            PASSED=$((PASSED + 1))
+        else
+            print_fail native_$opt "profile --opt=$opt" "$(tail -1 "$DIR/out.txt" | cut -c1-120)"
+            FAILED=$((FAILED + 1))
+        fi
+    done
+
+    advance_progress
+    if ! CC="$DIR/no-such-cc" java lovelace.LovelaceCompiler --native "$DIR/profile.lov" > "$DIR/out.txt" 2>&1 \
+            && grep -q "^Erro ao compilar" "$DIR/out.txt"; then
+        print_pass native_bad_cc "unusable \$CC is reported as an error"
+        PASSED=$((PASSED + 1))
+    else
+        print_fail native_bad_cc "unusable \$CC" "$(tail -1 "$DIR/out.txt" | cut -c1-120)"
+        FAILED=$((FAILED + 1))
+    fi
+
+    # Same programs on the runtime and on plain stdio, fed the same input.
+    mkdir -p "$DIR/stdio"
+    local INPUT="3.5 -2 1e3 0.1 7 abc"
+    SOURCES=()
+    for test in "${FILTERED_VALID[@]}"; do
+        cp "test/examples/${test}.lov" "$DIR/stdio/"
+        SOURCES+=("$DIR/stdio/${test}.lov")
+    done
+    java lovelace.LovelaceCompiler --native --stdio "${SOURCES[@]}" > /dev/null 2>&1
+    for test in "${FILTERED_VALID[@]}"; do
+        local desc="${TEST_DESC[$test]:-$test}"
+        advance_progress
+        local A B
+        A=$(echo "$INPUT" | timeout 10 "$DIR/${test}" 2>&1; echo "exit $?")
+        B=$(echo "$INPUT" | timeout 10 "$DIR/stdio/${test}" 2>&1; echo "exit $?")
+        if [ ! -x "$DIR/stdio/${test}" ]; then
+            print_fail "$test" "$desc (runtime vs. --stdio)" "no --stdio executable built"
+            FAILED=$((FAILED + 1))
+        elif [ "$A" = "$B" ]; then
+            print_pass "$test" "$desc (runtime vs. --stdio)"
+            PASSED=$((PASSED + 1))
+        else
+            print_fail "$test" "$desc (runtime vs. --stdio)" "program output differs"
+            FAILED=$((FAILED + 1))
+        fi
+    done
+
+    # Profiled builds print the same and append the report on stderr.
+    mkdir -p "$DIR/prof"
+    SOURCES=()
+    for test in "${FILTERED_VALID[@]}"; do
+        cp "test/examples/${test}.lov" "$DIR/prof/"
+        SOURCES+=("$DIR/prof/${test}.lov")
+    done
+    java lovelace.LovelaceCompiler --native --profile "${SOURCES[@]}" > /dev/null 2>&1
+    for test in "${FILTERED_VALID[@]}"; do
+        local desc="${TEST_DESC[$test]:-$test}"
+        advance_progress
+        local A B
+        A=$(echo "$INPUT" | timeout 10 "$DIR/${test}" 2>/dev/null; echo "exit $?")
+        B=$(echo "$INPUT" | timeout 10 "$DIR/prof/${test}" 2> "$DIR/prof/${test}.txt"; echo "exit $?")
+        if [ ! -x "$DIR/prof/${test}" ]; then
+            print_fail "$test" "$desc (--profile)" "no --profile executable built"
+            FAILED=$((FAILED + 1))
+        elif [ "$A" != "$B" ]; then
+            print_fail "$test" "$desc (--profile)" "program output differs"
+            FAILED=$((FAILED + 1))
+        elif ! grep -q "^main  *1 " "$DIR/prof/${test}.txt"; then
+            print_fail "$test" "$desc (--profile)" "no profile report"
+            FAILED=$((FAILED + 1))
+        else
+            print_pass "$test" "$desc (--profile)"
+            PASSED=$((PASSED + 1))
+        fi
+    done
+
+    # Memoised builds print the same as the plain ones.
+    mkdir -p "$DIR/memo"
+    SOURCES=()
+    for test in "${FILTERED_VALID[@]}"; do
+        cp "test/examples/${test}.lov" "$DIR/memo/"
+        SOURCES+=("$DIR/memo/${test}.lov")
+    done
+    java lovelace.LovelaceCompiler --native --memo "${SOURCES[@]}" > /dev/null 2>&1
+    for test in "${FILTERED_VALID[@]}"; do
+        local desc="${TEST_DESC[$test]:-$test}"
+        advance_progress
+        local A B
+        A=$(echo "$INPUT" | timeout 10 "$DIR/${test}" 2>&1; echo "exit $?")
+        B=$(echo "$INPUT" | timeout 10 "$DIR/memo/${test}" 2>&1; echo "exit $?")
+        if [ ! -x "$DIR/memo/${test}" ]; then
+            print_fail "$test" "$desc (--memo)" "no --memo executable built"
+            FAILED=$((FAILED + 1))
+        elif [ "$A" = "$B" ]; then
+            print_pass "$test" "$desc (--memo)"
+            PASSED=$((PASSED + 1))
+        else
+            print_fail "$test" "$desc (--memo)" "program output differs"
+            FAILED=$((FAILED + 1))
+        fi
+    done
+
+    # Builds with narrowed loop counters print the same as the plain ones.
+    mkdir -p "$DIR/narrow"
+    SOURCES=()
+    for test in "${FILTERED_VALID[@]}"; do
+        cp "test/examples/${test}.lov" "$DIR/narrow/"
+        SOURCES+=("$DIR/narrow/${test}.lov")
+    done
+    java lovelace.LovelaceCompiler --native --narrow "${SOURCES[@]}" > /dev/null 2>&1
+    for test in "${FILTERED_VALID[@]}"; do
+        local desc="${TEST_DESC[$test]:-$test}"
+        advance_progress
+        local A B
+        A=$(echo "$INPUT" | timeout 10 "$DIR/${test}" 2>&1; echo "exit $?")
+        B=$(echo "$INPUT" | timeout 10 "$DIR/narrow/${test}" 2>&1; echo "exit $?")
+        if [ ! -x "$DIR/narrow/${test}" ]; then
+            print_fail "$test" "$desc (--narrow)" "no --narrow executable built"
+            FAILED=$((FAILED + 1))
+        elif [ "$A" = "$B" ]; then
+            print_pass "$test" "$desc (--narrow)"
+            PASSED=$((PASSED + 1))
+        else
+            print_fail "$test" "$desc (--narrow)" "program output differs"
+            FAILED=$((FAILED + 1))
+        fi
+    done
+
+    # Builds with constant arguments propagated, folded and cloned print the
+    # same as the plain ones.
+    mkdir -p "$DIR/ipcp"
+    SOURCES=()
+    for test in "${FILTERED_VALID[@]}"; do
+        cp "test/examples/${test}.lov" "$DIR/ipcp/"
+        SOURCES+=("$DIR/ipcp/${test}.lov")
+    done
+    java lovelace.LovelaceCompiler --native --ipcp "${SOURCES[@]}" > /dev/null 2>&1
+    for test in "${FILTERED_VALID[@]}"; do
+        local desc="${TEST_DESC[$test]:-$test}"
+        advance_progress
+        local A B
+        A=$(echo "$INPUT" | timeout 10 "$DIR/${test}" 2>&1; echo "exit $?")
+        B=$(echo "$INPUT" | timeout 10 "$DIR/ipcp/${test}" 2>&1; echo "exit $?")
+        if [ ! -x "$DIR/ipcp/${test}" ]; then
+            print_fail "$test" "$desc (--ipcp)" "no --ipcp executable built"
+            FAILED=$((FAILED + 1))
+        elif [ "$A" = "$B" ]; then
+            print_pass "$test" "$desc (--ipcp)"
+            PASSED=$((PASSED + 1))
+        else
+            print_fail "$test" "$desc (--ipcp)" "program output differs"
+            FAILED=$((FAILED + 1))
+        fi
+    done
+
+    # The lattice workload keeps its counters in ints and prints the same.
+    advance_progress
+    mkdir -p "$DIR/narrow/bench" "$DIR/plain"
+    cp test/bench/narrow.lov "$DIR/narrow/bench/"
+    cp test/bench/narrow.lov "$DIR/plain/"
+    if ! java lovelace.LovelaceCompiler --native "$DIR/plain/narrow.lov" > "$DIR/out.txt" 2>&1 \
+            || ! java lovelace.LovelaceCompiler --native --narrow "$DIR/narrow/bench/narrow.lov" > "$DIR/out.txt" 2>&1; then
+        print_fail native_narrow "narrowed loop counters" "$(tail -1 "$DIR/out.txt" | cut -c1-120)"
+        FAILED=$((FAILED + 1))
+    elif ! grep -q "^Estreitamento: main: y em \[0, 2000\]" "$DIR/out.txt" \
+            || ! grep -q "^    int y;" "$DIR/narrow/bench/narrow.c"; then
+        print_fail native_narrow "narrowed loop counters" "y not narrowed"
+        FAILED=$((FAILED + 1))
+    elif [ "$(echo 2 | "$DIR/plain/narrow")" != "$(echo 2 | "$DIR/narrow/bench/narrow")" ]; then
+        print_fail native_narrow "narrowed loop counters" "program output differs"
+        FAILED=$((FAILED + 1))
+    else
+        print_pass native_narrow "narrowed loop counters print the same"
+        PASSED=$((PASSED + 1))
+    fi
+
+    # A debug build with #line markers maps its code back to the .lov lines
+    # (exemplo2.lov line 40 is the assignment in calcular).
+    advance_progress
+    mkdir -p "$DIR/linhas"
+    cp test/examples/exemplo2.lov "$DIR/linhas/"
+    if ! java lovelace.LovelaceCompiler --native --opt=debug --line-directives "$DIR/linhas/exemplo2.lov" \
+            > "$DIR/out.txt" 2>&1; then
+        print_fail native_lines "#line markers" "$(tail -1 "$DIR/out.txt" | cut -c1-120)"
+        FAILED=$((FAILED + 1))
+    elif ! command -v readelf > /dev/null 2>&1; then
+        print_pass native_lines "#line markers (readelf not found, line table not checked)"
+        PASSED=$((PASSED + 1))
+    elif ! readelf --debug-dump=decodedline "$DIR/linhas/exemplo2" 2>/dev/null \
+            | grep -q "^exemplo2\.lov  *40 "; then
+        print_fail native_lines "#line markers" "exemplo2.lov:40 not in the line table"
+        FAILED=$((FAILED + 1))
+    elif [ -x "$DIR/exemplo2" ] \
+            && [ "$(echo "$INPUT" | timeout 10 "$DIR/exemplo2" 2>&1)" != "$(echo "$INPUT" | timeout 10 "$DIR/linhas/exemplo2" 2>&1)" ]; then
+        print_fail native_lines "#line markers" "program output differs"
+        FAILED=$((FAILED + 1))
+    else
+        print_pass native_lines "debug build with #line markers points at the .lov lines"
+        PASSED=$((PASSED + 1))
+    fi
+
+    # Naive exponential recursion becomes linear once memoised.
+    advance_progress
+    mkdir -p "$DIR/memo/bench" "$DIR/plain"
+    cp test/bench/memo.lov "$DIR/memo/bench/"
+    cp test/bench/memo.lov "$DIR/plain/"
+    if ! java lovelace.LovelaceCompiler --native "$DIR/plain/memo.lov" > "$DIR/out.txt" 2>&1 \
+            || ! java lovelace.LovelaceCompiler --native --memo "$DIR/memo/bench/memo.lov" > "$DIR/out.txt" 2>&1; then
+        print_fail native_memo "memoised recursion" "$(tail -1 "$DIR/out.txt" | cut -c1-120)"
+        FAILED=$((FAILED + 1))
+    elif ! grep -q "^Memoização: caminhos: memoizada" "$DIR/out.txt"; then
+        print_fail native_memo "memoised recursion" "caminhos not memoised"
+        FAILED=$((FAILED + 1))
+    elif [ "$(echo 26 | "$DIR/plain/memo")" != "$(echo 26 | "$DIR/memo/bench/memo")" ]; then
+        print_fail native_memo "memoised recursion" "program output differs"
+        FAILED=$((FAILED + 1))
+    else
+        local T_PLAIN T_MEMO
+        T_PLAIN=$(best_of 3 sh -c "echo 26 | '$DIR/plain/memo' > /dev/null")
+        T_MEMO=$(best_of 3 sh -c "echo 26 | '$DIR/memo/bench/memo' > /dev/null")
+        if (( T_MEMO * 4 < T_PLAIN )); then
+            print_pass native_memo "memoised recursion is faster (${T_PLAIN} ms -> ${T_MEMO} ms)"
+            PASSED=$((PASSED + 1))
+        else
+            print_fail native_memo "memoised recursion" "not faster (${T_PLAIN} ms -> ${T_MEMO} ms)"
+            FAILED=$((FAILED + 1))
+        fi
+    fi
+
+    # The reduction loop runs on 4 threads, so its partial sums are added in
+    # a different order: the result must stay within 0.1% of the plain one.
+    advance_progress
+    mkdir -p "$DIR/parallel/bench" "$DIR/plain"
+    cp test/bench/parallel.lov "$DIR/parallel/bench/"
+    cp test/bench/parallel.lov "$DIR/plain/"
+    if ! java lovelace.LovelaceCompiler --native "$DIR/plain/parallel.lov" > "$DIR/out.txt" 2>&1 \
+            || ! java lovelace.LovelaceCompiler --native --parallel "$DIR/parallel/bench/parallel.lov" \
+                    > "$DIR/out.txt" 2>&1; then
+        print_fail native_parallel "parallel reduction" "$(tail -1 "$DIR/out.txt" | cut -c1-120)"
+        FAILED=$((FAILED + 1))
+    elif ! grep -q "^Paralelização: main, linha 11: paralelizado (+ em soma)" "$DIR/out.txt"; then
+        print_fail native_parallel "parallel reduction" "main loop not parallelised"
+        FAILED=$((FAILED + 1))
+    else
+        local A B CPUS
+        A=$(echo 1000000 | "$DIR/plain/parallel")
+        B=$(echo 1000000 | OMP_NUM_THREADS=4 "$DIR/parallel/bench/parallel")
+        CPUS=$(nproc 2>/dev/null || echo 1)
+        if ! awk -v a="$A" -v b="$B" 'BEGIN { d = a - b; if (d < 0) d = -d; exit !(b != "" && d <= 0.001 * a) }'; then
+            print_fail native_parallel "parallel reduction" "result out of tolerance ($A vs $B)"
+            FAILED=$((FAILED + 1))
+        elif (( CPUS < 2 )); then
+            print_pass native_parallel "parallel reduction within tolerance (1 CPU, speedup not checked)"
+            PASSED=$((PASSED + 1))
+        else
+            local T_PLAIN T_PAR
+            T_PLAIN=$(best_of 3 sh -c "echo 4000000 | '$DIR/plain/parallel' > /dev/null")
+            T_PAR=$(best_of 3 sh -c "echo 4000000 | '$DIR/parallel/bench/parallel' > /dev/null")
+            if (( T_PAR < T_PLAIN )); then
+                print_pass native_parallel "parallel reduction is faster on $CPUS CPUs (${T_PLAIN} ms -> ${T_PAR} ms)"
+                PASSED=$((PASSED + 1))
+            else
+                print_fail native_parallel "parallel reduction" "not faster on $CPUS CPUs (${T_PLAIN} ms -> ${T_PAR} ms)"
+                FAILED=$((FAILED + 1))
+            fi
+        fi
+    fi
+
+    # Profile-guided build of the PGO workload: train, rebuild, and check it
+    # computes the same and runs faster than the plain build.
+    advance_progress
+    mkdir -p "$DIR/pgo" "$DIR/plain"
+    cp test/bench/pgo.lov "$DIR/pgo/"
+    cp test/bench/pgo.lov "$DIR/plain/"
+    local N=8000000 T_PLAIN T_PGO
+    if ! java lovelace.LovelaceCompiler --native "$DIR/plain/pgo.lov" > "$DIR/out.txt" 2>&1 \
+            || ! java lovelace.LovelaceCompiler --native --pgo-gen "$DIR/pgo/pgo.lov" > "$DIR/out.txt" 2>&1 \
+            || ! (cd "$DIR/pgo" && echo 100000 | ./pgo > /dev/null) \
+            || ! java lovelace.LovelaceCompiler --native --pgo-use="$DIR/pgo/pgo.lovpgo" "$DIR/pgo/pgo.lov" \
+                    > "$DIR/out.txt" 2>&1; then
+        print_fail native_pgo "profile-guided build" "$(tail -1 "$DIR/out.txt" | cut -c1-120)"
+        FAILED=$((FAILED + 1))
+    elif ! grep -q "lv__inl_ajusta(i)" "$DIR/pgo/pgo.c"; then
+        print_fail native_pgo "profile-guided build" "hot call site not inlined"
+        FAILED=$((FAILED + 1))
+    elif [ "$(echo $N | "$DIR/plain/pgo")" != "$(echo $N | "$DIR/pgo/pgo")" ]; then
+        print_fail native_pgo "profile-guided build" "program output differs"
+        FAILED=$((FAILED + 1))
+    else
+        T_PLAIN=$(best_of 3 sh -c "echo $N | '$DIR/plain/pgo' > /dev/null")
+        T_PGO=$(best_of 3 sh -c "echo $N | '$DIR/pgo/pgo' > /dev/null")
+        if (( T_PGO < T_PLAIN )); then
+            print_pass native_pgo "profile-guided build is faster (${T_PLAIN} ms -> ${T_PGO} ms)"
+            PASSED=$((PASSED + 1))
+        else
+            print_fail native_pgo "profile-guided build" "not faster (${T_PLAIN} ms -> ${T_PGO} ms)"
+            FAILED=$((FAILED + 1))
+        fi
+    fi
+
+    # The runtime benchmarks must build and print their golden outputs; one
+    # run each, recorded in a throwaway history so nothing is compared.
+    advance_progress
+    if LOVELACE_BENCH_HISTORY="$DIR/history.jsonl" bash scripts/bench.sh runtime 1 > "$DIR/out.txt" 2>&1 \
+            && grep -q '"median_ms": {' "$DIR/history.jsonl"; then
+        print_pass native_runtime_bench "runtime benchmarks match their golden outputs"
+        PASSED=$((PASSED + 1))
+    else
+        print_fail native_runtime_bench "runtime benchmarks" "$(grep -m1 Error "$DIR/out.txt" | cut -c1-120)"
+        FAILED=$((FAILED + 1))
+    fi
+
+    unset LOVELACE_CACHE_DIR
+    rm -rf "$DIR"
+
+    print_summary $PASSED $FAILED
+    print_timing
+
+    NATIVE_PASSED=$PASSED
+    NATIVE_FAILED=$FAILED
+}
+
+# ---------------------------------------------------------------------------
+# Phase: Modules (separate compilation)
+# ---------------------------------------------------------------------------
+MODULES_FIXTURE="test/modules/geometria"
+MODULES_EXPECTED="test/modules/expected/geometria"
+MODULES_ERRORS=(ciclo ausente nao_modulo duplicada nome)
+
+# module_check NAME DESC REASON -- pass when REASON is empty
+module_check() {
+    advance_progress
+    if [ -z "$3" ]; then
+        print_pass "$1" "$2"
+        PASSED=$((PASSED + 1))
+    else
+        print_fail "$1" "$2" "$3"
+        FAILED=$((FAILED + 1))
+    fi
+}
+
+# module_goldens DIR -- first generated file in DIR that differs from its golden
+module_goldens() {
+    local f
+    for f in base.c base.h vetor.c vetor.h estat.c estat.h prog.c; do
+        if ! diff -q "$MODULES_EXPECTED/$f" "$1/$f" > /dev/null 2>&1; then
+            echo "$f"
+            return
+        fi
+    done
+}
+
+run_module_tests() {
+    local PASSED=0
+    local FAILED=0
+    local DIR
+    DIR=$(mktemp -d "${TMPDIR:-/tmp}/lovelace-modules.XXXXXX")
+
+    start_timer
+    print_suite_header "Lovelace Module Tests"
+    init_progress $(( 8 + ${#MODULES_ERRORS[@]} ))
+
+    local reason=""
+    local OUT="$DIR/out.txt"
+    local W="$DIR/geometria"
+    cp -r "$MODULES_FIXTURE" "$W"
+
+    # First build: every module compiled, in dependency order.
+    if ! java lovelace.LovelaceCompiler "$W/prog.lov" > "$OUT" 2>&1; then
+        reason="build failed: $(grep -m1 Erro "$OUT" | cut -c1-100)"
+    elif [ "$(grep -c ': compilado$' "$OUT")" -ne 3 ]; then
+        reason="expected 3 modules compiled"
+    elif [ -n "$(module_goldens "$W")" ]; then
+        reason="$(module_goldens "$W") differs from its golden"
+    elif [ "$(grep -n 'Módulo base' "$OUT" | cut -d: -f1)" -gt "$(grep -n 'Módulo vetor' "$OUT" | cut -d: -f1)" ]; then
+        reason="vetor compiled before base"
+    fi
+    module_check modules_build "three modules and the program match their goldens" "$reason"
+
+    # Nothing changed: every module is skipped.
+    reason=""
+    if ! java lovelace.LovelaceCompiler "$W/prog.lov" > "$OUT" 2>&1; then
+        reason="rebuild failed"
+    elif [ "$(grep -c ': inalterado$' "$OUT")" -ne 3 ]; then
+        reason="expected 3 modules skipped"
+    elif [ -n "$(module_goldens "$W")" ]; then
+        reason="$(module_goldens "$W") changed"
+    fi
+    module_check modules_unchanged "unchanged modules are skipped" "$reason"
+
+    # A body edit recompiles the module but not the modules importing it.
+    reason=""
+    sed -i 's/return (x \* x);/return ((x * x) + 0);/' "$W/base.lov"
+    if ! java lovelace.LovelaceCompiler "$W/prog.lov" > "$OUT" 2>&1; then
+        reason="rebuild failed"
+    elif ! grep -q 'Módulo base: compilado, interface inalterada' "$OUT"; then
+        reason="base not recompiled"
+    elif [ "$(grep -c ': inalterado$' "$OUT")" -ne 2 ]; then
+        reason="vetor and estat should be skipped"
+    fi
+    module_check modules_body_edit "a body edit leaves importers alone" "$reason"
+
+    # An interface change recompiles every module importing it.
+    reason=""
+    printf '\ndef Float cubo(Float x)\nbegin\n  return ((x * x) * x);\nend\n' >> "$W/base.lov"
+    if ! java lovelace.LovelaceCompiler "$W/prog.lov" > "$OUT" 2>&1; then
+        reason="rebuild failed"
+    elif [ "$(grep -c '^Módulo .*: compilado' "$OUT")" -ne 3 ]; then
+        reason="vetor and estat should be recompiled"
+    elif ! grep -q 'float cubo(float x);' "$W/base.h"; then
+        reason="base.h does not declare cubo"
+    fi
+    module_check modules_interface "an interface change recompiles importers" "$reason"
+
+    # Options that change the C recompile everything.
+    reason=""
+    if ! java lovelace.LovelaceCompiler --narrow "$W/prog.lov" > "$OUT" 2>&1; then
+        reason="rebuild failed"
+    elif [ "$(grep -c '^Módulo .*: compilado' "$OUT")" -ne 3 ]; then
+        reason="a new option should recompile every module"
+    fi
+    module_check modules_options "a change of options recompiles every module" "$reason"
+
+    # One worker, and modules read back from the AST cache, give the same C.
+    reason=""
+    rm -rf "$W" && cp -r "$MODULES_FIXTURE" "$W"
+    java lovelace.LovelaceCompiler --jobs=1 --cache "$W/prog.lov" > "$OUT" 2>&1
+    rm -f "$W"/*.lovsig
+    if ! java lovelace.LovelaceCompiler --jobs=1 --cache "$W/prog.lov" > "$OUT" 2>&1; then
+        reason="build failed: $(grep -m1 Erro "$OUT" | cut -c1-100)"
+    elif [ -n "$(module_goldens "$W")" ]; then
+        reason="$(module_goldens "$W") differs from its golden"
+    fi
+    module_check modules_jobs_cache "--jobs=1 and --cache give the same C" "$reason"
+
+    # A module compiled on its own writes the same files.
+    reason=""
+    rm -rf "$W" && cp -r "$MODULES_FIXTURE" "$W"
+    if ! java lovelace.LovelaceCompiler "$W/base.lov" > "$OUT" 2>&1; then
+        reason="build failed: $(grep -m1 Erro "$OUT" | cut -c1-100)"
+    elif ! diff -q "$MODULES_EXPECTED/base.c" "$W/base.c" > /dev/null 2>&1 \
+            || ! diff -q "$MODULES_EXPECTED/base.h" "$W/base.h" > /dev/null 2>&1; then
+        reason="base.c or base.h differs from its golden"
+    elif ! java lovelace.LovelaceCompiler "$W/prog.lov" > "$OUT" 2>&1 \
+            || ! grep -q 'Módulo base: inalterado' "$OUT"; then
+        reason="the program did not reuse base"
+    fi
+    module_check modules_library "a module compiled alone is reused by the program" "$reason"
+
+    for test in "${MODULES_ERRORS[@]}"; do
+        reason=""
+        if java lovelace.LovelaceCompiler "test/modules/erros/${test}/prog.lov" > "$OUT" 2>&1; then
+            reason="should have reported an error"
+        elif ! grep -q '^Erro' "$OUT"; then
+            reason="no error message"
+        elif ! grep '^Erro' "$OUT" | diff -q "test/modules/erros/${test}/erro.txt" - > /dev/null 2>&1; then
+            reason="error message mismatch: $(grep -m1 '^Erro' "$OUT" | cut -c1-80)"
+        fi
+        module_check "modules_${test}" "$(head -1 "test/modules/erros/${test}/prog.lov" | sed 's|^// ||')" "$reason"
+        rm -f test/modules/erros/"$test"/*.c test/modules/erros/"$test"/*.h \
+              test/modules/erros/"$test"/*.lovsig
+    done
+
+    # Linked from four translation units, the program prints what the
+    # same program written as one file prints.
+    if ! command -v cc &> /dev/null && ! command -v gcc &> /dev/null \
+            && ! command -v clang &> /dev/null && [ -z "$CC" ]; then
+        advance_progress
+        print_skip modules_native "native build" "no C compiler found"
+    else
+        reason=""
+        export LOVELACE_CACHE_DIR="$DIR/cache"
+        rm -rf "$W" && cp -r "$MODULES_FIXTURE" "$W"
+        if ! java lovelace.LovelaceCompiler --native "$W/prog.lov" "$W/unico.lov" > "$OUT" 2>&1; then
+            reason="build failed: $(grep -m1 -i erro "$OUT" | cut -c1-100)"
+        elif ! "$W/unico" > "$DIR/unico.txt" 2>&1 || ! "$W/prog" > "$DIR/prog.txt" 2>&1; then
+            reason="program failed"
+        elif ! diff -q "$DIR/unico.txt" "$DIR/prog.txt" > /dev/null 2>&1; then
+            reason="output differs from the single-file program"
+        fi
+        module_check modules_native "linked modules print what one file prints" "$reason"
+        unset LOVELACE_CACHE_DIR
+    fi
+
+    rm -rf "$DIR"
+
+    print_summary $PASSED $FAILED
+    print_timing
+
+    MODULES_PASSED=$PASSED
+    MODULES_FAILED=$FAILED
+}
+
 # ---------------------------------------------------------------------------
 # Main: run selected phases
 # ---------------------------------------------------------------------------
 LEXER_PASSED=0;  LEXER_FAILED=0
 PARSER_PASSED=0; PARSER_FAILED=0
 COMPILER_PASSED=0; COMPILER_FAILED=0
+VARIANTS_PASSED=0; VARIANTS_FAILED=0
+CACHE_PASSED=0; CACHE_FAILED=0
+DRIVER_PASSED=0; DRIVER_FAILED=0
+STRESS_PASSED=0; STRESS_FAILED=0
+INCREMENTAL_PASSED=0; INCREMENTAL_FAILED=0
+LLVM_PASSED=0; LLVM_FAILED=0
+NATIVE_PASSED=0; NATIVE_FAILED=0
+MODULES_PASSED=0; MODULES_FAILED=0
 
 run_all() {
     local ANY_FAIL=0
@@ -446,6 +1695,46 @@ run_all() {
                 SUMMARIES+=("Compiler:${COMPILER_PASSED}:${COMPILER_FAILED}")
                 [ $COMPILER_FAILED -gt 0 ] && ANY_FAIL=1
                 ;;
+            variants)
+                run_variant_tests
+                SUMMARIES+=("Variants:${VARIANTS_PASSED}:${VARIANTS_FAILED}")
+                [ $VARIANTS_FAILED -gt 0 ] && ANY_FAIL=1
+                ;;
+            llvm)
+                run_llvm_tests
+                SUMMARIES+=("LLVM:${LLVM_PASSED}:${LLVM_FAILED}")
+                [ $LLVM_FAILED -gt 0 ] && ANY_FAIL=1
+                ;;
+            cache)
+                run_cache_tests
+                SUMMARIES+=("Cache:${CACHE_PASSED}:${CACHE_FAILED}")
+                [ $CACHE_FAILED -gt 0 ] && ANY_FAIL=1
+                ;;
+            driver)
+                run_driver_tests
+                SUMMARIES+=("Driver:${DRIVER_PASSED}:${DRIVER_FAILED}")
+                [ $DRIVER_FAILED -gt 0 ] && ANY_FAIL=1
+                ;;
+            stress)
+                run_stress_tests
+                SUMMARIES+=("Stress:${STRESS_PASSED}:${STRESS_FAILED}")
+                [ $STRESS_FAILED -gt 0 ] && ANY_FAIL=1
+                ;;
+            incremental)
+                run_incremental_tests
+                SUMMARIES+=("Incremental:${INCREMENTAL_PASSED}:${INCREMENTAL_FAILED}")
+                [ $INCREMENTAL_FAILED -gt 0 ] && ANY_FAIL=1
+                ;;
+            native)
+                run_native_tests
+                SUMMARIES+=("Native:${NATIVE_PASSED}:${NATIVE_FAILED}")
+                [ $NATIVE_FAILED -gt 0 ] && ANY_FAIL=1
+                ;;
+            modules)
+                run_module_tests
+                SUMMARIES+=("Modules:${MODULES_PASSED}:${MODULES_FAILED}")
+                [ $MODULES_FAILED -gt 0 ] && ANY_FAIL=1
+                ;;
         esac
     done
 
@@ -13,4 +13,13 @@ public class CAtribuicao extends Comando{
 	  this.exp = exp;
 	} 
 
+	public <R> R accept(Visitor<R> v)
+	{
+	  return v.visitCAtribuicao(this);
+	}
+
+	public void accept(VoidVisitor v)
+	{
+	  v.visitCAtribuicao(this);
+	}
 }
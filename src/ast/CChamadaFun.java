@@ -14,4 +14,13 @@ public class CChamadaFun extends Comando{
 	  this.args = args;
 	} 
 
+	public <R> R accept(Visitor<R> v)
+	{
+	  return v.visitCChamadaFun(this);
+	}
+
+	public void accept(VoidVisitor v)
+	{
+	  v.visitCChamadaFun(this);
+	}
 }
@@ -14,4 +14,13 @@ public class CIf extends Comando{
 	  this.bloco = bloco;
 	} 
 
+	public <R> R accept(Visitor<R> v)
+	{
+	  return v.visitCIf(this);
+	}
+
+	public void accept(VoidVisitor v)
+	{
+	  v.visitCIf(this);
+	}
 }
@@ -14,4 +14,13 @@ public class CPrint extends Comando{
 	  
 	} 
 
+	public <R> R accept(Visitor<R> v)
+	{
+	  return v.visitCPrint(this);
+	}
+
+	public void accept(VoidVisitor v)
+	{
+	  v.visitCPrint(this);
+	}
 }
@@ -12,4 +12,13 @@ public class CReadInput extends Comando{
 	  this.var = var;
 	} 
 
+	public <R> R accept(Visitor<R> v)
+	{
+	  return v.visitCReadInput(this);
+	}
+
+	public void accept(VoidVisitor v)
+	{
+	  v.visitCReadInput(this);
+	}
 }
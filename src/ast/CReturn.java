@@ -14,4 +14,13 @@ public class CReturn extends Comando{
 	  
 	} 
 
+	public <R> R accept(Visitor<R> v)
+	{
+	  return v.visitCReturn(this);
+	}
+
+	public void accept(VoidVisitor v)
+	{
+	  v.visitCReturn(this);
+	}
 }
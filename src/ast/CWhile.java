@@ -14,4 +14,13 @@ public class CWhile extends Comando{
 	  this.bloco = bloco;
 	} 
 
+	public <R> R accept(Visitor<R> v)
+	{
+	  return v.visitCWhile(this);
+	}
+
+	public void accept(VoidVisitor v)
+	{
+	  v.visitCWhile(this);
+	}
 }
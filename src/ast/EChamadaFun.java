@@ -12,4 +12,13 @@ public class EChamadaFun extends Exp{
 	  this.args = args;
 	} 
 
+	public <R> R accept(Visitor<R> v)
+	{
+	  return v.visitEChamadaFun(this);
+	}
+
+	public void accept(VoidVisitor v)
+	{
+	  v.visitEChamadaFun(this);
+	}
 }
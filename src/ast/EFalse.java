@@ -9,4 +9,13 @@ public class EFalse extends Exp{
 	  
 	} 
 
+	public <R> R accept(Visitor<R> v)
+	{
+	  return v.visitEFalse(this);
+	}
+
+	public void accept(VoidVisitor v)
+	{
+	  v.visitEFalse(this);
+	}
 }
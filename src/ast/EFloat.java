@@ -11,4 +11,13 @@ public class EFloat extends Exp{
 	  
 	} 
 
+	public <R> R accept(Visitor<R> v)
+	{
+	  return v.visitEFloat(this);
+	}
+
+	public void accept(VoidVisitor v)
+	{
+	  v.visitEFloat(this);
+	}
 }
@@ -15,4 +15,13 @@ public class EOpExp extends Exp{
 	  
 	} 
 
+	public <R> R accept(Visitor<R> v)
+	{
+	  return v.visitEOpExp(this);
+	}
+
+	public void accept(VoidVisitor v)
+	{
+	  v.visitEOpExp(this);
+	}
 }
@@ -9,4 +9,13 @@ public class ETrue extends Exp{
 	  
 	} 
 
+	public <R> R accept(Visitor<R> v)
+	{
+	  return v.visitETrue(this);
+	}
+
+	public void accept(VoidVisitor v)
+	{
+	  v.visitETrue(this);
+	}
 }
@@ -11,4 +11,13 @@ public class EVar extends Exp{
 	  
 	} 
 
+	public <R> R accept(Visitor<R> v)
+	{
+	  return v.visitEVar(this);
+	}
+
+	public void accept(VoidVisitor v)
+	{
+	  v.visitEVar(this);
+	}
 }
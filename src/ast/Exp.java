@@ -1,4 +1,4 @@
 package ast;
 
 
-public class Exp{}
+public abstract class Exp extends Node{}
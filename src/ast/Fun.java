@@ -2,19 +2,31 @@ package ast;
 
 import java.util.ArrayList;
 
-public class Fun{
+public class Fun extends Node{
+	public int linha;
 	public String nome;
 	public ArrayList<ParamFormalFun> params;
 	public String retorno;
 	public ArrayList<VarDecl> vars;
 	public ArrayList<Comando> body;
 	
-	public Fun(String nome,ArrayList<ParamFormalFun> params, String retorno,ArrayList<VarDecl> vars,ArrayList<Comando> body)
+	public Fun(int linha,String nome,ArrayList<ParamFormalFun> params, String retorno,ArrayList<VarDecl> vars,ArrayList<Comando> body)
 	{
+		this.linha = linha;
 		this.nome = nome;
 		this.params = params;
 		this.retorno = retorno;
 		this.vars = vars;
 		this.body = body;
 	}
+
+	public <R> R accept(Visitor<R> v)
+	{
+		return v.visitFun(this);
+	}
+
+	public void accept(VoidVisitor v)
+	{
+		v.visitFun(this);
+	}
 }
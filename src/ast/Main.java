@@ -2,15 +2,26 @@ package ast;
 
 import java.util.ArrayList;
 
-public class Main{
+public class Main extends Node{
 
+	public int linha;
 	public ArrayList<VarDecl> vars;
 	public ArrayList<Comando> coms;
 	
-	public Main(ArrayList<VarDecl> vars,ArrayList<Comando> coms)
+	public Main(int linha,ArrayList<VarDecl> vars,ArrayList<Comando> coms)
 	{
+		this.linha = linha;
 		this.vars = vars;
 		this.coms = coms;
 	}
 
+	public <R> R accept(Visitor<R> v)
+	{
+		return v.visitMain(this);
+	}
+
+	public void accept(VoidVisitor v)
+	{
+		v.visitMain(this);
+	}
 }
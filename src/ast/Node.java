@@ -0,0 +1,8 @@
+package ast;
+
+// Common supertype of every AST class; accept() dispatches to the matching
+// visitXxx method of a Visitor (returning) or VoidVisitor.
+public abstract class Node{
+	public abstract <R> R accept(Visitor<R> v);
+	public abstract void accept(VoidVisitor v);
+}
@@ -1,6 +1,6 @@
 package ast;
 
-public class ParamFormalFun{
+public class ParamFormalFun extends Node{
    public String type;
    public String var;
    
@@ -8,4 +8,12 @@ public class ParamFormalFun{
    	this.type = type;
    	this.var = var;
    }
+
+   public <R> R accept(Visitor<R> v){
+   	return v.visitParamFormalFun(this);
+   }
+
+   public void accept(VoidVisitor v){
+   	v.visitParamFormalFun(this);
+   }
 }
@@ -2,13 +2,37 @@ package ast;
 
 import java.util.ArrayList;
 
-public class Prog{
+public class Prog extends Node{
     public Main main;
     public ArrayList<Fun> fun;
+
+    // Library module: its name, from "module nome;"; null for a program.
+    // A module has no main.
+    public String modulo;
+
+    // Modules named by "import nome;", in source order.
+    public ArrayList<String> imports;
+
     public Prog(Main main, ArrayList<Fun> fun)
     {
+        this(null, new ArrayList<String>(), main, fun);
+    }
+
+    public Prog(String modulo, ArrayList<String> imports, Main main, ArrayList<Fun> fun)
+    {
+        this.modulo = modulo;
+        this.imports = imports;
         this.main = main;
         this.fun = fun;
     }
-}
 
+    public <R> R accept(Visitor<R> v)
+    {
+        return v.visitProg(this);
+    }
+
+    public void accept(VoidVisitor v)
+    {
+        v.visitProg(this);
+    }
+}
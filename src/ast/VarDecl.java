@@ -1,6 +1,6 @@
 package ast;
 
-public class VarDecl{
+public class VarDecl extends Node{
    public String type;
    public String var;
    
@@ -8,4 +8,12 @@ public class VarDecl{
    	this.type = type;
    	this.var = var;
    }
+
+   public <R> R accept(Visitor<R> v){
+   	return v.visitVarDecl(this);
+   }
+
+   public void accept(VoidVisitor v){
+   	v.visitVarDecl(this);
+   }
 }
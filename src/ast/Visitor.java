@@ -0,0 +1,24 @@
+package ast;
+
+public interface Visitor<R>{
+	R visitProg(Prog p);
+	R visitMain(Main m);
+	R visitFun(Fun f);
+	R visitParamFormalFun(ParamFormalFun p);
+	R visitVarDecl(VarDecl v);
+
+	R visitCAtribuicao(CAtribuicao c);
+	R visitCIf(CIf c);
+	R visitCWhile(CWhile c);
+	R visitCPrint(CPrint c);
+	R visitCReadInput(CReadInput c);
+	R visitCReturn(CReturn c);
+	R visitCChamadaFun(CChamadaFun c);
+
+	R visitEFloat(EFloat e);
+	R visitEVar(EVar e);
+	R visitETrue(ETrue e);
+	R visitEFalse(EFalse e);
+	R visitEOpExp(EOpExp e);
+	R visitEChamadaFun(EChamadaFun e);
+}
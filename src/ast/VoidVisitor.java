@@ -0,0 +1,24 @@
+package ast;
+
+public interface VoidVisitor{
+	void visitProg(Prog p);
+	void visitMain(Main m);
+	void visitFun(Fun f);
+	void visitParamFormalFun(ParamFormalFun p);
+	void visitVarDecl(VarDecl v);
+
+	void visitCAtribuicao(CAtribuicao c);
+	void visitCIf(CIf c);
+	void visitCWhile(CWhile c);
+	void visitCPrint(CPrint c);
+	void visitCReadInput(CReadInput c);
+	void visitCReturn(CReturn c);
+	void visitCChamadaFun(CChamadaFun c);
+
+	void visitEFloat(EFloat e);
+	void visitEVar(EVar e);
+	void visitETrue(ETrue e);
+	void visitEFalse(EFalse e);
+	void visitEOpExp(EOpExp e);
+	void visitEChamadaFun(EChamadaFun e);
+}
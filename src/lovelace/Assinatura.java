@@ -0,0 +1,206 @@
+package lovelace;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import ast.*;
+
+// The signature summary of a library module, written next to its .c and .h
+// as <módulo>.lovsig. It records what the module exports and what its C
+// translation was built from, one record per line:
+//
+//   # lovelace lovsig 1
+//   modulo <nome>
+//   fonte <SHA-256 do .lov> <tamanho> <modificado em ms>
+//   opcoes <opções que mudam o C, separadas por espaço, ou nenhuma>
+//   importa <módulo> <interface com que foi compilado>
+//   def <Tipo> <nome>(<Tipo>, ...)
+//
+// The interface is the hash of the module name and the def lines only, so
+// a change to a function body leaves it alone: modules importing this one
+// are rebuilt only when it changes.
+final class Assinatura {
+
+    static final String CABECALHO = "# lovelace lovsig 1";
+    static final String EXTENSAO = ".lovsig";
+
+    // Modification times closer than this to when the summary was written
+    // are not trusted: the file may have changed again within the same tick.
+    static final long MARGEM_MS = 2000;
+
+    // A module's source as a summary records it: the hash of its text, and
+    // the size and modification time the file had when it was hashed.
+    static final class Fonte {
+        final String hash;
+        final long tamanho;
+        final long modificado;
+
+        Fonte(String hash, long tamanho, long modificado) {
+            this.hash = hash;
+            this.tamanho = tamanho;
+            this.modificado = modificado;
+        }
+
+        // Reads and hashes 'arquivo', unless the summary 'anterior' (from
+        // the file 'resumo') saw it with the same size and time, well
+        // before it was written.
+        static Fonte de(File arquivo, Assinatura anterior, File resumo) throws IOException {
+            long tamanho = arquivo.length();
+            long modificado = arquivo.lastModified();
+            if (anterior != null && anterior.fonte.tamanho == tamanho && anterior.fonte.modificado == modificado
+                    && modificado + MARGEM_MS < resumo.lastModified()) {
+                return anterior.fonte;
+            }
+            return new Fonte(hex(LovelaceASTCache.readSource(arquivo.getPath())), tamanho, modificado);
+        }
+
+        boolean igual(Fonte o) {
+            return hash.equals(o.hash);
+        }
+
+        public String toString() {
+            return hash + " " + tamanho + " " + modificado;
+        }
+    }
+
+    final String modulo;
+    final Fonte fonte;
+    final String opcoes;
+
+    // Interface of each import when this module was compiled, in source order.
+    final LinkedHashMap<String, String> importa;
+
+    // Exported functions: their def lines, return types and parameter
+    // types, in source order.
+    final ArrayList<String> funcoes = new ArrayList<String>();
+    final LinkedHashMap<String, String> retornos = new LinkedHashMap<String, String>();
+    final LinkedHashMap<String, List<String>> parametros = new LinkedHashMap<String, List<String>>();
+
+    private Assinatura(String modulo, Fonte fonte, String opcoes, LinkedHashMap<String, String> importa) {
+        this.modulo = modulo;
+        this.fonte = fonte;
+        this.opcoes = opcoes;
+        this.importa = importa;
+    }
+
+    // The summary of module 'p', compiled from 'fonte' against the imports
+    // in 'importa'.
+    static Assinatura de(Prog p, Fonte fonte, String opcoes, LinkedHashMap<String, String> importa) {
+        Assinatura a = new Assinatura(p.modulo, fonte, opcoes, importa);
+        for (Fun f : p.fun) {
+            StringBuilder sb = new StringBuilder(f.retorno).append(" ").append(f.nome).append("(");
+            ArrayList<String> tipos = new ArrayList<String>();
+            for (int i = 0; i < f.params.size(); i++) {
+                if (i > 0) sb.append(", ");
+                sb.append(f.params.get(i).type);
+                tipos.add(f.params.get(i).type);
+            }
+            a.funcoes.add(sb.append(")").toString());
+            a.retornos.put(f.nome, f.retorno);
+            a.parametros.put(f.nome, tipos);
+        }
+        return a;
+    }
+
+    // Null when there is no summary or it cannot be read: the module is
+    // then simply compiled.
+    static Assinatura le(File arquivo) {
+        if (!arquivo.isFile()) return null;
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new FileInputStream(arquivo), StandardCharsets.UTF_8))) {
+            if (!CABECALHO.equals(in.readLine())) return null;
+            String modulo = campo(in.readLine(), "modulo");
+            String fonte = campo(in.readLine(), "fonte");
+            String opcoes = campo(in.readLine(), "opcoes");
+            if (modulo == null || fonte == null || opcoes == null) return null;
+            String[] f = fonte.split(" ");
+            if (f.length != 3) return null;
+            Fonte lida;
+            try {
+                lida = new Fonte(f[0], Long.parseLong(f[1]), Long.parseLong(f[2]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            Assinatura a = new Assinatura(modulo, lida, opcoes, new LinkedHashMap<String, String>());
+            String linha;
+            while ((linha = in.readLine()) != null) {
+                String importa = campo(linha, "importa");
+                String def = campo(linha, "def");
+                if (importa != null) {
+                    String[] c = importa.split(" ");
+                    if (c.length != 2) return null;
+                    a.importa.put(c[0], c[1]);
+                } else if (def != null) {
+                    int espaco = def.indexOf(' ');
+                    int parentese = def.indexOf('(');
+                    if (espaco < 0 || parentese < espaco || !def.endsWith(")")) return null;
+                    String nome = def.substring(espaco + 1, parentese);
+                    String tipos = def.substring(parentese + 1, def.length() - 1);
+                    a.funcoes.add(def);
+                    a.retornos.put(nome, def.substring(0, espaco));
+                    a.parametros.put(nome, tipos.isEmpty() ? new ArrayList<String>()
+                                                           : Arrays.asList(tipos.split(", ")));
+                } else {
+                    return null;
+                }
+            }
+            return a;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String campo(String linha, String nome) {
+        return linha != null && linha.startsWith(nome + " ") ? linha.substring(nome.length() + 1) : null;
+    }
+
+    // Written to a private name and renamed, so a build that dies halfway
+    // never leaves a summary for outputs that were not written.
+    void grava(File arquivo) throws IOException {
+        File tmp = File.createTempFile(arquivo.getName(), ".tmp", arquivo.getAbsoluteFile().getParentFile());
+        try {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(
+                    new FileOutputStream(tmp), StandardCharsets.UTF_8))) {
+                out.print(CABECALHO + "\n");
+                out.print("modulo " + modulo + "\n");
+                out.print("fonte " + fonte + "\n");
+                out.print("opcoes " + opcoes + "\n");
+                for (Map.Entry<String, String> e : importa.entrySet()) {
+                    out.print("importa " + e.getKey() + " " + e.getValue() + "\n");
+                }
+                for (String f : funcoes) out.print("def " + f + "\n");
+                if (out.checkError()) throw new IOException("falha ao gravar " + arquivo);
+            }
+            Files.move(tmp.toPath(), arquivo.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            tmp.delete();
+        }
+    }
+
+    // What importers are compiled against: the module name and def lines.
+    String resumoInterface() {
+        StringBuilder sb = new StringBuilder("modulo ").append(modulo).append("\n");
+        for (String f : funcoes) sb.append("def ").append(f).append("\n");
+        return hex(sb.toString());
+    }
+
+    static String hex(String texto) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(texto.getBytes(StandardCharsets.UTF_8))) {
+                hex.append(String.format("%02x", b & 0xff));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package lovelace;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Builds executables from generated C files with the local C compiler.
+//
+// Programs generated with --parallel are compiled and linked with -fopenmp.
+// A program that imports modules is linked with their objects, which are
+// cached like its own.
+//
+// Object files are cached under a SHA-256 of the compiler, the profile flags,
+// the C source and the local headers it includes, so a program whose C
+// output did not change is only relinked. Profiles built with -march=native
+// also key on the host CPU. Batches are compiled in parallel on a fixed
+// thread pool.
+final class CompiladorNativo {
+
+    // Optimisation profiles: flags used to compile and to link.
+    enum Perfil {
+        DEBUG("debug", new String[] {"-O0", "-g"}, new String[0]),
+        O2("O2", new String[] {"-O2"}, new String[0]),
+        O3("O3", new String[] {"-O3", "-march=native"}, new String[0]),
+        LTO("lto", new String[] {"-O3", "-march=native", "-flto"}, new String[] {"-O3", "-march=native", "-flto"});
+
+        final String nome;
+        final String[] compilar;
+        final String[] ligar;
+
+        Perfil(String nome, String[] compilar, String[] ligar) {
+            this.nome = nome;
+            this.compilar = compilar;
+            this.ligar = ligar;
+        }
+
+        static Perfil of(String nome) {
+            for (Perfil p : values()) {
+                if (p.nome.equals(nome)) return p;
+            }
+            return null;
+        }
+    }
+
+    // Outcome of one build: the executable, whether its object came from the
+    // cache, or the error that stopped it.
+    static final class Resultado {
+        final String executavel;
+        final boolean emCache;
+        final String erro;
+
+        Resultado(String executavel, boolean emCache, String erro) {
+            this.executavel = executavel;
+            this.emCache = emCache;
+            this.erro = erro;
+        }
+    }
+
+    static final String OPENMP = "-fopenmp";
+
+    private final List<String> cc;
+    private final Perfil perfil;
+    private final boolean openmp;
+    private final File cacheDir;
+    private final String identidade;
+
+    CompiladorNativo(List<String> cc, Perfil perfil, boolean openmp, File cacheDir) {
+        this.cc = cc;
+        this.perfil = perfil;
+        this.openmp = openmp;
+        this.cacheDir = cacheDir;
+        this.identidade = identidade(cc, perfil, openmp);
+    }
+
+    // =========================================================================
+    // Compiler and cache lookup
+    // =========================================================================
+
+    // $CC when set (it may carry extra arguments), else the first of cc, gcc
+    // and clang found on the PATH; null when there is none.
+    static List<String> localizaCompilador() {
+        String env = System.getenv("CC");
+        if (env != null && !env.trim().isEmpty()) {
+            List<String> cmd = new ArrayList<String>(Arrays.asList(env.trim().split("\\s+")));
+            File f = naPath(cmd.get(0));
+            if (f != null) cmd.set(0, f.getPath());
+            return cmd;
+        }
+        for (String nome : new String[] {"cc", "gcc", "clang"}) {
+            File f = naPath(nome);
+            if (f != null) return new ArrayList<String>(Arrays.asList(f.getPath()));
+        }
+        return null;
+    }
+
+    private static File naPath(String nome) {
+        if (nome.indexOf(File.separatorChar) >= 0) {
+            File f = new File(nome);
+            return f.canExecute() ? f : null;
+        }
+        String path = System.getenv("PATH");
+        if (path == null) return null;
+        for (String dir : path.split(File.pathSeparator)) {
+            File f = new File(dir.isEmpty() ? "." : dir, nome);
+            if (f.isFile() && f.canExecute()) return f;
+        }
+        return null;
+    }
+
+    // $LOVELACE_CACHE_DIR, else $XDG_CACHE_HOME/lovelace, else ~/.cache/lovelace.
+    static File diretorioCache() {
+        String dir = System.getenv("LOVELACE_CACHE_DIR");
+        if (dir != null && !dir.isEmpty()) return new File(dir);
+        String xdg = System.getenv("XDG_CACHE_HOME");
+        if (xdg != null && !xdg.isEmpty()) return new File(xdg, "lovelace");
+        return new File(new File(System.getProperty("user.home"), ".cache"), "lovelace");
+    }
+
+    // The compiler binary's size and mtime stand in for its version, so an
+    // upgraded compiler does not reuse objects built by the old one.
+    private static String identidade(List<String> cc, Perfil perfil, boolean openmp) {
+        StringBuilder sb = new StringBuilder();
+        for (String s : cc) sb.append(s).append('\0');
+        File bin = new File(cc.get(0));
+        sb.append(bin.length()).append('\0').append(bin.lastModified()).append('\0');
+        for (String s : perfil.compilar) sb.append(s).append('\0');
+        if (openmp) sb.append(OPENMP).append('\0');
+        if (Arrays.asList(perfil.compilar).contains("-march=native")) sb.append(cpu(cc)).append('\0');
+        return sb.toString();
+    }
+
+    // What -march=native stands for on this host: the architecture, the CPU
+    // model and feature flags, and the -march the compiler resolves it to
+    // when it can say (gcc). The cache directory may be shared with other
+    // machines, which must not get objects built for an instruction set
+    // they lack.
+    private static String cpu(List<String> cc) {
+        StringBuilder sb = new StringBuilder(System.getProperty("os.arch"));
+        File cpuinfo = new File("/proc/cpuinfo");
+        if (cpuinfo.isFile()) {
+            try (BufferedReader in = new BufferedReader(new FileReader(cpuinfo))) {
+                boolean modelo = false;
+                boolean flags = false;
+                String linha;
+                while ((linha = in.readLine()) != null && !(modelo && flags)) {
+                    if (!modelo && linha.startsWith("model name")) {
+                        sb.append('\0').append(linha);
+                        modelo = true;
+                    } else if (!flags && (linha.startsWith("flags") || linha.startsWith("Features"))) {
+                        sb.append('\0').append(linha);
+                        flags = true;
+                    }
+                }
+            } catch (IOException e) {
+                // Keep what was read; the compiler's answer below still counts.
+            }
+        }
+        List<String> cmd = new ArrayList<String>(cc);
+        cmd.addAll(Arrays.asList("-march=native", "-Q", "--help=target"));
+        try {
+            for (String linha : executa(cmd).split("\n")) {
+                if (linha.trim().startsWith("-march=")) sb.append('\0').append(linha.trim());
+            }
+        } catch (IOException e) {
+            // clang has no -Q --help=target; /proc/cpuinfo has to do.
+        }
+        return sb.toString();
+    }
+
+    // Covers the C file and every header it includes with #include "...",
+    // read from the C file's directory (the runtime header, for one).
+    private String chave(File arquivoC) throws IOException {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(identidade.getBytes(StandardCharsets.UTF_8));
+            byte[] fonte = Files.readAllBytes(arquivoC.toPath());
+            md.update(fonte);
+            for (String linha : new String(fonte, StandardCharsets.UTF_8).split("\n")) {
+                if (!linha.startsWith("#include \"")) continue;
+                String nome = linha.substring("#include \"".length(), linha.lastIndexOf('"'));
+                File h = new File(arquivoC.getAbsoluteFile().getParentFile(), nome);
+                md.update(nome.getBytes(StandardCharsets.UTF_8));
+                if (h.isFile()) md.update(Files.readAllBytes(h.toPath()));
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : md.digest()) hex.append(String.format("%02x", b & 0xff));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // =========================================================================
+    // Building
+    // =========================================================================
+
+    static String nomeExecutavel(String arquivoC) {
+        return arquivoC.endsWith(".c") ? arquivoC.substring(0, arquivoC.length() - 2) : arquivoC + ".out";
+    }
+
+    // Links the program in 'arquivoC' with the modules it imports,
+    // 'modulosC'; it came from the cache when every object did.
+    Resultado compila(String arquivoC, List<String> modulosC) {
+        String exe = nomeExecutavel(arquivoC);
+        try {
+            File objDir = new File(cacheDir, "obj");
+            if (!objDir.isDirectory() && !objDir.mkdirs() && !objDir.isDirectory()) {
+                throw new IOException("não foi possível criar " + objDir);
+            }
+
+            List<String> objetos = new ArrayList<String>();
+            boolean emCache = true;
+            for (String c : modulosC) emCache &= objeto(c, objDir, objetos);
+            emCache &= objeto(arquivoC, objDir, objetos);
+
+            List<String> cmd = new ArrayList<String>(cc);
+            cmd.addAll(Arrays.asList(perfil.ligar));
+            if (openmp) cmd.add(OPENMP);
+            cmd.addAll(objetos);
+            cmd.addAll(Arrays.asList("-o", exe));
+            executa(cmd);
+            return new Resultado(exe, emCache, null);
+        } catch (IOException e) {
+            return new Resultado(exe, false, e.getMessage());
+        }
+    }
+
+    // Adds the object of 'arquivoC' to 'objetos', compiling it unless it is
+    // in the cache; true when it was.
+    private boolean objeto(String arquivoC, File objDir, List<String> objetos) throws IOException {
+        File obj = new File(objDir, chave(new File(arquivoC)) + ".o");
+        objetos.add(obj.getPath());
+        if (obj.isFile()) return true;
+
+        // Compile to a private name and rename, so concurrent builds never
+        // see a partially written object.
+        File tmp = File.createTempFile("obj", ".tmp", objDir);
+        try {
+            List<String> cmd = new ArrayList<String>(cc);
+            cmd.addAll(Arrays.asList(perfil.compilar));
+            if (openmp) cmd.add(OPENMP);
+            cmd.addAll(Arrays.asList("-c", arquivoC, "-o", tmp.getPath()));
+            executa(cmd);
+            Files.move(tmp.toPath(), obj.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            tmp.delete();
+        }
+        return false;
+    }
+
+    // Builds every file, each linked with the modules at the same index of
+    // 'modulosC', at most 'jobs' at a time (0 = one per CPU), and returns the
+    // results in input order.
+    List<Resultado> compilaTodos(List<String> arquivosC, final List<List<String>> modulosC, int jobs) {
+        List<Resultado> resultados = new ArrayList<Resultado>();
+        if (arquivosC.size() == 1) {
+            resultados.add(compila(arquivosC.get(0), modulosC.get(0)));
+            return resultados;
+        }
+
+        int threads = jobs > 0 ? jobs : Runtime.getRuntime().availableProcessors();
+        threads = Math.max(1, Math.min(threads, arquivosC.size()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Resultado>> futuros = new ArrayList<Future<Resultado>>();
+            for (int i = 0; i < arquivosC.size(); i++) {
+                final String c = arquivosC.get(i);
+                final List<String> modulos = modulosC.get(i);
+                futuros.add(pool.submit(new Callable<Resultado>() {
+                    public Resultado call() {
+                        return compila(c, modulos);
+                    }
+                }));
+            }
+            for (int i = 0; i < futuros.size(); i++) {
+                try {
+                    resultados.add(futuros.get(i).get());
+                } catch (ExecutionException e) {
+                    resultados.add(new Resultado(nomeExecutavel(arquivosC.get(i)), false,
+                                                 String.valueOf(e.getCause())));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    resultados.add(new Resultado(nomeExecutavel(arquivosC.get(i)), false, "interrompido"));
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return resultados;
+    }
+
+    // Runs 'cmd' and returns what it printed; fails with that output when
+    // the command does.
+    private static String executa(List<String> cmd) throws IOException {
+        Process p = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (InputStream in = p.getInputStream()) {
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) > 0) saida.write(buf, 0, n);
+        }
+        int status;
+        try {
+            status = p.waitFor();
+        } catch (InterruptedException e) {
+            p.destroy();
+            Thread.currentThread().interrupt();
+            throw new IOException("interrompido");
+        }
+        if (status != 0) {
+            throw new IOException(String.join(" ", cmd) + " terminou com código " + status + "\n"
+                                  + saida.toString("UTF-8").trim());
+        }
+        return saida.toString("UTF-8");
+    }
+}
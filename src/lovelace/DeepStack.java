@@ -0,0 +1,49 @@
+package lovelace;
+
+// Runs recursive-descent work on a thread with a large stack, so deeply
+// nested input (e.g. tens of thousands of parenthesised expressions) does
+// not overflow the default thread stack.
+final class DeepStack {
+
+    static final long STACK_BYTES = 1L << 30;
+
+    interface Task<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    private DeepStack() {}
+
+    @SuppressWarnings("unchecked")
+    static <T, E extends Exception> T run(final Task<T, E> task) throws E {
+        final Object[] result = new Object[1];
+        final Throwable[] failure = new Throwable[1];
+
+        Thread worker = new Thread(null, new Runnable() {
+            public void run() {
+                try {
+                    result[0] = task.run();
+                } catch (Throwable t) {
+                    failure[0] = t;
+                }
+            }
+        }, "lovelace-deep-stack", STACK_BYTES);
+
+        worker.start();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                worker.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+
+        Throwable t = failure[0];
+        if (t == null) return (T) result[0];
+        if (t instanceof RuntimeException) throw (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        throw (E) t;
+    }
+}
@@ -0,0 +1,974 @@
+package lovelace;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import ast.*;
+
+// Interprocedural constant propagation and function specialisation for
+// --ipcp. Returns a new Prog in which
+//
+//   - a parameter that receives the same constant at every call site, and
+//     that the function never assigns, is replaced by that constant in the
+//     body (repeated until nothing changes, so constants flow down chains
+//     of calls);
+//   - a call to a pure function (see Pureza) whose arguments are all known
+//     is run at compile time and replaced by its result, and a call
+//     statement of that kind is dropped;
+//   - a constant argument pattern used at two or more call sites gets a
+//     clone lv__<f>__<k> with those parameters turned into initialised
+//     locals, and the sites call the clone; at most CLONES clones per
+//     program, the most used patterns first;
+//   - if (true) and if (false) lose their test, while (false) disappears,
+//     and functions no longer called from main are removed.
+//
+// The generated C must print exactly what it printed before, so constants
+// are tracked with the type C gives them: literals are doubles, Float
+// variables and functions are floats, Bool ones and comparisons are ints.
+// A constant only replaces an expression where its literal reads back as
+// the same value of the same type -- anywhere a float is stored, but in
+// arithmetic only when the types already match -- and compile time
+// evaluation uses float, double or int arithmetic exactly where C would.
+//
+// The rewrite recurses over the tree and runs on DeepStack, like the
+// parser; it builds fresh nodes throughout, since later passes key their
+// tables on node identity.
+final class Especializacao {
+
+    static final int CLONES = 8;
+
+    // Commands and expressions one compile time evaluation may run, and the
+    // call depth it may reach, before the call is left to run time.
+    static final int PASSOS = 100000;
+    static final int PROFUNDIDADE = 64;
+
+    // Rounds of propagation through chains of calls.
+    static final int RODADAS = 8;
+
+    // Where an expression's value goes, which decides the literals that can
+    // stand for it.
+    private static final int FLOAT = 0;     // converted to float: Float variable, parameter or return
+    private static final int INT = 1;       // converted to 0 or 1: Bool variable, parameter or return
+    private static final int TESTE = 2;     // only its truth matters: conditions, && and || operands
+    private static final int COMPARA = 3;   // operand of <, > or ==: any type, same value
+    private static final int IMPRIME = 4;   // print: same value, printed the same way
+    private static final int EXATO = 5;     // operand of arithmetic: same type and value
+    private static final int DIVISOR = 6;   // right of /: as EXATO, or untouched if an int
+
+    // A value as the C code holds it: 'I' int, 'F' float or 'D' double.
+    static final class Valor {
+        final char tipo;
+        final double v;
+
+        Valor(char tipo, double v) {
+            this.tipo = tipo;
+            this.v = v;
+        }
+
+        boolean igual(Valor o) {
+            return o != null && tipo == o.tipo && Double.doubleToLongBits(v) == Double.doubleToLongBits(o.v);
+        }
+
+        public String toString() {
+            return tipo == 'I' ? (v == 0 ? "false" : v == 1 ? "true" : String.valueOf((int) v))
+                               : String.valueOf((float) v);
+        }
+    }
+
+    // A clone: the function it copies and the constant of each parameter,
+    // null for those it keeps.
+    private static final class Clone {
+        final String nome;
+        final Fun origem;
+        final Valor[] constantes;
+        int sitios;
+
+        Clone(String nome, Fun origem, Valor[] constantes) {
+            this.nome = nome;
+            this.origem = origem;
+            this.constantes = constantes;
+        }
+    }
+
+    // A compile time evaluation ran out of budget or hit something C leaves
+    // undefined.
+    private static final class Falha extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Falha() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final Falha FALHA = new Falha();
+    private static final Valor FALHOU = new Valor('I', 0);
+
+    // Functions by name, as the program defines them; a name defined twice
+    // is left alone.
+    private final Map<String, Fun> funs = new HashMap<String, Fun>();
+    private final Set<String> repetidas = new HashSet<String>();
+    private final Pureza pureza;
+
+    // Variables each function assigns or reads into.
+    private final Map<String, Set<String>> atribuidas = new HashMap<String, Set<String>>();
+
+    // Parameters replaced in place, by function, and the clones of each.
+    private final Map<String, Map<String, Valor>> constantes = new HashMap<String, Map<String, Valor>>();
+    private final Map<String, ArrayList<Clone>> clones = new HashMap<String, ArrayList<Clone>>();
+    private final Map<String, String> origens = new HashMap<String, String>();
+    private boolean novosClones;
+
+    // Results of compile time calls, keyed by callee and argument bits, and
+    // how many sites of each function were evaluated away.
+    private final Map<String, Valor> resultados = new HashMap<String, Valor>();
+    private final Map<String, Integer> avaliadas = new HashMap<String, Integer>();
+    private int passos;
+
+    // The function being rewritten: its constants, variable types and
+    // return type, and the return types of every function.
+    private Map<String, Valor> ambiente;
+    private final Map<String, String> tipos = new HashMap<String, String>();
+    private String retorno;
+    private final Map<String, String> retornos = new HashMap<String, String>();
+
+    // Value of the expression exp() last rewrote, or null when unknown.
+    private Valor ultimo;
+
+    private Especializacao(Prog p) {
+        for (Fun f : p.fun) {
+            if (funs.put(f.nome, f) != null) repetidas.add(f.nome);
+            retornos.put(f.nome, f.retorno);
+            Set<String> vars = new HashSet<String>();
+            atribuidas(f.body, vars);
+            atribuidas.put(f.nome, vars);
+        }
+        for (String nome : repetidas) funs.remove(nome);
+        pureza = Pureza.de(p);
+    }
+
+    // Rewrites 'p' and appends one line per change to 'relatorio'.
+    static Prog aplica(final Prog p, final List<String> relatorio) {
+        return DeepStack.run(new DeepStack.Task<Prog, RuntimeException>() {
+            public Prog run() {
+                return new Especializacao(p).especializa(p, relatorio);
+            }
+        });
+    }
+
+    private Prog especializa(Prog p, List<String> relatorio) {
+        Set<String> alcancaveis = alcancaveis(p, new HashSet<String>());
+        Prog atual = reescreve(p);
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            if (!propaga(atual)) break;
+            atual = reescreve(atual);
+        }
+        if (clona(atual)) atual = reescreve(atual);
+
+        // Functions left without callers. Those unreachable to begin with
+        // are kept, as they were written, with everything they call.
+        Set<String> mortas = new HashSet<String>();
+        for (Fun f : p.fun) {
+            if (!alcancaveis.contains(f.nome)) mortas.add(f.nome);
+        }
+        Set<String> restantes = alcancaveis(atual, mortas);
+        ArrayList<Fun> funcoes = new ArrayList<Fun>();
+        Set<String> removidas = new HashSet<String>();
+        for (Fun f : atual.fun) {
+            if (restantes.contains(f.nome)) {
+                funcoes.add(f);
+            } else {
+                removidas.add(f.nome);
+            }
+        }
+
+        for (Fun f : p.fun) {
+            Map<String, Valor> cs = constantes.get(f.nome);
+            if (cs != null && !repetidas.contains(f.nome)) {
+                for (ParamFormalFun param : f.params) {
+                    if (cs.containsKey(param.var)) {
+                        relatorio.add(f.nome + ": " + param.var + " = " + cs.get(param.var) + " em todas as chamadas");
+                    }
+                }
+            }
+            Integer n = avaliadas.get(f.nome);
+            if (n != null) {
+                relatorio.add(f.nome + ": " + n + (n == 1 ? " chamada avaliada" : " chamadas avaliadas")
+                        + " em tempo de compilação");
+            }
+            if (clones.containsKey(f.nome)) {
+                for (Clone c : clones.get(f.nome)) {
+                    StringBuilder sb = new StringBuilder();
+                    for (int i = 0; i < c.constantes.length; i++) {
+                        if (c.constantes[i] == null) continue;
+                        sb.append(sb.length() == 0 ? "" : ", ").append(f.params.get(i).var)
+                          .append(" = ").append(c.constantes[i]);
+                    }
+                    relatorio.add(c.nome + ": " + f.nome + " com " + sb + " (" + c.sitios
+                            + (c.sitios == 1 ? " chamada)" : " chamadas)")
+                            + (removidas.contains(c.nome) ? ", removida" : ""));
+                }
+            }
+            if (removidas.contains(f.nome)) relatorio.add(f.nome + ": removida, sem chamadas restantes");
+        }
+        return new Prog(p.modulo, p.imports, atual.main, funcoes);
+    }
+
+    // =========================================================================
+    // Constant parameters and clones
+    // =========================================================================
+
+    // Adds the parameters that now get the same constant at every site;
+    // false when there are none.
+    private boolean propaga(Prog p) {
+        Map<String, ArrayList<Valor[]>> sitios = sitios(p);
+        boolean mudou = false;
+        for (Map.Entry<String, ArrayList<Valor[]>> e : sitios.entrySet()) {
+            Fun f = funs.get(e.getKey());
+            if (f == null || e.getValue().isEmpty()) continue;
+            Map<String, Valor> cs = constantes.get(f.nome);
+            for (int i = 0; i < f.params.size(); i++) {
+                String var = f.params.get(i).var;
+                if ((cs != null && cs.containsKey(var)) || atribuidas.get(f.nome).contains(var)) continue;
+                Valor comum = null;
+                for (Valor[] args : e.getValue()) {
+                    if (args == null || args[i] == null || (comum != null && !comum.igual(args[i]))) {
+                        comum = null;
+                        break;
+                    }
+                    comum = args[i];
+                }
+                if (comum == null) continue;
+                if (cs == null) constantes.put(f.nome, cs = new HashMap<String, Valor>());
+                cs.put(var, comum);
+                mudou = true;
+            }
+        }
+        return mudou;
+    }
+
+    // Picks the clones: for every function, the constant argument patterns
+    // of its remaining call sites, ranked by how many sites use them.
+    private boolean clona(Prog p) {
+        final Map<String, Integer> contagem = new LinkedHashMap<String, Integer>();
+        Map<String, Valor[]> padroes = new HashMap<String, Valor[]>();
+        Map<String, Fun> donos = new HashMap<String, Fun>();
+        Map<String, ArrayList<Valor[]>> sitios = sitios(p);
+        for (Fun f : p.fun) {
+            if (!sitios.containsKey(f.nome) || !funs.containsKey(f.nome)) continue;
+            Map<String, Valor> cs = constantes.get(f.nome);
+            for (Valor[] args : sitios.get(f.nome)) {
+                if (args == null) continue;
+                Valor[] padrao = new Valor[args.length];
+                StringBuilder chave = new StringBuilder(f.nome);
+                boolean algum = false;
+                for (int i = 0; i < args.length; i++) {
+                    String var = f.params.get(i).var;
+                    if (args[i] == null || (cs != null && cs.containsKey(var))
+                            || atribuidas.get(f.nome).contains(var) || inicial(args[i]) == null) {
+                        chave.append("|");
+                        continue;
+                    }
+                    padrao[i] = args[i];
+                    algum = true;
+                    chave.append("|").append(args[i].tipo).append(Double.doubleToLongBits(args[i].v));
+                }
+                if (!algum) continue;
+                String k = chave.toString();
+                Integer n = contagem.get(k);
+                contagem.put(k, n == null ? 1 : n + 1);
+                padroes.put(k, padrao);
+                donos.put(k, f);
+            }
+        }
+
+        ArrayList<String> escolhidos = new ArrayList<String>();
+        for (Map.Entry<String, Integer> e : contagem.entrySet()) {
+            if (e.getValue() >= 2) escolhidos.add(e.getKey());
+        }
+        // Stable, so equally used patterns keep source order.
+        Collections.sort(escolhidos, new Comparator<String>() {
+            public int compare(String a, String b) {
+                return contagem.get(b) - contagem.get(a);
+            }
+        });
+        if (escolhidos.size() > CLONES) escolhidos.subList(CLONES, escolhidos.size()).clear();
+
+        for (String k : escolhidos) {
+            Fun f = donos.get(k);
+            ArrayList<Clone> lista = clones.get(f.nome);
+            if (lista == null) clones.put(f.nome, lista = new ArrayList<Clone>());
+            Clone c = new Clone("lv__" + f.nome + "__" + (lista.size() + 1), f, padroes.get(k));
+            lista.add(c);
+            origens.put(c.nome, f.nome);
+            retornos.put(c.nome, f.retorno);
+        }
+        novosClones = !escolhidos.isEmpty();
+        return novosClones;
+    }
+
+    // The clone as a function: the constant parameters become locals set
+    // on entry, and the rewrite then treats them as constants.
+    private Fun funcao(Clone c) {
+        Fun f = c.origem;
+        ArrayList<ParamFormalFun> params = new ArrayList<ParamFormalFun>();
+        ArrayList<VarDecl> vars = new ArrayList<VarDecl>();
+        ArrayList<Comando> body = new ArrayList<Comando>();
+        for (int i = 0; i < f.params.size(); i++) {
+            ParamFormalFun p = f.params.get(i);
+            if (c.constantes[i] == null) {
+                params.add(new ParamFormalFun(p.type, p.var));
+            } else {
+                vars.add(new VarDecl(p.type, p.var));
+                body.add(new CAtribuicao(f.linha, p.var, inicial(c.constantes[i])));
+            }
+        }
+        vars.addAll(f.vars);
+        body.addAll(f.body);
+        return new Fun(f.linha, c.nome, params, f.retorno, vars, body);
+    }
+
+    // Drops the locals of fixed parameters the rewritten clone no longer
+    // reads, with the assignments that set them on entry.
+    private static Fun sobras(Fun g, Clone c) {
+        Set<String> lidas = new HashSet<String>();
+        ArrayDeque<Node> pilha = new ArrayDeque<Node>(g.body);
+        while (!pilha.isEmpty()) {
+            Node n = pilha.pop();
+            if (n instanceof EVar) {
+                lidas.add(((EVar) n).var);
+            } else if (n instanceof CAtribuicao) {
+                pilha.push(((CAtribuicao) n).exp);
+            } else if (n instanceof CIf) {
+                pilha.addAll(((CIf) n).bloco);
+                pilha.push(((CIf) n).exp);
+            } else if (n instanceof CWhile) {
+                pilha.addAll(((CWhile) n).bloco);
+                pilha.push(((CWhile) n).exp);
+            } else if (n instanceof CPrint) {
+                pilha.push(((CPrint) n).exp);
+            } else if (n instanceof CReturn) {
+                if (((CReturn) n).exp != null) pilha.push(((CReturn) n).exp);
+            } else if (n instanceof EOpExp) {
+                pilha.push(((EOpExp) n).arg1);
+                pilha.push(((EOpExp) n).arg2);
+            } else if (n instanceof CChamadaFun) {
+                pilha.addAll(((CChamadaFun) n).args);
+            } else if (n instanceof EChamadaFun) {
+                pilha.addAll(((EChamadaFun) n).args);
+            }
+        }
+
+        ArrayList<VarDecl> vars = new ArrayList<VarDecl>(g.vars);
+        ArrayList<Comando> body = new ArrayList<Comando>(g.body);
+        // funcao() put them first, in parameter order.
+        int k = 0;
+        for (int i = 0; i < c.constantes.length; i++) {
+            if (c.constantes[i] == null) continue;
+            if (lidas.contains(c.origem.params.get(i).var)) {
+                k++;
+            } else {
+                vars.remove(k);
+                body.remove(k);
+            }
+        }
+        return new Fun(g.linha, g.nome, g.params, g.retorno, vars, body);
+    }
+
+    // The literal that sets a cloned parameter, or null if none reads back
+    // as exactly its value.
+    private static Exp inicial(Valor x) {
+        return x.tipo == 'I' ? logico(x) : flutuante(x.v, true);
+    }
+
+    // The clone a site with these argument values calls: the one fixing
+    // the most parameters, all of which the site passes.
+    private Clone clone(String fun, Valor[] args) {
+        ArrayList<Clone> lista = clones.get(fun);
+        if (lista == null || args == null) return null;
+        Clone melhor = null;
+        int fixos = 0;
+        for (Clone c : lista) {
+            int n = 0;
+            for (int i = 0; i < args.length && n >= 0; i++) {
+                if (c.constantes[i] == null) continue;
+                n = c.constantes[i].igual(args[i]) ? n + 1 : -1;
+            }
+            if (n > fixos) {
+                melhor = c;
+                fixos = n;
+            }
+        }
+        return melhor;
+    }
+
+    // Argument values of every call site, by callee, converted to the
+    // parameter types; null for a site whose argument count is wrong.
+    private Map<String, ArrayList<Valor[]>> sitios(Prog p) {
+        Map<String, ArrayList<Valor[]>> sitios = new LinkedHashMap<String, ArrayList<Valor[]>>();
+        ArrayDeque<Node> pilha = new ArrayDeque<Node>();
+        for (int k = 0; k <= p.fun.size(); k++) {
+            Map<String, Valor> env;
+            if (k < p.fun.size()) {
+                env = constantes.get(p.fun.get(k).nome);
+                pilha.addAll(p.fun.get(k).body);
+            } else {
+                env = null;
+                pilha.addAll(p.main.coms);
+            }
+            if (env == null) env = new HashMap<String, Valor>();
+            while (!pilha.isEmpty()) {
+                Node n = pilha.pop();
+                String fun = null;
+                ArrayList<Exp> args = null;
+                if (n instanceof CAtribuicao) {
+                    pilha.push(((CAtribuicao) n).exp);
+                } else if (n instanceof CIf) {
+                    pilha.addAll(((CIf) n).bloco);
+                    pilha.push(((CIf) n).exp);
+                } else if (n instanceof CWhile) {
+                    pilha.addAll(((CWhile) n).bloco);
+                    pilha.push(((CWhile) n).exp);
+                } else if (n instanceof CPrint) {
+                    pilha.push(((CPrint) n).exp);
+                } else if (n instanceof CReturn) {
+                    if (((CReturn) n).exp != null) pilha.push(((CReturn) n).exp);
+                } else if (n instanceof EOpExp) {
+                    pilha.push(((EOpExp) n).arg1);
+                    pilha.push(((EOpExp) n).arg2);
+                } else if (n instanceof CChamadaFun) {
+                    fun = ((CChamadaFun) n).fun;
+                    args = ((CChamadaFun) n).args;
+                } else if (n instanceof EChamadaFun) {
+                    fun = ((EChamadaFun) n).fun;
+                    args = ((EChamadaFun) n).args;
+                }
+                if (fun == null) continue;
+                pilha.addAll(args);
+                ArrayList<Valor[]> lista = sitios.get(fun);
+                if (lista == null) sitios.put(fun, lista = new ArrayList<Valor[]>());
+                Fun f = funs.get(fun);
+                if (f == null || f.params.size() != args.size()) {
+                    lista.add(null);
+                    continue;
+                }
+                Valor[] valores = new Valor[args.size()];
+                for (int i = 0; i < valores.length; i++) {
+                    valores[i] = converte(valor(args.get(i), env, 0), f.params.get(i).type);
+                }
+                lista.add(valores);
+            }
+        }
+        return sitios;
+    }
+
+    private static void atribuidas(List<Comando> coms, Set<String> vars) {
+        for (Comando c : coms) {
+            if (c instanceof CAtribuicao) vars.add(((CAtribuicao) c).var);
+            if (c instanceof CReadInput) vars.add(((CReadInput) c).var);
+            if (c instanceof CIf) atribuidas(((CIf) c).bloco, vars);
+            if (c instanceof CWhile) atribuidas(((CWhile) c).bloco, vars);
+        }
+    }
+
+    // Functions main or the functions in 'raizes' can reach, and those.
+    private static Set<String> alcancaveis(Prog p, Set<String> raizes) {
+        Map<String, Fun> porNome = new HashMap<String, Fun>();
+        for (Fun f : p.fun) porNome.put(f.nome, f);
+        Set<String> vistas = new HashSet<String>(raizes);
+        ArrayDeque<Node> pilha = new ArrayDeque<Node>(p.main.coms);
+        for (Fun f : p.fun) {
+            if (raizes.contains(f.nome)) pilha.addAll(f.body);
+        }
+        while (!pilha.isEmpty()) {
+            Node n = pilha.pop();
+            String fun = null;
+            if (n instanceof CAtribuicao) {
+                pilha.push(((CAtribuicao) n).exp);
+            } else if (n instanceof CIf) {
+                pilha.addAll(((CIf) n).bloco);
+                pilha.push(((CIf) n).exp);
+            } else if (n instanceof CWhile) {
+                pilha.addAll(((CWhile) n).bloco);
+                pilha.push(((CWhile) n).exp);
+            } else if (n instanceof CPrint) {
+                pilha.push(((CPrint) n).exp);
+            } else if (n instanceof CReturn) {
+                if (((CReturn) n).exp != null) pilha.push(((CReturn) n).exp);
+            } else if (n instanceof EOpExp) {
+                pilha.push(((EOpExp) n).arg1);
+                pilha.push(((EOpExp) n).arg2);
+            } else if (n instanceof CChamadaFun) {
+                fun = ((CChamadaFun) n).fun;
+                pilha.addAll(((CChamadaFun) n).args);
+            } else if (n instanceof EChamadaFun) {
+                fun = ((EChamadaFun) n).fun;
+                pilha.addAll(((EChamadaFun) n).args);
+            }
+            if (fun != null && vistas.add(fun) && porNome.containsKey(fun)) pilha.addAll(porNome.get(fun).body);
+        }
+        return vistas;
+    }
+
+    // =========================================================================
+    // Rewriting
+    // =========================================================================
+
+    private Prog reescreve(Prog p) {
+        ArrayList<Fun> funcoes = new ArrayList<Fun>();
+        for (Fun f : p.fun) {
+            funcoes.add(reescreve(f, constantes.get(f.nome)));
+            if (!novosClones || !clones.containsKey(f.nome)) continue;
+            // New clones go right after the functions they copy.
+            for (Clone c : clones.get(f.nome)) {
+                Map<String, Valor> env = new HashMap<String, Valor>();
+                if (constantes.containsKey(f.nome)) env.putAll(constantes.get(f.nome));
+                for (int i = 0; i < c.constantes.length; i++) {
+                    if (c.constantes[i] != null) env.put(f.params.get(i).var, c.constantes[i]);
+                }
+                constantes.put(c.nome, env);
+                funcoes.add(sobras(reescreve(funcao(c), env), c));
+            }
+        }
+        novosClones = false;
+
+        inicia(p.main.vars, new ArrayList<ParamFormalFun>(), null, null);
+        Main main = new Main(p.main.linha, copia(p.main.vars), bloco(p.main.coms));
+        return new Prog(main, funcoes);
+    }
+
+    private Fun reescreve(Fun f, Map<String, Valor> env) {
+        inicia(f.vars, f.params, f.retorno, env);
+        ArrayList<ParamFormalFun> params = new ArrayList<ParamFormalFun>();
+        for (ParamFormalFun p : f.params) params.add(new ParamFormalFun(p.type, p.var));
+        return new Fun(f.linha, f.nome, params, f.retorno, copia(f.vars), bloco(f.body));
+    }
+
+    private void inicia(List<VarDecl> vars, List<ParamFormalFun> params, String retorno,
+                        Map<String, Valor> env) {
+        tipos.clear();
+        for (ParamFormalFun p : params) tipos.put(p.var, p.type);
+        for (VarDecl v : vars) tipos.put(v.var, v.type);
+        this.retorno = retorno;
+        ambiente = env == null ? new HashMap<String, Valor>() : env;
+    }
+
+    private static ArrayList<VarDecl> copia(List<VarDecl> vars) {
+        ArrayList<VarDecl> novas = new ArrayList<VarDecl>();
+        for (VarDecl v : vars) novas.add(new VarDecl(v.type, v.var));
+        return novas;
+    }
+
+    private ArrayList<Comando> bloco(List<Comando> coms) {
+        ArrayList<Comando> novos = new ArrayList<Comando>();
+        for (Comando c : coms) {
+            if (c instanceof CAtribuicao) {
+                CAtribuicao a = (CAtribuicao) c;
+                novos.add(new CAtribuicao(a.linha, a.var, exp(a.exp, contexto(tipos.get(a.var)))));
+            } else if (c instanceof CIf) {
+                CIf s = (CIf) c;
+                Exp cond = exp(s.exp, TESTE);
+                if (cond instanceof ETrue) {
+                    novos.addAll(bloco(s.bloco));
+                } else if (!(cond instanceof EFalse)) {
+                    novos.add(new CIf(s.linha, cond, bloco(s.bloco)));
+                }
+            } else if (c instanceof CWhile) {
+                CWhile w = (CWhile) c;
+                Exp cond = exp(w.exp, TESTE);
+                if (!(cond instanceof EFalse)) novos.add(new CWhile(w.linha, cond, bloco(w.bloco)));
+            } else if (c instanceof CPrint) {
+                CPrint pr = (CPrint) c;
+                novos.add(new CPrint(pr.linha, exp(pr.exp, IMPRIME)));
+            } else if (c instanceof CReadInput) {
+                CReadInput r = (CReadInput) c;
+                novos.add(new CReadInput(r.linha, r.var));
+            } else if (c instanceof CReturn) {
+                CReturn r = (CReturn) c;
+                novos.add(new CReturn(r.linha, r.exp == null ? null : exp(r.exp, contexto(retorno))));
+            } else if (c instanceof CChamadaFun) {
+                CChamadaFun ch = (CChamadaFun) c;
+                ArrayList<Exp> args = new ArrayList<Exp>();
+                Valor[] valores = argumentos(ch.fun, ch.args, args);
+                if (completos(valores) && chama(ch.fun, valores, 0) != null) {
+                    // Pure and computable: nothing to run.
+                    conta(ch.fun);
+                    continue;
+                }
+                Clone alvo = clone(ch.fun, valores);
+                novos.add(new CChamadaFun(ch.linha, alvo == null ? ch.fun : alvo.nome, restantes(alvo, args)));
+            }
+        }
+        return novos;
+    }
+
+    private static int contexto(String tipo) {
+        if ("Float".equals(tipo)) return FLOAT;
+        if ("Bool".equals(tipo)) return INT;
+        return EXATO;
+    }
+
+    private Exp exp(Exp e, int contexto) {
+        // Constants the C compiler can see through must not turn a run time
+        // int division by zero, or an out of range conversion to int, into
+        // one it finds at compile time: it may then treat the whole path as
+        // undefined, even where it never runs. Those expressions stay as
+        // they are.
+        if (contexto == DIVISOR && tipo(e) == 'I') return intacta(e);
+        if (contexto == INT) {
+            Valor x = valor(e, ambiente, 0);
+            if (x != null && converte(x, "Bool") == null) return intacta(e);
+        }
+
+        Exp novo;
+        Valor x;
+        if (e instanceof EOpExp) {
+            EOpExp o = (EOpExp) e;
+            int filhos = aritmetico(o.op) ? EXATO : logicoOp(o.op) ? TESTE : COMPARA;
+            Exp a = exp(o.arg1, filhos);
+            Valor va = ultimo;
+            Exp b = exp(o.arg2, o.op.equals("/") ? DIVISOR : filhos);
+            x = opera(o.op, va, ultimo);
+            novo = new EOpExp(o.op, a, b);
+        } else if (e instanceof EChamadaFun) {
+            EChamadaFun c = (EChamadaFun) e;
+            ArrayList<Exp> args = new ArrayList<Exp>();
+            Valor[] valores = argumentos(c.fun, c.args, args);
+            x = completos(valores) && !"Void".equals(retornos.get(c.fun)) ? chama(c.fun, valores, 0) : null;
+            Clone alvo = clone(c.fun, valores);
+            novo = new EChamadaFun(alvo == null ? c.fun : alvo.nome, restantes(alvo, args));
+        } else if (e instanceof EVar) {
+            x = ambiente.get(((EVar) e).var);
+            novo = new EVar(((EVar) e).var);
+        } else if (e instanceof EFloat) {
+            x = literal(((EFloat) e).value);
+            novo = new EFloat(((EFloat) e).value);
+        } else if (e instanceof ETrue) {
+            x = new Valor('I', 1);
+            novo = new ETrue();
+        } else {
+            x = new Valor('I', 0);
+            novo = new EFalse();
+        }
+
+        Exp lit = x == null ? null : substituto(x, contexto, e);
+        ultimo = x;
+        if (lit == null) return novo;
+        if (e instanceof EChamadaFun) conta(((EChamadaFun) e).fun);
+        return lit;
+    }
+
+    // The type C gives an expression: 'I' int, 'F' float or 'D' double.
+    private char tipo(Exp e) {
+        if (e instanceof EFloat) return 'D';
+        if (e instanceof EVar) return "Float".equals(tipos.get(((EVar) e).var)) ? 'F' : 'I';
+        if (e instanceof EChamadaFun) return "Float".equals(retornos.get(((EChamadaFun) e).fun)) ? 'F' : 'I';
+        if (!(e instanceof EOpExp) || !aritmetico(((EOpExp) e).op)) return 'I';
+        char a = tipo(((EOpExp) e).arg1), b = tipo(((EOpExp) e).arg2);
+        return a == 'D' || b == 'D' ? 'D' : a == 'F' || b == 'F' ? 'F' : 'I';
+    }
+
+    private Exp intacta(Exp e) {
+        ultimo = valor(e, ambiente, 0);
+        return copia(e);
+    }
+
+    private static Exp copia(Exp e) {
+        if (e instanceof EFloat) return new EFloat(((EFloat) e).value);
+        if (e instanceof ETrue) return new ETrue();
+        if (e instanceof EFalse) return new EFalse();
+        if (e instanceof EVar) return new EVar(((EVar) e).var);
+        if (e instanceof EOpExp) {
+            EOpExp o = (EOpExp) e;
+            return new EOpExp(o.op, copia(o.arg1), copia(o.arg2));
+        }
+        EChamadaFun c = (EChamadaFun) e;
+        ArrayList<Exp> args = new ArrayList<Exp>();
+        for (Exp a : c.args) args.add(copia(a));
+        return new EChamadaFun(c.fun, args);
+    }
+
+    // Rewrites the arguments of a call into 'novos', each for the type of
+    // its parameter, and returns their values converted to those types
+    // (null where unknown); null for a call to an unknown function or with
+    // the wrong number of arguments.
+    private Valor[] argumentos(String fun, ArrayList<Exp> args, ArrayList<Exp> novos) {
+        Fun f = funs.get(fun);
+        boolean casa = f != null && f.params.size() == args.size();
+        Valor[] valores = casa ? new Valor[args.size()] : null;
+        for (int i = 0; i < args.size(); i++) {
+            String tipo = casa ? f.params.get(i).type : null;
+            novos.add(exp(args.get(i), contexto(tipo)));
+            if (casa) valores[i] = converte(ultimo, tipo);
+        }
+        return valores;
+    }
+
+    private static boolean completos(Valor[] valores) {
+        if (valores == null) return false;
+        for (Valor v : valores) {
+            if (v == null) return false;
+        }
+        return true;
+    }
+
+    // The arguments a call to 'alvo' still passes.
+    private static ArrayList<Exp> restantes(Clone alvo, ArrayList<Exp> args) {
+        if (alvo == null) return args;
+        ArrayList<Exp> restam = new ArrayList<Exp>();
+        for (int i = 0; i < args.size(); i++) {
+            if (alvo.constantes[i] == null) restam.add(args.get(i));
+        }
+        alvo.sitios++;
+        return restam;
+    }
+
+    private void conta(String fun) {
+        Integer n = avaliadas.get(fun);
+        avaliadas.put(fun, n == null ? 1 : n + 1);
+    }
+
+    // A literal for 'x' in this context, or null if none reads back as the
+    // same value there.
+    private Exp substituto(Valor x, int contexto, Exp original) {
+        switch (contexto) {
+            case FLOAT: {
+                Valor f = converte(x, "Float");
+                return flutuante(f.v, true);
+            }
+            case INT: {
+                Valor i = converte(x, "Bool");
+                return i == null ? null : logico(i);
+            }
+            case TESTE:
+                return verdade(x) ? new ETrue() : new EFalse();
+            case COMPARA:
+                if (x.tipo == 'I' && logico(x) != null) return logico(x);
+                return flutuante(x.v, false);
+            case IMPRIME:
+                // %d for ints, %f for doubles, as GeradorC picks them.
+                if (inteiro(original)) return x.tipo == 'I' ? logico(x) : null;
+                return x.tipo == 'I' ? null : flutuante(x.v, false);
+            default:
+                if (x.tipo == 'I') return logico(x);
+                return x.tipo == 'D' ? flutuante(x.v, false) : null;
+        }
+    }
+
+    // Whether GeradorC prints this expression as an int.
+    private boolean inteiro(Exp e) {
+        if (GeradorC.isBoolExp(e)) return true;
+        if (e instanceof EVar) return "Bool".equals(tipos.get(((EVar) e).var));
+        if (e instanceof EChamadaFun) return "Bool".equals(retornos.get(((EChamadaFun) e).fun));
+        return false;
+    }
+
+    // true or false for an int 1 or 0.
+    private static Exp logico(Valor x) {
+        if (x.tipo != 'I' || (x.v != 0 && x.v != 1)) return null;
+        return x.v == 1 ? new ETrue() : new EFalse();
+    }
+
+    // The EFloat whose C literal is exactly 'v' -- as a float when stored
+    // in one, as a double otherwise -- or null.
+    private static Exp flutuante(double v, boolean comoFloat) {
+        float f = (float) v;
+        if (Float.isNaN(f) || Float.isInfinite(f)) return null;
+        double lido = literal(f).v;
+        boolean exato = comoFloat ? Float.floatToIntBits((float) lido) == Float.floatToIntBits(f)
+                                  : Double.doubleToLongBits(lido) == Double.doubleToLongBits(v);
+        return exato ? new EFloat(f) : null;
+    }
+
+    // =========================================================================
+    // Compile time evaluation
+    // =========================================================================
+
+    // The C value of an EFloat: its text, read as a double.
+    private static Valor literal(float f) {
+        return new Valor('D', Double.parseDouble(String.valueOf(f)));
+    }
+
+    // Value of an expression over the variables in 'env', or null if it is
+    // not known.
+    private Valor valor(Exp e, Map<String, Valor> env, int profundidade) {
+        if (e instanceof EFloat) return literal(((EFloat) e).value);
+        if (e instanceof ETrue) return new Valor('I', 1);
+        if (e instanceof EFalse) return new Valor('I', 0);
+        if (e instanceof EVar) return env.get(((EVar) e).var);
+        if (e instanceof EOpExp) {
+            EOpExp o = (EOpExp) e;
+            Valor a = valor(o.arg1, env, profundidade);
+            // && and || do not evaluate their right side once the left decides.
+            if (a != null && o.op.equals("&&") && !verdade(a)) return new Valor('I', 0);
+            if (a != null && o.op.equals("||") && verdade(a)) return new Valor('I', 1);
+            return opera(o.op, a, valor(o.arg2, env, profundidade));
+        }
+        EChamadaFun c = (EChamadaFun) e;
+        Fun f = funs.get(c.fun);
+        if (f == null || f.params.size() != c.args.size()) return null;
+        Valor[] args = new Valor[c.args.size()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = converte(valor(c.args.get(i), env, profundidade), f.params.get(i).type);
+            if (args[i] == null) return null;
+        }
+        return chama(c.fun, args, profundidade);
+    }
+
+    // Result of a pure function on known arguments, null if it is impure or
+    // cannot be computed within the budget.
+    private Valor chama(String fun, Valor[] args, int profundidade) {
+        Fun f = funs.get(fun);
+        if (f == null || !pureza.pura(fun) || profundidade > PROFUNDIDADE) return null;
+        StringBuilder k = new StringBuilder(fun);
+        for (Valor a : args) k.append('|').append(a.tipo).append(Double.doubleToLongBits(a.v));
+        String chave = k.toString();
+        Valor r = resultados.get(chave);
+        if (r != null) return r == FALHOU ? null : r;
+
+        if (profundidade == 0) passos = PASSOS;
+        Map<String, String> tiposF = new HashMap<String, String>();
+        Map<String, Valor> quadro = new HashMap<String, Valor>();
+        for (int i = 0; i < args.length; i++) {
+            tiposF.put(f.params.get(i).var, f.params.get(i).type);
+            quadro.put(f.params.get(i).var, args[i]);
+        }
+        for (VarDecl v : f.vars) tiposF.put(v.var, v.type);
+        Valor[] saida = new Valor[1];
+        try {
+            boolean voltou = executa(f.body, tiposF, quadro, f.retorno, saida, profundidade);
+            if (!voltou && !f.retorno.equals("Void")) throw FALHA;
+            r = f.retorno.equals("Void") ? new Valor('I', 0) : saida[0];
+        } catch (Falha e) {
+            if (profundidade == 0) resultados.put(chave, FALHOU);
+            return null;
+        }
+        resultados.put(chave, r);
+        return r;
+    }
+
+    // Runs commands; true once one returns, with the value in saida[0].
+    private boolean executa(List<Comando> coms, Map<String, String> tiposF, Map<String, Valor> quadro,
+                            String tipoRetorno, Valor[] saida, int profundidade) {
+        for (Comando c : coms) {
+            if (--passos < 0) throw FALHA;
+            if (c instanceof CAtribuicao) {
+                CAtribuicao a = (CAtribuicao) c;
+                quadro.put(a.var, conhecido(converte(avalia(a.exp, quadro, profundidade), tiposF.get(a.var))));
+            } else if (c instanceof CIf) {
+                CIf s = (CIf) c;
+                if (verdade(avalia(s.exp, quadro, profundidade))
+                        && executa(s.bloco, tiposF, quadro, tipoRetorno, saida, profundidade)) {
+                    return true;
+                }
+            } else if (c instanceof CWhile) {
+                CWhile w = (CWhile) c;
+                while (verdade(avalia(w.exp, quadro, profundidade))) {
+                    if (executa(w.bloco, tiposF, quadro, tipoRetorno, saida, profundidade)) return true;
+                    if (--passos < 0) throw FALHA;
+                }
+            } else if (c instanceof CReturn) {
+                CReturn r = (CReturn) c;
+                if (r.exp != null) {
+                    if (tipoRetorno.equals("Void")) throw FALHA;
+                    saida[0] = conhecido(converte(avalia(r.exp, quadro, profundidade), tipoRetorno));
+                }
+                return true;
+            } else if (c instanceof CChamadaFun) {
+                CChamadaFun ch = (CChamadaFun) c;
+                avalia(new EChamadaFun(ch.fun, ch.args), quadro, profundidade);
+            } else {
+                throw FALHA;
+            }
+        }
+        return false;
+    }
+
+    // An expression inside a compile time call: it must be computable.
+    private Valor avalia(Exp e, Map<String, Valor> quadro, int profundidade) {
+        passos -= 1;
+        if (passos < 0) throw FALHA;
+        return conhecido(valor(e, quadro, profundidade + 1));
+    }
+
+    private static Valor conhecido(Valor x) {
+        if (x == null) throw FALHA;
+        return x;
+    }
+
+    private static boolean aritmetico(String op) {
+        return op.equals("+") || op.equals("-") || op.equals("*") || op.equals("/");
+    }
+
+    private static boolean logicoOp(String op) {
+        return op.equals("&&") || op.equals("||");
+    }
+
+    // C's truth test: anything but zero, NaN included.
+    private static boolean verdade(Valor x) {
+        return x.v != 0 || Double.isNaN(x.v);
+    }
+
+    // A binary operator on known operands, with C's usual arithmetic
+    // conversions; null when either is unknown or C leaves the result
+    // undefined (int overflow, int division by zero).
+    static Valor opera(String op, Valor a, Valor b) {
+        if (op.equals("&&")) {
+            if (a != null && !verdade(a)) return new Valor('I', 0);
+            if (a == null || b == null) return null;
+            return new Valor('I', verdade(b) ? 1 : 0);
+        }
+        if (op.equals("||")) {
+            if (a != null && verdade(a)) return new Valor('I', 1);
+            if (a == null || b == null) return null;
+            return new Valor('I', verdade(b) ? 1 : 0);
+        }
+        if (a == null || b == null) return null;
+
+        char t = a.tipo == 'D' || b.tipo == 'D' ? 'D' : a.tipo == 'F' || b.tipo == 'F' ? 'F' : 'I';
+        double x = t == 'F' ? (double) (float) a.v : a.v;
+        double y = t == 'F' ? (double) (float) b.v : b.v;
+        if (op.equals("<")) return new Valor('I', x < y ? 1 : 0);
+        if (op.equals(">")) return new Valor('I', x > y ? 1 : 0);
+        if (op.equals("==")) return new Valor('I', x == y ? 1 : 0);
+
+        if (t == 'I') {
+            long i = (long) x, j = (long) y, r;
+            if (op.equals("+")) {
+                r = i + j;
+            } else if (op.equals("-")) {
+                r = i - j;
+            } else if (op.equals("*")) {
+                r = i * j;
+            } else {
+                if (j == 0) return null;
+                r = i / j;
+            }
+            return r == (int) r ? new Valor('I', r) : null;
+        }
+        if (t == 'F') {
+            float f = (float) x, g = (float) y;
+            float r = op.equals("+") ? f + g : op.equals("-") ? f - g : op.equals("*") ? f * g : f / g;
+            return new Valor('F', r);
+        }
+        double r = op.equals("+") ? x + y : op.equals("-") ? x - y : op.equals("*") ? x * y : x / y;
+        return new Valor('D', r);
+    }
+
+    // A value stored as 'tipo' ("Float" or "Bool"), a Bool being 0 or 1 by
+    // the integer part: null when unknown, for any other type, or when C
+    // leaves the conversion to int undefined.
+    static Valor converte(Valor x, String tipo) {
+        if (x == null) return null;
+        if ("Float".equals(tipo)) return new Valor('F', (float) x.v);
+        if (!"Bool".equals(tipo)) return null;
+        if (!(x.v > -2147483649.0 && x.v < 2147483648.0)) return null;
+        return new Valor('I', (int) x.v != 0 ? 1 : 0);
+    }
+}
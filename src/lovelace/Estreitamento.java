@@ -0,0 +1,583 @@
+package lovelace;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import ast.*;
+
+// Integer narrowing for --narrow: finds the Float locals that only ever hold
+// exact integers between -2^24 and 2^24, which the generated C keeps in an
+// int. In that range a float holds every integer, and sums, differences and
+// products that stay in it are exact, so int arithmetic computes the same
+// values the float arithmetic did. The one integral float an int cannot hold
+// is -0.0, so a value that may be -0.0 (a zero product with a negative
+// operand, say) is never int code.
+//
+// A local qualifies when nothing is read into it and every value assigned
+// to it is built from integer literals and qualifying locals with +, - and
+// *. Its range is the union of the ranges of those values, iterated to a
+// fixpoint. A counter stepped by a constant at the top level of a while body
+// whose condition compares it with a bound the loop does not change,
+//
+//   while (i < n) begin ... i := (i + 1.0); end;
+//
+// takes its range from that bound instead. Locals whose range is unknown or
+// leaves the safe interval stay float.
+//
+// Expressions over narrowed locals are marked for int code. Where such an
+// expression meets float arithmetic it is converted back to the type C gave
+// it before (double if it contains a literal, float otherwise), so every
+// float operation still sees the same operands.
+final class Estreitamento implements VoidVisitor {
+
+    static final double LIMITE = 16777216.0;  // 2^24
+
+    // Range of values an expression can take, and what it is built from.
+    private static final class Faixa {
+        final double lo, hi;
+        final boolean inteira;   // integer literals and narrowed locals only, with + - *
+        final boolean dentro;    // every intermediate value within LIMITE
+        final boolean estreita;  // mentions a narrowed local
+        final boolean literal;   // contains a literal
+        final boolean menosZero; // may be -0.0, which an int cannot hold
+
+        Faixa(double lo, double hi, boolean inteira, boolean dentro, boolean estreita, boolean literal,
+              boolean menosZero) {
+            this.lo = lo;
+            this.hi = hi;
+            this.inteira = inteira;
+            this.dentro = dentro;
+            this.estreita = estreita;
+            this.literal = literal;
+            this.menosZero = menosZero;
+        }
+
+        boolean vazia() {
+            return lo > hi;
+        }
+
+        boolean temZero() {
+            return lo <= 0 && hi >= 0;
+        }
+
+        // Exact integer arithmetic that can be done in an int. A -0.0 prints
+        // as -0.000000 and divides to -inf, so a value that may be one stays
+        // float.
+        boolean exata() {
+            return inteira && dentro && !menosZero;
+        }
+    }
+
+    private static final Faixa QUALQUER = new Faixa(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+            false, false, false, false, true);
+
+    // An assignment to a candidate, with the loop it steps when it is a
+    // counter update.
+    private static final class Atribuicao {
+        final CAtribuicao c;
+        final CWhile laco;  // the while this assignment is directly inside, or null
+
+        Atribuicao(CAtribuicao c, CWhile laco) {
+            this.c = c;
+            this.laco = laco;
+        }
+    }
+
+    // Narrowed locals of each function with their ranges, in source order.
+    private final Map<String, LinkedHashMap<String, Faixa>> estreitas =
+            new HashMap<String, LinkedHashMap<String, Faixa>>();
+
+    // Expressions emitted as int code, and comparisons made between ints.
+    private final Set<Exp> inteiras = Collections.newSetFromMap(new IdentityHashMap<Exp, Boolean>());
+    private final Set<Exp> comparacoes = Collections.newSetFromMap(new IdentityHashMap<Exp, Boolean>());
+    private final Map<Exp, Faixa> info = new IdentityHashMap<Exp, Faixa>();
+
+    // Walk state: commands of the function being collected, and the value
+    // stack of the expression being evaluated.
+    private final ArrayDeque<Object> pilha = new ArrayDeque<Object>();
+    private final ArrayDeque<Faixa> valores = new ArrayDeque<Faixa>();
+    private Map<String, Faixa> faixas;
+    private boolean registra;
+    private ArrayList<Atribuicao> atribuicoes;
+    private Set<String> lidas;
+    private Map<CWhile, Set<String>> alteradas;
+    private ArrayDeque<CWhile> lacos;
+
+    // Marker popped after the operands of an EOpExp, to combine them.
+    private static final class Combina {
+        final EOpExp e;
+
+        Combina(EOpExp e) {
+            this.e = e;
+        }
+    }
+
+    // Marker popped after the arguments of a call, to drop them.
+    private static final class Chamada {
+        final EChamadaFun e;
+
+        Chamada(EChamadaFun e) {
+            this.e = e;
+        }
+    }
+
+    // Marker popped when the walk leaves a while body.
+    private static final class FimLaco {
+    }
+
+    static Estreitamento de(Prog p) {
+        Estreitamento est = new Estreitamento();
+        p.accept(est);
+        return est;
+    }
+
+    boolean estreita(String fun, String var) {
+        Map<String, Faixa> m = estreitas.get(fun);
+        return m != null && m.containsKey(var);
+    }
+
+    boolean inteira(Exp e) {
+        return inteiras.contains(e);
+    }
+
+    // C type an int expression is converted to where float code uses it, or
+    // null when it is not int code.
+    String conversao(Exp e) {
+        if (!inteiras.contains(e)) return null;
+        return info.get(e).literal ? "double" : "float";
+    }
+
+    // Conversion for an operand of 'pai': none when the operator itself is
+    // computed on ints.
+    String conversao(EOpExp pai, Exp operando) {
+        if (inteiras.contains(pai) || comparacoes.contains(pai)) return null;
+        return conversao(operando);
+    }
+
+    // One line per narrowed local: "função: variável em [lo, hi]".
+    List<String> relatorio(Prog p) {
+        ArrayList<String> linhas = new ArrayList<String>();
+        ArrayList<String> funs = new ArrayList<String>();
+        funs.add("main");
+        for (Fun f : p.fun) funs.add(f.nome);
+        for (String fun : funs) {
+            Map<String, Faixa> m = estreitas.get(fun);
+            if (m == null) continue;
+            for (Map.Entry<String, Faixa> e : m.entrySet()) {
+                linhas.add(fun + ": " + e.getKey() + " em [" + (long) e.getValue().lo + ", "
+                        + (long) e.getValue().hi + "]");
+            }
+        }
+        return linhas;
+    }
+
+    // =========================================================================
+    // Per function: collect, iterate ranges, mark
+    // =========================================================================
+
+    private void analisa(String fun, ArrayList<VarDecl> vars, ArrayList<Comando> coms) {
+        atribuicoes = new ArrayList<Atribuicao>();
+        lidas = new HashSet<String>();
+        alteradas = new IdentityHashMap<CWhile, Set<String>>();
+        lacos = new ArrayDeque<CWhile>();
+        empilha(coms);
+        percorre();
+
+        Set<String> candidatas = new HashSet<String>();
+        for (VarDecl v : vars) {
+            if (v.type.equals("Float") && !lidas.contains(v.var)) candidatas.add(v.var);
+        }
+
+        LinkedHashMap<String, Faixa> resultado = new LinkedHashMap<String, Faixa>();
+        faixas = new HashMap<String, Faixa>();
+        while (!candidatas.isEmpty()) {
+            String fora = itera(candidatas);
+            if (fora == null) {
+                for (VarDecl v : vars) {
+                    if (candidatas.contains(v.var)) resultado.put(v.var, faixas.get(v.var));
+                }
+                break;
+            }
+            candidatas.remove(fora);
+        }
+        estreitas.put(fun, resultado);
+
+        faixas = new HashMap<String, Faixa>(resultado);
+        marca(coms, resultado.keySet());
+    }
+
+    // Ranges of the candidates to a fixpoint. Returns a candidate that cannot
+    // be narrowed, or null when all of them can.
+    private String itera(Set<String> candidatas) {
+        faixas.clear();
+        for (String v : candidatas) faixas.put(v, vazia());
+
+        for (int rodada = 0; ; rodada++) {
+            boolean mudou = false;
+            for (Atribuicao a : atribuicoes) {
+                String v = a.c.var;
+                if (!candidatas.contains(v)) continue;
+
+                Faixa valor = avalia(a.c.exp);
+                if (!valor.vazia() && !valor.exata()) return v;
+                Faixa passo = passo(a, v);
+                if (passo != null) valor = passo;
+                if (valor.vazia()) continue;
+                if (valor.lo < -LIMITE || valor.hi > LIMITE) return v;
+
+                Faixa atual = faixas.get(v);
+                double lo = Math.min(atual.lo, valor.lo), hi = Math.max(atual.hi, valor.hi);
+                if (atual.vazia() || lo < atual.lo || hi > atual.hi) {
+                    // Past a few rounds a growing range is not converging.
+                    if (rodada >= 32) return v;
+                    faixas.put(v, new Faixa(lo, hi, true, true, true, false, false));
+                    mudou = true;
+                }
+            }
+            if (!mudou) break;
+        }
+
+        for (String v : candidatas) {
+            if (faixas.get(v).vazia()) return v;  // only ever assigned from itself
+        }
+        return null;
+    }
+
+    // The range a counter update gives its variable, or null when 'a' is not
+    // v := v + c (or v - c) at the top level of a while whose condition
+    // bounds v in the direction it moves and does not change in the loop.
+    private Faixa passo(Atribuicao a, String v) {
+        if (a.laco == null || !(a.c.exp instanceof EOpExp)) return null;
+        EOpExp e = (EOpExp) a.c.exp;
+        double c;
+        if (e.op.equals("+") && ehVar(e.arg1, v) && ehConstante(e.arg2)) {
+            c = ((EFloat) e.arg2).value;
+        } else if (e.op.equals("+") && ehVar(e.arg2, v) && ehConstante(e.arg1)) {
+            c = ((EFloat) e.arg1).value;
+        } else if (e.op.equals("-") && ehVar(e.arg1, v) && ehConstante(e.arg2)) {
+            c = -((EFloat) e.arg2).value;
+        } else {
+            return null;
+        }
+        if (c == 0 || !(a.laco.exp instanceof EOpExp)) return null;
+
+        // v must change only here in the loop, so the condition still holds.
+        int vezes = 0;
+        for (Atribuicao outra : atribuicoes) {
+            if (outra.c.var.equals(v) && dentroDe(outra, a.laco)) vezes++;
+        }
+        if (vezes != 1) return null;
+
+        EOpExp cond = (EOpExp) a.laco.exp;
+        Exp limite;
+        boolean abaixo;  // the condition holds while v < limite
+        if (cond.op.equals("<") && ehVar(cond.arg1, v)) {
+            limite = cond.arg2;
+            abaixo = true;
+        } else if (cond.op.equals(">") && ehVar(cond.arg2, v)) {
+            limite = cond.arg1;
+            abaixo = true;
+        } else if (cond.op.equals(">") && ehVar(cond.arg1, v)) {
+            limite = cond.arg2;
+            abaixo = false;
+        } else if (cond.op.equals("<") && ehVar(cond.arg2, v)) {
+            limite = cond.arg1;
+            abaixo = false;
+        } else {
+            return null;
+        }
+        if (abaixo != c > 0 || !invariante(limite, alteradas.get(a.laco))) return null;
+
+        Faixa f = faixas.get(v), b = avalia(limite);
+        if (f.vazia() || b.vazia()) return vazia();
+        if (abaixo) return new Faixa(f.lo + c, Math.ceil(b.hi) - 1 + c, true, true, true, false, false);
+        return new Faixa(Math.floor(b.lo) + 1 + c, f.hi + c, true, true, true, false, false);
+    }
+
+    private static boolean ehVar(Exp e, String v) {
+        return e instanceof EVar && ((EVar) e).var.equals(v);
+    }
+
+    private static boolean ehConstante(Exp e) {
+        if (!(e instanceof EFloat)) return false;
+        float x = ((EFloat) e).value;
+        return x == Math.rint(x) && Math.abs(x) <= LIMITE;
+    }
+
+    // Whether 'a' is anywhere inside the body of 'laco'.
+    private boolean dentroDe(Atribuicao a, CWhile laco) {
+        return alteradas.get(laco).contains(a.c.var) && contem(laco.bloco, a.c);
+    }
+
+    private static boolean contem(ArrayList<Comando> bloco, Comando alvo) {
+        ArrayDeque<Comando> fila = new ArrayDeque<Comando>(bloco);
+        while (!fila.isEmpty()) {
+            Comando c = fila.pop();
+            if (c == alvo) return true;
+            if (c instanceof CIf) fila.addAll(((CIf) c).bloco);
+            if (c instanceof CWhile) fila.addAll(((CWhile) c).bloco);
+        }
+        return false;
+    }
+
+    // An expression with no calls and no variables assigned in the loop.
+    private static boolean invariante(Exp e, Set<String> alteradas) {
+        ArrayDeque<Exp> fila = new ArrayDeque<Exp>();
+        fila.push(e);
+        while (!fila.isEmpty()) {
+            Exp x = fila.pop();
+            if (x instanceof EChamadaFun) return false;
+            if (x instanceof EVar && alteradas.contains(((EVar) x).var)) return false;
+            if (x instanceof EOpExp) {
+                fila.push(((EOpExp) x).arg1);
+                fila.push(((EOpExp) x).arg2);
+            }
+        }
+        return true;
+    }
+
+    private static Faixa vazia() {
+        return new Faixa(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, true, true, true, false, false);
+    }
+
+    // Marks the int code of one function, top-down from each expression
+    // root: assignments to narrowed locals, exact expressions over narrowed
+    // locals, and comparisons between two of those.
+    private void marca(ArrayList<Comando> coms, Set<String> narrowed) {
+        ArrayDeque<Comando> fila = new ArrayDeque<Comando>(coms);
+        ArrayDeque<Object[]> exps = new ArrayDeque<Object[]>();
+        while (!fila.isEmpty()) {
+            Comando c = fila.pop();
+            if (c instanceof CAtribuicao) {
+                CAtribuicao a = (CAtribuicao) c;
+                exps.push(new Object[] {a.exp, narrowed.contains(a.var)});
+            } else if (c instanceof CIf) {
+                exps.push(new Object[] {((CIf) c).exp, false});
+                fila.addAll(((CIf) c).bloco);
+            } else if (c instanceof CWhile) {
+                exps.push(new Object[] {((CWhile) c).exp, false});
+                fila.addAll(((CWhile) c).bloco);
+            } else if (c instanceof CPrint) {
+                exps.push(new Object[] {((CPrint) c).exp, false});
+            } else if (c instanceof CReturn && ((CReturn) c).exp != null) {
+                exps.push(new Object[] {((CReturn) c).exp, false});
+            } else if (c instanceof CChamadaFun) {
+                for (Exp arg : ((CChamadaFun) c).args) exps.push(new Object[] {arg, false});
+            }
+        }
+
+        registra = true;
+        while (!exps.isEmpty()) {
+            Object[] raiz = exps.pop();
+            avalia((Exp) raiz[0]);
+            ArrayDeque<Object[]> pendentes = new ArrayDeque<Object[]>();
+            pendentes.push(raiz);
+            while (!pendentes.isEmpty()) {
+                Object[] item = pendentes.pop();
+                Exp e = (Exp) item[0];
+                Faixa f = info.get(e);
+                if ((Boolean) item[1] || (f.exata() && f.estreita)) {
+                    inteiras.add(e);
+                    if (e instanceof EOpExp) {
+                        pendentes.push(new Object[] {((EOpExp) e).arg1, true});
+                        pendentes.push(new Object[] {((EOpExp) e).arg2, true});
+                    }
+                } else if (e instanceof EOpExp) {
+                    EOpExp op = (EOpExp) e;
+                    Faixa f1 = info.get(op.arg1), f2 = info.get(op.arg2);
+                    boolean compara = op.op.equals("<") || op.op.equals(">") || op.op.equals("==");
+                    boolean juntas = compara && f1.exata() && f2.exata() && (f1.estreita || f2.estreita);
+                    if (juntas) comparacoes.add(op);
+                    pendentes.push(new Object[] {op.arg1, juntas});
+                    pendentes.push(new Object[] {op.arg2, juntas});
+                } else if (e instanceof EChamadaFun) {
+                    for (Exp arg : ((EChamadaFun) e).args) pendentes.push(new Object[] {arg, false});
+                }
+            }
+        }
+        registra = false;
+    }
+
+    // =========================================================================
+    // Program structure
+    // =========================================================================
+
+    public void visitProg(Prog p) {
+        if (p.main != null) p.main.accept(this);
+        for (Fun f : p.fun) {
+            f.accept(this);
+        }
+    }
+
+    public void visitMain(Main m) {
+        analisa("main", m.vars, m.coms);
+    }
+
+    public void visitFun(Fun f) {
+        analisa(f.nome, f.vars, f.body);
+    }
+
+    public void visitParamFormalFun(ParamFormalFun p) {
+    }
+
+    public void visitVarDecl(VarDecl v) {
+    }
+
+    // =========================================================================
+    // Commands: collects assignments, reads and what each loop changes
+    // =========================================================================
+
+    private void empilha(ArrayList<Comando> coms) {
+        for (int i = coms.size() - 1; i >= 0; i--) {
+            pilha.push(coms.get(i));
+        }
+    }
+
+    private void percorre() {
+        while (!pilha.isEmpty()) {
+            Object item = pilha.pop();
+            if (item instanceof FimLaco) {
+                lacos.pop();
+            } else {
+                ((Comando) item).accept(this);
+            }
+        }
+    }
+
+    // Records a change to 'var' in every enclosing loop.
+    private void altera(String var) {
+        for (CWhile w : lacos) alteradas.get(w).add(var);
+    }
+
+    public void visitCAtribuicao(CAtribuicao c) {
+        CWhile laco = lacos.peek();
+        boolean direta = laco != null && laco.bloco.contains(c);
+        atribuicoes.add(new Atribuicao(c, direta ? laco : null));
+        altera(c.var);
+    }
+
+    public void visitCIf(CIf c) {
+        empilha(c.bloco);
+    }
+
+    public void visitCWhile(CWhile c) {
+        alteradas.put(c, new HashSet<String>());
+        lacos.push(c);
+        pilha.push(new FimLaco());
+        empilha(c.bloco);
+    }
+
+    public void visitCPrint(CPrint c) {
+    }
+
+    public void visitCReadInput(CReadInput c) {
+        lidas.add(c.var);
+        altera(c.var);
+    }
+
+    public void visitCReturn(CReturn c) {
+    }
+
+    public void visitCChamadaFun(CChamadaFun c) {
+    }
+
+    // =========================================================================
+    // Expressions: range of a tree, bottom-up on an explicit stack
+    // =========================================================================
+
+    private Faixa avalia(Exp e) {
+        pilha.push(e);
+        while (!pilha.isEmpty()) {
+            Object item = pilha.pop();
+            if (item instanceof Combina) {
+                Faixa b = valores.pop(), a = valores.pop();
+                resultado(((Combina) item).e, combina(((Combina) item).e.op, a, b));
+            } else if (item instanceof Chamada) {
+                EChamadaFun chamada = ((Chamada) item).e;
+                for (int i = 0; i < chamada.args.size(); i++) valores.pop();
+                resultado(chamada, QUALQUER);
+            } else {
+                ((Exp) item).accept(this);
+            }
+        }
+        return valores.pop();
+    }
+
+    private void resultado(Exp e, Faixa f) {
+        if (registra) info.put(e, f);
+        valores.push(f);
+    }
+
+    private static Faixa combina(String op, Faixa a, Faixa b) {
+        if (!op.equals("+") && !op.equals("-") && !op.equals("*")) return QUALQUER;
+        if (a.vazia() || b.vazia()) return vazia();
+        if (Double.isInfinite(a.lo) || Double.isInfinite(a.hi)
+                || Double.isInfinite(b.lo) || Double.isInfinite(b.hi)) {
+            return QUALQUER;
+        }
+        double lo, hi;
+        if (op.equals("+")) {
+            lo = a.lo + b.lo;
+            hi = a.hi + b.hi;
+        } else if (op.equals("-")) {
+            lo = a.lo - b.hi;
+            hi = a.hi - b.lo;
+        } else {
+            double p1 = a.lo * b.lo, p2 = a.lo * b.hi, p3 = a.hi * b.lo, p4 = a.hi * b.hi;
+            lo = Math.min(Math.min(p1, p2), Math.min(p3, p4));
+            hi = Math.max(Math.max(p1, p2), Math.max(p3, p4));
+        }
+        boolean dentro = a.dentro && b.dentro && lo >= -LIMITE && hi <= LIMITE;
+        return new Faixa(lo, hi, a.inteira && b.inteira, dentro, a.estreita || b.estreita,
+                a.literal || b.literal, menosZero(op, a, b));
+    }
+
+    // Whether 'a op b' may be -0.0 in IEEE arithmetic: a zero product of
+    // operands of opposite signs, -0 + -0, or -0 - +0.
+    private static boolean menosZero(String op, Faixa a, Faixa b) {
+        if (op.equals("+")) return a.menosZero && b.menosZero;
+        if (op.equals("-")) return a.menosZero && b.temZero();
+        return (a.temZero() && b.lo < 0) || (b.temZero() && a.lo < 0)
+                || (a.menosZero && b.hi >= 0) || (b.menosZero && a.hi >= 0);
+    }
+
+    public void visitEFloat(EFloat e) {
+        double x = e.value;
+        boolean menosZero = x == 0 && 1 / x < 0;
+        resultado(e, new Faixa(x, x, ehConstante(e), Math.abs(x) <= LIMITE, false, true, menosZero));
+    }
+
+    public void visitEVar(EVar e) {
+        Faixa f = faixas.get(e.var);
+        resultado(e, f == null ? QUALQUER : f);
+    }
+
+    public void visitETrue(ETrue e) {
+        resultado(e, QUALQUER);
+    }
+
+    public void visitEFalse(EFalse e) {
+        resultado(e, QUALQUER);
+    }
+
+    public void visitEOpExp(EOpExp e) {
+        pilha.push(new Combina(e));
+        pilha.push(e.arg2);
+        pilha.push(e.arg1);
+    }
+
+    // Arguments are evaluated for their own marks; the result is unknown.
+    public void visitEChamadaFun(EChamadaFun e) {
+        pilha.push(new Chamada(e));
+        for (int i = e.args.size() - 1; i >= 0; i--) {
+            pilha.push(e.args.get(i));
+        }
+    }
+}
@@ -0,0 +1,825 @@
+package lovelace;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import ast.*;
+
+// Emits the C translation of a Prog. Each node type is handled by its visit
+// method; commands and expressions are walked with explicit work stacks
+// instead of recursion, so arbitrarily deep nesting cannot overflow the Java
+// stack.
+//
+// print and read go through the buffered runtime in lovelace_rt.h, which the
+// caller writes next to the .c file; in stdio mode they become plain
+// printf/scanf calls instead.
+//
+// With --profile each function f is emitted as lv__f and wrapped by f, which
+// counts and times the call; each while loop counts its entries and
+// iterations. The counters live in static tables declared after the forward
+// declarations and are reported by lovelace_prof.h at exit.
+//
+// With --pgo-gen every call site and if counts its executions, and the
+// program writes them as a training profile at exit. With --pgo-use that
+// profile turns lopsided ifs into __builtin_expect hints, marks functions
+// hot or never called, and sends hot call sites of non-recursive functions
+// to an always-inline copy lv__inl_f.
+//
+// With --memo, pure recursive functions are wrapped like --profile does and
+// look their arguments up in a fixed-size table before running the body.
+//
+// With --line-directives, every function header and command is preceded by
+// a #line marker naming its line in the .lov file, so C compiler messages,
+// debuggers and profilers point at the Lovelace source. Generated
+// scaffolding (wrappers, tables, closing braces) shares the line of the
+// marker before it.
+//
+// With --parallel, while loops that Paralelizacao recognises as counted
+// reductions become an OpenMP parallel for over the trip count, with the
+// counter recomputed from the iteration number. lovelace_omp.h checks at
+// run time that float counting is exact over the loop; when it is not, the
+// original while loop runs instead.
+//
+// A library module (no main) gets a header of prototypes written by
+// escreveInterface; the unit of a module and of a program that imports
+// modules include the headers of their imports and share one runtime
+// buffer (see lovelace_rt.h).
+//
+// With --narrow, Float locals that Estreitamento proves only hold small
+// integers are declared int, and integer subexpressions over them are
+// emitted with int literals. Where one meets float arithmetic (or a printf)
+// it is cast back to the type C gave it before, so the float operations see
+// the same operands and print the same output.
+final class GeradorC implements VoidVisitor {
+
+    static final String RUNTIME_HEADER = "lovelace_rt.h";
+    static final String PROFILE_HEADER = "lovelace_prof.h";
+    static final String PGO_HEADER = "lovelace_pgo.h";
+    static final String MEMO_HEADER = "lovelace_memo.h";
+    static final String OMP_HEADER = "lovelace_omp.h";
+
+    private final PrintWriter out;
+    private final boolean stdio;
+    private final boolean profile;
+    private final boolean pgoGen;
+    private final PerfilPGO pgo;
+    private final boolean memo;
+    private final boolean estreita;
+    private final boolean linhas;
+    private final boolean paralelo;
+    private final Limites limites;
+    private final String programa;
+
+    // Loops, ifs and call sites, numbered for the counter tables.
+    private Sitios sitios;
+
+    // Profile table slot of every function (main last).
+    private final Map<String, Integer> funIndice = new HashMap<String, Integer>();
+
+    // With --pgo-use: functions with an always-inline copy, and those hot
+    // or never called in training.
+    private final Set<String> embutidas = new HashSet<String>();
+    private final Set<String> quentes = new HashSet<String>();
+
+    // With --memo: pure recursive functions given a memo table, and one
+    // line per function saying whether it was memoised and why not.
+    private final Set<String> memoizadas = new HashSet<String>();
+    private final ArrayList<String> relatorioMemo = new ArrayList<String>();
+
+    // With --parallel: the reduction loops emitted as OpenMP loops.
+    private Paralelizacao paralelos;
+
+    // With --narrow: the narrowed locals and their int expressions, one
+    // line per narrowed local with its range, and the function being emitted.
+    private Estreitamento estreito;
+    private final ArrayList<String> relatorioEstreitamento = new ArrayList<String>();
+    private String funAtual;
+
+    // Declared type of each parameter and local of the function being
+    // emitted, and the return and parameter types of every function.
+    private final Map<String, String> tipos = new HashMap<String, String>();
+    private final Map<String, String> retornos = new HashMap<String, String>();
+    private final Map<String, List<String>> parametros = new HashMap<String, List<String>>();
+
+    // Pending commands, or literal lines (closing braces), with their indents.
+    private final ArrayDeque<Object> comandos = new ArrayDeque<Object>();
+    private final ArrayDeque<String> indents = new ArrayDeque<String>();
+    private String indent = "";
+
+    // Pending expressions, or literal text (parentheses, operators,
+    // separators) to be appended in between, and the text built so far.
+    private final ArrayDeque<Object> pedacos = new ArrayDeque<Object>();
+    private StringBuilder sb = new StringBuilder();
+
+    // 'programa' names the default training profile, <programa>.lovpgo, and
+    // the source file in #line markers, <programa>.lov.
+    GeradorC(PrintWriter out, OpcoesGeracao opcoes, String programa) {
+        this.out = out;
+        this.stdio = opcoes.stdio;
+        this.profile = opcoes.profile;
+        this.pgoGen = opcoes.pgoGen;
+        this.pgo = opcoes.pgoUso;
+        this.memo = opcoes.memo;
+        this.estreita = opcoes.estreita;
+        this.linhas = opcoes.linhas;
+        this.paralelo = opcoes.paralelo;
+        this.limites = opcoes.limites;
+        this.programa = programa;
+    }
+
+    // Writes the headers a program generated with these options includes
+    // into 'dir'.
+    static void escreveCabecalhos(File dir, OpcoesGeracao opcoes) throws IOException {
+        if (!opcoes.stdio) escreveCabecalho(dir, RUNTIME_HEADER);
+        if (opcoes.profile) escreveCabecalho(dir, PROFILE_HEADER);
+        if (opcoes.pgoGen || opcoes.pgoUso != null) escreveCabecalho(dir, PGO_HEADER);
+        if (opcoes.memo) escreveCabecalho(dir, MEMO_HEADER);
+        if (opcoes.paralelo) escreveCabecalho(dir, OMP_HEADER);
+    }
+
+    // Copies a runtime file from the classpath into 'dir' unless an
+    // identical copy is there.
+    static void escreveCabecalho(File dir, String nome) throws IOException {
+        byte[] conteudo;
+        try (InputStream in = GeradorC.class.getResourceAsStream(nome)) {
+            if (in == null) throw new FileNotFoundException(nome + " não encontrado no classpath");
+            ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            byte[] b = new byte[8192];
+            int n;
+            while ((n = in.read(b)) > 0) buf.write(b, 0, n);
+            conteudo = buf.toByteArray();
+        }
+
+        File destino = new File(dir, nome);
+        if (destino.isFile() && destino.length() == conteudo.length
+                && Arrays.equals(Files.readAllBytes(destino.toPath()), conteudo)) {
+            return;
+        }
+        File tmp = File.createTempFile(nome, ".tmp", dir);
+        try (OutputStream o = new FileOutputStream(tmp)) {
+            o.write(conteudo);
+        }
+        Files.move(tmp.toPath(), destino.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static String mapType(String type) {
+        switch (type) {
+            case "Float": return "float";
+            case "Bool": return "int";
+            case "Void": return "void";
+            default: return type;
+        }
+    }
+
+    static boolean isBoolExp(Exp e) {
+        if (e instanceof ETrue || e instanceof EFalse) return true;
+        if (e instanceof EOpExp) {
+            String op = ((EOpExp) e).op;
+            return op.equals("&&") || op.equals("||") ||
+                   op.equals("<") || op.equals(">") || op.equals("==");
+        }
+        return false;
+    }
+
+    // Bool results print as integers; besides the operators this covers Bool
+    // variables and calls to Bool functions, which would otherwise reach
+    // printf("%f") as an int.
+    private boolean ehBool(Exp e) {
+        if (isBoolExp(e)) return true;
+        if (e instanceof EVar) return "Bool".equals(tipos.get(((EVar) e).var));
+        if (e instanceof EChamadaFun) return "Bool".equals(retornos.get(((EChamadaFun) e).fun));
+        return false;
+    }
+
+    // A number stored in a Bool (assigned, passed, returned or read) is 1
+    // when its integer part is nonzero, not the integer part itself, so a
+    // Bool always holds 0 or 1 and prints as the LLVM backend's i1 does.
+    private boolean paraBool(String tipo, Exp e) {
+        return "Bool".equals(tipo) && !ehBool(e);
+    }
+
+    private static String comoBool(String numero) {
+        return "((int) (" + numero + ") != 0)";
+    }
+
+    // =========================================================================
+    // Program structure
+    // =========================================================================
+
+    public void visitProg(Prog p) {
+        if (!stdio && p.modulo != null) out.println("#define LV__RT_MODULO");
+        if (!stdio && p.modulo == null && !p.imports.isEmpty()) out.println("#define LV__RT_PRINCIPAL");
+        out.println(stdio ? "#include <stdio.h>" : "#include \"" + RUNTIME_HEADER + "\"");
+        if (profile) out.println("#include \"" + PROFILE_HEADER + "\"");
+        if (pgoGen) out.println("#define LV__PGO_GEN");
+        if (pgoGen || pgo != null) out.println("#include \"" + PGO_HEADER + "\"");
+        if (memo) out.println("#include \"" + MEMO_HEADER + "\"");
+        if (paralelo) out.println("#include \"" + OMP_HEADER + "\"");
+        for (String m : p.imports) out.println("#include \"" + m + ".h\"");
+        if (p.modulo != null) out.println("#include \"" + p.modulo + ".h\"");
+        out.println();
+
+        if (profile || pgoGen || pgo != null || memo) sitios = Sitios.de(p);
+        if (memo) decideMemo(p);
+        if (paralelo) paralelos = Paralelizacao.de(p, memoizadas);
+        if (pgo != null) decideEmbutidas(p);
+        if (estreita) {
+            estreito = Estreitamento.de(p);
+            relatorioEstreitamento.addAll(estreito.relatorio(p));
+        }
+
+        // Forward declarations for all functions
+        for (Fun f : p.fun) {
+            retornos.put(f.nome, f.retorno);
+            ArrayList<String> tiposParams = new ArrayList<String>();
+            for (ParamFormalFun param : f.params) tiposParams.add(param.type);
+            parametros.put(f.nome, tiposParams);
+            out.println(atributos(f) + cabecalho(f) + ";");
+        }
+        for (Fun f : p.fun) {
+            if (embutidas.contains(f.nome)) {
+                out.println("static LV__EMBUTIR " + cabecalho(f, "lv__inl_" + f.nome) + ";");
+            }
+        }
+        if (!p.fun.isEmpty()) out.println();
+
+        if (profile) tabelasPerfil(p);
+        if (pgoGen) tabelasPGO();
+        if (!memoizadas.isEmpty()) tabelasMemo(p);
+
+        for (Fun f : p.fun) {
+            f.accept(this);
+        }
+
+        if (p.main != null) p.main.accept(this);
+    }
+
+    // Return and parameter types of the functions of imported modules, from
+    // their signature summaries: prints of their Bool results use %d, and
+    // numbers passed as Bool arguments are converted as for local calls.
+    void importa(List<Assinatura> importadas) {
+        for (Assinatura a : importadas) {
+            retornos.putAll(a.retornos);
+            parametros.putAll(a.parametros);
+        }
+    }
+
+    // The header of library module 'p': a prototype of every function it
+    // exports, included by the programs and modules that import it.
+    static void escreveInterface(Prog p, PrintWriter out) {
+        String guarda = "LV__MODULO_" + p.modulo + "_H";
+        out.println("#ifndef " + guarda);
+        out.println("#define " + guarda);
+        out.println();
+        for (Fun f : p.fun) {
+            StringBuilder sb = new StringBuilder(mapType(f.retorno)).append(" ").append(f.nome).append("(");
+            for (int i = 0; i < f.params.size(); i++) {
+                ParamFormalFun param = f.params.get(i);
+                sb.append(i > 0 ? ", " : "").append(mapType(param.type)).append(" ").append(param.var);
+            }
+            out.println(sb.append(");"));
+        }
+        out.println();
+        out.println("#endif");
+    }
+
+    public void visitMain(Main m) {
+        marcaLinha(m.linha);
+        out.println(profile ? "static int lv__main(void) {" : "int main() {");
+        tipos.clear();
+        funAtual = "main";
+        indent = "    ";
+        for (VarDecl v : m.vars) {
+            v.accept(this);
+        }
+        if (pgoGen) {
+            out.println("    lv__pgo_inicia(\"" + escapaC(programa + ".lovpgo") + "\", lv__pgo_cs, lv__pgo_c, "
+                    + sitios.chamadas.size() + ", lv__pgo_is, lv__pgo_i, " + sitios.ifs.size() + ");");
+        }
+        geraBloco(m.coms, "    ");
+        out.println("    return 0;");
+        out.println("}");
+
+        if (profile) {
+            out.println();
+            out.println("int main() {");
+            out.println("    lv__prof_quadro lv__q;");
+            out.println("    int lv__r;");
+            out.println("    lv__prof_inicia(lv__pf, " + funIndice.size() + ", lv__pl, " + sitios.lacos.size() + ");");
+            out.println("    lv__prof_entra(&lv__pf[" + funIndice.get("main") + "], &lv__q);");
+            out.println("    lv__r = lv__main();");
+            out.println("    lv__prof_sai(&lv__pf[" + funIndice.get("main") + "], &lv__q);");
+            out.println("    return lv__r;");
+            out.println("}");
+        }
+    }
+
+    public void visitFun(Fun f) {
+        boolean memo = memoizadas.contains(f.nome);
+        marcaLinha(f.linha);
+        out.println((profile || memo ? "static " + cabecalho(f, "lv__" + f.nome) : cabecalho(f)) + " {");
+        corpo(f);
+        if (profile || memo) envoltorio(f, memo);
+
+        if (embutidas.contains(f.nome)) {
+            marcaLinha(f.linha);
+            out.println("static LV__EMBUTIR " + cabecalho(f, "lv__inl_" + f.nome) + " {");
+            corpo(f);
+        }
+    }
+
+    // The public f around the body lv__f: counts and times the call with
+    // --profile, and looks the arguments up in the memo table first when f
+    // is memoised. Locals use the lv__ prefix so they cannot shadow a
+    // parameter.
+    private void envoltorio(Fun f, boolean memo) {
+        String slot = "&lv__pf[" + funIndice.get(f.nome) + "]";
+        boolean vazio = f.retorno.equals("Void");
+        StringBuilder chamada = new StringBuilder("lv__").append(f.nome).append("(");
+        for (int i = 0; i < f.params.size(); i++) {
+            if (i > 0) chamada.append(", ");
+            chamada.append(f.params.get(i).var);
+        }
+        chamada.append(")");
+
+        out.println(cabecalho(f) + " {");
+        if (profile) out.println("    lv__prof_quadro lv__q;");
+        if (!vazio) out.println("    " + mapType(f.retorno) + " lv__r;");
+        if (memo) {
+            String tabela = "lv__memo_" + f.nome;
+            String hash = "0x811c9dc5u";
+            for (int i = 0; i < f.params.size(); i++) {
+                ParamFormalFun p = f.params.get(i);
+                String bits = p.type.equals("Float") ? "lv__memo_float(" + p.var + ")" : "(unsigned) " + p.var;
+                out.println("    unsigned lv__k" + i + " = " + bits + ";");
+                hash = "lv__memo_hash(" + hash + ", lv__k" + i + ")";
+            }
+            out.println("    unsigned lv__i = " + hash + " & (LV__MEMO_TAM - 1);");
+            if (profile) out.println("    lv__prof_entra(" + slot + ", &lv__q);");
+
+            StringBuilder achou = new StringBuilder(tabela + "[lv__i].ok");
+            for (int i = 0; i < f.params.size(); i++) {
+                achou.append(" && ").append(tabela).append("[lv__i].k[").append(i).append("] == lv__k").append(i);
+            }
+            out.println("    if (" + achou + ") {");
+            out.println("        lv__r = " + tabela + "[lv__i].r;");
+            out.println("    } else {");
+            out.println("        lv__r = " + chamada + ";");
+            out.println("        " + tabela + "[lv__i].ok = 1;");
+            for (int i = 0; i < f.params.size(); i++) {
+                out.println("        " + tabela + "[lv__i].k[" + i + "] = lv__k" + i + ";");
+            }
+            out.println("        " + tabela + "[lv__i].r = lv__r;");
+            out.println("    }");
+        } else {
+            out.println("    lv__prof_entra(" + slot + ", &lv__q);");
+            out.println("    " + (vazio ? "" : "lv__r = ") + chamada + ";");
+        }
+        if (profile) out.println("    lv__prof_sai(" + slot + ", &lv__q);");
+        if (!vazio) out.println("    return lv__r;");
+        out.println("}");
+        out.println();
+    }
+
+    // Locals and commands of a function, and its closing brace.
+    private void corpo(Fun f) {
+        tipos.clear();
+        funAtual = f.nome;
+        for (ParamFormalFun p : f.params) {
+            tipos.put(p.var, p.type);
+        }
+        indent = "    ";
+        for (VarDecl v : f.vars) {
+            v.accept(this);
+        }
+        geraBloco(f.body, "    ");
+        out.println("}");
+        out.println();
+    }
+
+    // Declares the profile counters: one per function, main last, and one
+    // per while loop in the order the loops are emitted.
+    private void tabelasPerfil(Prog p) {
+        out.println("static lv__prof_fun lv__pf[] = {");
+        for (Fun f : p.fun) {
+            if (funIndice.containsKey(f.nome)) continue;
+            funIndice.put(f.nome, funIndice.size());
+            out.println("    {.nome = \"" + f.nome + "\"},");
+        }
+        funIndice.put("main", funIndice.size());
+        out.println("    {.nome = \"main\"}");
+        out.println("};");
+
+        out.println("static lv__prof_laco lv__pl[] = {");
+        for (int i = 0; i < sitios.lacos.size(); i++) {
+            Sitios.Sitio s = sitios.lacos.get(i);
+            out.println("    {.fun = \"" + s.fun + "\", .linha = " + s.linha + "}"
+                    + (i + 1 < sitios.lacos.size() ? "," : ""));
+        }
+        if (sitios.lacos.isEmpty()) out.println("    {0}");
+        out.println("};");
+        out.println();
+    }
+
+    // Declares the training counters: one per call site and a taken/not
+    // taken pair per if, with the site descriptions written to the profile.
+    private void tabelasPGO() {
+        out.println("static const lv__pgo_sitio lv__pgo_cs[] = {");
+        for (int i = 0; i < sitios.chamadas.size(); i++) {
+            Sitios.Sitio s = sitios.chamadas.get(i);
+            out.println("    {.fun = \"" + s.fun + "\", .linha = " + s.linha + ", .alvo = \"" + s.alvo + "\"}"
+                    + (i + 1 < sitios.chamadas.size() ? "," : ""));
+        }
+        if (sitios.chamadas.isEmpty()) out.println("    {0}");
+        out.println("};");
+        out.println("static unsigned long long lv__pgo_c[" + Math.max(1, sitios.chamadas.size()) + "];");
+
+        out.println("static const lv__pgo_sitio lv__pgo_is[] = {");
+        for (int i = 0; i < sitios.ifs.size(); i++) {
+            Sitios.Sitio s = sitios.ifs.get(i);
+            out.println("    {.fun = \"" + s.fun + "\", .linha = " + s.linha + "}"
+                    + (i + 1 < sitios.ifs.size() ? "," : ""));
+        }
+        if (sitios.ifs.isEmpty()) out.println("    {0}");
+        out.println("};");
+        out.println("static unsigned long long lv__pgo_i[" + Math.max(1, sitios.ifs.size()) + "][2];");
+        out.println();
+    }
+
+    // A function gets an inline copy when one of its call sites is hot and
+    // it cannot reach itself (always_inline cannot unroll recursion). With
+    // --profile the copies are skipped so every call is still counted.
+    private void decideEmbutidas(Prog p) {
+        Set<String> definidas = new HashSet<String>();
+        for (Fun f : p.fun) definidas.add(f.nome);
+        Set<String> recursivas = sitios.recursivas();
+        for (Sitios.Sitio s : sitios.chamadas) {
+            if (!pgo.chamadaQuente(s) || !definidas.contains(s.alvo)) continue;
+            quentes.add(s.alvo);
+            if (!profile && !recursivas.contains(s.alvo)) embutidas.add(s.alvo);
+        }
+    }
+
+    // Pure, recursive and returning a value: only then does a table turn
+    // repeated subcalls into lookups.
+    private void decideMemo(Prog p) {
+        Pureza pureza = Pureza.de(p);
+        Set<String> recursivas = sitios.recursivas();
+        for (Fun f : p.fun) {
+            String motivo;
+            if (f.retorno.equals("Void")) {
+                motivo = "não devolve valor";
+            } else if (!pureza.pura(f.nome)) {
+                motivo = "impura: " + pureza.motivo(f.nome);
+            } else if (!recursivas.contains(f.nome)) {
+                motivo = "não é recursiva";
+            } else {
+                memoizadas.add(f.nome);
+                relatorioMemo.add(f.nome + ": memoizada");
+                continue;
+            }
+            relatorioMemo.add(f.nome + ": não memoizada (" + motivo + ")");
+        }
+    }
+
+    // One direct-mapped table per memoised function: a colliding call
+    // evicts the entry it lands on, so the size stays LV__MEMO_TAM entries.
+    private void tabelasMemo(Prog p) {
+        for (Fun f : p.fun) {
+            if (!memoizadas.contains(f.nome)) continue;
+            out.println("static struct { unsigned ok; unsigned k[" + Math.max(1, f.params.size()) + "]; "
+                    + mapType(f.retorno) + " r; } lv__memo_" + f.nome + "[LV__MEMO_TAM];");
+        }
+        out.println();
+    }
+
+    List<String> relatorioMemo() {
+        return relatorioMemo;
+    }
+
+    List<String> relatorioEstreitamento() {
+        return relatorioEstreitamento;
+    }
+
+    List<String> relatorioParalelizacao() {
+        return paralelos == null ? new ArrayList<String>() : paralelos.relatorio();
+    }
+
+    private String atributos(Fun f) {
+        if (pgo == null || pgo.vazio()) return "";
+        if (quentes.contains(f.nome)) return "LV__QUENTE ";
+        if (pgo.chamadasDe(f.nome) == 0) return "LV__FRIO ";
+        return "";
+    }
+
+    // With --line-directives: the following C lines come from line 'linha'
+    // of the source.
+    private void marcaLinha(int linha) {
+        if (linhas) out.println("#line " + linha + " \"" + escapaC(programa + ".lov") + "\"");
+    }
+
+    private static String escapaC(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private String cabecalho(Fun f) {
+        return cabecalho(f, f.nome);
+    }
+
+    private String cabecalho(Fun f, String nome) {
+        sb = new StringBuilder();
+        sb.append(mapType(f.retorno)).append(" ").append(nome).append("(");
+        for (int i = 0; i < f.params.size(); i++) {
+            if (i > 0) sb.append(", ");
+            f.params.get(i).accept(this);
+        }
+        return sb.append(")").toString();
+    }
+
+    public void visitParamFormalFun(ParamFormalFun p) {
+        sb.append(mapType(p.type)).append(" ").append(p.var);
+    }
+
+    public void visitVarDecl(VarDecl v) {
+        tipos.put(v.var, v.type);
+        boolean inteira = estreito != null && estreito.estreita(funAtual, v.var);
+        out.println(indent + (inteira ? "int" : mapType(v.type)) + " " + v.var + ";");
+    }
+
+    // =========================================================================
+    // Commands
+    // =========================================================================
+
+    void geraBloco(ArrayList<Comando> coms, String blocoIndent) {
+        for (int i = coms.size() - 1; i >= 0; i--) {
+            comandos.push(coms.get(i));
+            indents.push(blocoIndent);
+        }
+
+        while (!comandos.isEmpty()) {
+            if (limites != null) limites.tempo(null);
+            Object item = comandos.pop();
+            indent = indents.pop();
+            if (item instanceof String) {
+                out.println(indent + item);
+            } else {
+                ((Comando) item).accept(this);
+            }
+        }
+    }
+
+    // Pushes a block body followed by its closing brace, in reverse order.
+    private void empilhaBloco(ArrayList<Comando> bloco) {
+        comandos.push("}");
+        indents.push(indent);
+        String inner = indent + "    ";
+        for (int i = bloco.size() - 1; i >= 0; i--) {
+            comandos.push(bloco.get(i));
+            indents.push(inner);
+        }
+    }
+
+    public void visitCAtribuicao(CAtribuicao c) {
+        marcaLinha(c.linha);
+        String exp = geraExp(c.exp);
+        if (paraBool(tipos.get(c.var), c.exp)) exp = comoBool(exp);
+        out.println(indent + c.var + " = " + exp + ";");
+    }
+
+    public void visitCIf(CIf c) {
+        marcaLinha(c.linha);
+        String cond = geraExp(c.exp);
+        if (pgoGen) {
+            cond = "lv__pgo_se(lv__pgo_i[" + sitios.indice(c) + "], " + cond + ")";
+        } else if (pgo != null) {
+            int vies = pgo.vies(sitios.ifs.get(sitios.indice(c)));
+            if (vies > 0) cond = "LV__PROVAVEL(" + cond + ")";
+            if (vies < 0) cond = "LV__IMPROVAVEL(" + cond + ")";
+        }
+        out.println(indent + "if (" + cond + ") {");
+        empilhaBloco(c.bloco);
+    }
+
+    public void visitCWhile(CWhile c) {
+        marcaLinha(c.linha);
+        Paralelizacao.Laco laco = paralelos == null ? null : paralelos.laco(c);
+        if (laco != null) {
+            paraleliza(c, laco);
+        } else if (profile) {
+            String slot = "lv__pl[" + sitios.indice(c) + "]";
+            out.println(indent + slot + ".entradas++;");
+            out.println(indent + "while (" + geraExp(c.exp) + ") {");
+            out.println(indent + "    " + slot + ".iteracoes++;");
+        } else {
+            out.println(indent + "while (" + geraExp(c.exp) + ") {");
+        }
+        empilhaBloco(c.bloco);
+    }
+
+    // The OpenMP loop, with the original while as the fallback:
+    //
+    //   {
+    //       long lv__n = lv__omp_voltas(i, limite, passo);
+    //       if (lv__n >= 0) {
+    //           float lv__i0 = i;
+    //           #pragma omp parallel for reduction(+:s)
+    //           for (long lv__k = 0; lv__k < lv__n; lv__k++) {
+    //               float i = lv__i0 + lv__k * passo;
+    //               s = (s + f(i));
+    //           }
+    //           i = lv__i0 + lv__n * passo;
+    //       } else {
+    //           while (...) { ... }
+    //       }
+    //   }
+    //
+    // The caller pushes the while body after it.
+    private void paraleliza(CWhile c, Paralelizacao.Laco laco) {
+        String i = laco.contador;
+        String tipo = estreito != null && estreito.estreita(funAtual, i) ? "int" : mapType(tipos.get(i));
+        String passo = geraExp(laco.passo);
+        String base = indent, dentro = indent + "        ";
+
+        StringBuilder clausulas = new StringBuilder();
+        for (CAtribuicao r : laco.reducoes) {
+            clausulas.append(" reduction(").append(Paralelizacao.Laco.operador(r)).append(":").append(r.var).append(")");
+        }
+
+        out.println(base + "{");
+        out.println(base + "    long lv__n = lv__omp_voltas(" + i + ", " + geraExp(laco.limite) + ", " + passo + ");");
+        out.println(base + "    if (lv__n >= 0) {");
+        out.println(dentro + tipo + " lv__i0 = " + i + ";");
+        out.println(dentro + "#pragma omp parallel for" + clausulas);
+        out.println(dentro + "for (long lv__k = 0; lv__k < lv__n; lv__k++) {");
+        out.println(dentro + "    " + tipo + " " + i + " = lv__i0 + lv__k * " + passo + ";");
+        for (CAtribuicao r : laco.reducoes) {
+            marcaLinha(r.linha);
+            out.println(dentro + "    " + r.var + " = " + geraExp(r.exp) + ";");
+        }
+        out.println(dentro + "}");
+        out.println(dentro + i + " = lv__i0 + lv__n * " + passo + ";");
+        out.println(base + "    } else {");
+
+        // The closing braces pop after the while body.
+        comandos.push("}");
+        indents.push(base);
+        comandos.push("}");
+        indents.push(base + "    ");
+        indent = dentro;
+        out.println(indent + "while (" + geraExp(c.exp) + ") {");
+    }
+
+    public void visitCPrint(CPrint c) {
+        marcaLinha(c.linha);
+        if (stdio) {
+            String fmt = ehBool(c.exp) ? "%d" : "%f";
+            String conv = estreito == null ? null : estreito.conversao(c.exp);
+            String exp = (conv == null ? "" : "(" + conv + ") ") + geraExp(c.exp);
+            out.println(indent + "printf(\"" + fmt + "\\n\", " + exp + ");");
+        } else {
+            String fun = ehBool(c.exp) ? "lv__print_int" : "lv__print_float";
+            out.println(indent + fun + "(" + geraExp(c.exp) + ");");
+        }
+    }
+
+    public void visitCReadInput(CReadInput c) {
+        marcaLinha(c.linha);
+        if ("Bool".equals(tipos.get(c.var))) {
+            // Bool targets read through a float temporary, stored as 0 or 1.
+            String le = stdio ? "scanf(\"%f\", &lv__t);" : "lv__read_float(&lv__t);";
+            out.println(indent + "{ float lv__t = " + c.var + "; " + le + " "
+                    + c.var + " = " + comoBool("lv__t") + "; }");
+        } else if (stdio) {
+            out.println(indent + "scanf(\"%f\", &" + c.var + ");");
+        } else {
+            out.println(indent + "lv__read_float(&" + c.var + ");");
+        }
+    }
+
+    public void visitCReturn(CReturn c) {
+        marcaLinha(c.linha);
+        if (c.exp != null) {
+            String exp = geraExp(c.exp);
+            if (paraBool(retornos.get(funAtual), c.exp)) exp = comoBool(exp);
+            out.println(indent + "return " + exp + ";");
+        } else {
+            out.println(indent + "return;");
+        }
+    }
+
+    public void visitCChamadaFun(CChamadaFun c) {
+        marcaLinha(c.linha);
+        if (pgoGen) out.println(indent + "lv__pgo_c[" + sitios.indice(c) + "]++;");
+        sb = new StringBuilder();
+        sb.append(alvo(c, c.fun)).append("(");
+        empilhaArgs(c.fun, c.args);
+        out.println(indent + drena() + ";");
+    }
+
+    // =========================================================================
+    // Expressions
+    // =========================================================================
+
+    String geraExp(Exp e) {
+        sb = new StringBuilder();
+        pedacos.push(e);
+        return drena();
+    }
+
+    private String drena() {
+        while (!pedacos.isEmpty()) {
+            Object item = pedacos.pop();
+            if (item instanceof String) {
+                sb.append((String) item);
+            } else {
+                ((Exp) item).accept(this);
+            }
+        }
+        return sb.toString();
+    }
+
+    // Arguments of a call to 'fun', converted as its parameters store them.
+    private void empilhaArgs(String fun, ArrayList<Exp> args) {
+        List<String> tiposParams = parametros.get(fun);
+        pedacos.push(")");
+        for (int i = args.size() - 1; i >= 0; i--) {
+            Exp arg = args.get(i);
+            String tipo = tiposParams != null && i < tiposParams.size() ? tiposParams.get(i) : null;
+            if (paraBool(tipo, arg)) {
+                pedacos.push(") != 0)");
+                pedacos.push(arg);
+                pedacos.push("((int) (");
+            } else {
+                pedacos.push(arg);
+            }
+            if (i > 0) pedacos.push(", ");
+        }
+    }
+
+    public void visitEFloat(EFloat e) {
+        if (estreito != null && estreito.inteira(e)) {
+            sb.append((long) e.value);
+            return;
+        }
+        sb.append(String.valueOf(e.value));
+    }
+
+    public void visitEVar(EVar e) {
+        sb.append(e.var);
+    }
+
+    public void visitETrue(ETrue e) {
+        sb.append("1");
+    }
+
+    public void visitEFalse(EFalse e) {
+        sb.append("0");
+    }
+
+    public void visitEOpExp(EOpExp e) {
+        sb.append("(");
+        pedacos.push(")");
+        empilhaOperando(e, e.arg2);
+        pedacos.push(" " + e.op + " ");
+        empilhaOperando(e, e.arg1);
+    }
+
+    // An operand, cast back to float or double when it is int code under a
+    // float operator.
+    private void empilhaOperando(EOpExp pai, Exp e) {
+        String conv = estreito == null ? null : estreito.conversao(pai, e);
+        if (conv == null) {
+            pedacos.push(e);
+            return;
+        }
+        pedacos.push(")");
+        pedacos.push(e);
+        pedacos.push("((" + conv + ") ");
+    }
+
+    public void visitEChamadaFun(EChamadaFun e) {
+        if (pgoGen) {
+            // (counter++, f(args)) keeps the call an expression.
+            sb.append("(lv__pgo_c[").append(sitios.indice(e)).append("]++, ");
+            pedacos.push(")");
+        }
+        sb.append(alvo(e, e.fun)).append("(");
+        empilhaArgs(e.fun, e.args);
+    }
+
+    // The function a call site calls: the inline copy when the site is hot.
+    private String alvo(Node chamada, String fun) {
+        if (embutidas.contains(fun) && pgo.chamadaQuente(sitios.chamadas.get(sitios.indice(chamada)))) {
+            return "lv__inl_" + fun;
+        }
+        return fun;
+    }
+}
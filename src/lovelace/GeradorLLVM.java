@@ -0,0 +1,559 @@
+package lovelace;
+
+import java.io.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import ast.*;
+
+// Emits the textual LLVM IR translation of a Prog (--target=llvm), next to
+// GeradorC. Commands and expressions are walked with explicit work stacks,
+// as there, so deep nesting cannot overflow the Java stack.
+//
+// Every parameter and local lives in an alloca in the entry block, which
+// mem2reg promotes to registers. Float is float and Bool is i1. Expressions
+// get the types the C translation gives them: a literal is a double, so an
+// operation with a literal operand is done in double and rounded to float
+// where the result is stored, passed or returned, and both backends print
+// the same. && and || short-circuit, as in C.
+//
+// print and read call the externs lv__rt_print_float, lv__rt_print_int and
+// lv__rt_read_float, which lovelace_rt.c defines over the buffered runtime;
+// the caller writes it next to the .ll. In stdio mode they are printf and
+// scanf calls instead, so the module runs under lli as it is.
+final class GeradorLLVM implements VoidVisitor {
+
+    static final String RUNTIME_SOURCE = "lovelace_rt.c";
+
+    private final PrintWriter out;
+    private final boolean stdio;
+    private final String fonte;
+
+    // Every function by name, and the declared type of each parameter and
+    // local of the function being emitted.
+    private final Map<String, Fun> funs = new HashMap<String, Fun>();
+    private final Map<String, String> tipos = new HashMap<String, String>();
+
+    // Return type of the function being emitted, or null in main.
+    private String retorno;
+
+    // Pending commands, or Salto markers that close a block.
+    private final ArrayDeque<Object> comandos = new ArrayDeque<Object>();
+
+    // Pending expressions, or markers that combine the values computed for
+    // their operands.
+    private final ArrayDeque<Object> pedacos = new ArrayDeque<Object>();
+    private final ArrayDeque<Valor> valores = new ArrayDeque<Valor>();
+
+    // Temporaries and labels of the function being emitted, its current
+    // block, and whether that block already ended in a terminator.
+    private int temps;
+    private int rotulos;
+    private String bloco;
+    private boolean terminado;
+
+    // An IR value and its type: float, double, i1 or void.
+    private static final class Valor {
+        final String tipo, v;
+
+        Valor(String tipo, String v) {
+            this.tipo = tipo;
+            this.v = v;
+        }
+    }
+
+    // Marker popped after both operands of an arithmetic or comparison.
+    private static final class Operacao {
+        final EOpExp e;
+
+        Operacao(EOpExp e) {
+            this.e = e;
+        }
+    }
+
+    // Marker for && and ||, pushed twice: popped after the left operand to
+    // branch around the right one, and after the right operand to join.
+    private static final class Curto {
+        final EOpExp e;
+        String origem, direita, fim;
+
+        Curto(EOpExp e) {
+            this.e = e;
+        }
+    }
+
+    // Marker popped after the arguments of a call.
+    private static final class Chamada {
+        final EChamadaFun e;
+
+        Chamada(EChamadaFun e) {
+            this.e = e;
+        }
+    }
+
+    // Marker popped after a block body: jumps back to 'volta' (a loop
+    // header) when set, then opens 'fim'.
+    private static final class Salto {
+        final String volta, fim;
+
+        Salto(String volta, String fim) {
+            this.volta = volta;
+            this.fim = fim;
+        }
+    }
+
+    // 'fonte' is the name of the .lov file, recorded in the module.
+    GeradorLLVM(PrintWriter out, OpcoesGeracao opcoes, String fonte) {
+        this.out = out;
+        this.stdio = opcoes.stdio;
+        this.fonte = fonte;
+    }
+
+    // Writes the runtime a module generated with these options links with
+    // into 'dir'.
+    static void escreveRuntime(File dir, OpcoesGeracao opcoes) throws IOException {
+        if (opcoes.stdio) return;
+        GeradorC.escreveCabecalho(dir, GeradorC.RUNTIME_HEADER);
+        GeradorC.escreveCabecalho(dir, RUNTIME_SOURCE);
+    }
+
+    static String mapType(String type) {
+        switch (type) {
+            case "Float": return "float";
+            case "Bool": return "i1";
+            case "Void": return "void";
+            default: return type;
+        }
+    }
+
+    // A double constant: decimal when it is a whole number, which LLVM reads
+    // exactly, and the exact hexadecimal bit pattern otherwise.
+    static String constante(double d) {
+        if (d == Math.rint(d) && Math.abs(d) < 1e15) return (long) d + ".0";
+        return String.format("0x%016X", Double.doubleToRawLongBits(d));
+    }
+
+    // =========================================================================
+    // Instructions and blocks
+    // =========================================================================
+
+    private String temp() {
+        return "%t." + (++temps);
+    }
+
+    // Emits an instruction, in a fresh unreachable block after a terminator.
+    private void emite(String instrucao) {
+        if (terminado) abre("morto." + (++rotulos));
+        out.println("  " + instrucao);
+    }
+
+    private void termina(String instrucao) {
+        emite(instrucao);
+        terminado = true;
+    }
+
+    // Starts block 'rotulo', falling through into it from an open block.
+    private void abre(String rotulo) {
+        if (!terminado) out.println("  br label %" + rotulo);
+        out.println();
+        out.println(rotulo + ":");
+        bloco = rotulo;
+        terminado = false;
+    }
+
+    // 'x' as type 'para', converted as C converts on assignment: float and
+    // double widen or round, Bool becomes 0 or 1, and a number becomes Bool
+    // when its integer part is nonzero.
+    private Valor converte(Valor x, String para) {
+        if (x.tipo.equals(para) || x.tipo.equals("void")) return x;
+        if (para.equals("i1")) {
+            String i = temp(), r = temp();
+            emite(i + " = fptosi " + x.tipo + " " + x.v + " to i32");
+            emite(r + " = icmp ne i32 " + i + ", 0");
+            return new Valor(para, r);
+        }
+        String r = temp();
+        if (x.tipo.equals("i1")) {
+            emite(r + " = uitofp i1 " + x.v + " to " + para);
+        } else if (para.equals("double")) {
+            emite(r + " = fpext float " + x.v + " to double");
+        } else {
+            emite(r + " = fptrunc double " + x.v + " to float");
+        }
+        return new Valor(para, r);
+    }
+
+    // 'x' as a condition: true when nonzero, as C tests it.
+    private Valor condicao(Valor x) {
+        if (x.tipo.equals("i1")) return x;
+        String r = temp();
+        emite(r + " = fcmp une " + x.tipo + " " + x.v + ", 0.0");
+        return new Valor("i1", r);
+    }
+
+    // 'x' as an i32, for print and main's exit status.
+    private String inteiro(Valor x) {
+        String r = temp();
+        if (x.tipo.equals("i1")) {
+            emite(r + " = zext i1 " + x.v + " to i32");
+        } else {
+            emite(r + " = fptosi " + x.tipo + " " + x.v + " to i32");
+        }
+        return r;
+    }
+
+    // The default value of a function that ends without return.
+    private static String zero(String tipo) {
+        return tipo.equals("i1") ? "false" : "0.0";
+    }
+
+    // =========================================================================
+    // Program structure
+    // =========================================================================
+
+    public void visitProg(Prog p) {
+        out.println("; ModuleID = '" + fonte + "'");
+        out.println("source_filename = \"" + fonte + "\"");
+        out.println();
+        if (stdio) {
+            out.println("@.fmt.f = private unnamed_addr constant [4 x i8] c\"%f\\0A\\00\"");
+            out.println("@.fmt.d = private unnamed_addr constant [4 x i8] c\"%d\\0A\\00\"");
+            out.println("@.fmt.l = private unnamed_addr constant [3 x i8] c\"%f\\00\"");
+            out.println();
+            out.println("declare i32 @printf(ptr, ...)");
+            out.println("declare i32 @scanf(ptr, ...)");
+        } else {
+            out.println("declare void @lv__rt_print_float(double)");
+            out.println("declare void @lv__rt_print_int(i32)");
+            out.println("declare void @lv__rt_read_float(ptr)");
+        }
+
+        for (Fun f : p.fun) {
+            funs.put(f.nome, f);
+        }
+        for (Fun f : p.fun) {
+            f.accept(this);
+        }
+
+        p.main.accept(this);
+    }
+
+    public void visitMain(Main m) {
+        out.println();
+        out.println("define i32 @main() {");
+        inicia(new ArrayList<ParamFormalFun>(), m.vars, m.coms);
+        retorno = null;
+        geraBloco(m.coms);
+        if (!terminado) termina("ret i32 0");
+        out.println("}");
+    }
+
+    public void visitFun(Fun f) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < f.params.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(mapType(f.params.get(i).type)).append(" %").append(f.params.get(i).var);
+        }
+        out.println();
+        out.println("define " + mapType(f.retorno) + " @" + f.nome + "(" + sb + ") {");
+        inicia(f.params, f.vars, f.body);
+        retorno = f.retorno;
+        geraBloco(f.body);
+        if (!terminado) {
+            String t = mapType(f.retorno);
+            termina(t.equals("void") ? "ret void" : "ret " + t + " " + zero(t));
+        }
+        out.println("}");
+    }
+
+    // Entry block: an alloca per parameter and local (and the float a Bool
+    // is read through), then the parameters stored into theirs.
+    private void inicia(ArrayList<ParamFormalFun> params, ArrayList<VarDecl> vars, ArrayList<Comando> coms) {
+        tipos.clear();
+        temps = 0;
+        rotulos = 0;
+        bloco = "entrada.0";
+        terminado = false;
+        out.println(bloco + ":");
+        for (ParamFormalFun p : params) {
+            tipos.put(p.var, p.type);
+            emite("%" + p.var + ".addr = alloca " + mapType(p.type));
+        }
+        for (VarDecl v : vars) {
+            v.accept(this);
+        }
+        if (leBool(coms)) emite("%lv.t = alloca float");
+        for (ParamFormalFun p : params) {
+            emite("store " + mapType(p.type) + " %" + p.var + ", ptr %" + p.var + ".addr");
+        }
+    }
+
+    // Whether a block reads into a Bool, which goes through a float.
+    private boolean leBool(ArrayList<Comando> coms) {
+        ArrayDeque<Comando> fila = new ArrayDeque<Comando>(coms);
+        while (!fila.isEmpty()) {
+            Comando c = fila.pop();
+            if (c instanceof CReadInput && "Bool".equals(tipos.get(((CReadInput) c).var))) return true;
+            if (c instanceof CIf) fila.addAll(((CIf) c).bloco);
+            if (c instanceof CWhile) fila.addAll(((CWhile) c).bloco);
+        }
+        return false;
+    }
+
+    public void visitParamFormalFun(ParamFormalFun p) {
+    }
+
+    public void visitVarDecl(VarDecl v) {
+        tipos.put(v.var, v.type);
+        emite("%" + v.var + ".addr = alloca " + mapType(v.type));
+    }
+
+    // =========================================================================
+    // Commands
+    // =========================================================================
+
+    private void geraBloco(ArrayList<Comando> coms) {
+        empilha(coms);
+        while (!comandos.isEmpty()) {
+            Object item = comandos.pop();
+            if (item instanceof Salto) {
+                Salto s = (Salto) item;
+                if (s.volta != null && !terminado) termina("br label %" + s.volta);
+                abre(s.fim);
+            } else {
+                ((Comando) item).accept(this);
+            }
+        }
+    }
+
+    private void empilha(ArrayList<Comando> coms) {
+        for (int i = coms.size() - 1; i >= 0; i--) {
+            comandos.push(coms.get(i));
+        }
+    }
+
+    public void visitCAtribuicao(CAtribuicao c) {
+        String t = mapType(tipos.containsKey(c.var) ? tipos.get(c.var) : "Float");
+        Valor v = converte(avalia(c.exp), t);
+        emite("store " + t + " " + v.v + ", ptr %" + c.var + ".addr");
+    }
+
+    public void visitCIf(CIf c) {
+        Valor cond = condicao(avalia(c.exp));
+        int n = ++rotulos;
+        termina("br i1 " + cond.v + ", label %se." + n + ", label %fimse." + n);
+        abre("se." + n);
+        comandos.push(new Salto(null, "fimse." + n));
+        empilha(c.bloco);
+    }
+
+    public void visitCWhile(CWhile c) {
+        int n = ++rotulos;
+        abre("laco." + n);
+        Valor cond = condicao(avalia(c.exp));
+        termina("br i1 " + cond.v + ", label %corpo." + n + ", label %fimlaco." + n);
+        abre("corpo." + n);
+        comandos.push(new Salto("laco." + n, "fimlaco." + n));
+        empilha(c.bloco);
+    }
+
+    public void visitCPrint(CPrint c) {
+        Valor v = avalia(c.exp);
+        if (v.tipo.equals("i1")) {
+            String i = inteiro(v);
+            emite(stdio ? "call i32 (ptr, ...) @printf(ptr @.fmt.d, i32 " + i + ")"
+                    : "call void @lv__rt_print_int(i32 " + i + ")");
+        } else {
+            v = converte(v, "double");
+            emite(stdio ? "call i32 (ptr, ...) @printf(ptr @.fmt.f, double " + v.v + ")"
+                    : "call void @lv__rt_print_float(double " + v.v + ")");
+        }
+    }
+
+    public void visitCReadInput(CReadInput c) {
+        String destino = "%" + c.var + ".addr";
+        boolean bool = "Bool".equals(tipos.get(c.var));
+        if (bool) {
+            // As in the C translation: through a float holding the old value.
+            String atual = temp();
+            emite(atual + " = load i1, ptr " + destino);
+            Valor f = converte(new Valor("i1", atual), "float");
+            emite("store float " + f.v + ", ptr %lv.t");
+        }
+        String alvo = bool ? "%lv.t" : destino;
+        emite(stdio ? "call i32 (ptr, ...) @scanf(ptr @.fmt.l, ptr " + alvo + ")"
+                : "call void @lv__rt_read_float(ptr " + alvo + ")");
+        if (bool) {
+            String lido = temp();
+            emite(lido + " = load float, ptr %lv.t");
+            Valor b = converte(new Valor("float", lido), "i1");
+            emite("store i1 " + b.v + ", ptr " + destino);
+        }
+    }
+
+    public void visitCReturn(CReturn c) {
+        Valor v = c.exp != null ? avalia(c.exp) : null;
+        if (retorno == null) {
+            termina("ret i32 " + (v == null || v.tipo.equals("void") ? "0" : inteiro(v)));
+            return;
+        }
+        String t = mapType(retorno);
+        if (t.equals("void")) {
+            termina("ret void");
+        } else if (v == null) {
+            termina("ret " + t + " " + zero(t));
+        } else {
+            termina("ret " + t + " " + converte(v, t).v);
+        }
+    }
+
+    public void visitCChamadaFun(CChamadaFun c) {
+        ArrayList<Valor> args = new ArrayList<Valor>();
+        for (Exp e : c.args) {
+            args.add(avalia(e));
+        }
+        chama(c.fun, args);
+    }
+
+    // Emits a call, converting each argument to its parameter's type.
+    // Functions not in the program are assumed to take and return floats.
+    private Valor chama(String fun, ArrayList<Valor> args) {
+        Fun f = funs.get(fun);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < args.size(); i++) {
+            String t = f != null && i < f.params.size() ? mapType(f.params.get(i).type) : args.get(i).tipo;
+            Valor a = converte(args.get(i), t);
+            if (i > 0) sb.append(", ");
+            sb.append(t).append(" ").append(a.v);
+        }
+        String t = f != null ? mapType(f.retorno) : "float";
+        if (t.equals("void")) {
+            emite("call void @" + fun + "(" + sb + ")");
+            return new Valor("void", "");
+        }
+        String r = temp();
+        emite(r + " = call " + t + " @" + fun + "(" + sb + ")");
+        return new Valor(t, r);
+    }
+
+    // =========================================================================
+    // Expressions
+    // =========================================================================
+
+    private Valor avalia(Exp e) {
+        pedacos.push(e);
+        while (!pedacos.isEmpty()) {
+            Object item = pedacos.pop();
+            if (item instanceof Operacao) {
+                opera(((Operacao) item).e);
+            } else if (item instanceof Curto) {
+                curto((Curto) item);
+            } else if (item instanceof Chamada) {
+                EChamadaFun chamada = ((Chamada) item).e;
+                ArrayList<Valor> args = new ArrayList<Valor>();
+                for (int i = 0; i < chamada.args.size(); i++) {
+                    args.add(0, valores.pop());
+                }
+                valores.push(chama(chamada.fun, args));
+            } else {
+                ((Exp) item).accept(this);
+            }
+        }
+        return valores.pop();
+    }
+
+    // Arithmetic in double when either operand is a double (a literal
+    // somewhere below), in float otherwise; comparisons likewise, except
+    // that two Bools compare as integers.
+    private void opera(EOpExp e) {
+        Valor b = valores.pop(), a = valores.pop();
+        boolean compara = e.op.equals("<") || e.op.equals(">") || e.op.equals("==");
+        String r;
+        if (compara && a.tipo.equals("i1") && b.tipo.equals("i1")) {
+            String cond = e.op.equals("<") ? "ult" : e.op.equals(">") ? "ugt" : "eq";
+            r = temp();
+            emite(r + " = icmp " + cond + " i1 " + a.v + ", " + b.v);
+            valores.push(new Valor("i1", r));
+            return;
+        }
+
+        String t = a.tipo.equals("double") || b.tipo.equals("double") ? "double" : "float";
+        a = converte(a, t);
+        b = converte(b, t);
+        r = temp();
+        if (compara) {
+            String cond = e.op.equals("<") ? "olt" : e.op.equals(">") ? "ogt" : "oeq";
+            emite(r + " = fcmp " + cond + " " + t + " " + a.v + ", " + b.v);
+            valores.push(new Valor("i1", r));
+        } else {
+            String instr = e.op.equals("+") ? "fadd" : e.op.equals("-") ? "fsub" : e.op.equals("*") ? "fmul" : "fdiv";
+            emite(r + " = " + instr + " " + t + " " + a.v + ", " + b.v);
+            valores.push(new Valor(t, r));
+        }
+    }
+
+    // && and ||: the left operand decides whether the right one runs, and a
+    // phi joins the short-circuit value with the right operand's.
+    private void curto(Curto c) {
+        boolean e = c.e.op.equals("&&");
+        if (c.direita == null) {
+            Valor a = condicao(valores.pop());
+            int n = ++rotulos;
+            c.direita = (e ? "e." : "ou.") + n;
+            c.fim = (e ? "fime." : "fimou.") + n;
+            c.origem = bloco;
+            termina("br i1 " + a.v + ", label %" + (e ? c.direita : c.fim) + ", label %" + (e ? c.fim : c.direita));
+            abre(c.direita);
+        } else {
+            Valor b = condicao(valores.pop());
+            String de = bloco;
+            termina("br label %" + c.fim);
+            abre(c.fim);
+            String r = temp();
+            emite(r + " = phi i1 [ " + (e ? "false" : "true") + ", %" + c.origem + " ], [ " + b.v + ", %" + de + " ]");
+            valores.push(new Valor("i1", r));
+        }
+    }
+
+    public void visitEFloat(EFloat e) {
+        // The C translation writes the literal as a double constant.
+        valores.push(new Valor("double", constante(Double.parseDouble(String.valueOf(e.value)))));
+    }
+
+    public void visitEVar(EVar e) {
+        String t = mapType(tipos.containsKey(e.var) ? tipos.get(e.var) : "Float");
+        String r = temp();
+        emite(r + " = load " + t + ", ptr %" + e.var + ".addr");
+        valores.push(new Valor(t, r));
+    }
+
+    public void visitETrue(ETrue e) {
+        valores.push(new Valor("i1", "true"));
+    }
+
+    public void visitEFalse(EFalse e) {
+        valores.push(new Valor("i1", "false"));
+    }
+
+    public void visitEOpExp(EOpExp e) {
+        if (e.op.equals("&&") || e.op.equals("||")) {
+            Curto c = new Curto(e);
+            pedacos.push(c);
+            pedacos.push(e.arg2);
+            pedacos.push(c);
+            pedacos.push(e.arg1);
+        } else {
+            pedacos.push(new Operacao(e));
+            pedacos.push(e.arg2);
+            pedacos.push(e.arg1);
+        }
+    }
+
+    public void visitEChamadaFun(EChamadaFun e) {
+        pedacos.push(new Chamada(e));
+        for (int i = e.args.size() - 1; i >= 0; i--) {
+            pedacos.push(e.args.get(i));
+        }
+    }
+}
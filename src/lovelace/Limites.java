@@ -0,0 +1,161 @@
+package lovelace;
+
+import java.io.File;
+import java.io.Reader;
+
+// Resource limits for untrusted input (--max-bytes=, --max-tokens=,
+// --max-depth=, --max-nodes=, --max-functions=, --timeout=). The lexer,
+// parser and C generator call in as they go, so an oversized or
+// pathological file is rejected as soon as it crosses a limit, before it
+// can use up the heap or the stack, with an Excedido naming the limit and
+// where it was crossed. Zero leaves a limit off.
+//
+// Counters are per compilation: call inicia() before each file.
+final class Limites {
+
+    // A limit crossed: which one (the flag name), its value and the source
+    // position, when there is one.
+    static final class Excedido extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final String limite;
+        final long maximo;
+        final int linha;
+        final int coluna;
+
+        Excedido(String limite, long maximo, int linha, int coluna) {
+            super(limite + "=" + maximo + " excedido"
+                    + (linha > 0 ? " na linha " + linha + ", coluna " + coluna : ""));
+            this.limite = limite;
+            this.maximo = maximo;
+            this.linha = linha;
+            this.coluna = coluna;
+        }
+    }
+
+    // The lexer for a limited parse: counts every token it hands out. A
+    // subclass rather than a token action in the grammar, so unlimited
+    // parses run the generated lexer untouched.
+    static final class Lexico extends LovelaceParserTokenManager {
+        private final Limites limites;
+
+        Lexico(Reader reader, Limites limites) {
+            super(new SimpleCharStream(reader));
+            this.limites = limites;
+        }
+
+        public Token getNextToken() {
+            Token t = super.getNextToken();
+            limites.token(t);
+            return t;
+        }
+    }
+
+    long bytes;
+    long tokens;
+    long profundidade;
+    long nos;
+    long funcoes;
+    long tempoMs;
+
+    private long contaTokens;
+    private long contaProfundidade;
+    private long contaNos;
+    private long contaFuncoes;
+    private long prazo;
+
+    // Reads one --max-*= or --timeout= flag; false when 'arg' is not one.
+    // Throws NumberFormatException on a bad value.
+    boolean le(String arg) {
+        int igual = arg.indexOf('=');
+        if (igual < 0) return false;
+        String nome = arg.substring(0, igual);
+        long valor = Long.parseLong(arg.substring(igual + 1));
+        if (valor < 0) throw new NumberFormatException(arg);
+        if (nome.equals("--max-bytes")) {
+            bytes = valor;
+        } else if (nome.equals("--max-tokens")) {
+            tokens = valor;
+        } else if (nome.equals("--max-depth")) {
+            profundidade = valor;
+        } else if (nome.equals("--max-nodes")) {
+            nos = valor;
+        } else if (nome.equals("--max-functions")) {
+            funcoes = valor;
+        } else if (nome.equals("--timeout")) {
+            tempoMs = valor;
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    // The same limits with counters of their own, for a file compiled on
+    // another thread.
+    Limites copia() {
+        Limites l = new Limites();
+        l.bytes = bytes;
+        l.tokens = tokens;
+        l.profundidade = profundidade;
+        l.nos = nos;
+        l.funcoes = funcoes;
+        l.tempoMs = tempoMs;
+        return l;
+    }
+
+    static boolean ehOpcao(String arg) {
+        return arg.startsWith("--max-") || arg.startsWith("--timeout=");
+    }
+
+    void inicia() {
+        contaTokens = 0;
+        contaProfundidade = 0;
+        contaNos = 0;
+        contaFuncoes = 0;
+        prazo = tempoMs > 0 ? System.nanoTime() + tempoMs * 1000000L : 0;
+    }
+
+    // Before anything is read: the size on disk.
+    void arquivo(String filename) {
+        if (bytes > 0 && new File(filename).length() > bytes) throw new Excedido("--max-bytes", bytes, 0, 0);
+    }
+
+    // Every token the lexer produces; the clock is read every 1024.
+    void token(Token t) {
+        contaTokens++;
+        if (tokens > 0 && contaTokens > tokens) {
+            throw new Excedido("--max-tokens", tokens, t.beginLine, t.beginColumn);
+        }
+        if ((contaTokens & 1023) == 0) tempo(t);
+    }
+
+    // Entering a parenthesised expression or a block; sai() when leaving.
+    void entra(Token t) {
+        if (++contaProfundidade > profundidade && profundidade > 0) {
+            throw new Excedido("--max-depth", profundidade, t.beginLine, t.beginColumn);
+        }
+    }
+
+    void sai() {
+        contaProfundidade--;
+    }
+
+    // Every node the parser builds.
+    void no(Token t) {
+        if (++contaNos > nos && nos > 0) throw new Excedido("--max-nodes", nos, t.beginLine, t.beginColumn);
+    }
+
+    // Every def.
+    void funcao(Token t) {
+        if (++contaFuncoes > funcoes && funcoes > 0) {
+            throw new Excedido("--max-functions", funcoes, t.beginLine, t.beginColumn);
+        }
+    }
+
+    // The wall clock, from inicia(); 't' is where the parser is, or null.
+    void tempo(Token t) {
+        if (prazo != 0 && System.nanoTime() - prazo > 0) {
+            throw new Excedido("--timeout", tempoMs, t == null ? 0 : t.beginLine, t == null ? 0 : t.beginColumn);
+        }
+    }
+}
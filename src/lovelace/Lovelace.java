@@ -23,6 +23,8 @@ public class Lovelace {
         tokenNames.put(LovelaceParserConstants.DEF, "Palavra reservada");
         tokenNames.put(LovelaceParserConstants.TRUE, "Palavra reservada");
         tokenNames.put(LovelaceParserConstants.FALSE, "Palavra reservada");
+        tokenNames.put(LovelaceParserConstants.MODULE, "Palavra reservada");
+        tokenNames.put(LovelaceParserConstants.IMPORT, "Palavra reservada");
         
         tokenNames.put(LovelaceParserConstants.ASSIGN, "Atribuição");
         tokenNames.put(LovelaceParserConstants.AND, "Operador lógico");
@@ -44,7 +46,7 @@ public class Lovelace {
         tokenNames.put(LovelaceParserConstants.NUMBER, "Número");
     }
     
-    private static String getTokenDescription(Token token) {
+    static String getTokenDescription(Token token) {
         int kind = token.kind;
         String image = token.image;
         
@@ -100,16 +102,8 @@ public class Lovelace {
         String filename = args[0];
         
         try {
-            StringBuilder content = new StringBuilder();
-            BufferedReader reader = new BufferedReader(new FileReader(filename));
-            String line;
-            while ((line = reader.readLine()) != null) {
-                content.append(line).append("\n");
-            }
-            reader.close();
-            
-            StringReader stringReader = new StringReader(content.toString());
-            SimpleCharStream charStream = new SimpleCharStream(stringReader);
+            Reader reader = LovelaceDriver.abre(filename);
+            SimpleCharStream charStream = new SimpleCharStream(reader);
             LovelaceParserTokenManager tokenManager = new LovelaceParserTokenManager(charStream);
             
             Token token = tokenManager.getNextToken();
@@ -117,6 +111,7 @@ public class Lovelace {
                 System.out.println(getTokenDescription(token));
                 token = tokenManager.getNextToken();
             }
+            reader.close();
             
         } catch (FileNotFoundException e) {
             System.err.println("Erro: Arquivo não encontrado: " + filename);
@@ -0,0 +1,544 @@
+package lovelace;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import ast.*;
+
+// Compact binary encoding of the AST and the .lovast sidecar cache.
+//
+// Layout: MAGIC, VERSION, SHA-256 of the source, string table, tree.
+// Every node starts with a one-byte tag; lists and ints are varints. The
+// tree starts with the module header: a flag and the module name, the
+// imports, and a flag for main, which modules do not have.
+public class LovelaceASTCache {
+
+    static final int MAGIC = 0x4C4F5641; // "LOVA"
+    static final int VERSION = 3;
+    static final String EXTENSION = ".lovast";
+
+    // Comando tags
+    private static final int T_ATRIBUICAO = 1;
+    private static final int T_IF = 2;
+    private static final int T_WHILE = 3;
+    private static final int T_PRINT = 4;
+    private static final int T_READ = 5;
+    private static final int T_RETURN = 6;
+    private static final int T_CHAMADA_CMD = 7;
+
+    // Exp tags
+    private static final int T_NULL = 0;
+    private static final int T_FLOAT = 16;
+    private static final int T_VAR = 17;
+    private static final int T_TRUE = 18;
+    private static final int T_FALSE = 19;
+    private static final int T_OP = 20;
+    private static final int T_CHAMADA_EXP = 21;
+
+    // =========================================================================
+    // Sidecar cache
+    // =========================================================================
+
+    // Returns the tree for 'source', reading the sidecar when its hash matches
+    // and otherwise parsing and refreshing the sidecar. The encoder and decoder
+    // recurse per nesting level, so the work runs on a large stack.
+    public static Prog load(final String filename, final String source) throws ParseException {
+        return DeepStack.run(new DeepStack.Task<Prog, ParseException>() {
+            public Prog run() throws ParseException {
+                return loadOrParse(filename, source);
+            }
+        });
+    }
+
+    private static Prog loadOrParse(String filename, String source) throws ParseException {
+        byte[] hash = hash(source);
+        File cacheFile = new File(cacheName(filename));
+
+        if (cacheFile.isFile()) {
+            try (InputStream in = new BufferedInputStream(new FileInputStream(cacheFile), 1 << 16)) {
+                Prog cached = read(in, hash);
+                if (cached != null) return cached;
+            } catch (IOException e) {
+                // Stale or damaged cache: fall back to parsing.
+            }
+        }
+
+        Prog prog = new LovelaceParser(new StringReader(source)).parse();
+        store(cacheFile, prog, hash);
+        return prog;
+    }
+
+    // The source as the cache hashes it: lines joined with "\n", so CRLF and
+    // LF copies of a file share a sidecar.
+    static String readSource(String filename) throws IOException {
+        StringBuilder content = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                content.append(line).append("\n");
+            }
+        }
+        return content.toString();
+    }
+
+    static String cacheName(String filename) {
+        if (filename.endsWith(".lov")) {
+            return filename.substring(0, filename.length() - 4) + EXTENSION;
+        }
+        return filename + EXTENSION;
+    }
+
+    static byte[] hash(String source) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void store(File cacheFile, Prog prog, byte[] hash) {
+        File dir = cacheFile.getAbsoluteFile().getParentFile();
+        File tmp = null;
+        try {
+            tmp = File.createTempFile(cacheFile.getName(), ".tmp", dir);
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp), 1 << 16)) {
+                write(prog, out, hash);
+            }
+            if (!tmp.renameTo(cacheFile)) {
+                cacheFile.delete();
+                if (!tmp.renameTo(cacheFile)) tmp.delete();
+            }
+        } catch (IOException e) {
+            // The cache is an optimisation only; never fail the caller.
+            if (tmp != null) tmp.delete();
+        }
+    }
+
+    // =========================================================================
+    // Writer
+    // =========================================================================
+
+    public static void write(Prog prog, OutputStream sink, byte[] hash) throws IOException {
+        write(prog, sink, hash, new int[(prog.main == null ? 0 : 1) + prog.fun.size()]);
+    }
+
+    // As write, adding deslocamentos[i] to every line of the i-th tree --
+    // main first, when there is one, then each function -- as for the trees
+    // of a LovelaceDocument.
+    public static void write(Prog prog, OutputStream sink, byte[] hash, int[] deslocamentos)
+            throws IOException {
+        Encoder w = new Encoder(deslocamentos);
+        prog.accept(w);
+
+        DataOutputStream out = new DataOutputStream(sink);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.write(hash);
+        Encoder.varint(out, w.strings.size());
+        for (String s : w.strings) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            Encoder.varint(out, utf8.length);
+            out.write(utf8);
+        }
+        w.body.writeTo(out);
+        out.flush();
+    }
+
+    private static final class Encoder implements VoidVisitor {
+        final ArrayList<String> strings = new ArrayList<String>();
+        final Map<String, Integer> index = new HashMap<String, Integer>();
+        final ByteArrayOutputStream body = new ByteArrayOutputStream(1 << 12);
+        private final int[] deslocamentos;
+        private int arvore = -1;  // index of the tree being written
+
+        Encoder(int[] deslocamentos) {
+            this.deslocamentos = deslocamentos;
+        }
+
+        static void varint(OutputStream out, int v) throws IOException {
+            while ((v & ~0x7F) != 0) {
+                out.write((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            out.write(v);
+        }
+
+        void uint(int v) {
+            while ((v & ~0x7F) != 0) {
+                body.write((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            body.write(v);
+        }
+
+        void linha(int linha) {
+            uint(linha + deslocamentos[arvore]);
+        }
+
+        void str(String s) {
+            Integer i = index.get(s);
+            if (i == null) {
+                i = strings.size();
+                strings.add(s);
+                index.put(s, i);
+            }
+            uint(i);
+        }
+
+        public void visitProg(Prog p) {
+            uint(p.modulo == null ? 0 : 1);
+            if (p.modulo != null) str(p.modulo);
+            uint(p.imports.size());
+            for (String m : p.imports) str(m);
+            uint(p.main == null ? 0 : 1);
+            if (p.main != null) p.main.accept(this);
+            uint(p.fun.size());
+            for (Fun f : p.fun) f.accept(this);
+        }
+
+        public void visitMain(Main m) {
+            arvore++;
+            linha(m.linha);
+            vars(m.vars);
+            comandos(m.coms);
+        }
+
+        public void visitFun(Fun f) {
+            arvore++;
+            linha(f.linha);
+            str(f.nome);
+            str(f.retorno);
+            uint(f.params.size());
+            for (ParamFormalFun p : f.params) p.accept(this);
+            vars(f.vars);
+            comandos(f.body);
+        }
+
+        public void visitParamFormalFun(ParamFormalFun p) {
+            str(p.type);
+            str(p.var);
+        }
+
+        public void visitVarDecl(VarDecl v) {
+            str(v.type);
+            str(v.var);
+        }
+
+        void vars(ArrayList<VarDecl> vars) {
+            uint(vars.size());
+            for (VarDecl v : vars) v.accept(this);
+        }
+
+        void comandos(ArrayList<Comando> coms) {
+            uint(coms.size());
+            for (Comando c : coms) c.accept(this);
+        }
+
+        public void visitCAtribuicao(CAtribuicao c) {
+            body.write(T_ATRIBUICAO);
+            linha(c.linha);
+            str(c.var);
+            exp(c.exp);
+        }
+
+        public void visitCIf(CIf c) {
+            body.write(T_IF);
+            linha(c.linha);
+            exp(c.exp);
+            comandos(c.bloco);
+        }
+
+        public void visitCWhile(CWhile c) {
+            body.write(T_WHILE);
+            linha(c.linha);
+            exp(c.exp);
+            comandos(c.bloco);
+        }
+
+        public void visitCPrint(CPrint c) {
+            body.write(T_PRINT);
+            linha(c.linha);
+            exp(c.exp);
+        }
+
+        public void visitCReadInput(CReadInput c) {
+            body.write(T_READ);
+            linha(c.linha);
+            str(c.var);
+        }
+
+        public void visitCReturn(CReturn c) {
+            body.write(T_RETURN);
+            linha(c.linha);
+            exp(c.exp);
+        }
+
+        public void visitCChamadaFun(CChamadaFun c) {
+            body.write(T_CHAMADA_CMD);
+            linha(c.linha);
+            str(c.fun);
+            exps(c.args);
+        }
+
+        void exps(ArrayList<Exp> args) {
+            uint(args.size());
+            for (Exp e : args) exp(e);
+        }
+
+        void exp(Exp e) {
+            if (e == null) {
+                body.write(T_NULL);
+            } else {
+                e.accept(this);
+            }
+        }
+
+        public void visitEFloat(EFloat e) {
+            body.write(T_FLOAT);
+            int bits = Float.floatToRawIntBits(e.value);
+            body.write(bits >>> 24);
+            body.write(bits >>> 16);
+            body.write(bits >>> 8);
+            body.write(bits);
+        }
+
+        public void visitEVar(EVar e) {
+            body.write(T_VAR);
+            str(e.var);
+        }
+
+        public void visitETrue(ETrue e) {
+            body.write(T_TRUE);
+        }
+
+        public void visitEFalse(EFalse e) {
+            body.write(T_FALSE);
+        }
+
+        public void visitEOpExp(EOpExp e) {
+            body.write(T_OP);
+            str(e.op);
+            exp(e.arg1);
+            exp(e.arg2);
+        }
+
+        public void visitEChamadaFun(EChamadaFun e) {
+            body.write(T_CHAMADA_EXP);
+            str(e.fun);
+            exps(e.args);
+        }
+    }
+
+    // =========================================================================
+    // Reader
+    // =========================================================================
+
+    // Returns null when the header does not match (other version or source).
+    public static Prog read(InputStream source, byte[] expectedHash) throws IOException {
+        Decoder r = new Decoder(readAll(source));
+        if (r.int32() != MAGIC || r.uint16() != VERSION) return null;
+
+        byte[] hash = r.bytes(32);
+        if (expectedHash != null && !MessageDigest.isEqual(hash, expectedHash)) return null;
+
+        int n = r.conta();
+        r.strings = new String[n];
+        for (int i = 0; i < n; i++) {
+            r.strings[i] = r.utf8();
+        }
+        return r.prog();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(1 << 16);
+        byte[] chunk = new byte[1 << 16];
+        int n;
+        while ((n = in.read(chunk)) > 0) {
+            buf.write(chunk, 0, n);
+        }
+        return buf.toByteArray();
+    }
+
+    // Decodes straight from a byte array; running off the end raises
+    // EOFException so a truncated sidecar is treated as a cache miss.
+    private static final class Decoder {
+        final byte[] buf;
+        int pos;
+        String[] strings;
+
+        Decoder(byte[] buf) {
+            this.buf = buf;
+        }
+
+        int u8() throws IOException {
+            if (pos >= buf.length) throw new EOFException();
+            return buf[pos++] & 0xFF;
+        }
+
+        int uint16() throws IOException {
+            return (u8() << 8) | u8();
+        }
+
+        int int32() throws IOException {
+            return (u8() << 24) | (u8() << 16) | (u8() << 8) | u8();
+        }
+
+        byte[] bytes(int n) throws IOException {
+            if (buf.length - pos < n) throw new EOFException();
+            byte[] b = new byte[n];
+            System.arraycopy(buf, pos, b, 0, n);
+            pos += n;
+            return b;
+        }
+
+        String utf8() throws IOException {
+            int n = conta();
+            String s = new String(buf, pos, n, StandardCharsets.UTF_8);
+            pos += n;
+            return s;
+        }
+
+        int uint() throws IOException {
+            int v = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = u8();
+                v |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return v;
+            }
+            throw new IOException("varint inválido");
+        }
+
+        // A count or length: every element takes at least one byte, so a
+        // damaged count is rejected before anything is allocated for it.
+        int conta() throws IOException {
+            int n = uint();
+            if (n < 0) throw new IOException("contagem inválida: " + n);
+            if (n > buf.length - pos) throw new EOFException();
+            return n;
+        }
+
+        String str() throws IOException {
+            int i = uint();
+            if (i < 0 || i >= strings.length) throw new IOException("índice de string inválido: " + i);
+            return strings[i];
+        }
+
+        Prog prog() throws IOException {
+            String modulo = uint() == 0 ? null : str();
+            int n = conta();
+            ArrayList<String> imports = new ArrayList<String>(n);
+            for (int i = 0; i < n; i++) imports.add(str());
+            Main main = uint() == 0 ? null : main();
+            n = conta();
+            ArrayList<Fun> funs = new ArrayList<Fun>(n);
+            for (int i = 0; i < n; i++) funs.add(fun());
+            return new Prog(modulo, imports, main, funs);
+        }
+
+        Main main() throws IOException {
+            int linha = uint();
+            ArrayList<VarDecl> vars = vars();
+            return new Main(linha, vars, comandos());
+        }
+
+        Fun fun() throws IOException {
+            int linha = uint();
+            String nome = str();
+            String retorno = str();
+            int n = conta();
+            ArrayList<ParamFormalFun> params = new ArrayList<ParamFormalFun>(n);
+            for (int i = 0; i < n; i++) {
+                String type = str();
+                params.add(new ParamFormalFun(type, str()));
+            }
+            ArrayList<VarDecl> vars = vars();
+            return new Fun(linha, nome, params, retorno, vars, comandos());
+        }
+
+        ArrayList<VarDecl> vars() throws IOException {
+            int n = conta();
+            ArrayList<VarDecl> vars = new ArrayList<VarDecl>(n);
+            for (int i = 0; i < n; i++) {
+                String type = str();
+                vars.add(new VarDecl(type, str()));
+            }
+            return vars;
+        }
+
+        ArrayList<Comando> comandos() throws IOException {
+            int n = conta();
+            ArrayList<Comando> coms = new ArrayList<Comando>(n);
+            for (int i = 0; i < n; i++) coms.add(comando());
+            return coms;
+        }
+
+        Comando comando() throws IOException {
+            int tag = u8();
+            int linha = uint();
+            switch (tag) {
+                case T_ATRIBUICAO: {
+                    String var = str();
+                    return new CAtribuicao(linha, var, exp());
+                }
+                case T_IF: {
+                    Exp e = exp();
+                    return new CIf(linha, e, comandos());
+                }
+                case T_WHILE: {
+                    Exp e = exp();
+                    return new CWhile(linha, e, comandos());
+                }
+                case T_PRINT:
+                    return new CPrint(linha, exp());
+                case T_READ:
+                    return new CReadInput(linha, str());
+                case T_RETURN:
+                    return new CReturn(linha, exp());
+                case T_CHAMADA_CMD: {
+                    String fun = str();
+                    return new CChamadaFun(linha, fun, exps());
+                }
+                default:
+                    throw new IOException("tag de comando inválida: " + tag);
+            }
+        }
+
+        ArrayList<Exp> exps() throws IOException {
+            int n = conta();
+            ArrayList<Exp> args = new ArrayList<Exp>(n);
+            for (int i = 0; i < n; i++) args.add(exp());
+            return args;
+        }
+
+        Exp exp() throws IOException {
+            int tag = u8();
+            switch (tag) {
+                case T_NULL:
+                    return null;
+                case T_FLOAT:
+                    return new EFloat(Float.intBitsToFloat(int32()));
+                case T_VAR:
+                    return new EVar(str());
+                case T_TRUE:
+                    return new ETrue();
+                case T_FALSE:
+                    return new EFalse();
+                case T_OP: {
+                    String op = str();
+                    Exp left = exp();
+                    return new EOpExp(op, left, exp());
+                }
+                case T_CHAMADA_EXP: {
+                    String fun = str();
+                    return new EChamadaFun(fun, exps());
+                }
+                default:
+                    throw new IOException("tag de expressão inválida: " + tag);
+            }
+        }
+    }
+}
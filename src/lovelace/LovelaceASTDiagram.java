@@ -1,45 +1,89 @@
 package lovelace;
 
 import java.io.*;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import ast.*;
 
+// Renders a Prog as a text tree or as Graphviz DOT.
+//
+// All state lives in the instance, so separate instances can run on separate
+// threads; a single instance is not meant to be shared. Output is streamed
+// through the given Writer as nodes are visited; pending work sits on an
+// explicit stack, so memory is bounded by the current path and its siblings.
 public class LovelaceASTDiagram {
 
-    private static boolean dotMode = false;
-    private static int nodeCounter = 0;
+    private final PrintWriter out;
+    private final boolean dotMode;
+    private final int maxDepth;
+    private final int maxChildren;
+    private int nodeCounter = 0;
+
+    // maxDepth cuts every node deeper than the given level (Prog is level 0);
+    // maxChildren shows only the first n entries of each list. Zero disables
+    // either limit.
+    public LovelaceASTDiagram(Writer out, boolean dotMode, int maxDepth, int maxChildren) {
+        this.out = out instanceof PrintWriter ? (PrintWriter) out
+                : new PrintWriter(out instanceof BufferedWriter ? out : new BufferedWriter(out, 1 << 16));
+        this.dotMode = dotMode;
+        this.maxDepth = maxDepth;
+        this.maxChildren = maxChildren;
+    }
 
-    public static void main(String[] args) {
-        if (args.length < 1 || args.length > 2) {
-            System.err.println("Uso: java lovelace.LovelaceASTDiagram <arquivo.lov> [--dot]");
-            System.exit(1);
+    public void generate(Prog prog) {
+        if (dotMode) {
+            generateDot(prog);
+        } else {
+            generateText(prog);
         }
+        out.flush();
+    }
 
-        String filename = args[0];
-        if (args.length == 2 && args[1].equals("--dot")) {
-            dotMode = true;
-        }
+    public static void main(String[] args) {
+        String filename = null;
+        boolean dotMode = false;
+        boolean useCache = false;
+        int maxDepth = 0;
+        int maxChildren = 0;
 
         try {
-            StringBuilder content = new StringBuilder();
-            BufferedReader reader = new BufferedReader(new FileReader(filename));
-            String line;
-            while ((line = reader.readLine()) != null) {
-                content.append(line).append("\n");
+            for (String arg : args) {
+                if (arg.equals("--dot")) {
+                    dotMode = true;
+                } else if (arg.equals("--cache")) {
+                    useCache = true;
+                } else if (arg.startsWith("--max-depth=")) {
+                    maxDepth = Integer.parseInt(arg.substring("--max-depth=".length()));
+                } else if (arg.startsWith("--collapse=")) {
+                    maxChildren = Integer.parseInt(arg.substring("--collapse=".length()));
+                } else if (arg.startsWith("--") || filename != null) {
+                    filename = null;
+                    break;
+                } else {
+                    filename = arg;
+                }
             }
-            reader.close();
+        } catch (NumberFormatException e) {
+            filename = null;
+        }
 
-            StringReader stringReader = new StringReader(content.toString());
-            LovelaceParser parser = new LovelaceParser(stringReader);
+        if (filename == null || maxDepth < 0 || maxChildren < 0) {
+            System.err.println("Uso: java lovelace.LovelaceASTDiagram <arquivo.lov> [--dot] [--cache]"
+                    + " [--max-depth=N] [--collapse=N]");
+            System.exit(1);
+        }
 
+        try {
             try {
-                Prog arvore = parser.parse();
-                System.err.println("Análise sintática concluída com sucesso!");
-                if (dotMode) {
-                    generateDot(arvore);
+                Prog arvore;
+                if (useCache) {
+                    arvore = LovelaceASTCache.load(filename, LovelaceASTCache.readSource(filename));
                 } else {
-                    generateText(arvore);
+                    arvore = LovelaceCompiler.analisa(filename);
                 }
+                System.err.println("Análise sintática concluída com sucesso!");
+                Writer stdout = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out)), 1 << 16);
+                new LovelaceASTDiagram(stdout, dotMode, maxDepth, maxChildren).generate(arvore);
             } catch (ParseException e) {
                 System.err.println("Erro de sintaxe na linha " + e.currentToken.beginLine +
                                  ", coluna " + e.currentToken.beginColumn + ": " + e.getMessage());
@@ -59,411 +103,475 @@ public class LovelaceASTDiagram {
     }
 
     // =========================================================================
-    // Text tree output
+    // Limits
     // =========================================================================
 
-    static void generateText(Prog prog) {
-        System.out.println("Prog");
-        int totalChildren = 1 + prog.fun.size();
-        printTextMain(prog.main, "main", totalChildren <= 1);
-        for (int i = 0; i < prog.fun.size(); i++) {
-            boolean last = (i == prog.fun.size() - 1);
-            printTextFun(prog.fun.get(i), "fun[" + i + "]", last);
-        }
+    private boolean tooDeep(int depth) {
+        return maxDepth > 0 && depth > maxDepth;
+    }
+
+    // Number of entries of a list of 'size' that are actually drawn.
+    private int shown(int size) {
+        return maxChildren > 0 && size > maxChildren ? maxChildren : size;
     }
 
-    private static void printBranch(String prefix, boolean isLast, String edgeLabel, String text) {
-        String connector = isLast ? "└── " : "├── ";
-        String label = edgeLabel.isEmpty() ? "" : edgeLabel + ": ";
-        System.out.println(prefix + connector + label + text);
+    // Number of child slots a list takes: the drawn entries plus, when
+    // collapsed, one summary entry.
+    private int slots(int size) {
+        return shown(size) + (shown(size) < size ? 1 : 0);
     }
 
-    private static String childPrefix(String prefix, boolean isLast) {
-        return prefix + (isLast ? "    " : "│   ");
+    private static String hidden(int size, int shown) {
+        return "... (+" + (size - shown) + ")";
     }
 
-    private static void printTextMain(Main main, String edge, boolean isLast) {
-        String prefix = "";
-        printBranch(prefix, isLast, edge, "Main");
-        String cp = childPrefix(prefix, isLast);
+    // =========================================================================
+    // Tree shape shared by both outputs
+    // =========================================================================
+
+    private static final class Child {
+        final String edge;
+        final Node node;      // AST node, or null for a summary leaf
+        final String summary;
 
-        int total = main.vars.size() + main.coms.size();
-        int idx = 0;
-        for (int i = 0; i < main.vars.size(); i++) {
-            boolean last = (++idx == total);
-            printBranch(cp, last, "var[" + i + "]", main.vars.get(i).type + " " + main.vars.get(i).var);
+        Child(String edge, Node node) {
+            this.edge = edge;
+            this.node = node;
+            this.summary = null;
         }
-        for (int i = 0; i < main.coms.size(); i++) {
-            boolean last = (++idx == total);
-            printTextComando(main.coms.get(i), "cmd[" + i + "]", cp, last);
+
+        Child(String edge, String summary) {
+            this.edge = edge;
+            this.node = null;
+            this.summary = summary;
         }
     }
 
-    private static void printTextFun(Fun fun, String edge, boolean isLast) {
-        String prefix = "";
-        printBranch(prefix, isLast, edge, "Fun: " + fun.nome + " (return: " + fun.retorno + ")");
-        String cp = childPrefix(prefix, isLast);
+    // Children of a node in drawing order, with collapsed lists already cut
+    // down to their first entries plus a summary leaf.
+    private ArrayList<Child> children(Node node) {
+        return node.accept(filhos);
+    }
+
+    private final Visitor<ArrayList<Child>> filhos = new Visitor<ArrayList<Child>>() {
+        public ArrayList<Child> visitProg(Prog p) {
+            ArrayList<Child> kids = new ArrayList<Child>();
+            for (String m : p.imports) kids.add(new Child("import", m));
+            if (p.main != null) kids.add(new Child("main", p.main));
+            addList(kids, "fun", p.fun);
+            return kids;
+        }
 
-        int total = fun.params.size() + fun.vars.size() + fun.body.size();
-        int idx = 0;
-        for (int i = 0; i < fun.params.size(); i++) {
-            boolean last = (++idx == total);
-            printBranch(cp, last, "param[" + i + "]", fun.params.get(i).type + " " + fun.params.get(i).var);
+        public ArrayList<Child> visitMain(Main m) {
+            ArrayList<Child> kids = new ArrayList<Child>();
+            addList(kids, "var", m.vars);
+            addList(kids, "cmd", m.coms);
+            return kids;
         }
-        for (int i = 0; i < fun.vars.size(); i++) {
-            boolean last = (++idx == total);
-            printBranch(cp, last, "var[" + i + "]", fun.vars.get(i).type + " " + fun.vars.get(i).var);
+
+        public ArrayList<Child> visitFun(Fun f) {
+            ArrayList<Child> kids = new ArrayList<Child>();
+            addList(kids, "param", f.params);
+            addList(kids, "var", f.vars);
+            addList(kids, "cmd", f.body);
+            return kids;
         }
-        for (int i = 0; i < fun.body.size(); i++) {
-            boolean last = (++idx == total);
-            printTextComando(fun.body.get(i), "cmd[" + i + "]", cp, last);
+
+        public ArrayList<Child> visitParamFormalFun(ParamFormalFun p) {
+            return new ArrayList<Child>();
         }
-    }
 
-    private static void printTextComando(Comando c, String edge, String prefix, boolean isLast) {
-        if (c instanceof CAtribuicao) {
-            CAtribuicao a = (CAtribuicao) c;
-            printBranch(prefix, isLast, edge, "Assign: " + a.var);
-            String cp = childPrefix(prefix, isLast);
-            printTextExp(a.exp, "value", cp, true);
-        } else if (c instanceof CIf) {
-            CIf ci = (CIf) c;
-            printBranch(prefix, isLast, edge, "If");
-            String cp = childPrefix(prefix, isLast);
-            int total = 1 + ci.bloco.size();
-            int idx = 0;
-            printTextExp(ci.exp, "cond", cp, (++idx == total));
-            for (int i = 0; i < ci.bloco.size(); i++) {
-                boolean last = (++idx == total);
-                printTextComando(ci.bloco.get(i), "body[" + i + "]", cp, last);
-            }
-        } else if (c instanceof CWhile) {
-            CWhile cw = (CWhile) c;
-            printBranch(prefix, isLast, edge, "While");
-            String cp = childPrefix(prefix, isLast);
-            int total = 1 + cw.bloco.size();
-            int idx = 0;
-            printTextExp(cw.exp, "cond", cp, (++idx == total));
-            for (int i = 0; i < cw.bloco.size(); i++) {
-                boolean last = (++idx == total);
-                printTextComando(cw.bloco.get(i), "body[" + i + "]", cp, last);
-            }
-        } else if (c instanceof CPrint) {
-            CPrint cp2 = (CPrint) c;
-            printBranch(prefix, isLast, edge, "Print");
-            String cp = childPrefix(prefix, isLast);
-            printTextExp(cp2.exp, "value", cp, true);
-        } else if (c instanceof CReadInput) {
-            CReadInput cr = (CReadInput) c;
-            printBranch(prefix, isLast, edge, "ReadInput: " + cr.var);
-        } else if (c instanceof CReturn) {
-            CReturn cr = (CReturn) c;
-            if (cr.exp != null) {
-                printBranch(prefix, isLast, edge, "Return");
-                String cp = childPrefix(prefix, isLast);
-                printTextExp(cr.exp, "value", cp, true);
-            } else {
-                printBranch(prefix, isLast, edge, "Return (void)");
-            }
-        } else if (c instanceof CChamadaFun) {
-            CChamadaFun cf = (CChamadaFun) c;
-            printBranch(prefix, isLast, edge, "Call: " + cf.fun);
-            String cp = childPrefix(prefix, isLast);
-            for (int i = 0; i < cf.args.size(); i++) {
-                boolean last = (i == cf.args.size() - 1);
-                printTextExp(cf.args.get(i), "arg[" + i + "]", cp, last);
-            }
+        public ArrayList<Child> visitVarDecl(VarDecl v) {
+            return new ArrayList<Child>();
+        }
+
+        public ArrayList<Child> visitCAtribuicao(CAtribuicao c) {
+            return single("value", c.exp);
+        }
+
+        public ArrayList<Child> visitCIf(CIf c) {
+            ArrayList<Child> kids = single("cond", c.exp);
+            addList(kids, "body", c.bloco);
+            return kids;
+        }
+
+        public ArrayList<Child> visitCWhile(CWhile c) {
+            ArrayList<Child> kids = single("cond", c.exp);
+            addList(kids, "body", c.bloco);
+            return kids;
+        }
+
+        public ArrayList<Child> visitCPrint(CPrint c) {
+            return single("value", c.exp);
+        }
+
+        public ArrayList<Child> visitCReadInput(CReadInput c) {
+            return new ArrayList<Child>();
+        }
+
+        public ArrayList<Child> visitCReturn(CReturn c) {
+            return c.exp != null ? single("value", c.exp) : new ArrayList<Child>();
+        }
+
+        public ArrayList<Child> visitCChamadaFun(CChamadaFun c) {
+            ArrayList<Child> kids = new ArrayList<Child>();
+            addList(kids, "arg", c.args);
+            return kids;
+        }
+
+        public ArrayList<Child> visitEFloat(EFloat e) {
+            return new ArrayList<Child>();
+        }
+
+        public ArrayList<Child> visitEVar(EVar e) {
+            return new ArrayList<Child>();
+        }
+
+        public ArrayList<Child> visitETrue(ETrue e) {
+            return new ArrayList<Child>();
+        }
+
+        public ArrayList<Child> visitEFalse(EFalse e) {
+            return new ArrayList<Child>();
+        }
+
+        public ArrayList<Child> visitEOpExp(EOpExp e) {
+            ArrayList<Child> kids = single("left", e.arg1);
+            kids.add(new Child("right", e.arg2));
+            return kids;
         }
+
+        public ArrayList<Child> visitEChamadaFun(EChamadaFun e) {
+            ArrayList<Child> kids = new ArrayList<Child>();
+            addList(kids, "arg", e.args);
+            return kids;
+        }
+    };
+
+    private static ArrayList<Child> single(String edge, Node node) {
+        ArrayList<Child> kids = new ArrayList<Child>();
+        kids.add(new Child(edge, node));
+        return kids;
     }
 
-    private static void printTextExp(Exp e, String edge, String prefix, boolean isLast) {
-        if (e instanceof EFloat) {
-            printBranch(prefix, isLast, edge, String.valueOf(((EFloat) e).value));
-        } else if (e instanceof EVar) {
-            printBranch(prefix, isLast, edge, ((EVar) e).var);
-        } else if (e instanceof ETrue) {
-            printBranch(prefix, isLast, edge, "true");
-        } else if (e instanceof EFalse) {
-            printBranch(prefix, isLast, edge, "false");
-        } else if (e instanceof EOpExp) {
-            EOpExp op = (EOpExp) e;
-            printBranch(prefix, isLast, edge, "(" + op.op + ")");
-            String cp = childPrefix(prefix, isLast);
-            printTextExp(op.arg1, "left", cp, false);
-            printTextExp(op.arg2, "right", cp, true);
-        } else if (e instanceof EChamadaFun) {
-            EChamadaFun cf = (EChamadaFun) e;
-            printBranch(prefix, isLast, edge, "Call: " + cf.fun);
-            String cp = childPrefix(prefix, isLast);
-            for (int i = 0; i < cf.args.size(); i++) {
-                boolean last = (i == cf.args.size() - 1);
-                printTextExp(cf.args.get(i), "arg[" + i + "]", cp, last);
-            }
+    private void addList(ArrayList<Child> kids, String edge, ArrayList<? extends Node> list) {
+        int n = shown(list.size());
+        for (int i = 0; i < n; i++) {
+            kids.add(new Child(edge + "[" + i + "]", list.get(i)));
+        }
+        if (n < list.size()) {
+            kids.add(new Child("", hidden(list.size(), n)));
         }
     }
 
     // =========================================================================
-    // DOT output
+    // Text tree output
     // =========================================================================
 
-    static void generateDot(Prog prog) {
-        System.out.println("digraph AST {");
-        System.out.println("    rankdir=TB;");
-        System.out.println("    fontname=\"Helvetica\";");
-        System.out.println("    node [fontname=\"Helvetica\", fontsize=11];");
-        System.out.println("    edge [fontname=\"Helvetica\", fontsize=9];");
-        System.out.println();
-
-        visitProg(prog);
+    // Both walkers keep pending nodes on an explicit stack rather than the
+    // Java call stack, so arbitrarily deep trees cannot overflow it.
+    private static final class TextItem {
+        final Child child;
+        final boolean isLast;
+        final int prefixLen;
+        final int depth;
+
+        TextItem(Child child, boolean isLast, int prefixLen, int depth) {
+            this.child = child;
+            this.isLast = isLast;
+            this.prefixLen = prefixLen;
+            this.depth = depth;
+        }
+    }
 
-        System.out.println("}");
+    // Every pending item records how long its prefix is; since the walk is
+    // depth-first, one shared builder always holds the right prefix for the
+    // item on top of the stack once it is cut back to that length.
+    void generateText(Prog prog) {
+        out.println("Prog");
+        StringBuilder prefix = new StringBuilder();
+        ArrayDeque<TextItem> pilha = new ArrayDeque<TextItem>();
+        pushText(pilha, children(prog), 0, 1);
+
+        while (!pilha.isEmpty()) {
+            TextItem t = pilha.pop();
+            prefix.setLength(t.prefixLen);
+            Node node = t.child.node;
+
+            if (node == null) {
+                printBranch(prefix, t.isLast, t.child.edge, t.child.summary);
+            } else if (tooDeep(t.depth)) {
+                printBranch(prefix, t.isLast, t.child.edge, "...");
+            } else {
+                printBranch(prefix, t.isLast, t.child.edge, node.accept(TEXT_LABEL));
+                prefix.append(t.isLast ? "    " : "│   ");
+                pushText(pilha, children(node), prefix.length(), t.depth + 1);
+            }
+        }
     }
 
-    private static String newNode() {
-        return "n" + (nodeCounter++);
+    private static void pushText(ArrayDeque<TextItem> pilha, ArrayList<Child> kids, int prefixLen, int depth) {
+        for (int i = kids.size() - 1; i >= 0; i--) {
+            pilha.push(new TextItem(kids.get(i), i == kids.size() - 1, prefixLen, depth));
+        }
     }
 
-    private static String escape(String s) {
-        return s.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("<", "\\<")
-                .replace(">", "\\>");
+    private void printBranch(CharSequence prefix, boolean isLast, String edgeLabel, String text) {
+        out.append(prefix);
+        out.print(isLast ? "└── " : "├── ");
+        if (!edgeLabel.isEmpty()) {
+            out.print(edgeLabel);
+            out.print(": ");
+        }
+        out.println(text);
     }
 
-    private static String visitProg(Prog prog) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"Prog\", shape=doubleoctagon, "
-                + "style=filled, fillcolor=\"#cce5ff\"];");
+    private static final Visitor<String> TEXT_LABEL = new Visitor<String>() {
+        public String visitProg(Prog p) {
+            return p.modulo == null ? "Prog" : "Prog: module " + p.modulo;
+        }
 
-        String mainId = visitMain(prog.main);
-        System.out.println("    " + id + " -> " + mainId + " [label=\"main\"];");
+        public String visitMain(Main m) {
+            return "Main";
+        }
 
-        for (int i = 0; i < prog.fun.size(); i++) {
-            String funId = visitFun(prog.fun.get(i));
-            System.out.println("    " + id + " -> " + funId + " [label=\"fun[" + i + "]\"];");
+        public String visitFun(Fun f) {
+            return "Fun: " + f.nome + " (return: " + f.retorno + ")";
         }
 
-        return id;
-    }
+        public String visitParamFormalFun(ParamFormalFun p) {
+            return p.type + " " + p.var;
+        }
 
-    private static String visitMain(Main main) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"Main\", shape=box, "
-                + "style=filled, fillcolor=\"#fff3cd\"];");
+        public String visitVarDecl(VarDecl v) {
+            return v.type + " " + v.var;
+        }
 
-        for (int i = 0; i < main.vars.size(); i++) {
-            String varId = visitVarDecl(main.vars.get(i));
-            System.out.println("    " + id + " -> " + varId + " [label=\"var[" + i + "]\"];");
+        public String visitCAtribuicao(CAtribuicao c) {
+            return "Assign: " + c.var;
         }
 
-        for (int i = 0; i < main.coms.size(); i++) {
-            String comId = visitComando(main.coms.get(i));
-            System.out.println("    " + id + " -> " + comId + " [label=\"cmd[" + i + "]\"];");
+        public String visitCIf(CIf c) {
+            return "If";
         }
 
-        return id;
-    }
+        public String visitCWhile(CWhile c) {
+            return "While";
+        }
 
-    private static String visitFun(Fun fun) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"Fun: " + escape(fun.nome)
-                + "\\nreturn: " + escape(fun.retorno) + "\", shape=box, "
-                + "style=filled, fillcolor=\"#d4edda\"];");
+        public String visitCPrint(CPrint c) {
+            return "Print";
+        }
 
-        for (int i = 0; i < fun.params.size(); i++) {
-            String paramId = visitParam(fun.params.get(i));
-            System.out.println("    " + id + " -> " + paramId + " [label=\"param[" + i + "]\"];");
+        public String visitCReadInput(CReadInput c) {
+            return "ReadInput: " + c.var;
         }
 
-        for (int i = 0; i < fun.vars.size(); i++) {
-            String varId = visitVarDecl(fun.vars.get(i));
-            System.out.println("    " + id + " -> " + varId + " [label=\"var[" + i + "]\"];");
+        public String visitCReturn(CReturn c) {
+            return c.exp != null ? "Return" : "Return (void)";
         }
 
-        for (int i = 0; i < fun.body.size(); i++) {
-            String comId = visitComando(fun.body.get(i));
-            System.out.println("    " + id + " -> " + comId + " [label=\"cmd[" + i + "]\"];");
+        public String visitCChamadaFun(CChamadaFun c) {
+            return "Call: " + c.fun;
         }
 
-        return id;
-    }
+        public String visitEFloat(EFloat e) {
+            return String.valueOf(e.value);
+        }
 
-    private static String visitParam(ParamFormalFun param) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"Param: " + escape(param.type)
-                + " " + escape(param.var) + "\", shape=box, style=\"rounded,filled\", "
-                + "fillcolor=\"#e2e3e5\"];");
-        return id;
-    }
+        public String visitEVar(EVar e) {
+            return e.var;
+        }
 
-    private static String visitVarDecl(VarDecl v) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"VarDecl: " + escape(v.type)
-                + " " + escape(v.var) + "\", shape=box, style=\"rounded,filled\", "
-                + "fillcolor=\"#e2e3e5\"];");
-        return id;
-    }
+        public String visitETrue(ETrue e) {
+            return "true";
+        }
 
-    private static String visitComando(Comando c) {
-        if (c instanceof CAtribuicao) {
-            return visitCAtribuicao((CAtribuicao) c);
-        } else if (c instanceof CIf) {
-            return visitCIf((CIf) c);
-        } else if (c instanceof CWhile) {
-            return visitCWhile((CWhile) c);
-        } else if (c instanceof CPrint) {
-            return visitCPrint((CPrint) c);
-        } else if (c instanceof CReadInput) {
-            return visitCReadInput((CReadInput) c);
-        } else if (c instanceof CReturn) {
-            return visitCReturn((CReturn) c);
-        } else if (c instanceof CChamadaFun) {
-            return visitCChamadaFun((CChamadaFun) c);
+        public String visitEFalse(EFalse e) {
+            return "false";
         }
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"Comando?\", shape=box];");
-        return id;
-    }
 
-    private static String visitCAtribuicao(CAtribuicao c) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"Assign: " + escape(c.var)
-                + "\", shape=box, style=filled, fillcolor=\"#ffd6cc\"];");
-        String expId = visitExp(c.exp);
-        System.out.println("    " + id + " -> " + expId + " [label=\"value\"];");
-        return id;
-    }
+        public String visitEOpExp(EOpExp e) {
+            return "(" + e.op + ")";
+        }
 
-    private static String visitCIf(CIf c) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"If\", shape=diamond, "
-                + "style=filled, fillcolor=\"#ffd6cc\"];");
-        String condId = visitExp(c.exp);
-        System.out.println("    " + id + " -> " + condId + " [label=\"cond\"];");
-        for (int i = 0; i < c.bloco.size(); i++) {
-            String comId = visitComando(c.bloco.get(i));
-            System.out.println("    " + id + " -> " + comId + " [label=\"body[" + i + "]\"];");
+        public String visitEChamadaFun(EChamadaFun e) {
+            return "Call: " + e.fun;
         }
-        return id;
-    }
+    };
 
-    private static String visitCWhile(CWhile c) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"While\", shape=diamond, "
-                + "style=filled, fillcolor=\"#ffd6cc\"];");
-        String condId = visitExp(c.exp);
-        System.out.println("    " + id + " -> " + condId + " [label=\"cond\"];");
-        for (int i = 0; i < c.bloco.size(); i++) {
-            String comId = visitComando(c.bloco.get(i));
-            System.out.println("    " + id + " -> " + comId + " [label=\"body[" + i + "]\"];");
+    // =========================================================================
+    // DOT output
+    // =========================================================================
+
+    // A pending node (edgeTo == null) or a pending edge from parent to an
+    // already emitted node. Edges are emitted after the child's subtree,
+    // matching the order of a post-order recursive walk.
+    private static final class DotItem {
+        final Child node;
+        final String parent;
+        final String label;
+        final int depth;
+        final String edgeTo;
+
+        DotItem(Child node, String parent, String label, int depth, String edgeTo) {
+            this.node = node;
+            this.parent = parent;
+            this.label = label;
+            this.depth = depth;
+            this.edgeTo = edgeTo;
         }
-        return id;
     }
 
-    private static String visitCPrint(CPrint c) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"Print\", shape=box, "
-                + "style=filled, fillcolor=\"#ffd6cc\"];");
-        String expId = visitExp(c.exp);
-        System.out.println("    " + id + " -> " + expId + " [label=\"value\"];");
-        return id;
-    }
+    void generateDot(Prog prog) {
+        out.println("digraph AST {");
+        out.println("    rankdir=TB;");
+        out.println("    fontname=\"Helvetica\";");
+        out.println("    node [fontname=\"Helvetica\", fontsize=11];");
+        out.println("    edge [fontname=\"Helvetica\", fontsize=9];");
+        out.println();
+
+        ArrayDeque<DotItem> pilha = new ArrayDeque<DotItem>();
+        pilha.push(new DotItem(new Child("", prog), null, null, 0, null));
+
+        while (!pilha.isEmpty()) {
+            DotItem t = pilha.pop();
+            if (t.edgeTo != null) {
+                edge(t.parent, t.edgeTo, t.label);
+                continue;
+            }
 
-    private static String visitCReadInput(CReadInput c) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"ReadInput: " + escape(c.var)
-                + "\", shape=box, style=filled, fillcolor=\"#ffd6cc\"];");
-        return id;
-    }
+            String id;
+            boolean expand = false;
+            if (t.node.node == null) {
+                id = visitElided(t.node.summary);
+            } else if (tooDeep(t.depth)) {
+                id = visitElided("...");
+            } else {
+                id = newNode();
+                out.println("    " + id + " [" + t.node.node.accept(DOT_ATTRIBUTES) + "];");
+                expand = true;
+            }
 
-    private static String visitCReturn(CReturn c) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"Return\", shape=box, "
-                + "style=filled, fillcolor=\"#ffd6cc\"];");
-        if (c.exp != null) {
-            String expId = visitExp(c.exp);
-            System.out.println("    " + id + " -> " + expId + " [label=\"value\"];");
+            if (t.parent != null) {
+                pilha.push(new DotItem(null, t.parent, t.label, 0, id));
+            }
+            if (expand) {
+                ArrayList<Child> kids = children(t.node.node);
+                for (int i = kids.size() - 1; i >= 0; i--) {
+                    Child k = kids.get(i);
+                    pilha.push(new DotItem(k, id, k.edge, t.depth + 1, null));
+                }
+            }
         }
-        return id;
-    }
 
-    private static String visitCChamadaFun(CChamadaFun c) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"Call: " + escape(c.fun)
-                + "\", shape=box, style=filled, fillcolor=\"#ffd6cc\"];");
-        for (int i = 0; i < c.args.size(); i++) {
-            String argId = visitExp(c.args.get(i));
-            System.out.println("    " + id + " -> " + argId + " [label=\"arg[" + i + "]\"];");
-        }
-        return id;
+        out.println("}");
     }
 
-    private static String visitExp(Exp e) {
-        if (e instanceof EFloat) {
-            return visitEFloat((EFloat) e);
-        } else if (e instanceof EVar) {
-            return visitEVar((EVar) e);
-        } else if (e instanceof ETrue) {
-            return visitETrue();
-        } else if (e instanceof EFalse) {
-            return visitEFalse();
-        } else if (e instanceof EOpExp) {
-            return visitEOpExp((EOpExp) e);
-        } else if (e instanceof EChamadaFun) {
-            return visitEChamadaFun((EChamadaFun) e);
-        }
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"Exp?\", shape=ellipse];");
-        return id;
+    private String newNode() {
+        return "n" + (nodeCounter++);
     }
 
-    private static String visitEFloat(EFloat e) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"" + e.value
-                + "\", shape=ellipse, style=filled, fillcolor=\"#f0f0f0\"];");
-        return id;
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("<", "\\<")
+                .replace(">", "\\>");
     }
 
-    private static String visitEVar(EVar e) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"" + escape(e.var)
-                + "\", shape=ellipse, style=filled, fillcolor=\"#f0f0f0\"];");
-        return id;
+    private void edge(String from, String to, String label) {
+        out.println("    " + from + " -> " + to + " [label=\"" + label + "\"];");
     }
 
-    private static String visitETrue() {
+    // Placeholder for a cut subtree or the hidden tail of a collapsed list.
+    private String visitElided(String text) {
         String id = newNode();
-        System.out.println("    " + id + " [label=\"true\", shape=ellipse, "
-                + "style=filled, fillcolor=\"#f0f0f0\"];");
+        out.println("    " + id + " [label=\"" + text + "\", shape=plaintext];");
         return id;
     }
 
-    private static String visitEFalse() {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"false\", shape=ellipse, "
-                + "style=filled, fillcolor=\"#f0f0f0\"];");
-        return id;
-    }
+    private static final Visitor<String> DOT_ATTRIBUTES = new Visitor<String>() {
+        public String visitProg(Prog p) {
+            return "label=\"Prog\", shape=doubleoctagon, style=filled, fillcolor=\"#cce5ff\"";
+        }
 
-    private static String visitEOpExp(EOpExp e) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"" + escape(e.op)
-                + "\", shape=circle, style=filled, fillcolor=\"#f0f0f0\"];");
-        String leftId = visitExp(e.arg1);
-        System.out.println("    " + id + " -> " + leftId + " [label=\"left\"];");
-        String rightId = visitExp(e.arg2);
-        System.out.println("    " + id + " -> " + rightId + " [label=\"right\"];");
-        return id;
-    }
+        public String visitMain(Main m) {
+            return "label=\"Main\", shape=box, style=filled, fillcolor=\"#fff3cd\"";
+        }
 
-    private static String visitEChamadaFun(EChamadaFun e) {
-        String id = newNode();
-        System.out.println("    " + id + " [label=\"Call: " + escape(e.fun)
-                + "\", shape=ellipse, style=filled, fillcolor=\"#f0f0f0\"];");
-        for (int i = 0; i < e.args.size(); i++) {
-            String argId = visitExp(e.args.get(i));
-            System.out.println("    " + id + " -> " + argId + " [label=\"arg[" + i + "]\"];");
+        public String visitFun(Fun f) {
+            return "label=\"Fun: " + escape(f.nome) + "\\nreturn: " + escape(f.retorno)
+                    + "\", shape=box, style=filled, fillcolor=\"#d4edda\"";
         }
-        return id;
+
+        public String visitParamFormalFun(ParamFormalFun p) {
+            return "label=\"Param: " + escape(p.type) + " " + escape(p.var)
+                    + "\", shape=box, style=\"rounded,filled\", fillcolor=\"#e2e3e5\"";
+        }
+
+        public String visitVarDecl(VarDecl v) {
+            return "label=\"VarDecl: " + escape(v.type) + " " + escape(v.var)
+                    + "\", shape=box, style=\"rounded,filled\", fillcolor=\"#e2e3e5\"";
+        }
+
+        public String visitCAtribuicao(CAtribuicao c) {
+            return comandoAttributes("Assign: " + escape(c.var), "box");
+        }
+
+        public String visitCIf(CIf c) {
+            return comandoAttributes("If", "diamond");
+        }
+
+        public String visitCWhile(CWhile c) {
+            return comandoAttributes("While", "diamond");
+        }
+
+        public String visitCPrint(CPrint c) {
+            return comandoAttributes("Print", "box");
+        }
+
+        public String visitCReadInput(CReadInput c) {
+            return comandoAttributes("ReadInput: " + escape(c.var), "box");
+        }
+
+        public String visitCReturn(CReturn c) {
+            return comandoAttributes("Return", "box");
+        }
+
+        public String visitCChamadaFun(CChamadaFun c) {
+            return comandoAttributes("Call: " + escape(c.fun), "box");
+        }
+
+        public String visitEFloat(EFloat e) {
+            return expAttributes(String.valueOf(e.value), "ellipse");
+        }
+
+        public String visitEVar(EVar e) {
+            return expAttributes(escape(e.var), "ellipse");
+        }
+
+        public String visitETrue(ETrue e) {
+            return expAttributes("true", "ellipse");
+        }
+
+        public String visitEFalse(EFalse e) {
+            return expAttributes("false", "ellipse");
+        }
+
+        public String visitEOpExp(EOpExp e) {
+            return expAttributes(escape(e.op), "circle");
+        }
+
+        public String visitEChamadaFun(EChamadaFun e) {
+            return expAttributes("Call: " + escape(e.fun), "ellipse");
+        }
+    };
+
+    private static String comandoAttributes(String label, String shape) {
+        return "label=\"" + label + "\", shape=" + shape + ", style=filled, fillcolor=\"#ffd6cc\"";
+    }
+
+    private static String expAttributes(String label, String shape) {
+        return "label=\"" + label + "\", shape=" + shape + ", style=filled, fillcolor=\"#f0f0f0\"";
     }
 }
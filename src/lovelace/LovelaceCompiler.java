@@ -2,205 +2,326 @@ package lovelace;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.List;
 import ast.*;
 
 public class LovelaceCompiler {
 
+    // A compiled file: its C translation, the C files of the modules it
+    // imports in link order, and whether it is a program (has a main) or a
+    // library module.
+    static final class Compilado {
+        final String arquivoC;
+        final List<String> modulosC;
+        final boolean programa;
+
+        Compilado(String arquivoC, List<String> modulosC, boolean programa) {
+            this.arquivoC = arquivoC;
+            this.modulosC = modulosC;
+            this.programa = programa;
+        }
+    }
+
     public static void main(String[] args) {
-        if (args.length != 1) {
-            System.err.println("Uso: java lovelace.LovelaceCompiler <arquivo.lov>");
+        ArrayList<String> arquivos = new ArrayList<String>();
+        boolean useCache = false;
+        OpcoesGeracao opcoes = new OpcoesGeracao();
+        boolean nativo = false;
+        CompiladorNativo.Perfil perfil = CompiladorNativo.Perfil.O2;
+        int jobs = 0;
+        String perfilPGO = null;
+        boolean uso = false;
+
+        try {
+            for (String arg : args) {
+                if (arg.equals("--cache")) {
+                    useCache = true;
+                } else if (arg.equals("--stdio")) {
+                    opcoes.stdio = true;
+                } else if (arg.equals("--profile")) {
+                    opcoes.profile = true;
+                } else if (arg.equals("--memo")) {
+                    opcoes.memo = true;
+                } else if (arg.equals("--narrow")) {
+                    opcoes.estreita = true;
+                } else if (arg.equals("--parallel")) {
+                    opcoes.paralelo = true;
+                } else if (arg.equals("--ipcp")) {
+                    opcoes.ipcp = true;
+                } else if (arg.equals("--line-directives")) {
+                    opcoes.linhas = true;
+                } else if (arg.startsWith("--target=")) {
+                    String alvo = arg.substring("--target=".length());
+                    if (!alvo.equals("c") && !alvo.equals("llvm")) uso = true;
+                    opcoes.llvm = alvo.equals("llvm");
+                } else if (arg.equals("--pgo-gen")) {
+                    opcoes.pgoGen = true;
+                } else if (arg.startsWith("--pgo-use=")) {
+                    perfilPGO = arg.substring("--pgo-use=".length());
+                } else if (arg.equals("--native")) {
+                    nativo = true;
+                } else if (arg.startsWith("--opt=")) {
+                    perfil = CompiladorNativo.Perfil.of(arg.substring("--opt=".length()));
+                    if (perfil == null) uso = true;
+                } else if (Limites.ehOpcao(arg)) {
+                    if (opcoes.limites == null) opcoes.limites = new Limites();
+                    if (!opcoes.limites.le(arg)) uso = true;
+                } else if (arg.startsWith("--jobs=")) {
+                    jobs = Integer.parseInt(arg.substring("--jobs=".length()));
+                    if (jobs < 0) uso = true;
+                } else if (arg.startsWith("--")) {
+                    uso = true;
+                } else {
+                    arquivos.add(arg);
+                }
+            }
+        } catch (NumberFormatException e) {
+            uso = true;
+        }
+
+        // Several files are only accepted in batch (--native) mode, a build
+        // either collects a training profile or uses one, the LLVM target
+        // has none of the C-only modes, and the profile and training
+        // counters are not safe in parallel loops. Limits are checked while
+        // parsing, so they do not apply to a tree loaded from the cache.
+        boolean soC = nativo || opcoes.profile || opcoes.pgoGen || perfilPGO != null
+                || opcoes.memo || opcoes.estreita || opcoes.linhas || opcoes.paralelo || opcoes.ipcp;
+        if (uso || arquivos.isEmpty() || (arquivos.size() > 1 && !nativo)
+                || (opcoes.pgoGen && perfilPGO != null) || (opcoes.llvm && soC)
+                || (opcoes.paralelo && (opcoes.profile || opcoes.pgoGen))
+                || (opcoes.limites != null && useCache)) {
+            System.err.println("Uso: java lovelace.LovelaceCompiler [--cache] [--stdio] [--profile] [--memo]"
+                    + " [--narrow] [--parallel] [--ipcp] [--line-directives] [--jobs=N]"
+                    + " [--pgo-gen | --pgo-use=<perfil>] <arquivo.lov>");
+            System.err.println("     java lovelace.LovelaceCompiler --native [--opt=debug|O2|O3|lto] [--jobs=N]"
+                    + " [--cache] [--stdio] [--profile] [--memo] [--narrow] [--parallel] [--ipcp]"
+                    + " [--line-directives] [--pgo-gen | --pgo-use=<perfil>] <arquivo.lov>...");
+            System.err.println("     java lovelace.LovelaceCompiler --target=llvm [--cache] [--stdio] <arquivo.lov>");
+            System.err.println("     limites (sem --cache): [--max-bytes=N] [--max-tokens=N] [--max-depth=N]"
+                    + " [--max-nodes=N] [--max-functions=N] [--timeout=ms]");
             System.exit(1);
         }
 
-        String filename = args[0];
+        if (perfilPGO != null) {
+            try {
+                opcoes.pgoUso = PerfilPGO.le(new File(perfilPGO));
+            } catch (IOException e) {
+                System.err.println("Erro ao ler perfil: " + e.getMessage());
+                System.exit(1);
+            }
+        }
 
-        try {
-            StringBuilder content = new StringBuilder();
-            BufferedReader reader = new BufferedReader(new FileReader(filename));
-            String line;
-            while ((line = reader.readLine()) != null) {
-                content.append(line).append("\n");
+        // Library modules given on the command line are compiled but not
+        // linked: they have no main.
+        boolean falhou = false;
+        ArrayList<String> gerados = new ArrayList<String>();
+        ArrayList<List<String>> modulos = new ArrayList<List<String>>();
+        for (String filename : arquivos) {
+            Compilado c = compila(filename, useCache, opcoes, jobs);
+            if (c == null) {
+                if (!nativo) System.exit(1);
+                falhou = true;
+            } else if (c.programa) {
+                gerados.add(c.arquivoC);
+                modulos.add(c.modulosC);
             }
-            reader.close();
+        }
+
+        if (nativo && !gerados.isEmpty()) {
+            List<String> cc = CompiladorNativo.localizaCompilador();
+            if (cc == null) {
+                System.err.println("Erro: nenhum compilador C encontrado (defina CC ou instale cc, gcc ou clang)");
+                System.exit(1);
+            }
+            CompiladorNativo compilador = new CompiladorNativo(cc, perfil, opcoes.paralelo,
+                                                                 CompiladorNativo.diretorioCache());
+            for (CompiladorNativo.Resultado r : compilador.compilaTodos(gerados, modulos, jobs)) {
+                if (r.erro != null) {
+                    System.err.println("Erro ao compilar " + r.executavel + ": " + r.erro);
+                    falhou = true;
+                } else {
+                    System.out.println("Executável gerado em: " + r.executavel
+                            + (r.emCache ? " (objeto em cache)" : ""));
+                }
+            }
+        }
 
-            StringReader stringReader = new StringReader(content.toString());
-            LovelaceParser parser = new LovelaceParser(stringReader);
+        if (falhou) System.exit(1);
+    }
 
+    // Parses one file and writes its C translation, after building the
+    // modules it imports (see Modulos); null after reporting the error.
+    static Compilado compila(String filename, boolean useCache, OpcoesGeracao opcoes, int jobs) {
+        try {
             try {
-                Prog arvore = parser.parse();
+                Prog arvore = carrega(filename, useCache, opcoes.limites);
                 System.out.println("Análise sintática concluída com sucesso!");
-                geraCodigo(arvore, filename);
+                if (arvore.modulo == null && arvore.imports.isEmpty()) {
+                    String c = geraCodigo(arvore, filename, opcoes);
+                    return c == null ? null : new Compilado(c, new ArrayList<String>(), true);
+                }
+
+                // The profile tables and training counters live in the
+                // program's unit and only see its own functions.
+                if (opcoes.llvm || opcoes.profile || opcoes.pgoGen || opcoes.pgoUso != null) {
+                    System.err.println("Erro: módulos só são compilados para C, sem --profile, --pgo-gen"
+                            + " e --pgo-use");
+                    return null;
+                }
+                Modulos.Construcao construcao = Modulos.constroi(filename, arvore, useCache, opcoes, jobs);
+                if (construcao == null) return null;
+                if (arvore.modulo == null) {
+                    String c = geraCodigo(arvore, filename, opcoes, construcao.importadas, System.out, System.err);
+                    return c == null ? null : new Compilado(c, construcao.arquivosC, true);
+                }
+
+                // A module named on the command line is always written.
+                ArrayList<String> saida = new ArrayList<String>();
+                ArrayList<String> erros = new ArrayList<String>();
+                File arquivo = new File(filename);
+                Assinatura.Fonte fonte = Assinatura.Fonte.de(arquivo, null, null);
+                Assinatura a = Modulos.escreve(arvore, filename, fonte, opcoes, construcao.importadas,
+                                               construcao.interfaces, saida, erros);
+                for (String linha : saida) System.out.println(linha);
+                for (String linha : erros) System.err.println(linha);
+                return a == null ? null : new Compilado(filename.replace(".lov", ".c"), construcao.arquivosC, false);
             } catch (ParseException e) {
                 System.err.println("Erro de sintaxe na linha " + e.currentToken.beginLine +
                                  ", coluna " + e.currentToken.beginColumn + ": " + e.getMessage());
-                System.exit(1);
+            } catch (Limites.Excedido e) {
+                System.err.println("Erro de limite: " + e.getMessage());
             }
 
         } catch (FileNotFoundException e) {
             System.err.println("Erro: Arquivo não encontrado: " + filename);
-            System.exit(1);
         } catch (IOException e) {
             System.err.println("Erro ao ler arquivo: " + e.getMessage());
-            System.exit(1);
         } catch (TokenMgrError e) {
             System.err.println("Erro léxico: " + e.getMessage());
-            System.exit(1);
         }
+        return null;
+    }
+
+    // The tree of one file, from the .lovast cache or parsed under 'limites'
+    // (null for none).
+    static Prog carrega(String filename, boolean useCache, Limites limites) throws IOException, ParseException {
+        if (limites != null) {
+            limites.inicia();
+            limites.arquivo(filename);
+        }
+        if (useCache) return LovelaceASTCache.load(filename, LovelaceASTCache.readSource(filename));
+        return analisa(filename, limites);
     }
 
-    static void geraCodigo(Prog prog, String arquivo) {
+    // Parses straight from the file: neither the source nor the token chain
+    // is kept in memory, so a large program costs only its AST.
+    static Prog analisa(String filename) throws IOException, ParseException {
+        return analisa(filename, null);
+    }
+
+    // With 'limites', the lexer and parser stop at the first limit crossed.
+    static Prog analisa(String filename, Limites limites) throws IOException, ParseException {
+        Reader reader = LovelaceDriver.abre(filename);
+        try {
+            if (limites == null) return new LovelaceParser(reader).parse();
+            LovelaceParser parser = new LovelaceParser(new Limites.Lexico(reader, limites));
+            parser.limita(limites);
+            return parser.parse();
+        } finally {
+            reader.close();
+        }
+    }
+
+    // Writes the .c file and the runtime headers it includes next to it.
+    static String geraCodigo(Prog prog, String arquivo, OpcoesGeracao opcoes) {
+        return geraCodigo(prog, arquivo, opcoes, new ArrayList<Assinatura>(), System.out, System.err);
+    }
+
+    // 'importadas' holds the summaries of the modules 'prog' imports;
+    // reports go to 'saida' and errors to 'erro'.
+    static String geraCodigo(Prog prog, String arquivo, OpcoesGeracao opcoes, List<Assinatura> importadas,
+                             PrintStream saida, PrintStream erro) {
+        if (opcoes.llvm) return geraLLVM(prog, arquivo, opcoes);
         String outputFile = arquivo.replace(".lov", ".c");
+        String programa = new File(arquivo).getName();
+        if (programa.endsWith(".lov")) programa = programa.substring(0, programa.length() - 4);
+
+        // A module's functions are all called from outside it, with
+        // arguments it cannot see, so only programs are specialised.
+        boolean ipcp = opcoes.ipcp && prog.main != null;
+        ArrayList<String> especializacao = new ArrayList<String>();
+        if (ipcp) prog = Especializacao.aplica(prog, especializacao);
 
         try {
             PrintWriter out = new PrintWriter(new FileWriter(outputFile));
 
-            out.println("#include <stdio.h>");
-            out.println();
+            GeradorC gerador = new GeradorC(out, opcoes, programa);
+            gerador.importa(importadas);
+            try {
+                prog.accept(gerador);
+            } catch (Limites.Excedido e) {
+                // No half-written .c for a compile cut short.
+                out.close();
+                new File(outputFile).delete();
+                throw e;
+            }
+            out.close();
+            GeradorC.escreveCabecalhos(new File(outputFile).getAbsoluteFile().getParentFile(), opcoes);
 
-            // Forward declarations for all functions
-            for (Fun f : prog.fun) {
-                out.print(mapType(f.retorno) + " " + f.nome + "(");
-                for (int i = 0; i < f.params.size(); i++) {
-                    if (i > 0) out.print(", ");
-                    out.print(mapType(f.params.get(i).type) + " " + f.params.get(i).var);
+            if (ipcp) {
+                for (String linha : especializacao) {
+                    saida.println("Especialização: " + linha);
+                }
+                if (especializacao.isEmpty()) {
+                    saida.println("Especialização: nada a especializar");
                 }
-                out.println(");");
             }
-            if (!prog.fun.isEmpty()) out.println();
-
-            // Function definitions
-            for (Fun f : prog.fun) {
-                out.print(mapType(f.retorno) + " " + f.nome + "(");
-                for (int i = 0; i < f.params.size(); i++) {
-                    if (i > 0) out.print(", ");
-                    out.print(mapType(f.params.get(i).type) + " " + f.params.get(i).var);
+            if (opcoes.memo) {
+                for (String linha : gerador.relatorioMemo()) {
+                    saida.println("Memoização: " + linha);
                 }
-                out.println(") {");
-
-                for (VarDecl v : f.vars) {
-                    out.println("    " + mapType(v.type) + " " + v.var + ";");
+            }
+            if (opcoes.estreita) {
+                for (String linha : gerador.relatorioEstreitamento()) {
+                    saida.println("Estreitamento: " + linha);
                 }
-
-                for (Comando c : f.body) {
-                    geraComando(out, c, "    ");
+                if (gerador.relatorioEstreitamento().isEmpty()) {
+                    saida.println("Estreitamento: nenhuma variável");
                 }
-
-                out.println("}");
-                out.println();
-            }
-
-            // Main function
-            out.println("int main() {");
-
-            for (VarDecl v : prog.main.vars) {
-                out.println("    " + mapType(v.type) + " " + v.var + ";");
             }
-
-            for (Comando c : prog.main.coms) {
-                geraComando(out, c, "    ");
+            if (opcoes.paralelo) {
+                for (String linha : gerador.relatorioParalelizacao()) {
+                    saida.println("Paralelização: " + linha);
+                }
+                if (gerador.relatorioParalelizacao().isEmpty()) {
+                    saida.println("Paralelização: nenhum laço");
+                }
             }
-
-            out.println("    return 0;");
-            out.println("}");
-
-            out.close();
-
-            System.out.println("Código C gerado em: " + outputFile);
+            saida.println("Código C gerado em: " + outputFile);
+            return outputFile;
 
         } catch (IOException e) {
-            System.err.println("Erro ao gerar código: " + e.getMessage());
-            System.exit(1);
+            erro.println("Erro ao gerar código: " + e.getMessage());
+            return null;
         }
     }
 
-    static String mapType(String type) {
-        switch (type) {
-            case "Float": return "float";
-            case "Bool": return "int";
-            case "Void": return "void";
-            default: return type;
-        }
-    }
+    // Writes the .ll file and, unless --stdio, the runtime it links with.
+    static String geraLLVM(Prog prog, String arquivo, OpcoesGeracao opcoes) {
+        String outputFile = arquivo.replace(".lov", ".ll");
 
-    static void geraComando(PrintWriter out, Comando c, String indent) {
-        if (c instanceof CAtribuicao) {
-            CAtribuicao a = (CAtribuicao) c;
-            out.println(indent + a.var + " = " + geraExp(a.exp) + ";");
-        } else if (c instanceof CIf) {
-            CIf ci = (CIf) c;
-            out.println(indent + "if (" + geraExp(ci.exp) + ") {");
-            for (Comando cmd : ci.bloco) {
-                geraComando(out, cmd, indent + "    ");
-            }
-            out.println(indent + "}");
-        } else if (c instanceof CWhile) {
-            CWhile cw = (CWhile) c;
-            out.println(indent + "while (" + geraExp(cw.exp) + ") {");
-            for (Comando cmd : cw.bloco) {
-                geraComando(out, cmd, indent + "    ");
-            }
-            out.println(indent + "}");
-        } else if (c instanceof CPrint) {
-            CPrint cp = (CPrint) c;
-            String fmt = isBoolExp(cp.exp) ? "%d" : "%f";
-            out.println(indent + "printf(\"" + fmt + "\\n\", " + geraExp(cp.exp) + ");");
-        } else if (c instanceof CReadInput) {
-            CReadInput cr = (CReadInput) c;
-            out.println(indent + "scanf(\"%f\", &" + cr.var + ");");
-        } else if (c instanceof CReturn) {
-            CReturn cr = (CReturn) c;
-            if (cr.exp != null) {
-                out.println(indent + "return " + geraExp(cr.exp) + ";");
-            } else {
-                out.println(indent + "return;");
-            }
-        } else if (c instanceof CChamadaFun) {
-            CChamadaFun cf = (CChamadaFun) c;
-            StringBuilder sb = new StringBuilder();
-            sb.append(cf.fun).append("(");
-            for (int i = 0; i < cf.args.size(); i++) {
-                if (i > 0) sb.append(", ");
-                sb.append(geraExp(cf.args.get(i)));
-            }
-            sb.append(")");
-            out.println(indent + sb.toString() + ";");
-        }
-    }
+        try {
+            PrintWriter out = new PrintWriter(new FileWriter(outputFile));
+            prog.accept(new GeradorLLVM(out, opcoes, new File(arquivo).getName()));
+            out.close();
+            GeradorLLVM.escreveRuntime(new File(outputFile).getAbsoluteFile().getParentFile(), opcoes);
 
-    static String geraExp(Exp e) {
-        if (e instanceof EFloat) {
-            EFloat ef = (EFloat) e;
-            return String.valueOf(ef.value);
-        } else if (e instanceof EVar) {
-            return ((EVar) e).var;
-        } else if (e instanceof ETrue) {
-            return "1";
-        } else if (e instanceof EFalse) {
-            return "0";
-        } else if (e instanceof EOpExp) {
-            EOpExp op = (EOpExp) e;
-            return "(" + geraExp(op.arg1) + " " + op.op + " " + geraExp(op.arg2) + ")";
-        } else if (e instanceof EChamadaFun) {
-            EChamadaFun cf = (EChamadaFun) e;
-            StringBuilder sb = new StringBuilder();
-            sb.append(cf.fun).append("(");
-            for (int i = 0; i < cf.args.size(); i++) {
-                if (i > 0) sb.append(", ");
-                sb.append(geraExp(cf.args.get(i)));
-            }
-            sb.append(")");
-            return sb.toString();
-        }
-        return "";
-    }
+            System.out.println("Código LLVM gerado em: " + outputFile);
+            return outputFile;
 
-    static boolean isBoolExp(Exp e) {
-        if (e instanceof ETrue || e instanceof EFalse) return true;
-        if (e instanceof EOpExp) {
-            String op = ((EOpExp) e).op;
-            return op.equals("&&") || op.equals("||") ||
-                   op.equals("<") || op.equals(">") || op.equals("==");
+        } catch (IOException e) {
+            System.err.println("Erro ao gerar código: " + e.getMessage());
+            return null;
         }
-        return false;
     }
 }
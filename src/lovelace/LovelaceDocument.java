@@ -0,0 +1,451 @@
+package lovelace;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import ast.*;
+
+// An open .lov document for editors and watch loops. The text is kept as a
+// list of top-level blocks -- main or one def, plus the blank lines and
+// comments that follow it -- each with its own tree, and an edit re-lexes and
+// re-parses only the blocks it touches.
+//
+// 'def' and 'main' can only start a block, so a program parses exactly when
+// every block parses on its own and the first one is main. An edit costs the
+// size of the blocks it touches plus one step per block to find them, not the
+// size of the file. A tree keeps the lines it was parsed with, so line breaks
+// an edit adds or removes leave the trees after it alone: each block's offset
+// from those lines is applied only when the trees are read, see
+// deslocamentos().
+public class LovelaceDocument {
+
+    private static final class Bloco {
+        final String texto;
+        final int quebras;  // line breaks in texto
+        final Node no;      // Main or Fun; null when texto does not parse
+        final String erro;  // parse error, when no is null
+        final int linha;    // line texto started on when no was parsed
+
+        Bloco(String texto, Node no, String erro, int linha) {
+            this.texto = texto;
+            this.quebras = quebras(texto);
+            this.no = no;
+            this.erro = erro;
+            this.linha = linha;
+        }
+    }
+
+    // Result of parsing a run of blocks.
+    private static final class Trecho {
+        final ArrayList<Token> inicios = new ArrayList<Token>();
+        ArrayList<Node> blocos;
+        String erro;
+    }
+
+    private final ArrayList<Bloco> blocos = new ArrayList<Bloco>();
+    private int tamanho;
+
+    public LovelaceDocument(String texto) {
+        tamanho = texto.length();
+        substitui(0, 0, texto, 1, 1);
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public String texto() {
+        StringBuilder sb = new StringBuilder(tamanho);
+        for (Bloco b : blocos) sb.append(b.texto);
+        return sb.toString();
+    }
+
+    // Replaces 'comprimento' characters at 'inicio' with 'novo'.
+    public void edita(int inicio, int comprimento, String novo) {
+        if (inicio < 0 || comprimento < 0 || inicio + comprimento > tamanho) {
+            throw new IndexOutOfBoundsException(
+                "edição [" + inicio + ", " + (inicio + comprimento) + ") fora do documento de " + tamanho);
+        }
+
+        // From the block holding the character before the edit, so that text
+        // typed right after a block is lexed with it, to the block holding the
+        // character after the edit.
+        int antes = Math.max(inicio - 1, 0);
+        int a = 0, pos = 0, linha = 1;
+        while (a < blocos.size() - 1 && pos + blocos.get(a).texto.length() <= antes) {
+            pos += blocos.get(a).texto.length();
+            linha += blocos.get(a).quebras;
+            a++;
+        }
+        int b = a, fim = pos;
+        while (true) {
+            fim += blocos.get(b).texto.length();
+            if (b == blocos.size() - 1 || fim > inicio + comprimento) break;
+            b++;
+        }
+
+        StringBuilder sb = new StringBuilder(fim - pos + novo.length());
+        for (int i = a; i <= b; i++) sb.append(blocos.get(i).texto);
+        sb.replace(inicio - pos, inicio - pos + comprimento, novo);
+
+        // A // comment left open on the last line runs on into the next block.
+        while (b + 1 < blocos.size() && comentarioAberto(sb)) {
+            sb.append(blocos.get(++b).texto);
+        }
+
+        tamanho += novo.length() - comprimento;
+        substitui(a, b + 1, sb.toString(), linha, coluna(a));
+    }
+
+    // Why the document does not parse, or null. Messages name the current
+    // lines even when the broken block was parsed before lines moved.
+    public String erro() {
+        int linha = 1;
+        for (int i = 0; i < blocos.size(); i++) {
+            Bloco b = blocos.get(i);
+            if (b.no == null) {
+                return b.linha == linha ? b.erro : analisa(b.texto, linha, coluna(i)).erro;
+            }
+            if (i == 0 && !(b.no instanceof Main)) {
+                return "o programa deve começar pela função main";
+            }
+            if (i > 0 && b.no instanceof Main) {
+                return "linha " + linha + ": main deve ser a primeira função do programa";
+            }
+            linha += b.quebras;
+        }
+        return null;
+    }
+
+    public boolean valido() {
+        return erro() == null;
+    }
+
+    // The program tree, or null while the document does not parse. Trees of
+    // blocks that were not edited are shared between calls and must not be
+    // changed by the caller. Their lines are those they were parsed with; add
+    // deslocamentos() to get the current ones.
+    public Prog prog() {
+        if (!valido()) return null;
+        ArrayList<Fun> funs = new ArrayList<Fun>(blocos.size() - 1);
+        for (int i = 1; i < blocos.size(); i++) funs.add((Fun) blocos.get(i).no);
+        return new Prog((Main) blocos.get(0).no, funs);
+    }
+
+    // Lines to add to those in each tree of prog() -- main first, then each
+    // def -- for where the tree is now. LovelaceASTCache.write takes them.
+    public int[] deslocamentos() {
+        int[] deslocamentos = new int[blocos.size()];
+        int linha = 1;
+        for (int i = 0; i < blocos.size(); i++) {
+            deslocamentos[i] = linha - blocos.get(i).linha;
+            linha += blocos.get(i).quebras;
+        }
+        return deslocamentos;
+    }
+
+    // =========================================================================
+    // Re-parsing
+    // =========================================================================
+
+    // Replaces blocks [a, b) with the blocks of 'texto', which starts at
+    // 'linha' and 'coluna'.
+    private void substitui(int a, int b, String texto, int linha, int coluna) {
+        Trecho t = analisa(texto, linha, coluna);
+        ArrayList<Bloco> novos = new ArrayList<Bloco>();
+
+        if (t.erro != null) {
+            novos.add(new Bloco(texto, null, t.erro, linha));
+        } else if (t.blocos.isEmpty()) {
+            // Only blanks and comments: they belong to the block before, or,
+            // at the top of the file, to the block after.
+            if (a > 0) {
+                Bloco anterior = blocos.get(a - 1);
+                novos.add(new Bloco(anterior.texto + texto, anterior.no, anterior.erro, anterior.linha));
+                a--;
+            } else if (b < blocos.size()) {
+                substitui(a, b + 1, texto + blocos.get(b).texto, linha, coluna);
+                return;
+            } else {
+                novos.add(new Bloco(texto, null, "linha " + linha + ": o programa não tem função main", linha));
+            }
+        } else {
+            int[] linhas = inicioDasLinhas(texto);
+            int ini = 0;
+            for (int i = 0; i < t.blocos.size(); i++) {
+                int fim = texto.length();
+                if (i + 1 < t.blocos.size()) {
+                    Token prox = t.inicios.get(i + 1);
+                    fim = prox.beginLine == linha
+                        ? prox.beginColumn - coluna
+                        : linhas[prox.beginLine - linha] + prox.beginColumn - 1;
+                }
+                int l = i == 0 ? linha : t.inicios.get(i).beginLine;
+                novos.add(new Bloco(texto.substring(ini, fim), t.blocos.get(i), null, l));
+                ini = fim;
+            }
+        }
+
+        blocos.subList(a, b).clear();
+        blocos.addAll(a, novos);
+    }
+
+    // Parses on the calling thread, since starting DeepStack's thread costs
+    // more than parsing a typical block; only a block nested too deeply for
+    // this thread's stack is parsed again on DeepStack.
+    private static Trecho analisa(final String texto, final int linha, final int coluna) {
+        try {
+            return analisaAqui(texto, linha, coluna);
+        } catch (StackOverflowError e) {
+            return DeepStack.run(new DeepStack.Task<Trecho, RuntimeException>() {
+                public Trecho run() {
+                    return analisaAqui(texto, linha, coluna);
+                }
+            });
+        }
+    }
+
+    private static Trecho analisaAqui(String texto, int linha, int coluna) {
+        SimpleCharStream in = new SimpleCharStream(new StringReader(texto), linha, coluna);
+        in.setTabSize(1);
+        LovelaceParser parser = new LovelaceParser(new LovelaceParserTokenManager(in));
+        Trecho t = new Trecho();
+        try {
+            t.blocos = parser.Trecho(t.inicios);
+        } catch (ParseException e) {
+            t.erro = e.getMessage();
+        } catch (TokenMgrError e) {
+            t.erro = e.getMessage();
+        }
+        return t;
+    }
+
+    // Column block 'a' starts on, counting back to the last line break.
+    private int coluna(int a) {
+        int coluna = 1;
+        for (int i = a - 1; i >= 0; i--) {
+            String s = blocos.get(i).texto;
+            int j = s.length() - 1;
+            while (j >= 0 && s.charAt(j) != '\n' && s.charAt(j) != '\r') j--;
+            coluna += s.length() - 1 - j;
+            if (j >= 0) break;
+        }
+        return coluna;
+    }
+
+    private static boolean comentarioAberto(CharSequence s) {
+        int i = s.length() - 1;
+        while (i >= 0 && s.charAt(i) != '\n' && s.charAt(i) != '\r') i--;
+        for (int j = i + 1; j + 1 < s.length(); j++) {
+            if (s.charAt(j) == '/' && s.charAt(j + 1) == '/') return true;
+        }
+        return false;
+    }
+
+    // Line breaks as SimpleCharStream counts them: \n, \r and \r\n.
+    private static int quebras(String s) {
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\n' || (c == '\r' && (i + 1 == s.length() || s.charAt(i + 1) != '\n'))) n++;
+        }
+        return n;
+    }
+
+    // Offset of the first character of each line of 's'.
+    private static int[] inicioDasLinhas(String s) {
+        int[] inicios = new int[quebras(s) + 1];
+        int n = 1;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\n' || (c == '\r' && (i + 1 == s.length() || s.charAt(i + 1) != '\n'))) {
+                inicios[n++] = i + 1;
+            }
+        }
+        return inicios;
+    }
+
+    // =========================================================================
+    // Self-check
+    // =========================================================================
+    //
+    //   java lovelace.LovelaceDocument [--edicoes=N] [--semente=S] <arquivo.lov>...
+    //     applies N random edits to each file, undoing some of them so the
+    //     text keeps coming back to a valid program, and after every edit
+    //     compares the document with a full parse of its text.
+    //
+    //   java lovelace.LovelaceDocument --latencia <arquivo.lov>
+    //     times one-character edits in the middle of the file against a full
+    //     parse of it.
+
+    private static final String[] PEDACOS = {
+        " ", "\n", "\r\n", "\t", "// nota\n", "x", "1.0", ";", "(", ")", ":=", "+",
+        "def", "main", "begin", "end", "end\n", "let Float y;", "print x;", "return",
+        "if (true) begin end;", "\ndef Float g () begin return 1.0; end\n",
+        "main () begin end\n", "@",
+    };
+
+    public static void main(String[] args) throws IOException {
+        int edicoes = 500;
+        long semente = 1;
+        boolean latencia = false;
+        ArrayList<String> arquivos = new ArrayList<String>();
+        for (String arg : args) {
+            if (arg.startsWith("--edicoes=")) {
+                edicoes = Integer.parseInt(arg.substring("--edicoes=".length()));
+            } else if (arg.startsWith("--semente=")) {
+                semente = Long.parseLong(arg.substring("--semente=".length()));
+            } else if (arg.equals("--latencia")) {
+                latencia = true;
+            } else {
+                arquivos.add(arg);
+            }
+        }
+        if (arquivos.isEmpty()) {
+            System.err.println("Uso: java lovelace.LovelaceDocument [--edicoes=N] [--semente=S] <arquivo.lov>...");
+            System.err.println("     java lovelace.LovelaceDocument --latencia <arquivo.lov>");
+            System.exit(1);
+        }
+
+        for (String arquivo : arquivos) {
+            String texto = new String(Files.readAllBytes(new File(arquivo).toPath()), StandardCharsets.UTF_8);
+            if (latencia) {
+                mede(arquivo, texto);
+                continue;
+            }
+            final String fonte = texto;
+            final int n = edicoes;
+            final long s = semente;
+            final int[] validos = new int[1];
+            // The tree encoder used for comparison recurses per nesting level.
+            String falha = DeepStack.run(new DeepStack.Task<String, RuntimeException>() {
+                public String run() {
+                    return confere(fonte, n, new Random(s), validos);
+                }
+            });
+            if (falha != null) {
+                System.err.println(arquivo + " (semente " + semente + "): " + falha);
+                System.exit(1);
+            }
+            System.out.println(arquivo + ": " + edicoes + " edições conferidas, " + validos[0] + " com programa válido");
+        }
+    }
+
+    // Null when every step matched; 'validos' counts steps with a valid program.
+    private static String confere(String texto, int edicoes, Random r, int[] validos) {
+        LovelaceDocument doc = new LovelaceDocument(texto);
+        StringBuilder atual = new StringBuilder(texto);
+        ArrayDeque<Object[]> desfazer = new ArrayDeque<Object[]>();
+
+        String falha = compara(doc, atual.toString());
+        for (int i = 1; i <= edicoes && falha == null; i++) {
+            int inicio, comprimento;
+            String novo;
+            int op = r.nextInt(20);
+            if (op < 11 && !desfazer.isEmpty()) {
+                Object[] e = desfazer.pop();
+                inicio = (Integer) e[0];
+                comprimento = (Integer) e[1];
+                novo = (String) e[2];
+            } else {
+                inicio = r.nextInt(atual.length() + 1);
+                comprimento = 0;
+                novo = "";
+                if (op < 15) {
+                    novo = PEDACOS[r.nextInt(PEDACOS.length)];
+                } else if (op < 18) {
+                    comprimento = Math.min(1 + r.nextInt(8), atual.length() - inicio);
+                } else {
+                    int de = r.nextInt(atual.length() + 1);
+                    novo = atual.substring(de, Math.min(de + r.nextInt(40), atual.length()));
+                }
+                desfazer.push(new Object[] {inicio, novo.length(), atual.substring(inicio, inicio + comprimento)});
+            }
+            doc.edita(inicio, comprimento, novo);
+            atual.replace(inicio, inicio + comprimento, novo);
+            falha = compara(doc, atual.toString());
+            if (falha == null && doc.valido()) validos[0]++;
+            if (falha != null) falha = "edição " + i + " ([" + inicio + ", +" + comprimento + ") <- \""
+                + novo.replace("\n", "\\n").replace("\r", "\\r") + "\"): " + falha;
+        }
+        return falha;
+    }
+
+    private static String compara(LovelaceDocument doc, String texto) {
+        if (!doc.texto().equals(texto)) return "o texto do documento divergiu";
+        Prog completo;
+        try {
+            completo = new LovelaceParser(new StringReader(texto)).parse();
+        } catch (ParseException e) {
+            completo = null;
+        } catch (TokenMgrError e) {
+            completo = null;
+        }
+        Prog incremental = doc.prog();
+        if (completo == null && incremental == null) return null;
+        if (completo == null) return "a análise completa falhou, a incremental não";
+        if (incremental == null) return "a análise incremental falhou (" + doc.erro() + "), a completa não";
+        byte[] esperado = codifica(completo, new int[completo.fun.size() + 1]);
+        if (!Arrays.equals(esperado, codifica(incremental, doc.deslocamentos()))) return "as árvores diferem";
+        return null;
+    }
+
+    private static byte[] codifica(Prog p, int[] deslocamentos) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            LovelaceASTCache.write(p, out, new byte[0], deslocamentos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // Edits in the middle of the file keep every line where it was; line
+    // breaks added and removed in the first def move all the lines after it.
+    private static void mede(String arquivo, String texto) {
+        final int n = 5000;
+        LovelaceDocument doc = new LovelaceDocument(texto);
+        int meio = texto.indexOf('\n', texto.length() / 2) + 1;
+        int def = texto.indexOf("\ndef ");
+        int topo = def < 0 ? meio : texto.indexOf('\n', def + 1) + 1;
+        long edicao = 0, quebra = 0, completa = 0;
+        for (int rodada = 0; rodada < 3; rodada++) {  // the first rounds warm up the JIT
+            long t0 = System.nanoTime();
+            alterna(doc, meio, " ", n);
+            long t1 = System.nanoTime();
+            alterna(doc, topo, "\n", n);
+            long t2 = System.nanoTime();
+            for (int i = 0; i < n / 100; i++) {
+                try {
+                    new LovelaceParser(new StringReader(texto)).parse();
+                } catch (ParseException e) {
+                    // timing only
+                }
+            }
+            long t3 = System.nanoTime();
+            edicao = (t1 - t0) / n / 1000;
+            quebra = (t2 - t1) / n / 1000;
+            completa = (t3 - t2) / (n / 100) / 1000;
+        }
+        System.out.println(arquivo + ": " + tamanhoLegivel(texto.length()) + ", edição " + edicao
+            + " us, quebra de linha " + quebra + " us, análise completa " + completa + " us");
+    }
+
+    // Inserts 'texto' at 'pos' and deletes it again, 'n' edits in all, each
+    // followed by a call to prog().
+    private static void alterna(LovelaceDocument doc, int pos, String texto, int n) {
+        for (int i = 0; i < n; i++) {
+            if (i % 2 == 0) doc.edita(pos, 0, texto);
+            else doc.edita(pos, texto.length(), "");
+            doc.prog();
+        }
+    }
+
+    private static String tamanhoLegivel(int n) {
+        return n < 1024 ? n + " B" : (n / 1024) + " KiB";
+    }
+}
@@ -0,0 +1,173 @@
+package lovelace;
+
+import java.io.*;
+import ast.*;
+
+// Runs any mix of the front end outputs -- token dump, parse verdict, C code,
+// AST text or DOT -- over one read of the file. The parser pulls its tokens
+// through a token manager that also writes each one to the dump, so the file
+// is lexed once and parsed once, and the tree is handed to every output that
+// needs it. Each output matches what its standalone program prints.
+public class LovelaceDriver {
+
+    // Where the token dump, the AST text and the DOT graph go: null when not
+    // requested, "-" for stdout, otherwise a file.
+    private String tokens;
+    private String ast;
+    private String dot;
+    private boolean verdict;
+    private boolean codigo;
+    private final OpcoesGeracao opcoes = new OpcoesGeracao();
+
+    // Lexes for the parser and writes every token it hands out to 'dump'.
+    private static final class Espelho extends LovelaceParserTokenManager {
+        private final PrintWriter dump;
+
+        Espelho(Reader reader, PrintWriter dump) {
+            super(new SimpleCharStream(reader));
+            this.dump = dump;
+        }
+
+        public Token getNextToken() {
+            Token t = super.getNextToken();
+            if (t.kind != LovelaceParserConstants.EOF) dump.println(Lovelace.getTokenDescription(t));
+            return t;
+        }
+
+        // After a syntax error, the rest of the file, as the lexer alone
+        // would have listed it, up to any lexical error further on.
+        void esgota() {
+            try {
+                while (getNextToken().kind != LovelaceParserConstants.EOF) {
+                }
+            } catch (TokenMgrError e) {
+                System.err.println("Erro léxico: " + e.getMessage());
+            }
+        }
+    }
+
+    // The source, read as a stream; every front end program opens it here.
+    static Reader abre(String filename) throws FileNotFoundException {
+        return new BufferedReader(new FileReader(filename), 1 << 16);
+    }
+
+    public static void main(String[] args) {
+        LovelaceDriver d = new LovelaceDriver();
+        String filename = null;
+        boolean uso = false;
+
+        for (String arg : args) {
+            if (arg.equals("--tokens") || arg.startsWith("--tokens=")) {
+                d.tokens = destino(arg, "--tokens");
+            } else if (arg.equals("--parse")) {
+                d.verdict = true;
+            } else if (arg.equals("--c")) {
+                d.codigo = true;
+            } else if (arg.equals("--ast") || arg.startsWith("--ast=")) {
+                d.ast = destino(arg, "--ast");
+            } else if (arg.equals("--dot") || arg.startsWith("--dot=")) {
+                d.dot = destino(arg, "--dot");
+            } else if (arg.equals("--stdio")) {
+                d.opcoes.stdio = true;
+            } else if (arg.equals("--line-directives")) {
+                d.opcoes.linhas = true;
+            } else if (arg.startsWith("--") || filename != null) {
+                uso = true;
+            } else {
+                filename = arg;
+            }
+        }
+
+        if (uso || filename == null
+                || (d.tokens == null && !d.verdict && !d.codigo && d.ast == null && d.dot == null)) {
+            System.err.println("Uso: java lovelace.LovelaceDriver [--tokens[=<arquivo>]] [--parse] [--c]"
+                    + " [--ast[=<arquivo>]] [--dot[=<arquivo>]] [--stdio] [--line-directives] <arquivo.lov>");
+            System.exit(1);
+        }
+
+        System.exit(d.executa(filename) ? 0 : 1);
+    }
+
+    private static String destino(String arg, String opcao) {
+        return arg.length() == opcao.length() ? "-" : arg.substring(opcao.length() + 1);
+    }
+
+    // Produces every requested output; false after reporting an error.
+    boolean executa(String filename) {
+        Reader reader;
+        try {
+            reader = abre(filename);
+        } catch (FileNotFoundException e) {
+            System.err.println("Erro: Arquivo não encontrado: " + filename);
+            return false;
+        }
+
+        PrintWriter dump = null;
+        try {
+            Prog arvore;
+            try {
+                if (tokens != null) {
+                    dump = saida(tokens);
+                    Espelho espelho = new Espelho(reader, dump);
+                    try {
+                        arvore = new LovelaceParser(espelho).parse();
+                    } catch (ParseException e) {
+                        espelho.esgota();
+                        throw e;
+                    }
+                } else {
+                    arvore = new LovelaceParser(reader).parse();
+                }
+            } finally {
+                reader.close();
+                if (dump != null) fecha(dump, tokens);
+            }
+
+            if (verdict) System.out.println("Análise sintática concluída com sucesso!");
+            if (codigo && (arvore.modulo != null || !arvore.imports.isEmpty())) {
+                // Its imports have to be built first.
+                System.err.println("Erro: programas com módulos são compilados pelo LovelaceCompiler");
+                return false;
+            }
+            if (codigo && LovelaceCompiler.geraCodigo(arvore, filename, opcoes) == null) return false;
+            if (ast != null) desenha(arvore, ast, false);
+            if (dot != null) desenha(arvore, dot, true);
+            return true;
+
+        } catch (ParseException e) {
+            System.err.println("Erro de sintaxe na linha " + e.currentToken.beginLine +
+                             ", coluna " + e.currentToken.beginColumn + ": " + e.getMessage());
+            if (e.expectedTokenSequences != null && e.expectedTokenSequences.length > 0) {
+                System.err.println("Esperado: " + e.getMessage());
+            }
+        } catch (IOException e) {
+            System.err.println("Erro de entrada/saída: " + e.getMessage());
+        } catch (TokenMgrError e) {
+            System.err.println("Erro léxico: " + e.getMessage());
+        }
+        return false;
+    }
+
+    private static void desenha(Prog arvore, String destino, boolean dotMode) throws IOException {
+        PrintWriter out = saida(destino);
+        new LovelaceASTDiagram(out, dotMode, 0, 0).generate(arvore);
+        fecha(out, destino);
+    }
+
+    private static PrintWriter saida(String destino) throws IOException {
+        Writer w = destino.equals("-")
+                ? new OutputStreamWriter(new FileOutputStream(FileDescriptor.out))
+                : new FileWriter(destino);
+        return new PrintWriter(new BufferedWriter(w, 1 << 16));
+    }
+
+    // Stdout is only flushed: later outputs still write to it.
+    private static void fecha(PrintWriter out, String destino) throws IOException {
+        if (destino.equals("-")) {
+            out.flush();
+        } else {
+            out.close();
+        }
+        if (out.checkError()) throw new IOException("falha ao gravar " + destino);
+    }
+}
@@ -0,0 +1,1046 @@
+/* LovelaceParser.java */
+/* Generated By:JavaCC: Do not edit this line. LovelaceParser.java */
+package lovelace;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import ast.*;
+
+public class LovelaceParser implements LovelaceParserConstants {
+    // Nenhuma produção guarda um Token depois de consumi-lo: cada token
+    // aponta para o seguinte, então um só token preso num quadro da pilha
+    // (o de um while enorme, por exemplo) manteria vivos todos os lidos
+    // depois dele até o fim da análise. As ações copiam da variável 'token'
+    // só o que a árvore usa: a linha e o nome. Nomes, tipos e operadores
+    // repetidos viram uma só String, então a memória cresce com o tamanho
+    // da árvore, não com o número de tokens.
+    private final HashMap<String, String> nomes = new HashMap<String, String>();
+
+    private String nome(String s) {
+        String n = nomes.get(s);
+        if (n == null) nomes.put(s, n = s);
+        return n;
+    }
+
+    // Cópia só com a posição, solta da cadeia de tokens.
+    private static Token posicao(Token t) {
+        Token p = new Token(t.kind);
+        p.beginLine = t.beginLine;
+        p.beginColumn = t.beginColumn;
+        return p;
+    }
+
+    // Limites de recursos (LovelaceCompiler --max-*=, --timeout=); null
+    // quando não há nenhum. As produções contam nós, funções e profundidade
+    // enquanto constroem a árvore, então uma entrada grande demais para
+    // antes de ocupar a memória; os tokens são contados por Limites.Lexico.
+    private Limites limites;
+
+    public void limita(Limites limites) {
+        this.limites = limites;
+    }
+
+    private void no() {
+        if (limites != null) limites.no(token);
+    }
+
+    private void funcao() {
+        if (limites != null) limites.funcao(token);
+    }
+
+    private void entra() {
+        if (limites != null) limites.entra(token);
+    }
+
+    private void sai() {
+        if (limites != null) limites.sai();
+    }
+
+    // Expression() faz uma chamada recursiva por nível de parênteses, então a
+    // análise roda numa thread com pilha grande para aceitar aninhamentos
+    // profundos.
+    public Prog parse() throws ParseException {
+        return DeepStack.run(new DeepStack.Task<Prog, ParseException>() {
+            public Prog run() throws ParseException {
+                return Program();
+            }
+        });
+    }
+
+// Programa: LOVELACE -> IMPORT* MAIN FUNC? (nada depois da última função)
+// Módulo:   LOVELACE -> module id; IMPORT* FUNC?, uma biblioteca sem main
+  final public Prog Program() throws ParseException {String modulo = null;
+    ArrayList<String> imports;
+    ArrayList<Fun> funcs;
+    Main main = null;
+    switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+    case MODULE:{
+      modulo = Modulo();
+      imports = Imports();
+      break;
+      }
+    case MAIN:
+    case IMPORT:{
+      imports = Imports();
+      main = MainFunction();
+      break;
+      }
+    default:
+      jj_la1[0] = jj_gen;
+      jj_consume_token(-1);
+      throw new ParseException();
+    }
+    funcs = FunctionList();
+    jj_consume_token(0);
+{if ("" != null) return new Prog(modulo, imports, main, funcs);}
+    throw new Error("Missing return statement in function");
+}
+
+// Só o começo do arquivo: o nome do módulo (ou null) e o que ele importa.
+// Usado para montar o grafo de módulos sem analisar os corpos.
+  final public Prog Cabecalho() throws ParseException {String modulo = null;
+    ArrayList<String> imports;
+    switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+    case MODULE:{
+      modulo = Modulo();
+      break;
+      }
+    default:
+      jj_la1[1] = jj_gen;
+      ;
+    }
+    imports = Imports();
+{if ("" != null) return new Prog(modulo, imports, null, new ArrayList<Fun>());}
+    throw new Error("Missing return statement in function");
+}
+
+// Declaração de módulo: module id;
+  final public String Modulo() throws ParseException {String nome;
+    jj_consume_token(MODULE);
+    jj_consume_token(IDENTIFIER);
+nome = nome(token.image);
+    jj_consume_token(SEMICOLON);
+{if ("" != null) return nome;}
+    throw new Error("Missing return statement in function");
+}
+
+// Importações: import id; (zero ou mais)
+  final public ArrayList<String> Imports() throws ParseException {ArrayList<String> imports = new ArrayList<String>();
+    label_1:
+    while (true) {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case IMPORT:{
+        ;
+        break;
+        }
+      default:
+        jj_la1[2] = jj_gen;
+        break label_1;
+      }
+      jj_consume_token(IMPORT);
+      jj_consume_token(IDENTIFIER);
+imports.add(nome(token.image));
+      jj_consume_token(SEMICOLON);
+    }
+{if ("" != null) return imports;}
+    throw new Error("Missing return statement in function");
+}
+
+// Trecho de um documento aberto: main e funções em qualquer ordem até o fim
+// do texto. Usado pelo LovelaceDocument para reanalisar só os blocos
+// editados; a ordem (main primeiro) é conferida lá. 'inicios' recebe o
+// primeiro token de cada bloco.
+  final public ArrayList<Node> Trecho(ArrayList<Token> inicios) throws ParseException {ArrayList<Node> blocos = new ArrayList<Node>();
+    Node b;
+    label_2:
+    while (true) {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case MAIN:
+      case DEF:{
+        ;
+        break;
+        }
+      default:
+        jj_la1[3] = jj_gen;
+        break label_2;
+      }
+inicios.add(posicao(getToken(1)));
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case MAIN:{
+        b = MainFunction();
+        break;
+        }
+      case DEF:{
+        b = Function();
+        break;
+        }
+      default:
+        jj_la1[4] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+blocos.add(b);
+    }
+    jj_consume_token(0);
+{if ("" != null) return blocos;}
+    throw new Error("Missing return statement in function");
+}
+
+// Lista de funções (zero ou mais)
+  final public ArrayList<Fun> FunctionList() throws ParseException {ArrayList<Fun> funcs = new ArrayList<Fun>();
+    Fun f;
+    label_3:
+    while (true) {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case DEF:{
+        ;
+        break;
+        }
+      default:
+        jj_la1[5] = jj_gen;
+        break label_3;
+      }
+      f = Function();
+funcs.add(f);
+    }
+{if ("" != null) return funcs;}
+    throw new Error("Missing return statement in function");
+}
+
+// Definição de função: def Tipo nome(params) begin ... end
+  final public Fun Function() throws ParseException {int linha;
+    String retorno;
+    String nome;
+    ArrayList<ParamFormalFun> params = new ArrayList<ParamFormalFun>();
+    ArrayList<VarDecl> vars;
+    ArrayList<Comando> body;
+    jj_consume_token(DEF);
+linha = token.beginLine; funcao(); no();
+    retorno = Type();
+    jj_consume_token(IDENTIFIER);
+nome = nome(token.image);
+    jj_consume_token(LPAREN);
+    switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+    case FLOAT:
+    case BOOL:
+    case VOID:{
+      params = ParameterList();
+      break;
+      }
+    default:
+      jj_la1[6] = jj_gen;
+      ;
+    }
+    jj_consume_token(RPAREN);
+    jj_consume_token(BEGIN);
+    vars = VarDecl();
+    body = StatementList();
+    jj_consume_token(END);
+{if ("" != null) return new Fun(linha, nome, params, retorno, vars, body);}
+    throw new Error("Missing return statement in function");
+}
+
+// Função main: main() begin ... end
+  final public Main MainFunction() throws ParseException {ArrayList<VarDecl> vars;
+    ArrayList<Comando> coms;
+    int linha;
+    jj_consume_token(MAIN);
+linha = token.beginLine; no();
+    jj_consume_token(LPAREN);
+    jj_consume_token(RPAREN);
+    jj_consume_token(BEGIN);
+    vars = VarDecl();
+    coms = StatementList();
+    jj_consume_token(END);
+{if ("" != null) return new Main(linha, vars, coms);}
+    throw new Error("Missing return statement in function");
+}
+
+// Lista de parâmetros: Tipo id, Tipo id, ...
+  final public ArrayList<ParamFormalFun> ParameterList() throws ParseException {ArrayList<ParamFormalFun> params = new ArrayList<ParamFormalFun>();
+    ParamFormalFun p;
+    p = Parameter();
+params.add(p);
+    label_4:
+    while (true) {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case COMMA:{
+        ;
+        break;
+        }
+      default:
+        jj_la1[7] = jj_gen;
+        break label_4;
+      }
+      jj_consume_token(COMMA);
+      p = Parameter();
+params.add(p);
+    }
+{if ("" != null) return params;}
+    throw new Error("Missing return statement in function");
+}
+
+// Parâmetro: Tipo identificador
+  final public ParamFormalFun Parameter() throws ParseException {String tipo;
+    tipo = Type();
+    jj_consume_token(IDENTIFIER);
+no(); {if ("" != null) return new ParamFormalFun(tipo, nome(token.image));}
+    throw new Error("Missing return statement in function");
+}
+
+// Tipos: Float, Bool ou Void
+  final public String Type() throws ParseException {
+    switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+    case FLOAT:{
+      jj_consume_token(FLOAT);
+      break;
+      }
+    case BOOL:{
+      jj_consume_token(BOOL);
+      break;
+      }
+    case VOID:{
+      jj_consume_token(VOID);
+      break;
+      }
+    default:
+      jj_la1[8] = jj_gen;
+      jj_consume_token(-1);
+      throw new ParseException();
+    }
+{if ("" != null) return nome(token.image);}
+    throw new Error("Missing return statement in function");
+}
+
+// Declarações de variáveis: let Tipo id; (zero ou mais)
+  final public ArrayList<VarDecl> VarDecl() throws ParseException {ArrayList<VarDecl> vars = new ArrayList<VarDecl>();
+    String tipo;
+    String id;
+    label_5:
+    while (true) {
+      if (jj_2_1(2)) {
+        ;
+      } else {
+        break label_5;
+      }
+      jj_consume_token(LET);
+      tipo = Type();
+      jj_consume_token(IDENTIFIER);
+id = nome(token.image);
+      jj_consume_token(SEMICOLON);
+no(); vars.add(new VarDecl(tipo, id));
+    }
+{if ("" != null) return vars;}
+    throw new Error("Missing return statement in function");
+}
+
+// Lista de comandos (zero ou mais)
+  final public ArrayList<Comando> StatementList() throws ParseException {ArrayList<Comando> coms = new ArrayList<Comando>();
+    Comando c;
+    label_6:
+    while (true) {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case IF:
+      case WHILE:
+      case RETURN:
+      case PRINT:
+      case IDENTIFIER:{
+        ;
+        break;
+        }
+      default:
+        jj_la1[9] = jj_gen;
+        break label_6;
+      }
+      c = Statement();
+coms.add(c);
+    }
+{if ("" != null) return coms;}
+    throw new Error("Missing return statement in function");
+}
+
+// Comando: if, while, print, return, ou identificador (atribuição/read/chamada)
+  final public Comando Statement() throws ParseException {Comando c;
+no();
+    switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+    case IF:{
+      c = IfStatement();
+      break;
+      }
+    case WHILE:{
+      c = WhileStatement();
+      break;
+      }
+    case PRINT:{
+      c = PrintStatement();
+      break;
+      }
+    case RETURN:{
+      c = ReturnStatement();
+      break;
+      }
+    case IDENTIFIER:{
+      c = IdentifierStatement();
+      break;
+      }
+    default:
+      jj_la1[10] = jj_gen;
+      jj_consume_token(-1);
+      throw new ParseException();
+    }
+{if ("" != null) return c;}
+    throw new Error("Missing return statement in function");
+}
+
+// Comando if: if (expr) begin ... end;
+  final public CIf IfStatement() throws ParseException {int linha;
+    Exp exp;
+    ArrayList<Comando> bloco;
+    jj_consume_token(IF);
+linha = token.beginLine;
+    exp = Expression();
+    jj_consume_token(BEGIN);
+entra();
+    bloco = StatementList();
+    jj_consume_token(END);
+sai();
+    jj_consume_token(SEMICOLON);
+{if ("" != null) return new CIf(linha, exp, bloco);}
+    throw new Error("Missing return statement in function");
+}
+
+// Comando while: while (expr) begin ... end;
+  final public CWhile WhileStatement() throws ParseException {int linha;
+    Exp exp;
+    ArrayList<Comando> bloco;
+    jj_consume_token(WHILE);
+linha = token.beginLine;
+    exp = Expression();
+    jj_consume_token(BEGIN);
+entra();
+    bloco = StatementList();
+    jj_consume_token(END);
+sai();
+    jj_consume_token(SEMICOLON);
+{if ("" != null) return new CWhile(linha, exp, bloco);}
+    throw new Error("Missing return statement in function");
+}
+
+// Comando print: print expr;
+  final public CPrint PrintStatement() throws ParseException {int linha;
+    Exp exp;
+    jj_consume_token(PRINT);
+linha = token.beginLine;
+    exp = Expression();
+    jj_consume_token(SEMICOLON);
+{if ("" != null) return new CPrint(linha, exp);}
+    throw new Error("Missing return statement in function");
+}
+
+// Comando return: return EXP;
+  final public CReturn ReturnStatement() throws ParseException {int linha;
+    Exp exp = null;
+    jj_consume_token(RETURN);
+linha = token.beginLine;
+    exp = Expression();
+    jj_consume_token(SEMICOLON);
+{if ("" != null) return new CReturn(linha, exp);}
+    throw new Error("Missing return statement in function");
+}
+
+// Comando com identificador: atribuição, read ou chamada de função
+  final public Comando IdentifierStatement() throws ParseException {int linha;
+    String id;
+    Exp exp;
+    ArrayList<Exp> args = new ArrayList<Exp>();
+    Comando cmd;
+    jj_consume_token(IDENTIFIER);
+linha = token.beginLine; id = nome(token.image);
+    switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+    case ASSIGN:{
+      jj_consume_token(ASSIGN);
+      if (jj_2_2(2)) {
+        jj_consume_token(READ);
+        jj_consume_token(LPAREN);
+        jj_consume_token(RPAREN);
+        jj_consume_token(SEMICOLON);
+cmd = new CReadInput(linha, id);
+      } else {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case TRUE:
+        case FALSE:
+        case LPAREN:
+        case NUMBER:
+        case IDENTIFIER:{
+          exp = Expression();
+          jj_consume_token(SEMICOLON);
+cmd = new CAtribuicao(linha, id, exp);
+          break;
+          }
+        default:
+          jj_la1[11] = jj_gen;
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
+      }
+      break;
+      }
+    case LPAREN:{
+      jj_consume_token(LPAREN);
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case TRUE:
+      case FALSE:
+      case LPAREN:
+      case NUMBER:
+      case IDENTIFIER:{
+        args = ExpressionList();
+        break;
+        }
+      default:
+        jj_la1[12] = jj_gen;
+        ;
+      }
+      jj_consume_token(RPAREN);
+      jj_consume_token(SEMICOLON);
+cmd = new CChamadaFun(linha, id, args);
+      break;
+      }
+    default:
+      jj_la1[13] = jj_gen;
+      jj_consume_token(-1);
+      throw new ParseException();
+    }
+{if ("" != null) return cmd;}
+    throw new Error("Missing return statement in function");
+}
+
+// EXP -> "(" EXP OP EXP ")" | FATOR
+  final public Exp Expression() throws ParseException {Exp left, right;
+    String op;
+    String nome;
+    ArrayList<Exp> args = new ArrayList<Exp>();
+no();
+    switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+    case LPAREN:{
+      jj_consume_token(LPAREN);
+entra();
+      left = Expression();
+      op = Operator();
+      right = Expression();
+      jj_consume_token(RPAREN);
+sai(); {if ("" != null) return new EOpExp(op, left, right);}
+      break;
+      }
+    default:
+      jj_la1[15] = jj_gen;
+      if (jj_2_3(2)) {
+        jj_consume_token(IDENTIFIER);
+nome = nome(token.image);
+        jj_consume_token(LPAREN);
+entra();
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case TRUE:
+        case FALSE:
+        case LPAREN:
+        case NUMBER:
+        case IDENTIFIER:{
+          args = ExpressionList();
+          break;
+          }
+        default:
+          jj_la1[14] = jj_gen;
+          ;
+        }
+        jj_consume_token(RPAREN);
+sai(); {if ("" != null) return new EChamadaFun(nome, args);}
+      } else {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case IDENTIFIER:{
+          jj_consume_token(IDENTIFIER);
+{if ("" != null) return new EVar(nome(token.image));}
+          break;
+          }
+        case NUMBER:{
+          jj_consume_token(NUMBER);
+{if ("" != null) return new EFloat(Float.parseFloat(token.image));}
+          break;
+          }
+        case TRUE:{
+          jj_consume_token(TRUE);
+{if ("" != null) return new ETrue();}
+          break;
+          }
+        case FALSE:{
+          jj_consume_token(FALSE);
+{if ("" != null) return new EFalse();}
+          break;
+          }
+        default:
+          jj_la1[16] = jj_gen;
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
+      }
+    }
+    throw new Error("Missing return statement in function");
+}
+
+// OP -> "+" | "-" | "*" | "/" | "&&" | "||" | "<" | ">" | "=="
+  final public String Operator() throws ParseException {
+    switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+    case PLUS:{
+      jj_consume_token(PLUS);
+      break;
+      }
+    case MINUS:{
+      jj_consume_token(MINUS);
+      break;
+      }
+    case MULT:{
+      jj_consume_token(MULT);
+      break;
+      }
+    case DIV:{
+      jj_consume_token(DIV);
+      break;
+      }
+    case AND:{
+      jj_consume_token(AND);
+      break;
+      }
+    case OR:{
+      jj_consume_token(OR);
+      break;
+      }
+    case EQ:{
+      jj_consume_token(EQ);
+      break;
+      }
+    case LT:{
+      jj_consume_token(LT);
+      break;
+      }
+    case GT:{
+      jj_consume_token(GT);
+      break;
+      }
+    default:
+      jj_la1[17] = jj_gen;
+      jj_consume_token(-1);
+      throw new ParseException();
+    }
+{if ("" != null) return nome(token.image);}
+    throw new Error("Missing return statement in function");
+}
+
+// Lista de expressões: expr, expr, expr, ...
+  final public ArrayList<Exp> ExpressionList() throws ParseException {ArrayList<Exp> args = new ArrayList<Exp>();
+    Exp e;
+    e = Expression();
+args.add(e);
+    label_7:
+    while (true) {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case COMMA:{
+        ;
+        break;
+        }
+      default:
+        jj_la1[18] = jj_gen;
+        break label_7;
+      }
+      jj_consume_token(COMMA);
+      e = Expression();
+args.add(e);
+    }
+{if ("" != null) return args;}
+    throw new Error("Missing return statement in function");
+}
+
+  private boolean jj_2_1(int xla)
+ {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return (!jj_3_1()); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(0, xla); }
+  }
+
+  private boolean jj_2_2(int xla)
+ {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return (!jj_3_2()); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(1, xla); }
+  }
+
+  private boolean jj_2_3(int xla)
+ {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return (!jj_3_3()); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(2, xla); }
+  }
+
+  private boolean jj_3_3()
+ {
+    if (jj_scan_token(IDENTIFIER)) return true;
+    if (jj_scan_token(LPAREN)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_Type_329_5_8()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_scan_token(10)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(11)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(12)) return true;
+    }
+    }
+    return false;
+  }
+
+  private boolean jj_3_1()
+ {
+    if (jj_scan_token(LET)) return true;
+    if (jj_3R_Type_329_5_8()) return true;
+    return false;
+  }
+
+  private boolean jj_3_2()
+ {
+    if (jj_scan_token(READ)) return true;
+    if (jj_scan_token(LPAREN)) return true;
+    return false;
+  }
+
+  /** Generated Token Manager. */
+  public LovelaceParserTokenManager token_source;
+  SimpleCharStream jj_input_stream;
+  /** Current token. */
+  public Token token;
+  /** Next token. */
+  public Token jj_nt;
+  private int jj_ntk;
+  private Token jj_scanpos, jj_lastpos;
+  private int jj_la;
+  private int jj_gen;
+  final private int[] jj_la1 = new int[19];
+  static private int[] jj_la1_0;
+  static private int[] jj_la1_1;
+  static {
+	   jj_la1_init_0();
+	   jj_la1_init_1();
+	}
+	private static void jj_la1_init_0() {
+	   jj_la1_0 = new int[] {0x600040,0x200000,0x400000,0x40040,0x40040,0x40000,0x1c00,0x0,0x1c00,0x36000,0x36000,0x180000,0x180000,0x800000,0x180000,0x0,0x180000,0xff000000,0x0,};
+	}
+	private static void jj_la1_init_1() {
+	   jj_la1_1 = new int[] {0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x10,0x0,0x40,0x40,0x62,0x62,0x2,0x62,0x2,0x60,0x1,0x10,};
+	}
+  final private JJCalls[] jj_2_rtns = new JJCalls[3];
+  private boolean jj_rescan = false;
+  private int jj_gc = 0;
+
+  /** Constructor with InputStream. */
+  public LovelaceParser(java.io.InputStream stream) {
+	  this(stream, null);
+  }
+  /** Constructor with InputStream and supplied encoding */
+  public LovelaceParser(java.io.InputStream stream, String encoding) {
+	 try { jj_input_stream = new SimpleCharStream(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
+	 token_source = new LovelaceParserTokenManager(jj_input_stream);
+	 token = new Token();
+	 jj_ntk = -1;
+	 jj_gen = 0;
+	 for (int i = 0; i < 19; i++) jj_la1[i] = -1;
+	 for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
+  }
+
+  /** Reinitialise. */
+  public void ReInit(java.io.InputStream stream) {
+	  ReInit(stream, null);
+  }
+  /** Reinitialise. */
+  public void ReInit(java.io.InputStream stream, String encoding) {
+	 try { jj_input_stream.ReInit(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
+	 token_source.ReInit(jj_input_stream);
+	 token = new Token();
+	 jj_ntk = -1;
+	 jj_gen = 0;
+	 for (int i = 0; i < 19; i++) jj_la1[i] = -1;
+	 for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
+  }
+
+  /** Constructor. */
+  public LovelaceParser(java.io.Reader stream) {
+	 jj_input_stream = new SimpleCharStream(stream, 1, 1);
+	 token_source = new LovelaceParserTokenManager(jj_input_stream);
+	 token = new Token();
+	 jj_ntk = -1;
+	 jj_gen = 0;
+	 for (int i = 0; i < 19; i++) jj_la1[i] = -1;
+	 for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
+  }
+
+  /** Reinitialise. */
+  public void ReInit(java.io.Reader stream) {
+	if (jj_input_stream == null) {
+	   jj_input_stream = new SimpleCharStream(stream, 1, 1);
+	} else {
+	   jj_input_stream.ReInit(stream, 1, 1);
+	}
+	if (token_source == null) {
+ token_source = new LovelaceParserTokenManager(jj_input_stream);
+	}
+
+	 token_source.ReInit(jj_input_stream);
+	 token = new Token();
+	 jj_ntk = -1;
+	 jj_gen = 0;
+	 for (int i = 0; i < 19; i++) jj_la1[i] = -1;
+	 for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
+  }
+
+  /** Constructor with generated Token Manager. */
+  public LovelaceParser(LovelaceParserTokenManager tm) {
+	 token_source = tm;
+	 token = new Token();
+	 jj_ntk = -1;
+	 jj_gen = 0;
+	 for (int i = 0; i < 19; i++) jj_la1[i] = -1;
+	 for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
+  }
+
+  /** Reinitialise. */
+  public void ReInit(LovelaceParserTokenManager tm) {
+	 token_source = tm;
+	 token = new Token();
+	 jj_ntk = -1;
+	 jj_gen = 0;
+	 for (int i = 0; i < 19; i++) jj_la1[i] = -1;
+	 for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
+  }
+
+  private Token jj_consume_token(int kind) throws ParseException {
+	 Token oldToken;
+	 if ((oldToken = token).next != null) token = token.next;
+	 else token = token.next = token_source.getNextToken();
+	 jj_ntk = -1;
+	 if (token.kind == kind) {
+	   jj_gen++;
+	   if (++jj_gc > 100) {
+		 jj_gc = 0;
+		 for (int i = 0; i < jj_2_rtns.length; i++) {
+		   JJCalls c = jj_2_rtns[i];
+		   while (c != null) {
+			 if (c.gen < jj_gen) c.first = null;
+			 c = c.next;
+		   }
+		 }
+	   }
+	   return token;
+	 }
+	 token = oldToken;
+	 jj_kind = kind;
+	 throw generateParseException();
+  }
+
+  @SuppressWarnings("serial")
+  static private final class LookaheadSuccess extends java.lang.Error {
+    @Override
+    public Throwable fillInStackTrace() {
+      return this;
+    }
+  }
+  static private final LookaheadSuccess jj_ls = new LookaheadSuccess();
+  private boolean jj_scan_token(int kind) {
+	 if (jj_scanpos == jj_lastpos) {
+	   jj_la--;
+	   if (jj_scanpos.next == null) {
+		 jj_lastpos = jj_scanpos = jj_scanpos.next = token_source.getNextToken();
+	   } else {
+		 jj_lastpos = jj_scanpos = jj_scanpos.next;
+	   }
+	 } else {
+	   jj_scanpos = jj_scanpos.next;
+	 }
+	 if (jj_rescan) {
+	   int i = 0; Token tok = token;
+	   while (tok != null && tok != jj_scanpos) { i++; tok = tok.next; }
+	   if (tok != null) jj_add_error_token(kind, i);
+	 }
+	 if (jj_scanpos.kind != kind) return true;
+	 if (jj_la == 0 && jj_scanpos == jj_lastpos) throw jj_ls;
+	 return false;
+  }
+
+
+/** Get the next Token. */
+  final public Token getNextToken() {
+	 if (token.next != null) token = token.next;
+	 else token = token.next = token_source.getNextToken();
+	 jj_ntk = -1;
+	 jj_gen++;
+	 return token;
+  }
+
+/** Get the specific Token. */
+  final public Token getToken(int index) {
+	 Token t = token;
+	 for (int i = 0; i < index; i++) {
+	   if (t.next != null) t = t.next;
+	   else t = t.next = token_source.getNextToken();
+	 }
+	 return t;
+  }
+
+  private int jj_ntk_f() {
+	 if ((jj_nt=token.next) == null)
+	   return (jj_ntk = (token.next=token_source.getNextToken()).kind);
+	 else
+	   return (jj_ntk = jj_nt.kind);
+  }
+
+  private java.util.List<int[]> jj_expentries = new java.util.ArrayList<int[]>();
+  private int[] jj_expentry;
+  private int jj_kind = -1;
+  private int[] jj_lasttokens = new int[100];
+  private int jj_endpos;
+
+  private void jj_add_error_token(int kind, int pos) {
+	 if (pos >= 100) {
+		return;
+	 }
+
+	 if (pos == jj_endpos + 1) {
+	   jj_lasttokens[jj_endpos++] = kind;
+	 } else if (jj_endpos != 0) {
+	   jj_expentry = new int[jj_endpos];
+
+	   for (int i = 0; i < jj_endpos; i++) {
+		 jj_expentry[i] = jj_lasttokens[i];
+	   }
+
+	   for (int[] oldentry : jj_expentries) {
+		 if (oldentry.length == jj_expentry.length) {
+		   boolean isMatched = true;
+
+		   for (int i = 0; i < jj_expentry.length; i++) {
+			 if (oldentry[i] != jj_expentry[i]) {
+			   isMatched = false;
+			   break;
+			 }
+
+		   }
+		   if (isMatched) {
+			 jj_expentries.add(jj_expentry);
+			 break;
+		   }
+		 }
+	   }
+
+	   if (pos != 0) {
+		 jj_lasttokens[(jj_endpos = pos) - 1] = kind;
+	   }
+	 }
+  }
+
+  /** Generate ParseException. */
+  public ParseException generateParseException() {
+	 jj_expentries.clear();
+	 boolean[] la1tokens = new boolean[39];
+	 if (jj_kind >= 0) {
+	   la1tokens[jj_kind] = true;
+	   jj_kind = -1;
+	 }
+	 for (int i = 0; i < 19; i++) {
+	   if (jj_la1[i] == jj_gen) {
+		 for (int j = 0; j < 32; j++) {
+		   if ((jj_la1_0[i] & (1<<j)) != 0) {
+			 la1tokens[j] = true;
+		   }
+		   if ((jj_la1_1[i] & (1<<j)) != 0) {
+			 la1tokens[32+j] = true;
+		   }
+		 }
+	   }
+	 }
+	 for (int i = 0; i < 39; i++) {
+	   if (la1tokens[i]) {
+		 jj_expentry = new int[1];
+		 jj_expentry[0] = i;
+		 jj_expentries.add(jj_expentry);
+	   }
+	 }
+	 jj_endpos = 0;
+	 jj_rescan_token();
+	 jj_add_error_token(0, 0);
+	 int[][] exptokseq = new int[jj_expentries.size()][];
+	 for (int i = 0; i < jj_expentries.size(); i++) {
+	   exptokseq[i] = jj_expentries.get(i);
+	 }
+	 return new ParseException(token, exptokseq, tokenImage);
+  }
+
+  private boolean trace_enabled;
+
+/** Trace enabled. */
+  final public boolean trace_enabled() {
+	 return trace_enabled;
+  }
+
+  /** Enable tracing. */
+  final public void enable_tracing() {
+  }
+
+  /** Disable tracing. */
+  final public void disable_tracing() {
+  }
+
+  private void jj_rescan_token() {
+	 jj_rescan = true;
+	 for (int i = 0; i < 3; i++) {
+	   try {
+		 JJCalls p = jj_2_rtns[i];
+
+		 do {
+		   if (p.gen > jj_gen) {
+			 jj_la = p.arg; jj_lastpos = jj_scanpos = p.first;
+			 switch (i) {
+			   case 0: jj_3_1(); break;
+			   case 1: jj_3_2(); break;
+			   case 2: jj_3_3(); break;
+			 }
+		   }
+		   p = p.next;
+		 } while (p != null);
+
+		 } catch(LookaheadSuccess ls) { }
+	 }
+	 jj_rescan = false;
+  }
+
+  private void jj_save(int index, int xla) {
+	 JJCalls p = jj_2_rtns[index];
+	 while (p.gen > jj_gen) {
+	   if (p.next == null) { p = p.next = new JJCalls(); break; }
+	   p = p.next;
+	 }
+
+	 p.gen = jj_gen + xla - jj_la; 
+	 p.first = token;
+	 p.arg = xla;
+  }
+
+  static final class JJCalls {
+	 int gen;
+	 Token first;
+	 int arg;
+	 JJCalls next;
+  }
+
+}
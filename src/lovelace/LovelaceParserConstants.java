@@ -0,0 +1,126 @@
+/* Generated By:JavaCC: Do not edit this line. LovelaceParserConstants.java */
+package lovelace;
+
+
+/**
+ * Token literal values and constants.
+ * Generated by org.javacc.parser.OtherFilesGen#start()
+ */
+public interface LovelaceParserConstants {
+
+  /** End of File. */
+  int EOF = 0;
+  /** RegularExpression Id. */
+  int MAIN = 6;
+  /** RegularExpression Id. */
+  int BEGIN = 7;
+  /** RegularExpression Id. */
+  int END = 8;
+  /** RegularExpression Id. */
+  int LET = 9;
+  /** RegularExpression Id. */
+  int FLOAT = 10;
+  /** RegularExpression Id. */
+  int BOOL = 11;
+  /** RegularExpression Id. */
+  int VOID = 12;
+  /** RegularExpression Id. */
+  int IF = 13;
+  /** RegularExpression Id. */
+  int WHILE = 14;
+  /** RegularExpression Id. */
+  int READ = 15;
+  /** RegularExpression Id. */
+  int RETURN = 16;
+  /** RegularExpression Id. */
+  int PRINT = 17;
+  /** RegularExpression Id. */
+  int DEF = 18;
+  /** RegularExpression Id. */
+  int TRUE = 19;
+  /** RegularExpression Id. */
+  int FALSE = 20;
+  /** RegularExpression Id. */
+  int MODULE = 21;
+  /** RegularExpression Id. */
+  int IMPORT = 22;
+  /** RegularExpression Id. */
+  int ASSIGN = 23;
+  /** RegularExpression Id. */
+  int AND = 24;
+  /** RegularExpression Id. */
+  int OR = 25;
+  /** RegularExpression Id. */
+  int EQ = 26;
+  /** RegularExpression Id. */
+  int PLUS = 27;
+  /** RegularExpression Id. */
+  int MINUS = 28;
+  /** RegularExpression Id. */
+  int MULT = 29;
+  /** RegularExpression Id. */
+  int DIV = 30;
+  /** RegularExpression Id. */
+  int LT = 31;
+  /** RegularExpression Id. */
+  int GT = 32;
+  /** RegularExpression Id. */
+  int LPAREN = 33;
+  /** RegularExpression Id. */
+  int RPAREN = 34;
+  /** RegularExpression Id. */
+  int SEMICOLON = 35;
+  /** RegularExpression Id. */
+  int COMMA = 36;
+  /** RegularExpression Id. */
+  int NUMBER = 37;
+  /** RegularExpression Id. */
+  int IDENTIFIER = 38;
+
+  /** Lexical state. */
+  int DEFAULT = 0;
+
+  /** Literal token values. */
+  String[] tokenImage = {
+    "<EOF>",
+    "\" \"",
+    "\"\\t\"",
+    "\"\\n\"",
+    "\"\\r\"",
+    "<token of kind 5>",
+    "\"main\"",
+    "\"begin\"",
+    "\"end\"",
+    "\"let\"",
+    "\"Float\"",
+    "\"Bool\"",
+    "\"Void\"",
+    "\"if\"",
+    "\"while\"",
+    "\"read\"",
+    "\"return\"",
+    "\"print\"",
+    "\"def\"",
+    "\"true\"",
+    "\"false\"",
+    "\"module\"",
+    "\"import\"",
+    "\":=\"",
+    "\"&&\"",
+    "\"||\"",
+    "\"==\"",
+    "\"+\"",
+    "\"-\"",
+    "\"*\"",
+    "\"/\"",
+    "\"<\"",
+    "\">\"",
+    "\"(\"",
+    "\")\"",
+    "\";\"",
+    "\",\"",
+    "<NUMBER>",
+    "<IDENTIFIER>",
+  };
+
+}
@@ -0,0 +1,786 @@
+/* LovelaceParserTokenManager.java */
+/* Generated By:JavaCC: Do not edit this line. LovelaceParserTokenManager.java */
+package lovelace;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import ast.*;
+
+/** Token Manager. */
+@SuppressWarnings ("unused")
+public class LovelaceParserTokenManager implements LovelaceParserConstants {
+
+  /** Debug output. */
+  public  java.io.PrintStream debugStream = System.out;
+  /** Set debug output. */
+  public  void setDebugStream(java.io.PrintStream ds) { debugStream = ds; }
+private final int jjStopStringLiteralDfa_0(int pos, long active0){
+   switch (pos)
+   {
+      case 0:
+         if ((active0 & 0x40000000L) != 0L)
+            return 0;
+         if ((active0 & 0x7fffc0L) != 0L)
+         {
+            jjmatchedKind = 38;
+            return 16;
+         }
+         return -1;
+      case 1:
+         if ((active0 & 0x7fdfc0L) != 0L)
+         {
+            jjmatchedKind = 38;
+            jjmatchedPos = 1;
+            return 16;
+         }
+         if ((active0 & 0x2000L) != 0L)
+            return 16;
+         return -1;
+      case 2:
+         if ((active0 & 0x7bdcc0L) != 0L)
+         {
+            jjmatchedKind = 38;
+            jjmatchedPos = 2;
+            return 16;
+         }
+         if ((active0 & 0x40300L) != 0L)
+            return 16;
+         return -1;
+      case 3:
+         if ((active0 & 0x734480L) != 0L)
+         {
+            jjmatchedKind = 38;
+            jjmatchedPos = 3;
+            return 16;
+         }
+         if ((active0 & 0x89840L) != 0L)
+            return 16;
+         return -1;
+      case 4:
+         if ((active0 & 0x610000L) != 0L)
+         {
+            jjmatchedKind = 38;
+            jjmatchedPos = 4;
+            return 16;
+         }
+         if ((active0 & 0x124480L) != 0L)
+            return 16;
+         return -1;
+      default :
+         return -1;
+   }
+}
+private final int jjStartNfa_0(int pos, long active0){
+   return jjMoveNfa_0(jjStopStringLiteralDfa_0(pos, active0), pos + 1);
+}
+private int jjStopAtPos(int pos, int kind)
+{
+   jjmatchedKind = kind;
+   jjmatchedPos = pos;
+   return pos + 1;
+}
+private int jjMoveStringLiteralDfa0_0(){
+   switch(curChar)
+   {
+      case 38:
+         return jjMoveStringLiteralDfa1_0(0x1000000L);
+      case 40:
+         return jjStopAtPos(0, 33);
+      case 41:
+         return jjStopAtPos(0, 34);
+      case 42:
+         return jjStopAtPos(0, 29);
+      case 43:
+         return jjStopAtPos(0, 27);
+      case 44:
+         return jjStopAtPos(0, 36);
+      case 45:
+         return jjStopAtPos(0, 28);
+      case 47:
+         return jjStartNfaWithStates_0(0, 30, 0);
+      case 58:
+         return jjMoveStringLiteralDfa1_0(0x800000L);
+      case 59:
+         return jjStopAtPos(0, 35);
+      case 60:
+         return jjStopAtPos(0, 31);
+      case 61:
+         return jjMoveStringLiteralDfa1_0(0x4000000L);
+      case 62:
+         return jjStopAtPos(0, 32);
+      case 66:
+         return jjMoveStringLiteralDfa1_0(0x800L);
+      case 70:
+         return jjMoveStringLiteralDfa1_0(0x400L);
+      case 86:
+         return jjMoveStringLiteralDfa1_0(0x1000L);
+      case 98:
+         return jjMoveStringLiteralDfa1_0(0x80L);
+      case 100:
+         return jjMoveStringLiteralDfa1_0(0x40000L);
+      case 101:
+         return jjMoveStringLiteralDfa1_0(0x100L);
+      case 102:
+         return jjMoveStringLiteralDfa1_0(0x100000L);
+      case 105:
+         return jjMoveStringLiteralDfa1_0(0x402000L);
+      case 108:
+         return jjMoveStringLiteralDfa1_0(0x200L);
+      case 109:
+         return jjMoveStringLiteralDfa1_0(0x200040L);
+      case 112:
+         return jjMoveStringLiteralDfa1_0(0x20000L);
+      case 114:
+         return jjMoveStringLiteralDfa1_0(0x18000L);
+      case 116:
+         return jjMoveStringLiteralDfa1_0(0x80000L);
+      case 119:
+         return jjMoveStringLiteralDfa1_0(0x4000L);
+      case 124:
+         return jjMoveStringLiteralDfa1_0(0x2000000L);
+      default :
+         return jjMoveNfa_0(5, 0);
+   }
+}
+private int jjMoveStringLiteralDfa1_0(long active0){
+   try { curChar = input_stream.readChar(); }
+   catch(java.io.IOException e) {
+      jjStopStringLiteralDfa_0(0, active0);
+      return 1;
+   }
+   switch(curChar)
+   {
+      case 38:
+         if ((active0 & 0x1000000L) != 0L)
+            return jjStopAtPos(1, 24);
+         break;
+      case 61:
+         if ((active0 & 0x800000L) != 0L)
+            return jjStopAtPos(1, 23);
+         else if ((active0 & 0x4000000L) != 0L)
+            return jjStopAtPos(1, 26);
+         break;
+      case 97:
+         return jjMoveStringLiteralDfa2_0(active0, 0x100040L);
+      case 101:
+         return jjMoveStringLiteralDfa2_0(active0, 0x58280L);
+      case 102:
+         if ((active0 & 0x2000L) != 0L)
+            return jjStartNfaWithStates_0(1, 13, 16);
+         break;
+      case 104:
+         return jjMoveStringLiteralDfa2_0(active0, 0x4000L);
+      case 108:
+         return jjMoveStringLiteralDfa2_0(active0, 0x400L);
+      case 109:
+         return jjMoveStringLiteralDfa2_0(active0, 0x400000L);
+      case 110:
+         return jjMoveStringLiteralDfa2_0(active0, 0x100L);
+      case 111:
+         return jjMoveStringLiteralDfa2_0(active0, 0x201800L);
+      case 114:
+         return jjMoveStringLiteralDfa2_0(active0, 0xa0000L);
+      case 124:
+         if ((active0 & 0x2000000L) != 0L)
+            return jjStopAtPos(1, 25);
+         break;
+      default :
+         break;
+   }
+   return jjStartNfa_0(0, active0);
+}
+private int jjMoveStringLiteralDfa2_0(long old0, long active0){
+   if (((active0 &= old0)) == 0L)
+      return jjStartNfa_0(0, old0);
+   try { curChar = input_stream.readChar(); }
+   catch(java.io.IOException e) {
+      jjStopStringLiteralDfa_0(1, active0);
+      return 2;
+   }
+   switch(curChar)
+   {
+      case 97:
+         return jjMoveStringLiteralDfa3_0(active0, 0x8000L);
+      case 100:
+         if ((active0 & 0x100L) != 0L)
+            return jjStartNfaWithStates_0(2, 8, 16);
+         return jjMoveStringLiteralDfa3_0(active0, 0x200000L);
+      case 102:
+         if ((active0 & 0x40000L) != 0L)
+            return jjStartNfaWithStates_0(2, 18, 16);
+         break;
+      case 103:
+         return jjMoveStringLiteralDfa3_0(active0, 0x80L);
+      case 105:
+         return jjMoveStringLiteralDfa3_0(active0, 0x25040L);
+      case 108:
+         return jjMoveStringLiteralDfa3_0(active0, 0x100000L);
+      case 111:
+         return jjMoveStringLiteralDfa3_0(active0, 0xc00L);
+      case 112:
+         return jjMoveStringLiteralDfa3_0(active0, 0x400000L);
+      case 116:
+         if ((active0 & 0x200L) != 0L)
+            return jjStartNfaWithStates_0(2, 9, 16);
+         return jjMoveStringLiteralDfa3_0(active0, 0x10000L);
+      case 117:
+         return jjMoveStringLiteralDfa3_0(active0, 0x80000L);
+      default :
+         break;
+   }
+   return jjStartNfa_0(1, active0);
+}
+private int jjMoveStringLiteralDfa3_0(long old0, long active0){
+   if (((active0 &= old0)) == 0L)
+      return jjStartNfa_0(1, old0);
+   try { curChar = input_stream.readChar(); }
+   catch(java.io.IOException e) {
+      jjStopStringLiteralDfa_0(2, active0);
+      return 3;
+   }
+   switch(curChar)
+   {
+      case 97:
+         return jjMoveStringLiteralDfa4_0(active0, 0x400L);
+      case 100:
+         if ((active0 & 0x1000L) != 0L)
+            return jjStartNfaWithStates_0(3, 12, 16);
+         else if ((active0 & 0x8000L) != 0L)
+            return jjStartNfaWithStates_0(3, 15, 16);
+         break;
+      case 101:
+         if ((active0 & 0x80000L) != 0L)
+            return jjStartNfaWithStates_0(3, 19, 16);
+         break;
+      case 105:
+         return jjMoveStringLiteralDfa4_0(active0, 0x80L);
+      case 108:
+         if ((active0 & 0x800L) != 0L)
+            return jjStartNfaWithStates_0(3, 11, 16);
+         return jjMoveStringLiteralDfa4_0(active0, 0x4000L);
+      case 110:
+         if ((active0 & 0x40L) != 0L)
+            return jjStartNfaWithStates_0(3, 6, 16);
+         return jjMoveStringLiteralDfa4_0(active0, 0x20000L);
+      case 111:
+         return jjMoveStringLiteralDfa4_0(active0, 0x400000L);
+      case 115:
+         return jjMoveStringLiteralDfa4_0(active0, 0x100000L);
+      case 117:
+         return jjMoveStringLiteralDfa4_0(active0, 0x210000L);
+      default :
+         break;
+   }
+   return jjStartNfa_0(2, active0);
+}
+private int jjMoveStringLiteralDfa4_0(long old0, long active0){
+   if (((active0 &= old0)) == 0L)
+      return jjStartNfa_0(2, old0);
+   try { curChar = input_stream.readChar(); }
+   catch(java.io.IOException e) {
+      jjStopStringLiteralDfa_0(3, active0);
+      return 4;
+   }
+   switch(curChar)
+   {
+      case 101:
+         if ((active0 & 0x4000L) != 0L)
+            return jjStartNfaWithStates_0(4, 14, 16);
+         else if ((active0 & 0x100000L) != 0L)
+            return jjStartNfaWithStates_0(4, 20, 16);
+         break;
+      case 108:
+         return jjMoveStringLiteralDfa5_0(active0, 0x200000L);
+      case 110:
+         if ((active0 & 0x80L) != 0L)
+            return jjStartNfaWithStates_0(4, 7, 16);
+         break;
+      case 114:
+         return jjMoveStringLiteralDfa5_0(active0, 0x410000L);
+      case 116:
+         if ((active0 & 0x400L) != 0L)
+            return jjStartNfaWithStates_0(4, 10, 16);
+         else if ((active0 & 0x20000L) != 0L)
+            return jjStartNfaWithStates_0(4, 17, 16);
+         break;
+      default :
+         break;
+   }
+   return jjStartNfa_0(3, active0);
+}
+private int jjMoveStringLiteralDfa5_0(long old0, long active0){
+   if (((active0 &= old0)) == 0L)
+      return jjStartNfa_0(3, old0);
+   try { curChar = input_stream.readChar(); }
+   catch(java.io.IOException e) {
+      jjStopStringLiteralDfa_0(4, active0);
+      return 5;
+   }
+   switch(curChar)
+   {
+      case 101:
+         if ((active0 & 0x200000L) != 0L)
+            return jjStartNfaWithStates_0(5, 21, 16);
+         break;
+      case 110:
+         if ((active0 & 0x10000L) != 0L)
+            return jjStartNfaWithStates_0(5, 16, 16);
+         break;
+      case 116:
+         if ((active0 & 0x400000L) != 0L)
+            return jjStartNfaWithStates_0(5, 22, 16);
+         break;
+      default :
+         break;
+   }
+   return jjStartNfa_0(4, active0);
+}
+private int jjStartNfaWithStates_0(int pos, int kind, int state)
+{
+   jjmatchedKind = kind;
+   jjmatchedPos = pos;
+   try { curChar = input_stream.readChar(); }
+   catch(java.io.IOException e) { return pos + 1; }
+   return jjMoveNfa_0(state, pos + 1);
+}
+static final long[] jjbitVec0 = {
+   0x0L, 0x0L, 0xffffffffffffffffL, 0xffffffffffffffffL
+};
+private int jjMoveNfa_0(int startState, int curPos)
+{
+   int startsAt = 0;
+   jjnewStateCnt = 16;
+   int i = 1;
+   jjstateSet[0] = startState;
+   int kind = 0x7fffffff;
+   for (;;)
+   {
+      if (++jjround == 0x7fffffff)
+         ReInitRounds();
+      if (curChar < 64)
+      {
+         long l = 1L << curChar;
+         do
+         {
+            switch(jjstateSet[--i])
+            {
+               case 16:
+               case 13:
+                  if ((0x3ff000000000000L & l) == 0L)
+                     break;
+                  if (kind > 38)
+                     kind = 38;
+                  { jjCheckNAddTwoStates(13, 14); }
+                  break;
+               case 5:
+                  if ((0x3ff000000000000L & l) != 0L)
+                  {
+                     if (kind > 37)
+                        kind = 37;
+                     { jjCheckNAddStates(0, 2); }
+                  }
+                  else if (curChar == 47)
+                     jjstateSet[jjnewStateCnt++] = 0;
+                  break;
+               case 0:
+                  if (curChar != 47)
+                     break;
+                  if (kind > 5)
+                     kind = 5;
+                  { jjCheckNAddStates(3, 5); }
+                  break;
+               case 1:
+                  if ((0xffffffffffffdbffL & l) == 0L)
+                     break;
+                  if (kind > 5)
+                     kind = 5;
+                  { jjCheckNAddStates(3, 5); }
+                  break;
+               case 2:
+                  if ((0x2400L & l) != 0L && kind > 5)
+                     kind = 5;
+                  break;
+               case 3:
+                  if (curChar == 10 && kind > 5)
+                     kind = 5;
+                  break;
+               case 4:
+                  if (curChar == 13)
+                     jjstateSet[jjnewStateCnt++] = 3;
+                  break;
+               case 6:
+                  if ((0x3ff000000000000L & l) == 0L)
+                     break;
+                  if (kind > 37)
+                     kind = 37;
+                  { jjCheckNAddStates(0, 2); }
+                  break;
+               case 7:
+                  if (curChar == 46)
+                     { jjCheckNAdd(8); }
+                  break;
+               case 8:
+                  if ((0x3ff000000000000L & l) == 0L)
+                     break;
+                  if (kind > 37)
+                     kind = 37;
+                  { jjCheckNAddTwoStates(8, 9); }
+                  break;
+               case 10:
+                  if ((0x280000000000L & l) != 0L)
+                     { jjCheckNAdd(11); }
+                  break;
+               case 11:
+                  if ((0x3ff000000000000L & l) == 0L)
+                     break;
+                  if (kind > 37)
+                     kind = 37;
+                  { jjCheckNAdd(11); }
+                  break;
+               case 15:
+                  if ((0x3ff000000000000L & l) == 0L)
+                     break;
+                  if (kind > 38)
+                     kind = 38;
+                  { jjCheckNAddTwoStates(14, 15); }
+                  break;
+               default : break;
+            }
+         } while(i != startsAt);
+      }
+      else if (curChar < 128)
+      {
+         long l = 1L << (curChar & 077);
+         do
+         {
+            switch(jjstateSet[--i])
+            {
+               case 16:
+                  if ((0x7fffffe07fffffeL & l) != 0L)
+                  {
+                     if (kind > 38)
+                        kind = 38;
+                     { jjCheckNAddTwoStates(13, 14); }
+                  }
+                  else if (curChar == 95)
+                     { jjCheckNAdd(15); }
+                  break;
+               case 5:
+                  if ((0x7fffffe07fffffeL & l) == 0L)
+                     break;
+                  if (kind > 38)
+                     kind = 38;
+                  { jjCheckNAddTwoStates(13, 14); }
+                  break;
+               case 1:
+                  if (kind > 5)
+                     kind = 5;
+                  { jjAddStates(3, 5); }
+                  break;
+               case 9:
+                  if ((0x2000000020L & l) != 0L)
+                     { jjAddStates(6, 7); }
+                  break;
+               case 13:
+                  if ((0x7fffffe07fffffeL & l) == 0L)
+                     break;
+                  if (kind > 38)
+                     kind = 38;
+                  { jjCheckNAddTwoStates(13, 14); }
+                  break;
+               case 14:
+                  if (curChar == 95)
+                     { jjCheckNAdd(15); }
+                  break;
+               case 15:
+                  if ((0x7fffffe07fffffeL & l) == 0L)
+                     break;
+                  if (kind > 38)
+                     kind = 38;
+                  { jjCheckNAddTwoStates(14, 15); }
+                  break;
+               default : break;
+            }
+         } while(i != startsAt);
+      }
+      else
+      {
+         int i2 = (curChar & 0xff) >> 6;
+         long l2 = 1L << (curChar & 077);
+         do
+         {
+            switch(jjstateSet[--i])
+            {
+               case 1:
+                  if ((jjbitVec0[i2] & l2) == 0L)
+                     break;
+                  if (kind > 5)
+                     kind = 5;
+                  { jjAddStates(3, 5); }
+                  break;
+               default : break;
+            }
+         } while(i != startsAt);
+      }
+      if (kind != 0x7fffffff)
+      {
+         jjmatchedKind = kind;
+         jjmatchedPos = curPos;
+         kind = 0x7fffffff;
+      }
+      ++curPos;
+      if ((i = jjnewStateCnt) == (startsAt = 16 - (jjnewStateCnt = startsAt)))
+         return curPos;
+      try { curChar = input_stream.readChar(); }
+      catch(java.io.IOException e) { return curPos; }
+   }
+}
+
+/** Token literal values. */
+public static final String[] jjstrLiteralImages = {
+"", null, null, null, null, null, "\155\141\151\156", "\142\145\147\151\156", 
+"\145\156\144", "\154\145\164", "\106\154\157\141\164", "\102\157\157\154", 
+"\126\157\151\144", "\151\146", "\167\150\151\154\145", "\162\145\141\144", 
+"\162\145\164\165\162\156", "\160\162\151\156\164", "\144\145\146", "\164\162\165\145", 
+"\146\141\154\163\145", "\155\157\144\165\154\145", "\151\155\160\157\162\164", "\72\75", "\46\46", 
+"\174\174", "\75\75", "\53", "\55", "\52", "\57", "\74", "\76", "\50", "\51", "\73", 
+"\54", null, null, };
+protected Token jjFillToken()
+{
+   final Token t;
+   final String curTokenImage;
+   final int beginLine;
+   final int endLine;
+   final int beginColumn;
+   final int endColumn;
+   String im = jjstrLiteralImages[jjmatchedKind];
+   curTokenImage = (im == null) ? input_stream.GetImage() : im;
+   beginLine = input_stream.getBeginLine();
+   beginColumn = input_stream.getBeginColumn();
+   endLine = input_stream.getEndLine();
+   endColumn = input_stream.getEndColumn();
+   t = Token.newToken(jjmatchedKind, curTokenImage);
+
+   t.beginLine = beginLine;
+   t.endLine = endLine;
+   t.beginColumn = beginColumn;
+   t.endColumn = endColumn;
+
+   return t;
+}
+static final int[] jjnextStates = {
+   6, 7, 9, 1, 2, 4, 10, 11, 
+};
+
+int curLexState = 0;
+int defaultLexState = 0;
+int jjnewStateCnt;
+int jjround;
+int jjmatchedPos;
+int jjmatchedKind;
+
+/** Get the next Token. */
+public Token getNextToken() 
+{
+  Token matchedToken;
+  int curPos = 0;
+
+  EOFLoop :
+  for (;;)
+  {
+   try
+   {
+      curChar = input_stream.BeginToken();
+   }
+   catch(Exception e)
+   {
+      jjmatchedKind = 0;
+      jjmatchedPos = -1;
+      matchedToken = jjFillToken();
+      return matchedToken;
+   }
+
+   try { input_stream.backup(0);
+      while (curChar <= 32 && (0x100002600L & (1L << curChar)) != 0L)
+         curChar = input_stream.BeginToken();
+   }
+   catch (java.io.IOException e1) { continue EOFLoop; }
+   jjmatchedKind = 0x7fffffff;
+   jjmatchedPos = 0;
+   curPos = jjMoveStringLiteralDfa0_0();
+   if (jjmatchedKind != 0x7fffffff)
+   {
+      if (jjmatchedPos + 1 < curPos)
+         input_stream.backup(curPos - jjmatchedPos - 1);
+      if ((jjtoToken[jjmatchedKind >> 6] & (1L << (jjmatchedKind & 077))) != 0L)
+      {
+         matchedToken = jjFillToken();
+         return matchedToken;
+      }
+      else
+      {
+         continue EOFLoop;
+      }
+   }
+   int error_line = input_stream.getEndLine();
+   int error_column = input_stream.getEndColumn();
+   String error_after = null;
+   boolean EOFSeen = false;
+   try { input_stream.readChar(); input_stream.backup(1); }
+   catch (java.io.IOException e1) {
+      EOFSeen = true;
+      error_after = curPos <= 1 ? "" : input_stream.GetImage();
+      if (curChar == '\n' || curChar == '\r') {
+         error_line++;
+         error_column = 0;
+      }
+      else
+         error_column++;
+   }
+   if (!EOFSeen) {
+      input_stream.backup(1);
+      error_after = curPos <= 1 ? "" : input_stream.GetImage();
+   }
+   throw new TokenMgrError(EOFSeen, curLexState, error_line, error_column, error_after, curChar, TokenMgrError.LEXICAL_ERROR);
+  }
+}
+
+void SkipLexicalActions(Token matchedToken)
+{
+   switch(jjmatchedKind)
+   {
+      default :
+         break;
+   }
+}
+void MoreLexicalActions()
+{
+   jjimageLen += (lengthOfMatch = jjmatchedPos + 1);
+   switch(jjmatchedKind)
+   {
+      default :
+         break;
+   }
+}
+void TokenLexicalActions(Token matchedToken)
+{
+   switch(jjmatchedKind)
+   {
+      default :
+         break;
+   }
+}
+private void jjCheckNAdd(int state)
+{
+   if (jjrounds[state] != jjround)
+   {
+      jjstateSet[jjnewStateCnt++] = state;
+      jjrounds[state] = jjround;
+   }
+}
+private void jjAddStates(int start, int end)
+{
+   do {
+      jjstateSet[jjnewStateCnt++] = jjnextStates[start];
+   } while (start++ != end);
+}
+private void jjCheckNAddTwoStates(int state1, int state2)
+{
+   jjCheckNAdd(state1);
+   jjCheckNAdd(state2);
+}
+
+private void jjCheckNAddStates(int start, int end)
+{
+   do {
+      jjCheckNAdd(jjnextStates[start]);
+   } while (start++ != end);
+}
+
+    /** Constructor. */
+    public LovelaceParserTokenManager(SimpleCharStream stream){
+
+      if (SimpleCharStream.staticFlag)
+            throw new Error("ERROR: Cannot use a static CharStream class with a non-static lexical analyzer.");
+
+    input_stream = stream;
+  }
+
+  /** Constructor. */
+  public LovelaceParserTokenManager (SimpleCharStream stream, int lexState){
+    ReInit(stream);
+    SwitchTo(lexState);
+  }
+
+  /** Reinitialise parser. */
+  
+  public void ReInit(SimpleCharStream stream)
+  {
+
+
+    jjmatchedPos =
+    jjnewStateCnt =
+    0;
+    curLexState = defaultLexState;
+    input_stream = stream;
+    ReInitRounds();
+  }
+
+  private void ReInitRounds()
+  {
+    int i;
+    jjround = 0x80000001;
+    for (i = 16; i-- > 0;)
+      jjrounds[i] = 0x80000000;
+  }
+
+  /** Reinitialise parser. */
+  public void ReInit(SimpleCharStream stream, int lexState)
+  
+  {
+    ReInit(stream);
+    SwitchTo(lexState);
+  }
+
+  /** Switch to specified lex state. */
+  public void SwitchTo(int lexState)
+  {
+    if (lexState >= 1 || lexState < 0)
+      throw new TokenMgrError("Error: Ignoring invalid lexical state : " + lexState + ". State unchanged.", TokenMgrError.INVALID_LEXICAL_STATE);
+    else
+      curLexState = lexState;
+  }
+
+
+/** Lexer state names. */
+public static final String[] lexStateNames = {
+   "DEFAULT",
+};
+
+/** Lex State array. */
+public static final int[] jjnewLexState = {
+   -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 
+   -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 
+};
+static final long[] jjtoToken = {
+   0x7fffffffc1L, 
+};
+static final long[] jjtoSkip = {
+   0x3eL, 
+};
+static final long[] jjtoSpecial = {
+   0x0L, 
+};
+static final long[] jjtoMore = {
+   0x0L, 
+};
+    protected SimpleCharStream  input_stream;
+
+    private final int[] jjrounds = new int[16];
+    private final int[] jjstateSet = new int[2 * 16];
+    private final StringBuilder jjimage = new StringBuilder();
+    private StringBuilder image = jjimage;
+    private int jjimageLen;
+    private int lengthOfMatch;
+    protected int curChar;
+}
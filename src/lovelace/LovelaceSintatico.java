@@ -12,19 +12,8 @@ public class LovelaceSintatico {
         String filename = args[0];
         
         try {
-            StringBuilder content = new StringBuilder();
-            BufferedReader reader = new BufferedReader(new FileReader(filename));
-            String line;
-            while ((line = reader.readLine()) != null) {
-                content.append(line).append("\n");
-            }
-            reader.close();
-            
-            StringReader stringReader = new StringReader(content.toString());
-            LovelaceParser parser = new LovelaceParser(stringReader);
-            
             try {
-                parser.parse();
+                LovelaceCompiler.analisa(filename);
                 System.out.println("Análise sintática concluída com sucesso!");
             } catch (ParseException e) {
                 System.err.println("Erro de sintaxe na linha " + e.currentToken.beginLine + 
@@ -0,0 +1,350 @@
+package lovelace;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import ast.*;
+
+// Separate compilation of the library modules a program imports.
+//
+// "import m;" names the file m.lov in the importing file's directory, which
+// must start with "module m;". Each module becomes its own translation unit
+// m.c, a header m.h with its prototypes and a signature summary m.lovsig
+// (see Assinatura). The import graph is read from the file headers alone;
+// then every module is compiled as soon as the modules it imports are done,
+// independent ones in parallel on a fixed thread pool.
+//
+// A module is skipped when its source, the options that shape its C and the
+// interface of every module it imports are those its summary recorded: a
+// change to a function body rebuilds that module only, and its importers
+// follow only when its interface changed.
+final class Modulos {
+
+    // A module of the build.
+    private static final class Modulo {
+        final String nome;
+        final File arquivo;
+        Assinatura.Fonte fonte;
+        Assinatura anterior;
+        ArrayList<Modulo> importa = new ArrayList<Modulo>();
+
+        // Its summary once built or found up to date; null when it failed.
+        CompletableFuture<Assinatura> pronto;
+
+        // What it printed, shown in dependency order once all are done.
+        final ArrayList<String> saida = new ArrayList<String>();
+        final ArrayList<String> erros = new ArrayList<String>();
+
+        Modulo(String nome, File arquivo) {
+            this.nome = nome;
+            this.arquivo = arquivo;
+        }
+
+        String caminho(String extensao) {
+            String base = arquivo.getPath();
+            return base.substring(0, base.length() - ".lov".length()) + extensao;
+        }
+    }
+
+    // What the importing file is compiled with: the summaries of its direct
+    // imports, their interfaces, and the C files of every module it needs,
+    // in link order.
+    static final class Construcao {
+        final ArrayList<Assinatura> importadas = new ArrayList<Assinatura>();
+        final LinkedHashMap<String, String> interfaces = new LinkedHashMap<String, String>();
+        final ArrayList<String> arquivosC = new ArrayList<String>();
+    }
+
+    // Where imports are looked up: the directory of the file being
+    // compiled, null for the current one.
+    private final File dir;
+    private final boolean useCache;
+    private final OpcoesGeracao opcoes;
+    private final String assinaturaOpcoes;
+    private final Map<String, Modulo> modulos = new HashMap<String, Modulo>();
+    private final ArrayList<Modulo> ordem = new ArrayList<Modulo>();
+    private final ArrayList<String> erros = new ArrayList<String>();
+
+    private Modulos(File dir, boolean useCache, OpcoesGeracao opcoes) {
+        this.dir = dir;
+        this.useCache = useCache;
+        this.opcoes = opcoes;
+        this.assinaturaOpcoes = opcoes(opcoes);
+    }
+
+    // The options that change a module's C code, as its summary records them.
+    static String opcoes(OpcoesGeracao o) {
+        StringBuilder sb = new StringBuilder();
+        if (o.stdio) sb.append(" --stdio");
+        if (o.memo) sb.append(" --memo");
+        if (o.estreita) sb.append(" --narrow");
+        if (o.paralelo) sb.append(" --parallel");
+        if (o.linhas) sb.append(" --line-directives");
+        return sb.length() == 0 ? "nenhuma" : sb.substring(1);
+    }
+
+    // Builds the modules 'p' (parsed from 'arquivo') imports, directly or not,
+    // with at most 'jobs' at a time (0 = one per CPU). Returns null after
+    // reporting an error.
+    static Construcao constroi(String arquivo, Prog p, boolean useCache, OpcoesGeracao opcoes, int jobs) {
+        File fonte = new File(arquivo);
+        Modulos m = new Modulos(fonte.getParentFile(), useCache, opcoes);
+        String raiz = p.modulo != null ? p.modulo : fonte.getName();
+        if (p.modulo != null && !fonte.getName().equals(p.modulo + ".lov")) {
+            System.err.println("Erro: o módulo " + p.modulo + " deve estar em " + p.modulo + ".lov");
+            return null;
+        }
+
+        ArrayList<String> caminho = new ArrayList<String>();
+        caminho.add(raiz);
+        ArrayList<Modulo> diretos = new ArrayList<Modulo>();
+        for (String nome : p.imports) {
+            Modulo d = m.resolve(nome, caminho, fonte.getName());
+            if (d == null) break;
+            diretos.add(d);
+        }
+        if (!m.erros.isEmpty()) {
+            for (String e : m.erros) System.err.println(e);
+            return null;
+        }
+
+        if (!m.compilaTodos(jobs)) return null;
+
+        // Every function is an external C symbol, so a name may only be
+        // defined once among the file and all the modules linked with it.
+        Map<String, String> donos = new HashMap<String, String>();
+        for (Fun f : p.fun) donos.put(f.nome, raiz);
+        for (Modulo mod : m.ordem) {
+            for (String f : mod.pronto.join().retornos.keySet()) {
+                String outro = donos.put(f, mod.nome);
+                if (outro != null) {
+                    System.err.println("Erro: a função " + f + " é definida em " + outro + " e em " + mod.nome);
+                    return null;
+                }
+            }
+        }
+
+        Construcao c = new Construcao();
+        for (Modulo d : diretos) {
+            Assinatura a = d.pronto.join();
+            c.importadas.add(a);
+            c.interfaces.put(d.nome, a.resumoInterface());
+        }
+        for (Modulo mod : m.ordem) c.arquivosC.add(mod.caminho(".c"));
+        return c;
+    }
+
+    // =========================================================================
+    // Import graph
+    // =========================================================================
+
+    // Finds module 'nome' and, depth first, everything it imports; each
+    // module is added to 'ordem' after its imports. 'caminho' is the chain
+    // of imports that led here, to report cycles. Null after an error.
+    private Modulo resolve(String nome, ArrayList<String> caminho, String importador) {
+        if (caminho.contains(nome)) {
+            StringBuilder ciclo = new StringBuilder();
+            for (String s : caminho.subList(caminho.indexOf(nome), caminho.size())) ciclo.append(s).append(" -> ");
+            erros.add("Erro: importação circular: " + ciclo + nome);
+            return null;
+        }
+        Modulo m = modulos.get(nome);
+        if (m != null) return m;
+
+        File arquivo = new File(dir, nome + ".lov");
+        if (!arquivo.isFile()) {
+            erros.add("Erro: módulo " + nome + " não encontrado: " + arquivo.getPath()
+                    + " (importado por " + importador + ")");
+            return null;
+        }
+        m = new Modulo(nome, arquivo);
+
+        List<String> imports;
+        try {
+            File resumo = new File(m.caminho(Assinatura.EXTENSAO));
+            m.anterior = Assinatura.le(resumo);
+            m.fonte = Assinatura.Fonte.de(arquivo, m.anterior, resumo);
+            if (m.anterior != null && m.anterior.fonte.igual(m.fonte) && m.anterior.modulo.equals(nome)) {
+                imports = new ArrayList<String>(m.anterior.importa.keySet());
+            } else {
+                imports = cabecalho(m);
+                if (imports == null) return null;
+            }
+        } catch (IOException e) {
+            erros.add("Erro ao ler " + arquivo.getPath() + ": " + e.getMessage());
+            return null;
+        }
+
+        modulos.put(nome, m);
+        caminho.add(nome);
+        for (String i : imports) {
+            Modulo d = resolve(i, caminho, arquivo.getName());
+            if (d == null) return null;
+            m.importa.add(d);
+        }
+        caminho.remove(caminho.size() - 1);
+        ordem.add(m);
+        return m;
+    }
+
+    private static String naoModulo(Modulo m, String declarado) {
+        return "Erro: " + m.arquivo.getPath() + " não é o módulo " + m.nome
+                + (declarado == null ? " (falta \"module " + m.nome + ";\")"
+                                     : " (declara \"module " + declarado + ";\")");
+    }
+
+    // The imports of a changed module, from its first lines only; the rest
+    // is parsed when the module is compiled.
+    private List<String> cabecalho(Modulo m) throws IOException {
+        Reader reader = LovelaceDriver.abre(m.arquivo.getPath());
+        try {
+            Prog cabecalho = new LovelaceParser(reader).Cabecalho();
+            if (!m.nome.equals(cabecalho.modulo)) {
+                erros.add(naoModulo(m, cabecalho.modulo));
+                return null;
+            }
+            return cabecalho.imports;
+        } catch (ParseException e) {
+            erros.add("Erro de sintaxe em " + m.arquivo.getPath() + " na linha " + e.currentToken.beginLine
+                    + ", coluna " + e.currentToken.beginColumn + ": " + e.getMessage());
+        } catch (TokenMgrError e) {
+            erros.add("Erro léxico em " + m.arquivo.getPath() + ": " + e.getMessage());
+        } finally {
+            reader.close();
+        }
+        return null;
+    }
+
+    // =========================================================================
+    // Building
+    // =========================================================================
+
+    // Starts each module once its imports are done; then prints what every
+    // module reported, in dependency order. False when any failed.
+    private boolean compilaTodos(int jobs) {
+        if (ordem.isEmpty()) return true;
+        int threads = jobs > 0 ? jobs : Runtime.getRuntime().availableProcessors();
+        threads = Math.max(1, Math.min(threads, ordem.size()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (final Modulo m : ordem) {
+                CompletableFuture<?>[] antes = new CompletableFuture<?>[m.importa.size()];
+                for (int i = 0; i < antes.length; i++) antes[i] = m.importa.get(i).pronto;
+                m.pronto = CompletableFuture.allOf(antes).thenApplyAsync(new Function<Void, Assinatura>() {
+                    public Assinatura apply(Void nada) {
+                        return compila(m);
+                    }
+                }, pool);
+            }
+            boolean ok = true;
+            for (Modulo m : ordem) {
+                try {
+                    if (m.pronto.join() == null) ok = false;
+                } catch (CompletionException e) {
+                    // A compiler bug, not a bad module: fail as a single file would.
+                    if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                    if (e.getCause() instanceof Error) throw (Error) e.getCause();
+                    throw e;
+                }
+                for (String linha : m.saida) System.out.println(linha);
+                for (String linha : m.erros) System.err.println(linha);
+            }
+            return ok;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Runs on the pool with every import of 'm' done. Any failure is caught
+    // here and reported through m.erros, so dependents see a null summary.
+    private Assinatura compila(Modulo m) {
+        try {
+            LinkedHashMap<String, String> interfaces = new LinkedHashMap<String, String>();
+            ArrayList<Assinatura> importadas = new ArrayList<Assinatura>();
+            for (Modulo d : m.importa) {
+                Assinatura a = d.pronto.join();
+                if (a == null) {
+                    m.erros.add("Erro: módulo " + m.nome + " não compilado: " + d.nome + " falhou");
+                    return null;
+                }
+                interfaces.put(d.nome, a.resumoInterface());
+                importadas.add(a);
+            }
+
+            if (atualizado(m, interfaces)) {
+                m.saida.add("Módulo " + m.nome + ": inalterado");
+                return m.anterior;
+            }
+
+            Prog p;
+            try {
+                p = LovelaceCompiler.carrega(m.arquivo.getPath(), useCache,
+                                             opcoes.limites == null ? null : opcoes.limites.copia());
+            } catch (ParseException e) {
+                m.erros.add("Erro de sintaxe em " + m.arquivo.getPath() + " na linha " + e.currentToken.beginLine
+                        + ", coluna " + e.currentToken.beginColumn + ": " + e.getMessage());
+                return null;
+            }
+            if (!m.nome.equals(p.modulo)) {
+                m.erros.add(naoModulo(m, p.modulo));
+                return null;
+            }
+            return escreve(p, m.arquivo.getPath(), m.fonte, opcoes, importadas, interfaces, m.saida, m.erros);
+
+        } catch (Limites.Excedido e) {
+            m.erros.add("Erro de limite em " + m.arquivo.getPath() + ": " + e.getMessage());
+        } catch (TokenMgrError e) {
+            m.erros.add("Erro léxico em " + m.arquivo.getPath() + ": " + e.getMessage());
+        } catch (IOException e) {
+            m.erros.add("Erro ao ler " + m.arquivo.getPath() + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    // The summary on disk still describes what would be built, and the
+    // outputs it describes are all there.
+    private boolean atualizado(Modulo m, LinkedHashMap<String, String> interfaces) {
+        Assinatura a = m.anterior;
+        return a != null && a.fonte.igual(m.fonte) && a.opcoes.equals(assinaturaOpcoes)
+                && a.importa.equals(interfaces)
+                && new File(m.caminho(".c")).isFile() && new File(m.caminho(".h")).isFile();
+    }
+
+    // Writes the .c, .h and .lovsig of module 'p' and returns its summary;
+    // null after adding the error to 'erros'. Lines for stdout go to 'saida'.
+    static Assinatura escreve(Prog p, String arquivo, Assinatura.Fonte fonte, OpcoesGeracao opcoes,
+                              List<Assinatura> importadas, LinkedHashMap<String, String> interfaces,
+                              List<String> saida, List<String> erros) throws IOException {
+        String base = arquivo.substring(0, arquivo.length() - ".lov".length());
+        Assinatura anterior = Assinatura.le(new File(base + Assinatura.EXTENSAO));
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream relatorio = new PrintStream(buffer, true, "UTF-8");
+        String c = LovelaceCompiler.geraCodigo(p, arquivo, opcoes, importadas, relatorio, relatorio);
+        relatorio.close();
+        for (String linha : buffer.toString("UTF-8").split("\n")) {
+            if (!linha.isEmpty() && c != null) saida.add(linha);
+            if (!linha.isEmpty() && c == null) erros.add(linha);
+        }
+        if (c == null) return null;
+
+        try (PrintWriter out = new PrintWriter(new FileWriter(base + ".h"))) {
+            GeradorC.escreveInterface(p, out);
+            if (out.checkError()) throw new IOException("falha ao gravar " + base + ".h");
+        }
+        Assinatura a = Assinatura.de(p, fonte, opcoes(opcoes), interfaces);
+        a.grava(new File(base + Assinatura.EXTENSAO));
+
+        boolean mesma = anterior != null && anterior.resumoInterface().equals(a.resumoInterface());
+        saida.add("Módulo " + p.modulo + ": compilado" + (mesma ? ", interface inalterada" : ""));
+        return a;
+    }
+}
@@ -0,0 +1,40 @@
+package lovelace;
+
+// Code generation switches set from the command line.
+final class OpcoesGeracao {
+
+    // Plain printf/scanf instead of the buffered runtime (--stdio).
+    boolean stdio;
+
+    // Call, time and loop counters reported at exit (--profile).
+    boolean profile;
+
+    // Call site and branch counters written as a training profile (--pgo-gen).
+    boolean pgoGen;
+
+    // Training profile that guides inlining and branch hints (--pgo-use=).
+    PerfilPGO pgoUso;
+
+    // Memo tables for pure recursive functions (--memo).
+    boolean memo;
+
+    // Float locals that only hold small integers kept in an int (--narrow).
+    boolean estreita;
+
+    // Counted reduction loops run as OpenMP parallel for loops (--parallel).
+    boolean paralelo;
+
+    // #line markers that map the C code back to the .lov file (--line-directives).
+    boolean linhas;
+
+    // Constant arguments propagated into functions, pure calls on constants
+    // evaluated and hot constant patterns cloned (--ipcp).
+    boolean ipcp;
+
+    // LLVM IR instead of C (--target=llvm).
+    boolean llvm;
+
+    // Resource limits for untrusted input (--max-*=, --timeout=); null when
+    // none is set.
+    Limites limites;
+}
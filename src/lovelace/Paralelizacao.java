@@ -0,0 +1,311 @@
+package lovelace;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import ast.*;
+
+// Reduction loops for --parallel: finds the while loops whose iterations are
+// independent apart from sums and products into accumulators, which the
+// generated C runs as an OpenMP parallel for with a reduction clause.
+//
+// A loop qualifies when it has the shape
+//
+//   while (i < limite) begin          (or limite > i)
+//     s := (s + f(i));                (one or more, + or *, either order)
+//     p := (p * g(i));
+//     i := (i + 1.0);                 (a positive integer constant)
+//   end;
+//
+// with Float counter and accumulators, a bound that does not change in the
+// loop, and reduced values that read neither accumulator nor anything else
+// the loop changes, and call only pure functions. Iteration k then sees
+// i = i0 + k * passo, so the trip count is known before the loop starts and
+// the iterations can run in any order; only the order in which the partial
+// sums are added changes, which is why the flag is opt-in.
+final class Paralelizacao implements VoidVisitor {
+
+    // A parallel loop: its counter, bound and step, and the accumulator
+    // updates with their operators.
+    static final class Laco {
+        final String contador;
+        final Exp limite;
+        final EFloat passo;
+        final ArrayList<CAtribuicao> reducoes;
+
+        Laco(String contador, Exp limite, EFloat passo, ArrayList<CAtribuicao> reducoes) {
+            this.contador = contador;
+            this.limite = limite;
+            this.passo = passo;
+            this.reducoes = reducoes;
+        }
+
+        // The operator of a reduction, + or *.
+        static String operador(CAtribuicao c) {
+            return ((EOpExp) c.exp).op;
+        }
+
+        // The value a reduction adds or multiplies in.
+        static Exp valor(CAtribuicao c) {
+            EOpExp e = (EOpExp) c.exp;
+            return ehVar(e.arg1, c.var) ? e.arg2 : e.arg1;
+        }
+    }
+
+    private final Map<CWhile, Laco> lacos = new IdentityHashMap<CWhile, Laco>();
+    private final ArrayList<String> relatorio = new ArrayList<String>();
+
+    private final Pureza pureza;
+
+    // The functions to avoid and those calling them, directly or not, each
+    // mapped to the one it reaches.
+    private final Map<String, String> evitar;
+
+    // Walk state: pending commands, the function being walked and the
+    // declared types of its parameters and locals.
+    private final ArrayDeque<Comando> pilha = new ArrayDeque<Comando>();
+    private String fun;
+    private final Map<String, String> tipos = new HashMap<String, String>();
+
+    private Paralelizacao(Pureza pureza, Set<String> evitar) {
+        this.pureza = pureza;
+        this.evitar = pureza.alcancam(evitar);
+    }
+
+    // 'evitar' lists functions that are pure but not safe to call from
+    // several threads (the memoised ones share a table); calls reaching them
+    // through other functions are avoided as well.
+    static Paralelizacao de(Prog p, Set<String> evitar) {
+        Paralelizacao par = new Paralelizacao(Pureza.de(p), evitar);
+        p.accept(par);
+        return par;
+    }
+
+    // Null for loops that stay sequential.
+    Laco laco(CWhile c) {
+        return lacos.get(c);
+    }
+
+    // One line per while loop: "função, linha N: paralelizado (+ em s)" or
+    // why it was not.
+    List<String> relatorio() {
+        return relatorio;
+    }
+
+    // =========================================================================
+    // Per loop
+    // =========================================================================
+
+    private void analisa(CWhile c) {
+        String motivo = motivo(c);
+        if (motivo == null) {
+            StringBuilder sb = new StringBuilder();
+            for (CAtribuicao r : lacos.get(c).reducoes) {
+                if (sb.length() > 0) sb.append(", ");
+                sb.append(Laco.operador(r)).append(" em ").append(r.var);
+            }
+            relatorio.add(fun + ", linha " + c.linha + ": paralelizado (" + sb + ")");
+        } else {
+            relatorio.add(fun + ", linha " + c.linha + ": não paralelizado (" + motivo + ")");
+        }
+    }
+
+    // Null when 'c' qualifies, after recording it.
+    private String motivo(CWhile c) {
+        // The counter update closes the body.
+        if (c.bloco.size() < 2 || !(c.bloco.get(c.bloco.size() - 1) instanceof CAtribuicao)) {
+            return "o corpo não termina avançando o contador";
+        }
+        CAtribuicao passo = (CAtribuicao) c.bloco.get(c.bloco.size() - 1);
+        String i = passo.var;
+        EFloat constante = null;
+        if (passo.exp instanceof EOpExp && ((EOpExp) passo.exp).op.equals("+")) {
+            EOpExp e = (EOpExp) passo.exp;
+            if (ehVar(e.arg1, i) && e.arg2 instanceof EFloat) constante = (EFloat) e.arg2;
+            if (ehVar(e.arg2, i) && e.arg1 instanceof EFloat) constante = (EFloat) e.arg1;
+        }
+        if (constante == null || !ehPasso(constante.value)) {
+            return "o contador não avança por uma constante inteira positiva";
+        }
+        if (!"Float".equals(tipos.get(i))) return "o contador " + i + " não é Float";
+
+        // i < limite, or limite > i.
+        Exp limite;
+        if (!(c.exp instanceof EOpExp)) return "a condição não compara o contador com um limite";
+        EOpExp cond = (EOpExp) c.exp;
+        if (cond.op.equals("<") && ehVar(cond.arg1, i)) {
+            limite = cond.arg2;
+        } else if (cond.op.equals(">") && ehVar(cond.arg2, i)) {
+            limite = cond.arg1;
+        } else {
+            return "a condição não compara o contador com um limite";
+        }
+
+        // Everything else is an accumulator update, one per accumulator.
+        ArrayList<CAtribuicao> reducoes = new ArrayList<CAtribuicao>();
+        Set<String> alteradas = new HashSet<String>();
+        alteradas.add(i);
+        for (int k = 0; k < c.bloco.size() - 1; k++) {
+            Comando cmd = c.bloco.get(k);
+            if (!(cmd instanceof CAtribuicao) || !ehReducao((CAtribuicao) cmd)) {
+                return "o corpo não é só de reduções com + ou *";
+            }
+            CAtribuicao r = (CAtribuicao) cmd;
+            if (!alteradas.add(r.var)) return r.var + " é alterada mais de uma vez";
+            if (!"Float".equals(tipos.get(r.var))) return r.var + " não é Float";
+            reducoes.add(r);
+        }
+
+        String erro = leitura(limite, alteradas, null);
+        if (erro != null) return "o limite " + erro;
+        for (CAtribuicao r : reducoes) {
+            erro = leitura(Laco.valor(r), alteradas, i);
+            if (erro != null) return "a redução em " + r.var + " " + erro;
+        }
+
+        lacos.put(c, new Laco(i, limite, constante, reducoes));
+        return null;
+    }
+
+    private static boolean ehVar(Exp e, String v) {
+        return e instanceof EVar && ((EVar) e).var.equals(v);
+    }
+
+    // A step that keeps an integer counter on integers below 2^24.
+    private static boolean ehPasso(float x) {
+        return x > 0 && x == Math.rint(x) && x <= Estreitamento.LIMITE;
+    }
+
+    // acc := (acc + e), acc := (e + acc), or the same with *.
+    private static boolean ehReducao(CAtribuicao c) {
+        if (!(c.exp instanceof EOpExp)) return false;
+        EOpExp e = (EOpExp) c.exp;
+        if (!e.op.equals("+") && !e.op.equals("*")) return false;
+        return ehVar(e.arg1, c.var) || ehVar(e.arg2, c.var);
+    }
+
+    // Why 'e' cannot be evaluated independently in each iteration: it reads
+    // a variable the loop changes (other than 'permitida', the counter) or
+    // calls a function that is impure or unsafe from several threads. Null
+    // when it can.
+    private String leitura(Exp e, Set<String> alteradas, String permitida) {
+        ArrayDeque<Exp> fila = new ArrayDeque<Exp>();
+        fila.push(e);
+        while (!fila.isEmpty()) {
+            Exp x = fila.pop();
+            if (x instanceof EVar) {
+                String v = ((EVar) x).var;
+                if (alteradas.contains(v) && !v.equals(permitida)) return "lê " + v + ", que muda no laço";
+            } else if (x instanceof EOpExp) {
+                fila.push(((EOpExp) x).arg1);
+                fila.push(((EOpExp) x).arg2);
+            } else if (x instanceof EChamadaFun) {
+                EChamadaFun chamada = (EChamadaFun) x;
+                if (!pureza.pura(chamada.fun)) return "chama " + chamada.fun + ", que é impura";
+                String memo = evitar.get(chamada.fun);
+                if (memo != null && memo.equals(chamada.fun)) return "chama " + chamada.fun + ", que é memoizada";
+                if (memo != null) return "chama " + chamada.fun + ", que chama " + memo + ", memoizada";
+                for (Exp a : chamada.args) fila.push(a);
+            }
+        }
+        return null;
+    }
+
+    // =========================================================================
+    // Program structure
+    // =========================================================================
+
+    public void visitProg(Prog p) {
+        if (p.main != null) p.main.accept(this);
+        for (Fun f : p.fun) {
+            f.accept(this);
+        }
+    }
+
+    public void visitMain(Main m) {
+        percorre("main", new ArrayList<ParamFormalFun>(), m.vars, m.coms);
+    }
+
+    public void visitFun(Fun f) {
+        percorre(f.nome, f.params, f.vars, f.body);
+    }
+
+    private void percorre(String nome, ArrayList<ParamFormalFun> params, ArrayList<VarDecl> vars,
+                          ArrayList<Comando> coms) {
+        fun = nome;
+        tipos.clear();
+        for (ParamFormalFun p : params) tipos.put(p.var, p.type);
+        for (VarDecl v : vars) tipos.put(v.var, v.type);
+        empilha(coms);
+        while (!pilha.isEmpty()) {
+            pilha.pop().accept(this);
+        }
+    }
+
+    private void empilha(ArrayList<Comando> coms) {
+        for (int i = coms.size() - 1; i >= 0; i--) {
+            pilha.push(coms.get(i));
+        }
+    }
+
+    public void visitParamFormalFun(ParamFormalFun p) {
+    }
+
+    public void visitVarDecl(VarDecl v) {
+    }
+
+    // =========================================================================
+    // Commands: every while, at any depth, is analysed in source order
+    // =========================================================================
+
+    public void visitCAtribuicao(CAtribuicao c) {
+    }
+
+    public void visitCIf(CIf c) {
+        empilha(c.bloco);
+    }
+
+    public void visitCWhile(CWhile c) {
+        analisa(c);
+        empilha(c.bloco);
+    }
+
+    public void visitCPrint(CPrint c) {
+    }
+
+    public void visitCReadInput(CReadInput c) {
+    }
+
+    public void visitCReturn(CReturn c) {
+    }
+
+    public void visitCChamadaFun(CChamadaFun c) {
+    }
+
+    // =========================================================================
+    // Expressions: not visited; reads are checked with a flat walk
+    // =========================================================================
+
+    public void visitEFloat(EFloat e) {
+    }
+
+    public void visitEVar(EVar e) {
+    }
+
+    public void visitETrue(ETrue e) {
+    }
+
+    public void visitEFalse(EFalse e) {
+    }
+
+    public void visitEOpExp(EOpExp e) {
+    }
+
+    public void visitEChamadaFun(EChamadaFun e) {
+    }
+}
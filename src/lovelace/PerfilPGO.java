@@ -0,0 +1,127 @@
+package lovelace;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// A training profile written by a program compiled with --pgo-gen, read
+// back for --pgo-use. One record per line, keyed by function and source
+// line; records with the same key are summed:
+//
+//   # lovelace pgo 1
+//   chamada <função> <linha> <chamada> <vezes>
+//   se <função> <linha> <verdadeiro> <falso>
+final class PerfilPGO {
+
+    static final String CABECALHO = "# lovelace pgo 1";
+
+    // Fraction of all training calls covered by the hot call sites, as in
+    // GCC's hot working set; sites called fewer times are never hot.
+    private static final double FRACAO_QUENTE = 0.9;
+    private static final long MIN_CHAMADAS = 100;
+
+    // A branch is hinted when it went one way at least this often.
+    private static final double VIES = 0.9;
+    private static final long MIN_RAMOS = 16;
+
+    private final Map<String, Long> chamadas = new HashMap<String, Long>();
+    private final Map<String, long[]> ramos = new HashMap<String, long[]>();
+    private final Map<String, Long> porFuncao = new HashMap<String, Long>();
+    private final Set<String> quentes = new HashSet<String>();
+
+    static PerfilPGO le(File arquivo) throws IOException {
+        PerfilPGO p = new PerfilPGO();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new FileInputStream(arquivo), StandardCharsets.UTF_8))) {
+            String linha = in.readLine();
+            if (linha == null || !linha.equals(CABECALHO)) {
+                throw new IOException(arquivo + ": não é um perfil lovelace");
+            }
+            int n = 1;
+            while ((linha = in.readLine()) != null) {
+                n++;
+                if (linha.isEmpty() || linha.startsWith("#")) continue;
+                String[] c = linha.split(" ");
+                try {
+                    if (c[0].equals("chamada") && c.length == 5) {
+                        long vezes = Long.parseLong(c[4]);
+                        soma(p.chamadas, chave(c[1], Integer.parseInt(c[2]), c[3]), vezes);
+                        soma(p.porFuncao, c[3], vezes);
+                    } else if (c[0].equals("se") && c.length == 5) {
+                        String k = chave(c[1], Integer.parseInt(c[2]), null);
+                        long[] r = p.ramos.get(k);
+                        if (r == null) p.ramos.put(k, r = new long[2]);
+                        r[0] += Long.parseLong(c[3]);
+                        r[1] += Long.parseLong(c[4]);
+                    } else {
+                        throw new NumberFormatException();
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IOException(arquivo + ", linha " + n + ": registro inválido");
+                }
+            }
+        }
+        p.marcaQuentes();
+        return p;
+    }
+
+    private static String chave(String fun, int linha, String alvo) {
+        return alvo == null ? fun + ":" + linha : fun + ":" + linha + ":" + alvo;
+    }
+
+    private static void soma(Map<String, Long> m, String k, long v) {
+        Long atual = m.get(k);
+        m.put(k, atual == null ? v : atual + v);
+    }
+
+    // The busiest call sites that together make up FRACAO_QUENTE of all calls.
+    private void marcaQuentes() {
+        long total = 0;
+        ArrayList<Long> contagens = new ArrayList<Long>();
+        for (long v : chamadas.values()) {
+            total += v;
+            if (v > 0) contagens.add(v);
+        }
+        Collections.sort(contagens, Collections.<Long>reverseOrder());
+
+        long limiar = Long.MAX_VALUE, acumulado = 0;
+        for (long v : contagens) {
+            if (acumulado >= total * FRACAO_QUENTE || v < MIN_CHAMADAS) break;
+            acumulado += v;
+            limiar = v;
+        }
+        for (Map.Entry<String, Long> e : chamadas.entrySet()) {
+            if (e.getValue() >= limiar) quentes.add(e.getKey());
+        }
+    }
+
+    boolean vazio() {
+        return chamadas.isEmpty() && ramos.isEmpty();
+    }
+
+    boolean chamadaQuente(Sitios.Sitio s) {
+        return quentes.contains(chave(s.fun, s.linha, s.alvo));
+    }
+
+    // Calls received during training.
+    long chamadasDe(String fun) {
+        Long v = porFuncao.get(fun);
+        return v == null ? 0 : v;
+    }
+
+    // +1 when the if at this site was nearly always true, -1 when nearly
+    // always false, 0 when unknown or mixed.
+    int vies(Sitios.Sitio s) {
+        long[] r = ramos.get(chave(s.fun, s.linha, null));
+        if (r == null || r[0] + r[1] < MIN_RAMOS) return 0;
+        double t = (double) r[0] / (r[0] + r[1]);
+        if (t >= VIES) return 1;
+        if (t <= 1 - VIES) return -1;
+        return 0;
+    }
+}
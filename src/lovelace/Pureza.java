@@ -0,0 +1,195 @@
+package lovelace;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import ast.*;
+
+// Decides which functions are pure: no print, no read, and calls only to
+// other pure functions. Lovelace has no globals, so these are the only ways
+// a call can observe or change anything outside its own frame.
+//
+// Every function starts out pure; those that print, read or call an unknown
+// function (which includes those of imported modules) are marked impure,
+// and impurity then spreads to their callers until nothing changes, so
+// mutually recursive pure functions stay pure.
+final class Pureza implements VoidVisitor {
+
+    // Why each function is impure, or null when it is pure; in source order.
+    private final LinkedHashMap<String, String> motivos = new LinkedHashMap<String, String>();
+    private final Map<String, ArrayList<String>> chamadas = new HashMap<String, ArrayList<String>>();
+
+    // Whether the file imports modules, whose function bodies it cannot see.
+    private boolean importa;
+
+    private final ArrayDeque<Node> pilha = new ArrayDeque<Node>();
+    private String fun;
+    private String motivo;
+    private ArrayList<String> alvos;
+
+    static Pureza de(Prog p) {
+        Pureza pz = new Pureza();
+        p.accept(pz);
+        pz.propaga();
+        return pz;
+    }
+
+    boolean pura(String fun) {
+        return motivos.containsKey(fun) && motivos.get(fun) == null;
+    }
+
+    // Null for pure functions.
+    String motivo(String fun) {
+        return motivos.get(fun);
+    }
+
+    // Maps each function in 'alvos', and each function that reaches one of
+    // them through its calls, to the one it reaches.
+    Map<String, String> alcancam(Set<String> alvos) {
+        Map<String, String> alcance = new HashMap<String, String>();
+        for (String f : alvos) alcance.put(f, f);
+        boolean mudou = true;
+        while (mudou) {
+            mudou = false;
+            for (Map.Entry<String, ArrayList<String>> e : chamadas.entrySet()) {
+                if (alcance.containsKey(e.getKey())) continue;
+                for (String alvo : e.getValue()) {
+                    if (alcance.containsKey(alvo)) {
+                        alcance.put(e.getKey(), alcance.get(alvo));
+                        mudou = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return alcance;
+    }
+
+    private void propaga() {
+        boolean mudou = true;
+        while (mudou) {
+            mudou = false;
+            for (Map.Entry<String, String> e : motivos.entrySet()) {
+                if (e.getValue() != null) continue;
+                for (String alvo : chamadas.get(e.getKey())) {
+                    if (!motivos.containsKey(alvo)) {
+                        e.setValue("chama " + alvo + (importa ? ", de outro módulo" : ", que não está definida"));
+                    } else if (motivos.get(alvo) != null) {
+                        e.setValue("chama " + alvo + ", que é impura");
+                    } else {
+                        continue;
+                    }
+                    mudou = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    private void impura(String porque) {
+        if (motivo == null) motivo = porque;
+    }
+
+    private void empilha(ArrayList<? extends Node> nos) {
+        for (int i = nos.size() - 1; i >= 0; i--) {
+            pilha.push(nos.get(i));
+        }
+    }
+
+    // =========================================================================
+    // Program structure
+    // =========================================================================
+
+    public void visitProg(Prog p) {
+        importa = !p.imports.isEmpty();
+        for (Fun f : p.fun) {
+            f.accept(this);
+        }
+    }
+
+    public void visitMain(Main m) {
+    }
+
+    public void visitFun(Fun f) {
+        fun = f.nome;
+        motivo = null;
+        alvos = new ArrayList<String>();
+        empilha(f.body);
+        while (!pilha.isEmpty()) {
+            pilha.pop().accept(this);
+        }
+        motivos.put(fun, motivo);
+        chamadas.put(fun, alvos);
+    }
+
+    public void visitParamFormalFun(ParamFormalFun p) {
+    }
+
+    public void visitVarDecl(VarDecl v) {
+    }
+
+    // =========================================================================
+    // Commands
+    // =========================================================================
+
+    public void visitCAtribuicao(CAtribuicao c) {
+        pilha.push(c.exp);
+    }
+
+    public void visitCIf(CIf c) {
+        empilha(c.bloco);
+        pilha.push(c.exp);
+    }
+
+    public void visitCWhile(CWhile c) {
+        empilha(c.bloco);
+        pilha.push(c.exp);
+    }
+
+    public void visitCPrint(CPrint c) {
+        impura("print na linha " + c.linha);
+        pilha.push(c.exp);
+    }
+
+    public void visitCReadInput(CReadInput c) {
+        impura("read na linha " + c.linha);
+    }
+
+    public void visitCReturn(CReturn c) {
+        if (c.exp != null) pilha.push(c.exp);
+    }
+
+    public void visitCChamadaFun(CChamadaFun c) {
+        alvos.add(c.fun);
+        empilha(c.args);
+    }
+
+    // =========================================================================
+    // Expressions
+    // =========================================================================
+
+    public void visitEFloat(EFloat e) {
+    }
+
+    public void visitEVar(EVar e) {
+    }
+
+    public void visitETrue(ETrue e) {
+    }
+
+    public void visitEFalse(EFalse e) {
+    }
+
+    public void visitEOpExp(EOpExp e) {
+        pilha.push(e.arg2);
+        pilha.push(e.arg1);
+    }
+
+    public void visitEChamadaFun(EChamadaFun e) {
+        alvos.add(e.fun);
+        empilha(e.args);
+    }
+}
@@ -0,0 +1,189 @@
+package lovelace;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import ast.*;
+
+// Numbers the instrumentation sites of a Prog -- while loops, ifs and call
+// sites -- and records the function and source line each belongs to.
+// Expressions carry no line, so a call gets the line of the command it
+// appears in. The walk uses an explicit stack, like code generation.
+final class Sitios implements VoidVisitor {
+
+    static final class Sitio {
+        final String fun;
+        final int linha;
+        final String alvo;  // called function, for call sites
+
+        Sitio(String fun, int linha, String alvo) {
+            this.fun = fun;
+            this.linha = linha;
+            this.alvo = alvo;
+        }
+    }
+
+    final ArrayList<Sitio> lacos = new ArrayList<Sitio>();
+    final ArrayList<Sitio> ifs = new ArrayList<Sitio>();
+    final ArrayList<Sitio> chamadas = new ArrayList<Sitio>();
+
+    // Slot of each CWhile, CIf, CChamadaFun and EChamadaFun in its list.
+    private final IdentityHashMap<Node, Integer> indice = new IdentityHashMap<Node, Integer>();
+
+    private final ArrayDeque<Node> pilha = new ArrayDeque<Node>();
+    private String fun;
+    private int linha;
+
+    static Sitios de(Prog p) {
+        Sitios s = new Sitios();
+        p.accept(s);
+        return s;
+    }
+
+    int indice(Node n) {
+        return indice.get(n);
+    }
+
+    // Functions that can reach themselves through the call graph.
+    Set<String> recursivas() {
+        Map<String, Set<String>> grafo = new HashMap<String, Set<String>>();
+        for (Sitio s : chamadas) {
+            Set<String> alvos = grafo.get(s.fun);
+            if (alvos == null) grafo.put(s.fun, alvos = new HashSet<String>());
+            alvos.add(s.alvo);
+        }
+
+        Set<String> recursivas = new HashSet<String>();
+        for (String f : grafo.keySet()) {
+            Set<String> vistos = new HashSet<String>();
+            ArrayDeque<String> fila = new ArrayDeque<String>(grafo.get(f));
+            while (!fila.isEmpty()) {
+                String g = fila.pop();
+                if (g.equals(f)) {
+                    recursivas.add(f);
+                    break;
+                }
+                if (vistos.add(g) && grafo.containsKey(g)) fila.addAll(grafo.get(g));
+            }
+        }
+        return recursivas;
+    }
+
+    private void percorre(String nome, ArrayList<Comando> coms) {
+        fun = nome;
+        empilha(coms);
+        while (!pilha.isEmpty()) {
+            pilha.pop().accept(this);
+        }
+    }
+
+    private void empilha(ArrayList<? extends Node> nos) {
+        for (int i = nos.size() - 1; i >= 0; i--) {
+            pilha.push(nos.get(i));
+        }
+    }
+
+    private void registra(Node n, ArrayList<Sitio> lista, String alvo) {
+        indice.put(n, lista.size());
+        lista.add(new Sitio(fun, linha, alvo));
+    }
+
+    // =========================================================================
+    // Program structure
+    // =========================================================================
+
+    public void visitProg(Prog p) {
+        for (Fun f : p.fun) {
+            f.accept(this);
+        }
+        if (p.main != null) p.main.accept(this);
+    }
+
+    public void visitMain(Main m) {
+        percorre("main", m.coms);
+    }
+
+    public void visitFun(Fun f) {
+        percorre(f.nome, f.body);
+    }
+
+    public void visitParamFormalFun(ParamFormalFun p) {
+    }
+
+    public void visitVarDecl(VarDecl v) {
+    }
+
+    // =========================================================================
+    // Commands: the condition or arguments are popped before the body, while
+    // 'linha' still holds the command's line.
+    // =========================================================================
+
+    public void visitCAtribuicao(CAtribuicao c) {
+        linha = c.linha;
+        pilha.push(c.exp);
+    }
+
+    public void visitCIf(CIf c) {
+        linha = c.linha;
+        registra(c, ifs, null);
+        empilha(c.bloco);
+        pilha.push(c.exp);
+    }
+
+    public void visitCWhile(CWhile c) {
+        linha = c.linha;
+        registra(c, lacos, null);
+        empilha(c.bloco);
+        pilha.push(c.exp);
+    }
+
+    public void visitCPrint(CPrint c) {
+        linha = c.linha;
+        pilha.push(c.exp);
+    }
+
+    public void visitCReadInput(CReadInput c) {
+        linha = c.linha;
+    }
+
+    public void visitCReturn(CReturn c) {
+        linha = c.linha;
+        if (c.exp != null) pilha.push(c.exp);
+    }
+
+    public void visitCChamadaFun(CChamadaFun c) {
+        linha = c.linha;
+        registra(c, chamadas, c.fun);
+        empilha(c.args);
+    }
+
+    // =========================================================================
+    // Expressions
+    // =========================================================================
+
+    public void visitEFloat(EFloat e) {
+    }
+
+    public void visitEVar(EVar e) {
+    }
+
+    public void visitETrue(ETrue e) {
+    }
+
+    public void visitEFalse(EFalse e) {
+    }
+
+    public void visitEOpExp(EOpExp e) {
+        pilha.push(e.arg2);
+        pilha.push(e.arg1);
+    }
+
+    public void visitEChamadaFun(EChamadaFun e) {
+        registra(e, chamadas, e.fun);
+        empilha(e.args);
+    }
+}
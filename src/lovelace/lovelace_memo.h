@@ -0,0 +1,36 @@
+/*
+ * lovelace_memo.h -- memo tables for C generated with --memo.
+ *
+ * Each memoised function f gets a static table lv__memo_f of LV__MEMO_TAM
+ * entries, indexed by a hash of the bit patterns of its arguments. A call
+ * whose arguments match the entry in its slot returns the stored result;
+ * otherwise it runs the body and overwrites the slot, so a table never
+ * grows past its fixed size. Define LV__MEMO_TAM (a power of two) when
+ * compiling to change it.
+ */
+#ifndef LOVELACE_MEMO_H
+#define LOVELACE_MEMO_H
+
+#include <string.h>
+
+#ifndef LV__MEMO_TAM
+#define LV__MEMO_TAM 4096
+#endif
+
+#if (LV__MEMO_TAM & (LV__MEMO_TAM - 1)) != 0
+#error "LV__MEMO_TAM must be a power of two"
+#endif
+
+/* Floats are compared by bits, so 0.0 and -0.0 get separate entries. */
+static inline unsigned lv__memo_float(float x) {
+    unsigned u;
+    memcpy(&u, &x, sizeof u);
+    return u;
+}
+
+static inline unsigned lv__memo_hash(unsigned h, unsigned k) {
+    h = (h ^ k) * 0x9e3779b1u;
+    return h ^ (h >> 16);
+}
+
+#endif
@@ -0,0 +1,31 @@
+/*
+ * lovelace_omp.h -- trip counts for C generated with --parallel.
+ *
+ * A reduction loop  while (i < b) { ...; i = i + passo; }  runs as an
+ * OpenMP parallel for over k = 0 .. n-1 with i = i0 + k * passo. That is
+ * the value the sequential float counter would hold only while every
+ * counter value is an integer within 2^24, so lv__omp_voltas checks that
+ * first and returns -1 otherwise; the generated code then runs the original
+ * while loop. Without -fopenmp the pragmas are ignored and the for loop
+ * runs on one thread.
+ */
+#ifndef LOVELACE_OMP_H
+#define LOVELACE_OMP_H
+
+#define LV__OMP_LIMITE 16777216.0  /* 2^24 */
+
+/* Iterations of while (i < b) stepping by passo (a positive integer), or
+   -1 when float counting is not exact over them. A NaN bound fails the
+   range check; a bound at or below i gives 0. */
+static inline long lv__omp_voltas(double i, double b, double passo) {
+    double q;
+    long n;
+    if (!(i >= -LV__OMP_LIMITE && i <= LV__OMP_LIMITE) || i != (double) (long) i) return -1;
+    if (!(b + passo <= LV__OMP_LIMITE)) return -1;
+    if (!(i < b)) return 0;
+    q = (b - i) / passo;
+    n = (long) q;
+    return n < q ? n + 1 : n;
+}
+
+#endif
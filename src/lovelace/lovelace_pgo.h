@@ -0,0 +1,97 @@
+/*
+ * lovelace_pgo.h -- profile-guided optimisation support for generated C.
+ *
+ * --pgo-gen: the generated code counts every call site and both outcomes of
+ * every if in static tables; at exit they are written as a training profile
+ * to $LOVELACE_PGO, or to <program>.lovpgo in the current directory.
+ *
+ * --pgo-use: the generated code marks branches, functions and inlined call
+ * sites with the hints below, which compile to nothing on compilers other
+ * than GCC and Clang.
+ */
+#ifndef LOVELACE_PGO_H
+#define LOVELACE_PGO_H
+
+#include <stdio.h>
+#include <stdlib.h>
+
+#if defined(__GNUC__) || defined(__clang__)
+#define LV__PROVAVEL(x) __builtin_expect(!!(x), 1)
+#define LV__IMPROVAVEL(x) __builtin_expect(!!(x), 0)
+#define LV__QUENTE __attribute__((hot))
+#define LV__FRIO __attribute__((cold))
+#define LV__EMBUTIR inline __attribute__((always_inline))
+#else
+#define LV__PROVAVEL(x) (x)
+#define LV__IMPROVAVEL(x) (x)
+#define LV__QUENTE
+#define LV__FRIO
+#define LV__EMBUTIR inline
+#endif
+
+/* ------------------------------------------------------------------------ */
+/* Training counters (defined by --pgo-gen code before the include)         */
+/* ------------------------------------------------------------------------ */
+
+#ifdef LV__PGO_GEN
+
+typedef struct {
+    const char *fun;
+    int linha;
+    const char *alvo;  /* called function; NULL for ifs */
+} lv__pgo_sitio;
+
+static const char *lv__pgo_arquivo;
+static const lv__pgo_sitio *lv__pgo_sitios_ch;
+static unsigned long long *lv__pgo_chamadas;
+static int lv__pgo_nchamadas;
+static const lv__pgo_sitio *lv__pgo_sitios_se;
+static unsigned long long (*lv__pgo_ses)[2];
+static int lv__pgo_nses;
+
+/* Counts the outcome of an if condition and passes it through. */
+static inline int lv__pgo_se(unsigned long long *r, int c) {
+    r[c ? 0 : 1]++;
+    return c;
+}
+
+static void lv__pgo_grava(void) {
+    const char *nome = getenv("LOVELACE_PGO");
+    FILE *out;
+    int i;
+
+    if (nome == NULL || nome[0] == '\0') nome = lv__pgo_arquivo;
+    out = fopen(nome, "w");
+    if (out == NULL) {
+        perror(nome);
+        return;
+    }
+    fprintf(out, "# lovelace pgo 1\n");
+    for (i = 0; i < lv__pgo_nchamadas; i++) {
+        fprintf(out, "chamada %s %d %s %llu\n", lv__pgo_sitios_ch[i].fun, lv__pgo_sitios_ch[i].linha,
+                lv__pgo_sitios_ch[i].alvo, lv__pgo_chamadas[i]);
+    }
+    for (i = 0; i < lv__pgo_nses; i++) {
+        fprintf(out, "se %s %d %llu %llu\n", lv__pgo_sitios_se[i].fun, lv__pgo_sitios_se[i].linha,
+                lv__pgo_ses[i][0], lv__pgo_ses[i][1]);
+    }
+    fclose(out);
+}
+
+/* Called first thing in main; the profile is written by atexit. */
+static inline void lv__pgo_inicia(const char *arquivo,
+                                  const lv__pgo_sitio *cs, unsigned long long *c, int nc,
+                                  const lv__pgo_sitio *is, unsigned long long (*i)[2], int ni) {
+    lv__pgo_arquivo = arquivo;
+    lv__pgo_sitios_ch = cs;
+    lv__pgo_chamadas = c;
+    lv__pgo_nchamadas = nc;
+    lv__pgo_sitios_se = is;
+    lv__pgo_ses = i;
+    lv__pgo_nses = ni;
+    atexit(lv__pgo_grava);
+}
+
+#endif /* LV__PGO_GEN */
+
+#endif
@@ -0,0 +1,163 @@
+/*
+ * lovelace_prof.h -- profiling counters for C generated with --profile.
+ *
+ * Written next to the generated .c file and included after the I/O runtime
+ * (or <stdio.h> in --stdio mode). The generated code keeps one lv__prof_fun
+ * per function and one lv__prof_laco per while loop in static tables:
+ *
+ *   - every function is emitted as lv__<name>, wrapped by <name>, which
+ *     counts the call and times it (time-stamp counter or monotonic clock);
+ *   - every loop counts how often it is entered and how many iterations it
+ *     runs, keyed by its source line.
+ *
+ * The report goes to stderr at exit, or to the file named by LOVELACE_PROF.
+ * Self time excludes time spent in callees; total time is only counted for
+ * the outermost activation of a recursive function.
+ */
+#ifndef LOVELACE_PROF_H
+#define LOVELACE_PROF_H
+
+#include <stdio.h>
+#include <stdlib.h>
+#include <time.h>
+
+typedef struct {
+    const char *nome;
+    unsigned long long chamadas;
+    unsigned long long proprio;  /* clock ticks */
+    unsigned long long total;
+    unsigned profundidade;
+} lv__prof_fun;
+
+typedef struct {
+    const char *fun;
+    int linha;
+    unsigned long long entradas;
+    unsigned long long iteracoes;
+} lv__prof_laco;
+
+/* One per active call, on the C stack. */
+typedef struct {
+    unsigned long long inicio;
+    unsigned long long filhos_pai;
+} lv__prof_quadro;
+
+static lv__prof_fun *lv__prof_funs;
+static int lv__prof_nfuns;
+static lv__prof_laco *lv__prof_lacos;
+static int lv__prof_nlacos;
+
+/* Time spent in callees of the innermost active call. */
+static unsigned long long lv__prof_filhos;
+
+static inline unsigned long long lv__prof_relogio(void) {
+#if defined(CLOCK_MONOTONIC)
+    struct timespec ts;
+    clock_gettime(CLOCK_MONOTONIC, &ts);
+    return (unsigned long long) ts.tv_sec * 1000000000ULL + (unsigned long long) ts.tv_nsec;
+#else
+    return (unsigned long long) clock() * (1000000000ULL / CLOCKS_PER_SEC);
+#endif
+}
+
+/* Call timestamps. On x86-64 the time-stamp counter costs a few cycles
+ * where clock_gettime costs tens of nanoseconds; ticks are converted to ns
+ * at exit against the monotonic clock over the whole run. */
+#if defined(__x86_64__) && (defined(__GNUC__) || defined(__clang__))
+#include <x86intrin.h>
+#define LV__PROF_TSC 1
+static inline unsigned long long lv__prof_agora(void) {
+    return (unsigned long long) __rdtsc();
+}
+#else
+static inline unsigned long long lv__prof_agora(void) {
+    return lv__prof_relogio();
+}
+#endif
+
+static unsigned long long lv__prof_t0, lv__prof_ns0;
+
+static inline void lv__prof_entra(lv__prof_fun *f, lv__prof_quadro *q) {
+    f->chamadas++;
+    f->profundidade++;
+    q->filhos_pai = lv__prof_filhos;
+    lv__prof_filhos = 0;
+    q->inicio = lv__prof_agora();
+}
+
+static inline void lv__prof_sai(lv__prof_fun *f, lv__prof_quadro *q) {
+    unsigned long long dt = lv__prof_agora() - q->inicio;
+    f->proprio += dt > lv__prof_filhos ? dt - lv__prof_filhos : 0;
+    if (--f->profundidade == 0) f->total += dt;
+    lv__prof_filhos = q->filhos_pai + dt;
+}
+
+static void lv__prof_relatorio(void) {
+    FILE *out = stderr;
+    const char *arquivo = getenv("LOVELACE_PROF");
+    double ns = 1.0; /* per tick */
+    int i, j;
+
+#ifdef LV__PROF_TSC
+    {
+        unsigned long long ticks = lv__prof_agora() - lv__prof_t0;
+        unsigned long long dt = lv__prof_relogio() - lv__prof_ns0;
+        if (ticks > 0) ns = (double) dt / (double) ticks;
+    }
+#endif
+
+    fflush(stdout);
+    if (arquivo != NULL && arquivo[0] != '\0') {
+        out = fopen(arquivo, "w");
+        if (out == NULL) {
+            perror(arquivo);
+            return;
+        }
+    }
+
+    /* Hottest first: functions by self time, loops by iterations. */
+    for (i = 1; i < lv__prof_nfuns; i++) {
+        lv__prof_fun f = lv__prof_funs[i];
+        for (j = i; j > 0 && lv__prof_funs[j - 1].proprio < f.proprio; j--) {
+            lv__prof_funs[j] = lv__prof_funs[j - 1];
+        }
+        lv__prof_funs[j] = f;
+    }
+    for (i = 1; i < lv__prof_nlacos; i++) {
+        lv__prof_laco l = lv__prof_lacos[i];
+        for (j = i; j > 0 && lv__prof_lacos[j - 1].iteracoes < l.iteracoes; j--) {
+            lv__prof_lacos[j] = lv__prof_lacos[j - 1];
+        }
+        lv__prof_lacos[j] = l;
+    }
+
+    fprintf(out, "== perfil ==\n");
+    fprintf(out, "%-24s %14s %14s %14s\n", "funcao", "chamadas", "proprio(ms)", "total(ms)");
+    for (i = 0; i < lv__prof_nfuns; i++) {
+        fprintf(out, "%-24s %14llu %14.3f %14.3f\n", lv__prof_funs[i].nome,
+                lv__prof_funs[i].chamadas, lv__prof_funs[i].proprio * ns / 1e6,
+                lv__prof_funs[i].total * ns / 1e6);
+    }
+    if (lv__prof_nlacos > 0) {
+        fprintf(out, "\n%-8s %-24s %14s %14s\n", "linha", "laco em", "entradas", "iteracoes");
+        for (i = 0; i < lv__prof_nlacos; i++) {
+            fprintf(out, "%-8d %-24s %14llu %14llu\n", lv__prof_lacos[i].linha,
+                    lv__prof_lacos[i].fun, lv__prof_lacos[i].entradas,
+                    lv__prof_lacos[i].iteracoes);
+        }
+    }
+    if (out != stderr) fclose(out);
+}
+
+/* Called first thing in main; the report is written by atexit. */
+static inline void lv__prof_inicia(lv__prof_fun *funs, int nfuns, lv__prof_laco *lacos, int nlacos) {
+    lv__prof_funs = funs;
+    lv__prof_nfuns = nfuns;
+    lv__prof_lacos = lacos;
+    lv__prof_nlacos = nlacos;
+    lv__prof_ns0 = lv__prof_relogio();
+    lv__prof_t0 = lv__prof_agora();
+    atexit(lv__prof_relatorio);
+}
+
+#endif
@@ -0,0 +1,59 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import ast.Prog;
+import lovelace.LovelaceASTCache;
+import lovelace.LovelaceParser;
+
+// Compares parsing a .lov file against decoding its .lovast encoding.
+// Run through scripts/bench.sh cache.
+public class CacheBench {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Uso: java CacheBench <arquivo.lov> [iteracoes]");
+            System.exit(1);
+        }
+
+        String source = new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8);
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        LovelaceASTCache.write(new LovelaceParser(new StringReader(source)).parse(), encoded, new byte[32]);
+        byte[] bytes = encoded.toByteArray();
+
+        // Warm-up so both paths are JIT-compiled before timing.
+        for (int i = 0; i < 5; i++) {
+            parse(source);
+            decode(bytes);
+        }
+
+        long parseNs = 0, decodeNs = 0;
+        for (int i = 0; i < iterations; i++) {
+            long t0 = System.nanoTime();
+            parse(source);
+            long t1 = System.nanoTime();
+            decode(bytes);
+            long t2 = System.nanoTime();
+            parseNs += t1 - t0;
+            decodeNs += t2 - t1;
+        }
+
+        double parseMs = parseNs / 1e6 / iterations;
+        double decodeMs = decodeNs / 1e6 / iterations;
+        System.out.printf("source:  %,d bytes%n", source.length());
+        System.out.printf("lovast:  %,d bytes%n", bytes.length);
+        System.out.printf("parse:   %.2f ms/op%n", parseMs);
+        System.out.printf("load:    %.2f ms/op%n", decodeMs);
+        System.out.printf("speedup: %.1fx%n", parseMs / decodeMs);
+    }
+
+    private static Prog parse(String source) throws Exception {
+        return new LovelaceParser(new StringReader(source)).parse();
+    }
+
+    private static Prog decode(byte[] bytes) throws IOException {
+        return LovelaceASTCache.read(new ByteArrayInputStream(bytes), null);
+    }
+}
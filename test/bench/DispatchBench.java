@@ -0,0 +1,249 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import ast.*;
+import lovelace.LovelaceParser;
+
+// Compares node dispatch through an instanceof cascade (the shape codegen and
+// the diagram used before the visitors) against Node.accept on the same tree.
+// Both walks do identical work per node: push the children and fold a small
+// per-type value into a checksum. Run through scripts/bench.sh dispatch.
+public class DispatchBench {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Uso: java DispatchBench <arquivo.lov> [iteracoes]");
+            System.exit(1);
+        }
+
+        String source = new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8);
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        Prog prog = new LovelaceParser(new StringReader(source)).parse();
+
+        Walker visitor = new Walker();
+        long nodes = visitor.walk(prog);
+        long expected = visitor.soma;
+        if (chain(prog) != expected) {
+            System.err.println("Erro: os dois percursos divergem");
+            System.exit(1);
+        }
+
+        // Warm-up so both paths are JIT-compiled before timing.
+        for (int i = 0; i < 20; i++) {
+            chain(prog);
+            visitor.walk(prog);
+        }
+
+        long chainNs = 0, visitorNs = 0;
+        for (int i = 0; i < iterations; i++) {
+            long t0 = System.nanoTime();
+            long a = chain(prog);
+            long t1 = System.nanoTime();
+            visitor.walk(prog);
+            long t2 = System.nanoTime();
+            if (a != visitor.soma) throw new IllegalStateException();
+            chainNs += t1 - t0;
+            visitorNs += t2 - t1;
+        }
+
+        double chainMs = chainNs / 1e6 / iterations;
+        double visitorMs = visitorNs / 1e6 / iterations;
+        System.out.printf("nodes:     %,d%n", nodes);
+        System.out.printf("instanceof: %.2f ms/op  (%.1f Mnodes/s)%n", chainMs, nodes / chainMs / 1e3);
+        System.out.printf("visitor:    %.2f ms/op  (%.1f Mnodes/s)%n", visitorMs, nodes / visitorMs / 1e3);
+        System.out.printf("speedup:    %.2fx%n", chainMs / visitorMs);
+    }
+
+    // =========================================================================
+    // instanceof cascade
+    // =========================================================================
+
+    private static long chain(Prog prog) {
+        ArrayDeque<Object> pilha = new ArrayDeque<Object>();
+        long soma = 0;
+        pilha.push(prog.main);
+        for (Fun f : prog.fun) pilha.push(f);
+
+        while (!pilha.isEmpty()) {
+            Object n = pilha.pop();
+            if (n instanceof Main) {
+                Main m = (Main) n;
+                pushAll(pilha, m.vars);
+                pushAll(pilha, m.coms);
+                soma += 1;
+            } else if (n instanceof Fun) {
+                Fun f = (Fun) n;
+                pushAll(pilha, f.params);
+                pushAll(pilha, f.vars);
+                pushAll(pilha, f.body);
+                soma += 2;
+            } else if (n instanceof ParamFormalFun) {
+                soma += 3;
+            } else if (n instanceof VarDecl) {
+                soma += 4;
+            } else if (n instanceof CAtribuicao) {
+                pilha.push(((CAtribuicao) n).exp);
+                soma += 5;
+            } else if (n instanceof CIf) {
+                CIf c = (CIf) n;
+                pilha.push(c.exp);
+                pushAll(pilha, c.bloco);
+                soma += 6;
+            } else if (n instanceof CWhile) {
+                CWhile c = (CWhile) n;
+                pilha.push(c.exp);
+                pushAll(pilha, c.bloco);
+                soma += 7;
+            } else if (n instanceof CPrint) {
+                pilha.push(((CPrint) n).exp);
+                soma += 8;
+            } else if (n instanceof CReadInput) {
+                soma += 9;
+            } else if (n instanceof CReturn) {
+                CReturn c = (CReturn) n;
+                if (c.exp != null) pilha.push(c.exp);
+                soma += 10;
+            } else if (n instanceof CChamadaFun) {
+                pushAll(pilha, ((CChamadaFun) n).args);
+                soma += 11;
+            } else if (n instanceof EFloat) {
+                soma += 12;
+            } else if (n instanceof EVar) {
+                soma += 13;
+            } else if (n instanceof ETrue) {
+                soma += 14;
+            } else if (n instanceof EFalse) {
+                soma += 15;
+            } else if (n instanceof EOpExp) {
+                EOpExp e = (EOpExp) n;
+                pilha.push(e.arg1);
+                pilha.push(e.arg2);
+                soma += 16;
+            } else if (n instanceof EChamadaFun) {
+                pushAll(pilha, ((EChamadaFun) n).args);
+                soma += 17;
+            }
+        }
+        return soma;
+    }
+
+    private static void pushAll(ArrayDeque<Object> pilha, ArrayList<?> list) {
+        for (Object o : list) pilha.push(o);
+    }
+
+    // =========================================================================
+    // Visitor
+    // =========================================================================
+
+    private static final class Walker implements VoidVisitor {
+        final ArrayDeque<Node> pilha = new ArrayDeque<Node>();
+        long soma;
+
+        // Returns the number of nodes visited below Prog.
+        long walk(Prog prog) {
+            soma = 0;
+            long nodes = 0;
+            pilha.push(prog.main);
+            for (Fun f : prog.fun) pilha.push(f);
+            while (!pilha.isEmpty()) {
+                pilha.pop().accept(this);
+                nodes++;
+            }
+            return nodes;
+        }
+
+        private void pushAll(ArrayList<? extends Node> list) {
+            for (Node n : list) pilha.push(n);
+        }
+
+        public void visitProg(Prog p) {
+        }
+
+        public void visitMain(Main m) {
+            pushAll(m.vars);
+            pushAll(m.coms);
+            soma += 1;
+        }
+
+        public void visitFun(Fun f) {
+            pushAll(f.params);
+            pushAll(f.vars);
+            pushAll(f.body);
+            soma += 2;
+        }
+
+        public void visitParamFormalFun(ParamFormalFun p) {
+            soma += 3;
+        }
+
+        public void visitVarDecl(VarDecl v) {
+            soma += 4;
+        }
+
+        public void visitCAtribuicao(CAtribuicao c) {
+            pilha.push(c.exp);
+            soma += 5;
+        }
+
+        public void visitCIf(CIf c) {
+            pilha.push(c.exp);
+            pushAll(c.bloco);
+            soma += 6;
+        }
+
+        public void visitCWhile(CWhile c) {
+            pilha.push(c.exp);
+            pushAll(c.bloco);
+            soma += 7;
+        }
+
+        public void visitCPrint(CPrint c) {
+            pilha.push(c.exp);
+            soma += 8;
+        }
+
+        public void visitCReadInput(CReadInput c) {
+            soma += 9;
+        }
+
+        public void visitCReturn(CReturn c) {
+            if (c.exp != null) pilha.push(c.exp);
+            soma += 10;
+        }
+
+        public void visitCChamadaFun(CChamadaFun c) {
+            pushAll(c.args);
+            soma += 11;
+        }
+
+        public void visitEFloat(EFloat e) {
+            soma += 12;
+        }
+
+        public void visitEVar(EVar e) {
+            soma += 13;
+        }
+
+        public void visitETrue(ETrue e) {
+            soma += 14;
+        }
+
+        public void visitEFalse(EFalse e) {
+            soma += 15;
+        }
+
+        public void visitEOpExp(EOpExp e) {
+            pilha.push(e.arg1);
+            pilha.push(e.arg2);
+            soma += 16;
+        }
+
+        public void visitEChamadaFun(EChamadaFun e) {
+            pushAll(e.args);
+            soma += 17;
+        }
+    }
+}
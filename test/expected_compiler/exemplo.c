@@ -1,8 +1,8 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float teste;
     teste = 9.0;
-    printf("%f\n", teste);
+    lv__print_float(teste);
     return 0;
 }
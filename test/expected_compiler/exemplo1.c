@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float x;
@@ -11,11 +11,11 @@ int main() {
     }
     x = ((x + y) * 2.0);
     y = ((x - y) / 2.0);
-    printf("%f\n", x);
-    printf("%f\n", y);
+    lv__print_float(x);
+    lv__print_float(y);
     if (((x == y) || (x < 10.0))) {
         resultado = 0;
     }
-    printf("%f\n", resultado);
+    lv__print_int(resultado);
     return 0;
 }
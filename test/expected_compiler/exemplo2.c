@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 float calcular(float a, float b);
 int verificar(float valor);
@@ -29,21 +29,21 @@ int main() {
     num1 = 15.5;
     num2 = 3.2;
     resultado = calcular(num1, num2);
-    printf("%f\n", resultado);
+    lv__print_float(resultado);
     valido = verificar(resultado);
     if ((valido && (resultado > 10.0))) {
         contador = 0.0;
         while ((contador < 5.0)) {
             contador = (contador + 1.0);
-            printf("%f\n", contador);
+            lv__print_float(contador);
         }
     }
-    scanf("%f", &num1);
-    scanf("%f", &num2);
+    lv__read_float(&num1);
+    lv__read_float(&num2);
     if (((num1 < num2) || (num1 == num2))) {
-        printf("%f\n", num1);
+        lv__print_float(num1);
     }
     resultado = calcular(num1, num2);
-    printf("%f\n", resultado);
+    lv__print_float(resultado);
     return 0;
 }
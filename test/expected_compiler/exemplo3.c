@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 float soma(float a, float b);
 float fatorial(float n);
@@ -34,17 +34,17 @@ int main() {
     a = 5.0;
     b = 3.0;
     total = soma(a, b);
-    printf("%f\n", total);
+    lv__print_float(total);
     fat = fatorial(5.0);
-    printf("%f\n", fat);
+    lv__print_float(fat);
     positivo = ehPositivo(total);
-    printf("%f\n", positivo);
+    lv__print_int(positivo);
     if ((positivo && (total > 0.0))) {
-        printf("%f\n", 1.0);
+        lv__print_float(1.0);
     }
-    scanf("%f", &a);
+    lv__read_float(&a);
     if (ehPositivo(a)) {
-        printf("%f\n", soma(a, b));
+        lv__print_float(soma(a, b));
     }
     return 0;
 }
@@ -1,11 +1,11 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 void mostrar(float valor);
 float dobro(float x);
 float soma3(float a, float b, float c);
 
 void mostrar(float valor) {
-    printf("%f\n", valor);
+    lv__print_float(valor);
 }
 
 float dobro(float x) {
@@ -37,6 +37,6 @@ int main() {
             resultado = dobro(resultado);
         }
     }
-    printf("%f\n", resultado);
+    lv__print_float(resultado);
     return 0;
 }
@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     int a;
@@ -7,11 +7,11 @@ int main() {
     a = 1;
     b = 0;
     c = (a && b);
-    printf("%f\n", c);
+    lv__print_int(c);
     c = (a || b);
-    printf("%f\n", c);
+    lv__print_int(c);
     if ((a && (1 || 0))) {
-        printf("%f\n", 1.0);
+        lv__print_float(1.0);
     }
     return 0;
 }
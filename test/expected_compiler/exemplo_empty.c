@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     return 0;
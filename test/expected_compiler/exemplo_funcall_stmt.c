@@ -1,9 +1,9 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 void imprimir(float x);
 
 void imprimir(float x) {
-    printf("%f\n", x);
+    lv__print_float(x);
 }
 
 int main() {
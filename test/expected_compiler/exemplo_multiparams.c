@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 float soma4(float a, float b, float c, float d);
 
@@ -9,6 +9,6 @@ float soma4(float a, float b, float c, float d) {
 int main() {
     float resultado;
     resultado = soma4(1.0, 2.0, 3.0, 4.0);
-    printf("%f\n", resultado);
+    lv__print_float(resultado);
     return 0;
 }
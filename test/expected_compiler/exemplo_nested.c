@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float x;
@@ -10,6 +10,6 @@ int main() {
             }
         }
     }
-    printf("%f\n", x);
+    lv__print_float(x);
     return 0;
 }
@@ -1,10 +1,10 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float x;
     x = 1.5E10;
-    printf("%f\n", x);
+    lv__print_float(x);
     x = 2000.0;
-    printf("%f\n", x);
+    lv__print_float(x);
     return 0;
 }
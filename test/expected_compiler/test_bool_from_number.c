@@ -0,0 +1,30 @@
+#include "lovelace_rt.h"
+
+int id(int x);
+int metade(float x);
+
+int id(int x) {
+    return x;
+}
+
+int metade(float x) {
+    return ((int) ((x / 2.0)) != 0);
+}
+
+int main() {
+    int b;
+    float f;
+    b = ((int) (2.0) != 0);
+    lv__print_int(b);
+    f = (b + 0.5);
+    lv__print_float(f);
+    b = ((int) (0.5) != 0);
+    lv__print_int(b);
+    b = ((int) ((0.0 - 2.5)) != 0);
+    lv__print_int(b);
+    lv__print_int(id(((int) (3.0) != 0)));
+    lv__print_int(id(((int) (0.25) != 0)));
+    lv__print_int(metade(6.0));
+    lv__print_int(metade(1.0));
+    return 0;
+}
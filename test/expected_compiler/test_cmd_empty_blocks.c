@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float x;
@@ -7,6 +7,6 @@ int main() {
     }
     while (0) {
     }
-    printf("%f\n", x);
+    lv__print_float(x);
     return 0;
 }
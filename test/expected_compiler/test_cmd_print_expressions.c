@@ -1,14 +1,14 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float x;
     int b;
     x = 5.0;
     b = 1;
-    printf("%f\n", 42.0);
-    printf("%f\n", x);
-    printf("%f\n", (x + 1.0));
-    printf("%d\n", (x > 3.0));
-    printf("%f\n", b);
+    lv__print_float(42.0);
+    lv__print_float(x);
+    lv__print_float((x + 1.0));
+    lv__print_int((x > 3.0));
+    lv__print_int(b);
     return 0;
 }
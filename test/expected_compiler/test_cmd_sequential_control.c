@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float x;
@@ -6,10 +6,10 @@ int main() {
     x = 5.0;
     y = 10.0;
     if ((x > 0.0)) {
-        printf("%f\n", x);
+        lv__print_float(x);
     }
     if ((y > 0.0)) {
-        printf("%f\n", y);
+        lv__print_float(y);
     }
     while ((x > 0.0)) {
         x = (x - 1.0);
@@ -17,7 +17,7 @@ int main() {
     while ((y > 5.0)) {
         y = (y - 1.0);
     }
-    printf("%f\n", x);
-    printf("%f\n", y);
+    lv__print_float(x);
+    lv__print_float(y);
     return 0;
 }
@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 float f1(float x);
 float f2(float x);
@@ -23,7 +23,7 @@ float f4(float x) {
 }
 
 void mostrar(float v) {
-    printf("%f\n", v);
+    lv__print_float(v);
 }
 
 int main() {
@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     int a;
@@ -6,12 +6,12 @@ int main() {
     a = 1;
     b = 0;
     if (1) {
-        printf("%f\n", 1.0);
+        lv__print_float(1.0);
     }
     if ((a == 1)) {
-        printf("%f\n", 2.0);
+        lv__print_float(2.0);
     }
-    printf("%f\n", a);
-    printf("%f\n", b);
+    lv__print_int(a);
+    lv__print_int(b);
     return 0;
 }
@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 float dobro(float x);
 float soma(float a, float b);
@@ -14,10 +14,10 @@ float soma(float a, float b) {
 int main() {
     float r;
     r = (dobro(3.0) + 1.0);
-    printf("%f\n", r);
+    lv__print_float(r);
     r = soma(dobro(2.0), 5.0);
-    printf("%f\n", r);
+    lv__print_float(r);
     r = dobro(soma(1.0, 2.0));
-    printf("%f\n", r);
+    lv__print_float(r);
     return 0;
 }
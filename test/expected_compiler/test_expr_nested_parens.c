@@ -1,10 +1,10 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float r;
     r = ((1.0 + 2.0) * (3.0 - 1.0));
-    printf("%f\n", r);
+    lv__print_float(r);
     r = (((4.0 + 1.0) * 2.0) / (1.0 + 1.0));
-    printf("%f\n", r);
+    lv__print_float(r);
     return 0;
 }
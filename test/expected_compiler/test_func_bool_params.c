@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int negar(int v);
 
@@ -12,8 +12,8 @@ int negar(int v) {
 int main() {
     int r;
     r = negar(1);
-    printf("%f\n", r);
+    lv__print_int(r);
     r = negar(0);
-    printf("%f\n", r);
+    lv__print_int(r);
     return 0;
 }
@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 float dobro(float x);
 float quadruplo(float x);
@@ -19,8 +19,8 @@ float somaEDobra(float a, float b) {
 int main() {
     float r;
     r = quadruplo(3.0);
-    printf("%f\n", r);
+    lv__print_float(r);
     r = somaEDobra(2.0, 3.0);
-    printf("%f\n", r);
+    lv__print_float(r);
     return 0;
 }
@@ -0,0 +1,66 @@
+#include "lovelace_rt.h"
+
+float soma3(float a, float b, float c);
+float potencia(float base, float n);
+void mostra(float v, float modo);
+float limite(float v, float teto);
+float escala(float v, int dobra);
+
+float soma3(float a, float b, float c) {
+    return ((a + b) + c);
+}
+
+float potencia(float base, float n) {
+    if ((n < 1.0)) {
+        return 1.0;
+    }
+    return (base * potencia(base, (n - 1.0)));
+}
+
+void mostra(float v, float modo) {
+    if ((modo > 1.0)) {
+        lv__print_float((v * 10.0));
+    }
+    if ((modo < 2.0)) {
+        lv__print_float(v);
+    }
+}
+
+float limite(float v, float teto) {
+    if ((v > teto)) {
+        return teto;
+    }
+    return v;
+}
+
+float escala(float v, int dobra) {
+    if (dobra) {
+        return (v * 2.0);
+    }
+    return v;
+}
+
+int main() {
+    float x;
+    float i;
+    int grande;
+    x = soma3(2.0, 3.0, 4.0);
+    lv__print_float(x);
+    lv__print_float(soma3(0.5, 0.25, x));
+    lv__print_float(potencia(1.5, 3.0));
+    i = 0.0;
+    while ((i < 3.0)) {
+        mostra(i, 1.0);
+        mostra((i + 0.5), 1.0);
+        mostra(i, 2.0);
+        mostra((i * 2.0), 2.0);
+        lv__print_float(limite((x * i), 20.0));
+        i = (i + 1.0);
+    }
+    lv__print_float(limite(x, 20.0));
+    lv__print_float(escala(x, 1));
+    lv__print_float(escala(x, 0));
+    grande = (escala(1.0, 1) > 1.5);
+    lv__print_int(grande);
+    return 0;
+}
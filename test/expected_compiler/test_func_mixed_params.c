@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 float escolher(int cond, float a, float b);
 
@@ -12,8 +12,8 @@ float escolher(int cond, float a, float b) {
 int main() {
     float r;
     r = escolher(1, 10.0, 20.0);
-    printf("%f\n", r);
+    lv__print_float(r);
     r = escolher(0, 10.0, 20.0);
-    printf("%f\n", r);
+    lv__print_float(r);
     return 0;
 }
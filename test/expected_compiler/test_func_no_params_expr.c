@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 float pi();
 float zero();
@@ -14,9 +14,9 @@ float zero() {
 int main() {
     float r;
     r = (pi() + 1.0);
-    printf("%f\n", r);
+    lv__print_float(r);
     r = (pi() * 2.0);
-    printf("%f\n", r);
-    printf("%f\n", zero());
+    lv__print_float(r);
+    lv__print_float(zero());
     return 0;
 }
@@ -0,0 +1,54 @@
+#include "lovelace_rt.h"
+
+float fib(float n);
+int par(float n);
+int impar(float n);
+float conta(float n);
+float dobro(float x);
+
+float fib(float n) {
+    if ((n < 2.0)) {
+        return n;
+    }
+    return (fib((n - 1.0)) + fib((n - 2.0)));
+}
+
+int par(float n) {
+    if ((n == 0.0)) {
+        return 1;
+    }
+    return impar((n - 1.0));
+}
+
+int impar(float n) {
+    if ((n == 0.0)) {
+        return 0;
+    }
+    return par((n - 1.0));
+}
+
+float conta(float n) {
+    lv__print_float(n);
+    if ((n < 1.0)) {
+        return 0.0;
+    }
+    return (1.0 + conta((n - 1.0)));
+}
+
+float dobro(float x) {
+    return (x * 2.0);
+}
+
+int main() {
+    float x;
+    int p;
+    x = fib(20.0);
+    lv__print_float(x);
+    p = par(7.0);
+    lv__print_int(p);
+    x = conta(3.0);
+    lv__print_float(x);
+    x = dobro(x);
+    lv__print_float(x);
+    return 0;
+}
@@ -1,11 +1,11 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float myVar;
     int isReady;
     myVar = 42.0;
     isReady = 1;
-    printf("%f\n", myVar);
-    printf("%f\n", isReady);
+    lv__print_float(myVar);
+    lv__print_int(isReady);
     return 0;
 }
@@ -1,11 +1,11 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float a_b_c;
     float long_variable_name_1;
     a_b_c = 1.0;
     long_variable_name_1 = 2.0;
-    printf("%f\n", a_b_c);
-    printf("%f\n", long_variable_name_1);
+    lv__print_float(a_b_c);
+    lv__print_float(long_variable_name_1);
     return 0;
 }
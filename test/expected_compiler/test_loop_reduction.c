@@ -0,0 +1,55 @@
+#include "lovelace_rt.h"
+
+float quadrado(float x);
+float mostra(float x);
+
+float quadrado(float x) {
+    return (x * x);
+}
+
+float mostra(float x) {
+    lv__print_float(x);
+    return x;
+}
+
+int main() {
+    float i;
+    float n;
+    float soma;
+    float prod;
+    float quadrados;
+    lv__read_float(&n);
+    soma = 0.0;
+    quadrados = 0.0;
+    i = 0.0;
+    while ((i < n)) {
+        soma = (soma + i);
+        quadrados = (quadrado(i) + quadrados);
+        i = (i + 1.0);
+    }
+    lv__print_float(soma);
+    lv__print_float(quadrados);
+    lv__print_float(i);
+    prod = 1.0;
+    i = 1.0;
+    while ((11.0 > i)) {
+        prod = (prod * (i + 1.0));
+        i = (i + 2.0);
+    }
+    lv__print_float(prod);
+    lv__print_float(i);
+    i = 0.5;
+    soma = 0.0;
+    while ((i < 10.0)) {
+        soma = (soma + quadrado(i));
+        i = (i + 1.0);
+    }
+    lv__print_float(soma);
+    i = 0.0;
+    while ((i < 3.0)) {
+        soma = (soma + mostra(i));
+        i = (i + 1.0);
+    }
+    lv__print_float(soma);
+    return 0;
+}
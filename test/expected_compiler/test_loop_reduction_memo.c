@@ -0,0 +1,47 @@
+#include "lovelace_rt.h"
+
+float fib(float n);
+float g(float x);
+float dobro(float x);
+
+float fib(float n) {
+    if ((n < 2.0)) {
+        return n;
+    }
+    return (fib((n - 1.0)) + fib((n - 2.0)));
+}
+
+float g(float x) {
+    return (fib(x) + 1.0);
+}
+
+float dobro(float x) {
+    return (x + x);
+}
+
+int main() {
+    float i;
+    float soma;
+    soma = 0.0;
+    i = 0.0;
+    while ((i < 20.0)) {
+        soma = (soma + fib(i));
+        i = (i + 1.0);
+    }
+    lv__print_float(soma);
+    soma = 0.0;
+    i = 0.0;
+    while ((i < 20.0)) {
+        soma = (soma + g(i));
+        i = (i + 1.0);
+    }
+    lv__print_float(soma);
+    soma = 0.0;
+    i = 0.0;
+    while ((i < 20.0)) {
+        soma = (soma + dobro(i));
+        i = (i + 1.0);
+    }
+    lv__print_float(soma);
+    return 0;
+}
@@ -0,0 +1,21 @@
+#include "lovelace_rt.h"
+
+int main() {
+    float k;
+    float y;
+    float z;
+    float w;
+    k = 0.0;
+    while ((k < 3.0)) {
+        y = (k * (0.0 - 1.0));
+        lv__print_float(y);
+        lv__print_float((1.0 / y));
+        z = (y - 0.0);
+        lv__print_float((1.0 / z));
+        w = (y + 0.0);
+        lv__print_float((1.0 / w));
+        lv__print_float((1.0 / (k * 2.0)));
+        k = (k + 1.0);
+    }
+    return 0;
+}
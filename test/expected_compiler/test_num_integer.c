@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float a;
@@ -7,8 +7,8 @@ int main() {
     a = 5.0;
     b = 100.0;
     c = 0.0;
-    printf("%f\n", a);
-    printf("%f\n", b);
-    printf("%f\n", c);
+    lv__print_float(a);
+    lv__print_float(b);
+    lv__print_float(c);
     return 0;
 }
@@ -1,11 +1,11 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float a;
     float b;
     a = 100000.0;
     b = 0.0025;
-    printf("%f\n", a);
-    printf("%f\n", b);
+    lv__print_float(a);
+    lv__print_float(b);
     return 0;
 }
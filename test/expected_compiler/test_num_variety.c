@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float a;
@@ -9,9 +9,9 @@ int main() {
     b = 3.14;
     c = 1.0E10;
     d = 0.05;
-    printf("%f\n", a);
-    printf("%f\n", b);
-    printf("%f\n", c);
-    printf("%f\n", d);
+    lv__print_float(a);
+    lv__print_float(b);
+    lv__print_float(c);
+    lv__print_float(d);
     return 0;
 }
@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float a;
@@ -7,12 +7,12 @@ int main() {
     a = 10.0;
     b = 3.0;
     r = (a + b);
-    printf("%f\n", r);
+    lv__print_float(r);
     r = (a - b);
-    printf("%f\n", r);
+    lv__print_float(r);
     r = (a * b);
-    printf("%f\n", r);
+    lv__print_float(r);
     r = (a / b);
-    printf("%f\n", r);
+    lv__print_float(r);
     return 0;
 }
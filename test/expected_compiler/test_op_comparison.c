@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float a;
@@ -6,13 +6,13 @@ int main() {
     a = 5.0;
     b = 10.0;
     if ((a < b)) {
-        printf("%f\n", 1.0);
+        lv__print_float(1.0);
     }
     if ((b > a)) {
-        printf("%f\n", 2.0);
+        lv__print_float(2.0);
     }
     if ((a == a)) {
-        printf("%f\n", 3.0);
+        lv__print_float(3.0);
     }
     return 0;
 }
@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     int a;
@@ -7,12 +7,12 @@ int main() {
     a = 1;
     b = 0;
     c = (a && b);
-    printf("%f\n", c);
+    lv__print_int(c);
     c = (a || b);
-    printf("%f\n", c);
+    lv__print_int(c);
     c = (a && a);
-    printf("%f\n", c);
+    lv__print_int(c);
     c = (b || b);
-    printf("%f\n", c);
+    lv__print_int(c);
     return 0;
 }
@@ -1,12 +1,12 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float r;
     r = (2.0 + (3.0 * 4.0));
-    printf("%f\n", r);
+    lv__print_float(r);
     r = (10.0 - (6.0 / 2.0));
-    printf("%f\n", r);
+    lv__print_float(r);
     r = ((1.0 + (2.0 * 3.0)) - (4.0 / 2.0));
-    printf("%f\n", r);
+    lv__print_float(r);
     return 0;
 }
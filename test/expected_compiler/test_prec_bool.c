@@ -1,10 +1,10 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     int r;
     r = (1 || (0 && 0));
-    printf("%f\n", r);
+    lv__print_int(r);
     r = (0 || (1 && 1));
-    printf("%f\n", r);
+    lv__print_int(r);
     return 0;
 }
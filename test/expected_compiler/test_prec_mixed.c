@@ -1,4 +1,4 @@
-#include <stdio.h>
+#include "lovelace_rt.h"
 
 int main() {
     float a;
@@ -7,8 +7,8 @@ int main() {
     a = 10.0;
     b = 5.0;
     r = (((a + b) > 10.0) && ((a * b) > 40.0));
-    printf("%f\n", r);
+    lv__print_int(r);
     r = (((a - b) < 10.0) || ((a / b) == 2.0));
-    printf("%f\n", r);
+    lv__print_int(r);
     return 0;
 }
@@ -0,0 +1,17 @@
+; ModuleID = 'exemplo.lov'
+source_filename = "exemplo.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %teste.addr = alloca float
+  %t.1 = fptrunc double 9.0 to float
+  store float %t.1, ptr %teste.addr
+  %t.2 = load float, ptr %teste.addr
+  %t.3 = fpext float %t.2 to double
+  call void @lv__rt_print_float(double %t.3)
+  ret i32 0
+}
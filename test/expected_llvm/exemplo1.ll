@@ -0,0 +1,71 @@
+; ModuleID = 'exemplo1.lov'
+source_filename = "exemplo1.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %x.addr = alloca float
+  %y.addr = alloca float
+  %resultado.addr = alloca i1
+  %t.1 = fptrunc double 0x4025000000000000 to float
+  store float %t.1, ptr %x.addr
+  %t.2 = fptrunc double 5.0 to float
+  store float %t.2, ptr %y.addr
+  %t.3 = load float, ptr %x.addr
+  %t.4 = load float, ptr %y.addr
+  %t.5 = fcmp ogt float %t.3, %t.4
+  br i1 %t.5, label %se.1, label %fimse.1
+
+se.1:
+  store i1 true, ptr %resultado.addr
+  br label %fimse.1
+
+fimse.1:
+  %t.6 = load float, ptr %x.addr
+  %t.7 = load float, ptr %y.addr
+  %t.8 = fadd float %t.6, %t.7
+  %t.9 = fpext float %t.8 to double
+  %t.10 = fmul double %t.9, 2.0
+  %t.11 = fptrunc double %t.10 to float
+  store float %t.11, ptr %x.addr
+  %t.12 = load float, ptr %x.addr
+  %t.13 = load float, ptr %y.addr
+  %t.14 = fsub float %t.12, %t.13
+  %t.15 = fpext float %t.14 to double
+  %t.16 = fdiv double %t.15, 2.0
+  %t.17 = fptrunc double %t.16 to float
+  store float %t.17, ptr %y.addr
+  %t.18 = load float, ptr %x.addr
+  %t.19 = fpext float %t.18 to double
+  call void @lv__rt_print_float(double %t.19)
+  %t.20 = load float, ptr %y.addr
+  %t.21 = fpext float %t.20 to double
+  call void @lv__rt_print_float(double %t.21)
+  %t.22 = load float, ptr %x.addr
+  %t.23 = load float, ptr %y.addr
+  %t.24 = fcmp oeq float %t.22, %t.23
+  br i1 %t.24, label %fimou.2, label %ou.2
+
+ou.2:
+  %t.25 = load float, ptr %x.addr
+  %t.26 = fpext float %t.25 to double
+  %t.27 = fcmp olt double %t.26, 10.0
+  br label %fimou.2
+
+fimou.2:
+  %t.28 = phi i1 [ true, %fimse.1 ], [ %t.27, %ou.2 ]
+  br i1 %t.28, label %se.3, label %fimse.3
+
+se.3:
+  store i1 false, ptr %resultado.addr
+  br label %fimse.3
+
+fimse.3:
+  %t.29 = load i1, ptr %resultado.addr
+  %t.30 = zext i1 %t.29 to i32
+  call void @lv__rt_print_int(i32 %t.30)
+  ret i32 0
+}
@@ -0,0 +1,157 @@
+; ModuleID = 'exemplo2.lov'
+source_filename = "exemplo2.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define float @calcular(float %a, float %b) {
+entrada.0:
+  %a.addr = alloca float
+  %b.addr = alloca float
+  %resultado.addr = alloca float
+  store float %a, ptr %a.addr
+  store float %b, ptr %b.addr
+  %t.1 = load float, ptr %a.addr
+  %t.2 = load float, ptr %b.addr
+  %t.3 = fadd float %t.1, %t.2
+  %t.4 = fpext float %t.3 to double
+  %t.5 = fmul double %t.4, 2.0
+  %t.6 = fptrunc double %t.5 to float
+  store float %t.6, ptr %resultado.addr
+  %t.7 = load float, ptr %resultado.addr
+  ret float %t.7
+}
+
+define i1 @verificar(float %valor) {
+entrada.0:
+  %valor.addr = alloca float
+  %ok.addr = alloca i1
+  store float %valor, ptr %valor.addr
+  %t.1 = load float, ptr %valor.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fcmp ogt double %t.2, 0.0
+  br i1 %t.3, label %se.1, label %fimse.1
+
+se.1:
+  store i1 true, ptr %ok.addr
+  br label %fimse.1
+
+fimse.1:
+  %t.4 = load float, ptr %valor.addr
+  %t.5 = fpext float %t.4 to double
+  %t.6 = fcmp olt double %t.5, 0.0
+  br i1 %t.6, label %fimou.2, label %ou.2
+
+ou.2:
+  %t.7 = load float, ptr %valor.addr
+  %t.8 = fpext float %t.7 to double
+  %t.9 = fcmp oeq double %t.8, 0.0
+  br label %fimou.2
+
+fimou.2:
+  %t.10 = phi i1 [ true, %fimse.1 ], [ %t.9, %ou.2 ]
+  br i1 %t.10, label %se.3, label %fimse.3
+
+se.3:
+  store i1 false, ptr %ok.addr
+  br label %fimse.3
+
+fimse.3:
+  %t.11 = load i1, ptr %ok.addr
+  ret i1 %t.11
+}
+
+define i32 @main() {
+entrada.0:
+  %num1.addr = alloca float
+  %num2.addr = alloca float
+  %resultado.addr = alloca float
+  %valido.addr = alloca i1
+  %contador.addr = alloca float
+  %t.1 = fptrunc double 0x402F000000000000 to float
+  store float %t.1, ptr %num1.addr
+  %t.2 = fptrunc double 0x400999999999999A to float
+  store float %t.2, ptr %num2.addr
+  %t.3 = load float, ptr %num1.addr
+  %t.4 = load float, ptr %num2.addr
+  %t.5 = call float @calcular(float %t.3, float %t.4)
+  store float %t.5, ptr %resultado.addr
+  %t.6 = load float, ptr %resultado.addr
+  %t.7 = fpext float %t.6 to double
+  call void @lv__rt_print_float(double %t.7)
+  %t.8 = load float, ptr %resultado.addr
+  %t.9 = call i1 @verificar(float %t.8)
+  store i1 %t.9, ptr %valido.addr
+  %t.10 = load i1, ptr %valido.addr
+  br i1 %t.10, label %e.1, label %fime.1
+
+e.1:
+  %t.11 = load float, ptr %resultado.addr
+  %t.12 = fpext float %t.11 to double
+  %t.13 = fcmp ogt double %t.12, 10.0
+  br label %fime.1
+
+fime.1:
+  %t.14 = phi i1 [ false, %entrada.0 ], [ %t.13, %e.1 ]
+  br i1 %t.14, label %se.2, label %fimse.2
+
+se.2:
+  %t.15 = fptrunc double 0.0 to float
+  store float %t.15, ptr %contador.addr
+  br label %laco.3
+
+laco.3:
+  %t.16 = load float, ptr %contador.addr
+  %t.17 = fpext float %t.16 to double
+  %t.18 = fcmp olt double %t.17, 5.0
+  br i1 %t.18, label %corpo.3, label %fimlaco.3
+
+corpo.3:
+  %t.19 = load float, ptr %contador.addr
+  %t.20 = fpext float %t.19 to double
+  %t.21 = fadd double %t.20, 1.0
+  %t.22 = fptrunc double %t.21 to float
+  store float %t.22, ptr %contador.addr
+  %t.23 = load float, ptr %contador.addr
+  %t.24 = fpext float %t.23 to double
+  call void @lv__rt_print_float(double %t.24)
+  br label %laco.3
+
+fimlaco.3:
+  br label %fimse.2
+
+fimse.2:
+  call void @lv__rt_read_float(ptr %num1.addr)
+  call void @lv__rt_read_float(ptr %num2.addr)
+  %t.25 = load float, ptr %num1.addr
+  %t.26 = load float, ptr %num2.addr
+  %t.27 = fcmp olt float %t.25, %t.26
+  br i1 %t.27, label %fimou.4, label %ou.4
+
+ou.4:
+  %t.28 = load float, ptr %num1.addr
+  %t.29 = load float, ptr %num2.addr
+  %t.30 = fcmp oeq float %t.28, %t.29
+  br label %fimou.4
+
+fimou.4:
+  %t.31 = phi i1 [ true, %fimse.2 ], [ %t.30, %ou.4 ]
+  br i1 %t.31, label %se.5, label %fimse.5
+
+se.5:
+  %t.32 = load float, ptr %num1.addr
+  %t.33 = fpext float %t.32 to double
+  call void @lv__rt_print_float(double %t.33)
+  br label %fimse.5
+
+fimse.5:
+  %t.34 = load float, ptr %num1.addr
+  %t.35 = load float, ptr %num2.addr
+  %t.36 = call float @calcular(float %t.34, float %t.35)
+  store float %t.36, ptr %resultado.addr
+  %t.37 = load float, ptr %resultado.addr
+  %t.38 = fpext float %t.37 to double
+  call void @lv__rt_print_float(double %t.38)
+  ret i32 0
+}
@@ -0,0 +1,131 @@
+; ModuleID = 'exemplo3.lov'
+source_filename = "exemplo3.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define float @soma(float %a, float %b) {
+entrada.0:
+  %a.addr = alloca float
+  %b.addr = alloca float
+  store float %a, ptr %a.addr
+  store float %b, ptr %b.addr
+  %t.1 = load float, ptr %a.addr
+  %t.2 = load float, ptr %b.addr
+  %t.3 = fadd float %t.1, %t.2
+  ret float %t.3
+}
+
+define float @fatorial(float %n) {
+entrada.0:
+  %n.addr = alloca float
+  %resultado.addr = alloca float
+  store float %n, ptr %n.addr
+  %t.1 = fptrunc double 1.0 to float
+  store float %t.1, ptr %resultado.addr
+  br label %laco.1
+
+laco.1:
+  %t.2 = load float, ptr %n.addr
+  %t.3 = fpext float %t.2 to double
+  %t.4 = fcmp ogt double %t.3, 1.0
+  br i1 %t.4, label %corpo.1, label %fimlaco.1
+
+corpo.1:
+  %t.5 = load float, ptr %resultado.addr
+  %t.6 = load float, ptr %n.addr
+  %t.7 = fmul float %t.5, %t.6
+  store float %t.7, ptr %resultado.addr
+  %t.8 = load float, ptr %n.addr
+  %t.9 = fpext float %t.8 to double
+  %t.10 = fsub double %t.9, 1.0
+  %t.11 = fptrunc double %t.10 to float
+  store float %t.11, ptr %n.addr
+  br label %laco.1
+
+fimlaco.1:
+  %t.12 = load float, ptr %resultado.addr
+  ret float %t.12
+}
+
+define i1 @ehPositivo(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fcmp ogt double %t.2, 0.0
+  br i1 %t.3, label %se.1, label %fimse.1
+
+se.1:
+  ret i1 true
+
+fimse.1:
+  ret i1 false
+}
+
+define i32 @main() {
+entrada.0:
+  %a.addr = alloca float
+  %b.addr = alloca float
+  %total.addr = alloca float
+  %fat.addr = alloca float
+  %positivo.addr = alloca i1
+  %t.1 = fptrunc double 5.0 to float
+  store float %t.1, ptr %a.addr
+  %t.2 = fptrunc double 3.0 to float
+  store float %t.2, ptr %b.addr
+  %t.3 = load float, ptr %a.addr
+  %t.4 = load float, ptr %b.addr
+  %t.5 = call float @soma(float %t.3, float %t.4)
+  store float %t.5, ptr %total.addr
+  %t.6 = load float, ptr %total.addr
+  %t.7 = fpext float %t.6 to double
+  call void @lv__rt_print_float(double %t.7)
+  %t.8 = fptrunc double 5.0 to float
+  %t.9 = call float @fatorial(float %t.8)
+  store float %t.9, ptr %fat.addr
+  %t.10 = load float, ptr %fat.addr
+  %t.11 = fpext float %t.10 to double
+  call void @lv__rt_print_float(double %t.11)
+  %t.12 = load float, ptr %total.addr
+  %t.13 = call i1 @ehPositivo(float %t.12)
+  store i1 %t.13, ptr %positivo.addr
+  %t.14 = load i1, ptr %positivo.addr
+  %t.15 = zext i1 %t.14 to i32
+  call void @lv__rt_print_int(i32 %t.15)
+  %t.16 = load i1, ptr %positivo.addr
+  br i1 %t.16, label %e.1, label %fime.1
+
+e.1:
+  %t.17 = load float, ptr %total.addr
+  %t.18 = fpext float %t.17 to double
+  %t.19 = fcmp ogt double %t.18, 0.0
+  br label %fime.1
+
+fime.1:
+  %t.20 = phi i1 [ false, %entrada.0 ], [ %t.19, %e.1 ]
+  br i1 %t.20, label %se.2, label %fimse.2
+
+se.2:
+  call void @lv__rt_print_float(double 1.0)
+  br label %fimse.2
+
+fimse.2:
+  call void @lv__rt_read_float(ptr %a.addr)
+  %t.21 = load float, ptr %a.addr
+  %t.22 = call i1 @ehPositivo(float %t.21)
+  br i1 %t.22, label %se.3, label %fimse.3
+
+se.3:
+  %t.23 = load float, ptr %a.addr
+  %t.24 = load float, ptr %b.addr
+  %t.25 = call float @soma(float %t.23, float %t.24)
+  %t.26 = fpext float %t.25 to double
+  call void @lv__rt_print_float(double %t.26)
+  br label %fimse.3
+
+fimse.3:
+  ret i32 0
+}
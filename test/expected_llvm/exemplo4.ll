@@ -0,0 +1,111 @@
+; ModuleID = 'exemplo4.lov'
+source_filename = "exemplo4.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define void @mostrar(float %valor) {
+entrada.0:
+  %valor.addr = alloca float
+  store float %valor, ptr %valor.addr
+  %t.1 = load float, ptr %valor.addr
+  %t.2 = fpext float %t.1 to double
+  call void @lv__rt_print_float(double %t.2)
+  ret void
+}
+
+define float @dobro(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fmul double %t.2, 2.0
+  %t.4 = fptrunc double %t.3 to float
+  ret float %t.4
+}
+
+define float @soma3(float %a, float %b, float %c) {
+entrada.0:
+  %a.addr = alloca float
+  %b.addr = alloca float
+  %c.addr = alloca float
+  store float %a, ptr %a.addr
+  store float %b, ptr %b.addr
+  store float %c, ptr %c.addr
+  %t.1 = load float, ptr %a.addr
+  %t.2 = load float, ptr %b.addr
+  %t.3 = fadd float %t.1, %t.2
+  %t.4 = load float, ptr %c.addr
+  %t.5 = fadd float %t.3, %t.4
+  ret float %t.5
+}
+
+define i32 @main() {
+entrada.0:
+  %i.addr = alloca float
+  %resultado.addr = alloca float
+  %x.addr = alloca float
+  %y.addr = alloca float
+  %z.addr = alloca float
+  %t.1 = fptrunc double 0.0 to float
+  store float %t.1, ptr %i.addr
+  br label %laco.1
+
+laco.1:
+  %t.2 = load float, ptr %i.addr
+  %t.3 = fpext float %t.2 to double
+  %t.4 = fcmp olt double %t.3, 3.0
+  br i1 %t.4, label %corpo.1, label %fimlaco.1
+
+corpo.1:
+  %t.5 = load float, ptr %i.addr
+  call void @mostrar(float %t.5)
+  %t.6 = load float, ptr %i.addr
+  %t.7 = fpext float %t.6 to double
+  %t.8 = fadd double %t.7, 1.0
+  %t.9 = fptrunc double %t.8 to float
+  store float %t.9, ptr %i.addr
+  br label %laco.1
+
+fimlaco.1:
+  %t.10 = fptrunc double 2.0 to float
+  store float %t.10, ptr %x.addr
+  %t.11 = fptrunc double 3.0 to float
+  store float %t.11, ptr %y.addr
+  %t.12 = fptrunc double 4.0 to float
+  store float %t.12, ptr %z.addr
+  %t.13 = load float, ptr %x.addr
+  %t.14 = load float, ptr %y.addr
+  %t.15 = load float, ptr %z.addr
+  %t.16 = call float @soma3(float %t.13, float %t.14, float %t.15)
+  store float %t.16, ptr %resultado.addr
+  %t.17 = load float, ptr %resultado.addr
+  call void @mostrar(float %t.17)
+  %t.18 = load float, ptr %resultado.addr
+  %t.19 = fpext float %t.18 to double
+  %t.20 = fcmp ogt double %t.19, 5.0
+  br i1 %t.20, label %se.2, label %fimse.2
+
+se.2:
+  %t.21 = load float, ptr %resultado.addr
+  %t.22 = fpext float %t.21 to double
+  %t.23 = fcmp olt double %t.22, 20.0
+  br i1 %t.23, label %se.3, label %fimse.3
+
+se.3:
+  %t.24 = load float, ptr %resultado.addr
+  %t.25 = call float @dobro(float %t.24)
+  store float %t.25, ptr %resultado.addr
+  br label %fimse.3
+
+fimse.3:
+  br label %fimse.2
+
+fimse.2:
+  %t.26 = load float, ptr %resultado.addr
+  %t.27 = fpext float %t.26 to double
+  call void @lv__rt_print_float(double %t.27)
+  ret i32 0
+}
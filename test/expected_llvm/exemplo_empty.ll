@@ -0,0 +1,11 @@
+; ModuleID = 'exemplo_empty.lov'
+source_filename = "exemplo_empty.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  ret i32 0
+}
@@ -0,0 +1,26 @@
+; ModuleID = 'exemplo_funcall_stmt.lov'
+source_filename = "exemplo_funcall_stmt.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define void @imprimir(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = fpext float %t.1 to double
+  call void @lv__rt_print_float(double %t.2)
+  ret void
+}
+
+define i32 @main() {
+entrada.0:
+  %a.addr = alloca float
+  %t.1 = fptrunc double 42.0 to float
+  store float %t.1, ptr %a.addr
+  %t.2 = load float, ptr %a.addr
+  call void @imprimir(float %t.2)
+  ret i32 0
+}
@@ -0,0 +1,41 @@
+; ModuleID = 'exemplo_multiparams.lov'
+source_filename = "exemplo_multiparams.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define float @soma4(float %a, float %b, float %c, float %d) {
+entrada.0:
+  %a.addr = alloca float
+  %b.addr = alloca float
+  %c.addr = alloca float
+  %d.addr = alloca float
+  store float %a, ptr %a.addr
+  store float %b, ptr %b.addr
+  store float %c, ptr %c.addr
+  store float %d, ptr %d.addr
+  %t.1 = load float, ptr %a.addr
+  %t.2 = load float, ptr %b.addr
+  %t.3 = fadd float %t.1, %t.2
+  %t.4 = load float, ptr %c.addr
+  %t.5 = fadd float %t.3, %t.4
+  %t.6 = load float, ptr %d.addr
+  %t.7 = fadd float %t.5, %t.6
+  ret float %t.7
+}
+
+define i32 @main() {
+entrada.0:
+  %resultado.addr = alloca float
+  %t.1 = fptrunc double 1.0 to float
+  %t.2 = fptrunc double 2.0 to float
+  %t.3 = fptrunc double 3.0 to float
+  %t.4 = fptrunc double 4.0 to float
+  %t.5 = call float @soma4(float %t.1, float %t.2, float %t.3, float %t.4)
+  store float %t.5, ptr %resultado.addr
+  %t.6 = load float, ptr %resultado.addr
+  %t.7 = fpext float %t.6 to double
+  call void @lv__rt_print_float(double %t.7)
+  ret i32 0
+}
@@ -0,0 +1,52 @@
+; ModuleID = 'exemplo_nested.lov'
+source_filename = "exemplo_nested.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %x.addr = alloca float
+  %t.1 = fptrunc double 10.0 to float
+  store float %t.1, ptr %x.addr
+  %t.2 = load float, ptr %x.addr
+  %t.3 = fpext float %t.2 to double
+  %t.4 = fcmp ogt double %t.3, 0.0
+  br i1 %t.4, label %se.1, label %fimse.1
+
+se.1:
+  %t.5 = load float, ptr %x.addr
+  %t.6 = fpext float %t.5 to double
+  %t.7 = fcmp ogt double %t.6, 5.0
+  br i1 %t.7, label %se.2, label %fimse.2
+
+se.2:
+  br label %laco.3
+
+laco.3:
+  %t.8 = load float, ptr %x.addr
+  %t.9 = fpext float %t.8 to double
+  %t.10 = fcmp ogt double %t.9, 5.0
+  br i1 %t.10, label %corpo.3, label %fimlaco.3
+
+corpo.3:
+  %t.11 = load float, ptr %x.addr
+  %t.12 = fpext float %t.11 to double
+  %t.13 = fsub double %t.12, 1.0
+  %t.14 = fptrunc double %t.13 to float
+  store float %t.14, ptr %x.addr
+  br label %laco.3
+
+fimlaco.3:
+  br label %fimse.2
+
+fimse.2:
+  br label %fimse.1
+
+fimse.1:
+  %t.15 = load float, ptr %x.addr
+  %t.16 = fpext float %t.15 to double
+  call void @lv__rt_print_float(double %t.16)
+  ret i32 0
+}
@@ -0,0 +1,22 @@
+; ModuleID = 'exemplo_scientific.lov'
+source_filename = "exemplo_scientific.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %x.addr = alloca float
+  %t.1 = fptrunc double 15000000000.0 to float
+  store float %t.1, ptr %x.addr
+  %t.2 = load float, ptr %x.addr
+  %t.3 = fpext float %t.2 to double
+  call void @lv__rt_print_float(double %t.3)
+  %t.4 = fptrunc double 2000.0 to float
+  store float %t.4, ptr %x.addr
+  %t.5 = load float, ptr %x.addr
+  %t.6 = fpext float %t.5 to double
+  call void @lv__rt_print_float(double %t.6)
+  ret i32 0
+}
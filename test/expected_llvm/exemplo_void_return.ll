@@ -0,0 +1,17 @@
+; ModuleID = 'exemplo_void_return.lov'
+source_filename = "exemplo_void_return.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define void @nada() {
+entrada.0:
+  ret void
+}
+
+define i32 @main() {
+entrada.0:
+  call void @nada()
+  ret i32 0
+}
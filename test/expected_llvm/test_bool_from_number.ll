@@ -0,0 +1,78 @@
+; ModuleID = 'test_bool_from_number.lov'
+source_filename = "test_bool_from_number.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i1 @id(i1 %x) {
+entrada.0:
+  %x.addr = alloca i1
+  store i1 %x, ptr %x.addr
+  %t.1 = load i1, ptr %x.addr
+  ret i1 %t.1
+}
+
+define i1 @metade(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fdiv double %t.2, 2.0
+  %t.4 = fptosi double %t.3 to i32
+  %t.5 = icmp ne i32 %t.4, 0
+  ret i1 %t.5
+}
+
+define i32 @main() {
+entrada.0:
+  %b.addr = alloca i1
+  %f.addr = alloca float
+  %t.1 = fptosi double 2.0 to i32
+  %t.2 = icmp ne i32 %t.1, 0
+  store i1 %t.2, ptr %b.addr
+  %t.3 = load i1, ptr %b.addr
+  %t.4 = zext i1 %t.3 to i32
+  call void @lv__rt_print_int(i32 %t.4)
+  %t.5 = load i1, ptr %b.addr
+  %t.6 = uitofp i1 %t.5 to double
+  %t.7 = fadd double %t.6, 0x3FE0000000000000
+  %t.8 = fptrunc double %t.7 to float
+  store float %t.8, ptr %f.addr
+  %t.9 = load float, ptr %f.addr
+  %t.10 = fpext float %t.9 to double
+  call void @lv__rt_print_float(double %t.10)
+  %t.11 = fptosi double 0x3FE0000000000000 to i32
+  %t.12 = icmp ne i32 %t.11, 0
+  store i1 %t.12, ptr %b.addr
+  %t.13 = load i1, ptr %b.addr
+  %t.14 = zext i1 %t.13 to i32
+  call void @lv__rt_print_int(i32 %t.14)
+  %t.15 = fsub double 0.0, 0x4004000000000000
+  %t.16 = fptosi double %t.15 to i32
+  %t.17 = icmp ne i32 %t.16, 0
+  store i1 %t.17, ptr %b.addr
+  %t.18 = load i1, ptr %b.addr
+  %t.19 = zext i1 %t.18 to i32
+  call void @lv__rt_print_int(i32 %t.19)
+  %t.20 = fptosi double 3.0 to i32
+  %t.21 = icmp ne i32 %t.20, 0
+  %t.22 = call i1 @id(i1 %t.21)
+  %t.23 = zext i1 %t.22 to i32
+  call void @lv__rt_print_int(i32 %t.23)
+  %t.24 = fptosi double 0x3FD0000000000000 to i32
+  %t.25 = icmp ne i32 %t.24, 0
+  %t.26 = call i1 @id(i1 %t.25)
+  %t.27 = zext i1 %t.26 to i32
+  call void @lv__rt_print_int(i32 %t.27)
+  %t.28 = fptrunc double 6.0 to float
+  %t.29 = call i1 @metade(float %t.28)
+  %t.30 = zext i1 %t.29 to i32
+  call void @lv__rt_print_int(i32 %t.30)
+  %t.31 = fptrunc double 1.0 to float
+  %t.32 = call i1 @metade(float %t.31)
+  %t.33 = zext i1 %t.32 to i32
+  call void @lv__rt_print_int(i32 %t.33)
+  ret i32 0
+}
@@ -0,0 +1,35 @@
+; ModuleID = 'test_cmd_empty_blocks.lov'
+source_filename = "test_cmd_empty_blocks.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %x.addr = alloca float
+  %t.1 = fptrunc double 1.0 to float
+  store float %t.1, ptr %x.addr
+  %t.2 = load float, ptr %x.addr
+  %t.3 = fpext float %t.2 to double
+  %t.4 = fcmp ogt double %t.3, 0.0
+  br i1 %t.4, label %se.1, label %fimse.1
+
+se.1:
+  br label %fimse.1
+
+fimse.1:
+  br label %laco.2
+
+laco.2:
+  br i1 false, label %corpo.2, label %fimlaco.2
+
+corpo.2:
+  br label %laco.2
+
+fimlaco.2:
+  %t.5 = load float, ptr %x.addr
+  %t.6 = fpext float %t.5 to double
+  call void @lv__rt_print_float(double %t.6)
+  ret i32 0
+}
@@ -0,0 +1,32 @@
+; ModuleID = 'test_cmd_print_expressions.lov'
+source_filename = "test_cmd_print_expressions.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %x.addr = alloca float
+  %b.addr = alloca i1
+  %t.1 = fptrunc double 5.0 to float
+  store float %t.1, ptr %x.addr
+  store i1 true, ptr %b.addr
+  call void @lv__rt_print_float(double 42.0)
+  %t.2 = load float, ptr %x.addr
+  %t.3 = fpext float %t.2 to double
+  call void @lv__rt_print_float(double %t.3)
+  %t.4 = load float, ptr %x.addr
+  %t.5 = fpext float %t.4 to double
+  %t.6 = fadd double %t.5, 1.0
+  call void @lv__rt_print_float(double %t.6)
+  %t.7 = load float, ptr %x.addr
+  %t.8 = fpext float %t.7 to double
+  %t.9 = fcmp ogt double %t.8, 3.0
+  %t.10 = zext i1 %t.9 to i32
+  call void @lv__rt_print_int(i32 %t.10)
+  %t.11 = load i1, ptr %b.addr
+  %t.12 = zext i1 %t.11 to i32
+  call void @lv__rt_print_int(i32 %t.12)
+  ret i32 0
+}
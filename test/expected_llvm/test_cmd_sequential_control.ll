@@ -0,0 +1,81 @@
+; ModuleID = 'test_cmd_sequential_control.lov'
+source_filename = "test_cmd_sequential_control.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %x.addr = alloca float
+  %y.addr = alloca float
+  %t.1 = fptrunc double 5.0 to float
+  store float %t.1, ptr %x.addr
+  %t.2 = fptrunc double 10.0 to float
+  store float %t.2, ptr %y.addr
+  %t.3 = load float, ptr %x.addr
+  %t.4 = fpext float %t.3 to double
+  %t.5 = fcmp ogt double %t.4, 0.0
+  br i1 %t.5, label %se.1, label %fimse.1
+
+se.1:
+  %t.6 = load float, ptr %x.addr
+  %t.7 = fpext float %t.6 to double
+  call void @lv__rt_print_float(double %t.7)
+  br label %fimse.1
+
+fimse.1:
+  %t.8 = load float, ptr %y.addr
+  %t.9 = fpext float %t.8 to double
+  %t.10 = fcmp ogt double %t.9, 0.0
+  br i1 %t.10, label %se.2, label %fimse.2
+
+se.2:
+  %t.11 = load float, ptr %y.addr
+  %t.12 = fpext float %t.11 to double
+  call void @lv__rt_print_float(double %t.12)
+  br label %fimse.2
+
+fimse.2:
+  br label %laco.3
+
+laco.3:
+  %t.13 = load float, ptr %x.addr
+  %t.14 = fpext float %t.13 to double
+  %t.15 = fcmp ogt double %t.14, 0.0
+  br i1 %t.15, label %corpo.3, label %fimlaco.3
+
+corpo.3:
+  %t.16 = load float, ptr %x.addr
+  %t.17 = fpext float %t.16 to double
+  %t.18 = fsub double %t.17, 1.0
+  %t.19 = fptrunc double %t.18 to float
+  store float %t.19, ptr %x.addr
+  br label %laco.3
+
+fimlaco.3:
+  br label %laco.4
+
+laco.4:
+  %t.20 = load float, ptr %y.addr
+  %t.21 = fpext float %t.20 to double
+  %t.22 = fcmp ogt double %t.21, 5.0
+  br i1 %t.22, label %corpo.4, label %fimlaco.4
+
+corpo.4:
+  %t.23 = load float, ptr %y.addr
+  %t.24 = fpext float %t.23 to double
+  %t.25 = fsub double %t.24, 1.0
+  %t.26 = fptrunc double %t.25 to float
+  store float %t.26, ptr %y.addr
+  br label %laco.4
+
+fimlaco.4:
+  %t.27 = load float, ptr %x.addr
+  %t.28 = fpext float %t.27 to double
+  call void @lv__rt_print_float(double %t.28)
+  %t.29 = load float, ptr %y.addr
+  %t.30 = fpext float %t.29 to double
+  call void @lv__rt_print_float(double %t.30)
+  ret i32 0
+}
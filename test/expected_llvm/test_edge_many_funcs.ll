@@ -0,0 +1,86 @@
+; ModuleID = 'test_edge_many_funcs.lov'
+source_filename = "test_edge_many_funcs.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define float @f1(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fadd double %t.2, 1.0
+  %t.4 = fptrunc double %t.3 to float
+  ret float %t.4
+}
+
+define float @f2(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fadd double %t.2, 2.0
+  %t.4 = fptrunc double %t.3 to float
+  ret float %t.4
+}
+
+define float @f3(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fadd double %t.2, 3.0
+  %t.4 = fptrunc double %t.3 to float
+  ret float %t.4
+}
+
+define float @f4(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fadd double %t.2, 4.0
+  %t.4 = fptrunc double %t.3 to float
+  ret float %t.4
+}
+
+define void @mostrar(float %v) {
+entrada.0:
+  %v.addr = alloca float
+  store float %v, ptr %v.addr
+  %t.1 = load float, ptr %v.addr
+  %t.2 = fpext float %t.1 to double
+  call void @lv__rt_print_float(double %t.2)
+  ret void
+}
+
+define i32 @main() {
+entrada.0:
+  %r.addr = alloca float
+  %t.1 = fptrunc double 0.0 to float
+  %t.2 = call float @f1(float %t.1)
+  store float %t.2, ptr %r.addr
+  %t.3 = load float, ptr %r.addr
+  call void @mostrar(float %t.3)
+  %t.4 = fptrunc double 0.0 to float
+  %t.5 = call float @f2(float %t.4)
+  store float %t.5, ptr %r.addr
+  %t.6 = load float, ptr %r.addr
+  call void @mostrar(float %t.6)
+  %t.7 = fptrunc double 0.0 to float
+  %t.8 = call float @f3(float %t.7)
+  store float %t.8, ptr %r.addr
+  %t.9 = load float, ptr %r.addr
+  call void @mostrar(float %t.9)
+  %t.10 = fptrunc double 0.0 to float
+  %t.11 = call float @f4(float %t.10)
+  store float %t.11, ptr %r.addr
+  %t.12 = load float, ptr %r.addr
+  call void @mostrar(float %t.12)
+  ret i32 0
+}
@@ -0,0 +1,14 @@
+; ModuleID = 'test_edge_only_decls.lov'
+source_filename = "test_edge_only_decls.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %x.addr = alloca float
+  %y.addr = alloca float
+  %flag.addr = alloca i1
+  ret i32 0
+}
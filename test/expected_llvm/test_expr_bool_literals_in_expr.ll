@@ -0,0 +1,37 @@
+; ModuleID = 'test_expr_bool_literals_in_expr.lov'
+source_filename = "test_expr_bool_literals_in_expr.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %a.addr = alloca i1
+  %b.addr = alloca i1
+  store i1 true, ptr %a.addr
+  store i1 false, ptr %b.addr
+  br i1 true, label %se.1, label %fimse.1
+
+se.1:
+  call void @lv__rt_print_float(double 1.0)
+  br label %fimse.1
+
+fimse.1:
+  %t.1 = load i1, ptr %a.addr
+  %t.2 = icmp eq i1 %t.1, true
+  br i1 %t.2, label %se.2, label %fimse.2
+
+se.2:
+  call void @lv__rt_print_float(double 2.0)
+  br label %fimse.2
+
+fimse.2:
+  %t.3 = load i1, ptr %a.addr
+  %t.4 = zext i1 %t.3 to i32
+  call void @lv__rt_print_int(i32 %t.4)
+  %t.5 = load i1, ptr %b.addr
+  %t.6 = zext i1 %t.5 to i32
+  call void @lv__rt_print_int(i32 %t.6)
+  ret i32 0
+}
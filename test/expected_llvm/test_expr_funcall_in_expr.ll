@@ -0,0 +1,60 @@
+; ModuleID = 'test_expr_funcall_in_expr.lov'
+source_filename = "test_expr_funcall_in_expr.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define float @dobro(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fmul double %t.2, 2.0
+  %t.4 = fptrunc double %t.3 to float
+  ret float %t.4
+}
+
+define float @soma(float %a, float %b) {
+entrada.0:
+  %a.addr = alloca float
+  %b.addr = alloca float
+  store float %a, ptr %a.addr
+  store float %b, ptr %b.addr
+  %t.1 = load float, ptr %a.addr
+  %t.2 = load float, ptr %b.addr
+  %t.3 = fadd float %t.1, %t.2
+  ret float %t.3
+}
+
+define i32 @main() {
+entrada.0:
+  %r.addr = alloca float
+  %t.1 = fptrunc double 3.0 to float
+  %t.2 = call float @dobro(float %t.1)
+  %t.3 = fpext float %t.2 to double
+  %t.4 = fadd double %t.3, 1.0
+  %t.5 = fptrunc double %t.4 to float
+  store float %t.5, ptr %r.addr
+  %t.6 = load float, ptr %r.addr
+  %t.7 = fpext float %t.6 to double
+  call void @lv__rt_print_float(double %t.7)
+  %t.8 = fptrunc double 2.0 to float
+  %t.9 = call float @dobro(float %t.8)
+  %t.10 = fptrunc double 5.0 to float
+  %t.11 = call float @soma(float %t.9, float %t.10)
+  store float %t.11, ptr %r.addr
+  %t.12 = load float, ptr %r.addr
+  %t.13 = fpext float %t.12 to double
+  call void @lv__rt_print_float(double %t.13)
+  %t.14 = fptrunc double 1.0 to float
+  %t.15 = fptrunc double 2.0 to float
+  %t.16 = call float @soma(float %t.14, float %t.15)
+  %t.17 = call float @dobro(float %t.16)
+  store float %t.17, ptr %r.addr
+  %t.18 = load float, ptr %r.addr
+  %t.19 = fpext float %t.18 to double
+  call void @lv__rt_print_float(double %t.19)
+  ret i32 0
+}
@@ -0,0 +1,29 @@
+; ModuleID = 'test_expr_nested_parens.lov'
+source_filename = "test_expr_nested_parens.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %r.addr = alloca float
+  %t.1 = fadd double 1.0, 2.0
+  %t.2 = fsub double 3.0, 1.0
+  %t.3 = fmul double %t.1, %t.2
+  %t.4 = fptrunc double %t.3 to float
+  store float %t.4, ptr %r.addr
+  %t.5 = load float, ptr %r.addr
+  %t.6 = fpext float %t.5 to double
+  call void @lv__rt_print_float(double %t.6)
+  %t.7 = fadd double 4.0, 1.0
+  %t.8 = fmul double %t.7, 2.0
+  %t.9 = fadd double 1.0, 1.0
+  %t.10 = fdiv double %t.8, %t.9
+  %t.11 = fptrunc double %t.10 to float
+  store float %t.11, ptr %r.addr
+  %t.12 = load float, ptr %r.addr
+  %t.13 = fpext float %t.12 to double
+  call void @lv__rt_print_float(double %t.13)
+  ret i32 0
+}
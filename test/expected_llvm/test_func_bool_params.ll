@@ -0,0 +1,36 @@
+; ModuleID = 'test_func_bool_params.lov'
+source_filename = "test_func_bool_params.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i1 @negar(i1 %v) {
+entrada.0:
+  %v.addr = alloca i1
+  store i1 %v, ptr %v.addr
+  %t.1 = load i1, ptr %v.addr
+  br i1 %t.1, label %se.1, label %fimse.1
+
+se.1:
+  ret i1 false
+
+fimse.1:
+  ret i1 true
+}
+
+define i32 @main() {
+entrada.0:
+  %r.addr = alloca i1
+  %t.1 = call i1 @negar(i1 true)
+  store i1 %t.1, ptr %r.addr
+  %t.2 = load i1, ptr %r.addr
+  %t.3 = zext i1 %t.2 to i32
+  call void @lv__rt_print_int(i32 %t.3)
+  %t.4 = call i1 @negar(i1 false)
+  store i1 %t.4, ptr %r.addr
+  %t.5 = load i1, ptr %r.addr
+  %t.6 = zext i1 %t.5 to i32
+  call void @lv__rt_print_int(i32 %t.6)
+  ret i32 0
+}
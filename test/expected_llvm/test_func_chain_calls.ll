@@ -0,0 +1,59 @@
+; ModuleID = 'test_func_chain_calls.lov'
+source_filename = "test_func_chain_calls.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define float @dobro(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fmul double %t.2, 2.0
+  %t.4 = fptrunc double %t.3 to float
+  ret float %t.4
+}
+
+define float @quadruplo(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = call float @dobro(float %t.1)
+  %t.3 = call float @dobro(float %t.2)
+  ret float %t.3
+}
+
+define float @somaEDobra(float %a, float %b) {
+entrada.0:
+  %a.addr = alloca float
+  %b.addr = alloca float
+  store float %a, ptr %a.addr
+  store float %b, ptr %b.addr
+  %t.1 = load float, ptr %a.addr
+  %t.2 = load float, ptr %b.addr
+  %t.3 = fadd float %t.1, %t.2
+  %t.4 = call float @dobro(float %t.3)
+  ret float %t.4
+}
+
+define i32 @main() {
+entrada.0:
+  %r.addr = alloca float
+  %t.1 = fptrunc double 3.0 to float
+  %t.2 = call float @quadruplo(float %t.1)
+  store float %t.2, ptr %r.addr
+  %t.3 = load float, ptr %r.addr
+  %t.4 = fpext float %t.3 to double
+  call void @lv__rt_print_float(double %t.4)
+  %t.5 = fptrunc double 2.0 to float
+  %t.6 = fptrunc double 3.0 to float
+  %t.7 = call float @somaEDobra(float %t.5, float %t.6)
+  store float %t.7, ptr %r.addr
+  %t.8 = load float, ptr %r.addr
+  %t.9 = fpext float %t.8 to double
+  call void @lv__rt_print_float(double %t.9)
+  ret i32 0
+}
@@ -0,0 +1,216 @@
+; ModuleID = 'test_func_const_args.lov'
+source_filename = "test_func_const_args.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define float @soma3(float %a, float %b, float %c) {
+entrada.0:
+  %a.addr = alloca float
+  %b.addr = alloca float
+  %c.addr = alloca float
+  store float %a, ptr %a.addr
+  store float %b, ptr %b.addr
+  store float %c, ptr %c.addr
+  %t.1 = load float, ptr %a.addr
+  %t.2 = load float, ptr %b.addr
+  %t.3 = fadd float %t.1, %t.2
+  %t.4 = load float, ptr %c.addr
+  %t.5 = fadd float %t.3, %t.4
+  ret float %t.5
+}
+
+define float @potencia(float %base, float %n) {
+entrada.0:
+  %base.addr = alloca float
+  %n.addr = alloca float
+  store float %base, ptr %base.addr
+  store float %n, ptr %n.addr
+  %t.1 = load float, ptr %n.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fcmp olt double %t.2, 1.0
+  br i1 %t.3, label %se.1, label %fimse.1
+
+se.1:
+  %t.4 = fptrunc double 1.0 to float
+  ret float %t.4
+
+fimse.1:
+  %t.5 = load float, ptr %base.addr
+  %t.6 = load float, ptr %base.addr
+  %t.7 = load float, ptr %n.addr
+  %t.8 = fpext float %t.7 to double
+  %t.9 = fsub double %t.8, 1.0
+  %t.10 = fptrunc double %t.9 to float
+  %t.11 = call float @potencia(float %t.6, float %t.10)
+  %t.12 = fmul float %t.5, %t.11
+  ret float %t.12
+}
+
+define void @mostra(float %v, float %modo) {
+entrada.0:
+  %v.addr = alloca float
+  %modo.addr = alloca float
+  store float %v, ptr %v.addr
+  store float %modo, ptr %modo.addr
+  %t.1 = load float, ptr %modo.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fcmp ogt double %t.2, 1.0
+  br i1 %t.3, label %se.1, label %fimse.1
+
+se.1:
+  %t.4 = load float, ptr %v.addr
+  %t.5 = fpext float %t.4 to double
+  %t.6 = fmul double %t.5, 10.0
+  call void @lv__rt_print_float(double %t.6)
+  br label %fimse.1
+
+fimse.1:
+  %t.7 = load float, ptr %modo.addr
+  %t.8 = fpext float %t.7 to double
+  %t.9 = fcmp olt double %t.8, 2.0
+  br i1 %t.9, label %se.2, label %fimse.2
+
+se.2:
+  %t.10 = load float, ptr %v.addr
+  %t.11 = fpext float %t.10 to double
+  call void @lv__rt_print_float(double %t.11)
+  br label %fimse.2
+
+fimse.2:
+  ret void
+}
+
+define float @limite(float %v, float %teto) {
+entrada.0:
+  %v.addr = alloca float
+  %teto.addr = alloca float
+  store float %v, ptr %v.addr
+  store float %teto, ptr %teto.addr
+  %t.1 = load float, ptr %v.addr
+  %t.2 = load float, ptr %teto.addr
+  %t.3 = fcmp ogt float %t.1, %t.2
+  br i1 %t.3, label %se.1, label %fimse.1
+
+se.1:
+  %t.4 = load float, ptr %teto.addr
+  ret float %t.4
+
+fimse.1:
+  %t.5 = load float, ptr %v.addr
+  ret float %t.5
+}
+
+define float @escala(float %v, i1 %dobra) {
+entrada.0:
+  %v.addr = alloca float
+  %dobra.addr = alloca i1
+  store float %v, ptr %v.addr
+  store i1 %dobra, ptr %dobra.addr
+  %t.1 = load i1, ptr %dobra.addr
+  br i1 %t.1, label %se.1, label %fimse.1
+
+se.1:
+  %t.2 = load float, ptr %v.addr
+  %t.3 = fpext float %t.2 to double
+  %t.4 = fmul double %t.3, 2.0
+  %t.5 = fptrunc double %t.4 to float
+  ret float %t.5
+
+fimse.1:
+  %t.6 = load float, ptr %v.addr
+  ret float %t.6
+}
+
+define i32 @main() {
+entrada.0:
+  %x.addr = alloca float
+  %i.addr = alloca float
+  %grande.addr = alloca i1
+  %t.1 = fptrunc double 2.0 to float
+  %t.2 = fptrunc double 3.0 to float
+  %t.3 = fptrunc double 4.0 to float
+  %t.4 = call float @soma3(float %t.1, float %t.2, float %t.3)
+  store float %t.4, ptr %x.addr
+  %t.5 = load float, ptr %x.addr
+  %t.6 = fpext float %t.5 to double
+  call void @lv__rt_print_float(double %t.6)
+  %t.7 = load float, ptr %x.addr
+  %t.8 = fptrunc double 0x3FE0000000000000 to float
+  %t.9 = fptrunc double 0x3FD0000000000000 to float
+  %t.10 = call float @soma3(float %t.8, float %t.9, float %t.7)
+  %t.11 = fpext float %t.10 to double
+  call void @lv__rt_print_float(double %t.11)
+  %t.12 = fptrunc double 0x3FF8000000000000 to float
+  %t.13 = fptrunc double 3.0 to float
+  %t.14 = call float @potencia(float %t.12, float %t.13)
+  %t.15 = fpext float %t.14 to double
+  call void @lv__rt_print_float(double %t.15)
+  %t.16 = fptrunc double 0.0 to float
+  store float %t.16, ptr %i.addr
+  br label %laco.1
+
+laco.1:
+  %t.17 = load float, ptr %i.addr
+  %t.18 = fpext float %t.17 to double
+  %t.19 = fcmp olt double %t.18, 3.0
+  br i1 %t.19, label %corpo.1, label %fimlaco.1
+
+corpo.1:
+  %t.20 = load float, ptr %i.addr
+  %t.21 = fptrunc double 1.0 to float
+  call void @mostra(float %t.20, float %t.21)
+  %t.22 = load float, ptr %i.addr
+  %t.23 = fpext float %t.22 to double
+  %t.24 = fadd double %t.23, 0x3FE0000000000000
+  %t.25 = fptrunc double %t.24 to float
+  %t.26 = fptrunc double 1.0 to float
+  call void @mostra(float %t.25, float %t.26)
+  %t.27 = load float, ptr %i.addr
+  %t.28 = fptrunc double 2.0 to float
+  call void @mostra(float %t.27, float %t.28)
+  %t.29 = load float, ptr %i.addr
+  %t.30 = fpext float %t.29 to double
+  %t.31 = fmul double %t.30, 2.0
+  %t.32 = fptrunc double %t.31 to float
+  %t.33 = fptrunc double 2.0 to float
+  call void @mostra(float %t.32, float %t.33)
+  %t.34 = load float, ptr %x.addr
+  %t.35 = load float, ptr %i.addr
+  %t.36 = fmul float %t.34, %t.35
+  %t.37 = fptrunc double 20.0 to float
+  %t.38 = call float @limite(float %t.36, float %t.37)
+  %t.39 = fpext float %t.38 to double
+  call void @lv__rt_print_float(double %t.39)
+  %t.40 = load float, ptr %i.addr
+  %t.41 = fpext float %t.40 to double
+  %t.42 = fadd double %t.41, 1.0
+  %t.43 = fptrunc double %t.42 to float
+  store float %t.43, ptr %i.addr
+  br label %laco.1
+
+fimlaco.1:
+  %t.44 = load float, ptr %x.addr
+  %t.45 = fptrunc double 20.0 to float
+  %t.46 = call float @limite(float %t.44, float %t.45)
+  %t.47 = fpext float %t.46 to double
+  call void @lv__rt_print_float(double %t.47)
+  %t.48 = load float, ptr %x.addr
+  %t.49 = call float @escala(float %t.48, i1 true)
+  %t.50 = fpext float %t.49 to double
+  call void @lv__rt_print_float(double %t.50)
+  %t.51 = load float, ptr %x.addr
+  %t.52 = call float @escala(float %t.51, i1 false)
+  %t.53 = fpext float %t.52 to double
+  call void @lv__rt_print_float(double %t.53)
+  %t.54 = fptrunc double 1.0 to float
+  %t.55 = call float @escala(float %t.54, i1 true)
+  %t.56 = fpext float %t.55 to double
+  %t.57 = fcmp ogt double %t.56, 0x3FF8000000000000
+  store i1 %t.57, ptr %grande.addr
+  %t.58 = load i1, ptr %grande.addr
+  %t.59 = zext i1 %t.58 to i32
+  call void @lv__rt_print_int(i32 %t.59)
+  ret i32 0
+}
@@ -0,0 +1,46 @@
+; ModuleID = 'test_func_mixed_params.lov'
+source_filename = "test_func_mixed_params.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define float @escolher(i1 %cond, float %a, float %b) {
+entrada.0:
+  %cond.addr = alloca i1
+  %a.addr = alloca float
+  %b.addr = alloca float
+  store i1 %cond, ptr %cond.addr
+  store float %a, ptr %a.addr
+  store float %b, ptr %b.addr
+  %t.1 = load i1, ptr %cond.addr
+  br i1 %t.1, label %se.1, label %fimse.1
+
+se.1:
+  %t.2 = load float, ptr %a.addr
+  ret float %t.2
+
+fimse.1:
+  %t.3 = load float, ptr %b.addr
+  ret float %t.3
+}
+
+define i32 @main() {
+entrada.0:
+  %r.addr = alloca float
+  %t.1 = fptrunc double 10.0 to float
+  %t.2 = fptrunc double 20.0 to float
+  %t.3 = call float @escolher(i1 true, float %t.1, float %t.2)
+  store float %t.3, ptr %r.addr
+  %t.4 = load float, ptr %r.addr
+  %t.5 = fpext float %t.4 to double
+  call void @lv__rt_print_float(double %t.5)
+  %t.6 = fptrunc double 10.0 to float
+  %t.7 = fptrunc double 20.0 to float
+  %t.8 = call float @escolher(i1 false, float %t.6, float %t.7)
+  store float %t.8, ptr %r.addr
+  %t.9 = load float, ptr %r.addr
+  %t.10 = fpext float %t.9 to double
+  call void @lv__rt_print_float(double %t.10)
+  ret i32 0
+}
@@ -0,0 +1,43 @@
+; ModuleID = 'test_func_no_params_expr.lov'
+source_filename = "test_func_no_params_expr.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define float @pi() {
+entrada.0:
+  %t.1 = fptrunc double 0x40091EB851EB851F to float
+  ret float %t.1
+}
+
+define float @zero() {
+entrada.0:
+  %t.1 = fptrunc double 0.0 to float
+  ret float %t.1
+}
+
+define i32 @main() {
+entrada.0:
+  %r.addr = alloca float
+  %t.1 = call float @pi()
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fadd double %t.2, 1.0
+  %t.4 = fptrunc double %t.3 to float
+  store float %t.4, ptr %r.addr
+  %t.5 = load float, ptr %r.addr
+  %t.6 = fpext float %t.5 to double
+  call void @lv__rt_print_float(double %t.6)
+  %t.7 = call float @pi()
+  %t.8 = fpext float %t.7 to double
+  %t.9 = fmul double %t.8, 2.0
+  %t.10 = fptrunc double %t.9 to float
+  store float %t.10, ptr %r.addr
+  %t.11 = load float, ptr %r.addr
+  %t.12 = fpext float %t.11 to double
+  call void @lv__rt_print_float(double %t.12)
+  %t.13 = call float @zero()
+  %t.14 = fpext float %t.13 to double
+  call void @lv__rt_print_float(double %t.14)
+  ret i32 0
+}
@@ -0,0 +1,146 @@
+; ModuleID = 'test_func_recursion.lov'
+source_filename = "test_func_recursion.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define float @fib(float %n) {
+entrada.0:
+  %n.addr = alloca float
+  store float %n, ptr %n.addr
+  %t.1 = load float, ptr %n.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fcmp olt double %t.2, 2.0
+  br i1 %t.3, label %se.1, label %fimse.1
+
+se.1:
+  %t.4 = load float, ptr %n.addr
+  ret float %t.4
+
+fimse.1:
+  %t.5 = load float, ptr %n.addr
+  %t.6 = fpext float %t.5 to double
+  %t.7 = fsub double %t.6, 1.0
+  %t.8 = fptrunc double %t.7 to float
+  %t.9 = call float @fib(float %t.8)
+  %t.10 = load float, ptr %n.addr
+  %t.11 = fpext float %t.10 to double
+  %t.12 = fsub double %t.11, 2.0
+  %t.13 = fptrunc double %t.12 to float
+  %t.14 = call float @fib(float %t.13)
+  %t.15 = fadd float %t.9, %t.14
+  ret float %t.15
+}
+
+define i1 @par(float %n) {
+entrada.0:
+  %n.addr = alloca float
+  store float %n, ptr %n.addr
+  %t.1 = load float, ptr %n.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fcmp oeq double %t.2, 0.0
+  br i1 %t.3, label %se.1, label %fimse.1
+
+se.1:
+  ret i1 true
+
+fimse.1:
+  %t.4 = load float, ptr %n.addr
+  %t.5 = fpext float %t.4 to double
+  %t.6 = fsub double %t.5, 1.0
+  %t.7 = fptrunc double %t.6 to float
+  %t.8 = call i1 @impar(float %t.7)
+  ret i1 %t.8
+}
+
+define i1 @impar(float %n) {
+entrada.0:
+  %n.addr = alloca float
+  store float %n, ptr %n.addr
+  %t.1 = load float, ptr %n.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fcmp oeq double %t.2, 0.0
+  br i1 %t.3, label %se.1, label %fimse.1
+
+se.1:
+  ret i1 false
+
+fimse.1:
+  %t.4 = load float, ptr %n.addr
+  %t.5 = fpext float %t.4 to double
+  %t.6 = fsub double %t.5, 1.0
+  %t.7 = fptrunc double %t.6 to float
+  %t.8 = call i1 @par(float %t.7)
+  ret i1 %t.8
+}
+
+define float @conta(float %n) {
+entrada.0:
+  %n.addr = alloca float
+  store float %n, ptr %n.addr
+  %t.1 = load float, ptr %n.addr
+  %t.2 = fpext float %t.1 to double
+  call void @lv__rt_print_float(double %t.2)
+  %t.3 = load float, ptr %n.addr
+  %t.4 = fpext float %t.3 to double
+  %t.5 = fcmp olt double %t.4, 1.0
+  br i1 %t.5, label %se.1, label %fimse.1
+
+se.1:
+  %t.6 = fptrunc double 0.0 to float
+  ret float %t.6
+
+fimse.1:
+  %t.7 = load float, ptr %n.addr
+  %t.8 = fpext float %t.7 to double
+  %t.9 = fsub double %t.8, 1.0
+  %t.10 = fptrunc double %t.9 to float
+  %t.11 = call float @conta(float %t.10)
+  %t.12 = fpext float %t.11 to double
+  %t.13 = fadd double 1.0, %t.12
+  %t.14 = fptrunc double %t.13 to float
+  ret float %t.14
+}
+
+define float @dobro(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fmul double %t.2, 2.0
+  %t.4 = fptrunc double %t.3 to float
+  ret float %t.4
+}
+
+define i32 @main() {
+entrada.0:
+  %x.addr = alloca float
+  %p.addr = alloca i1
+  %t.1 = fptrunc double 20.0 to float
+  %t.2 = call float @fib(float %t.1)
+  store float %t.2, ptr %x.addr
+  %t.3 = load float, ptr %x.addr
+  %t.4 = fpext float %t.3 to double
+  call void @lv__rt_print_float(double %t.4)
+  %t.5 = fptrunc double 7.0 to float
+  %t.6 = call i1 @par(float %t.5)
+  store i1 %t.6, ptr %p.addr
+  %t.7 = load i1, ptr %p.addr
+  %t.8 = zext i1 %t.7 to i32
+  call void @lv__rt_print_int(i32 %t.8)
+  %t.9 = fptrunc double 3.0 to float
+  %t.10 = call float @conta(float %t.9)
+  store float %t.10, ptr %x.addr
+  %t.11 = load float, ptr %x.addr
+  %t.12 = fpext float %t.11 to double
+  call void @lv__rt_print_float(double %t.12)
+  %t.13 = load float, ptr %x.addr
+  %t.14 = call float @dobro(float %t.13)
+  store float %t.14, ptr %x.addr
+  %t.15 = load float, ptr %x.addr
+  %t.16 = fpext float %t.15 to double
+  call void @lv__rt_print_float(double %t.16)
+  ret i32 0
+}
@@ -0,0 +1,22 @@
+; ModuleID = 'test_id_mixed_case.lov'
+source_filename = "test_id_mixed_case.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %myVar.addr = alloca float
+  %isReady.addr = alloca i1
+  %t.1 = fptrunc double 42.0 to float
+  store float %t.1, ptr %myVar.addr
+  store i1 true, ptr %isReady.addr
+  %t.2 = load float, ptr %myVar.addr
+  %t.3 = fpext float %t.2 to double
+  call void @lv__rt_print_float(double %t.3)
+  %t.4 = load i1, ptr %isReady.addr
+  %t.5 = zext i1 %t.4 to i32
+  call void @lv__rt_print_int(i32 %t.5)
+  ret i32 0
+}
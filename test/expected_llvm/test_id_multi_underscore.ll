@@ -0,0 +1,23 @@
+; ModuleID = 'test_id_multi_underscore.lov'
+source_filename = "test_id_multi_underscore.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %a_b_c.addr = alloca float
+  %long_variable_name_1.addr = alloca float
+  %t.1 = fptrunc double 1.0 to float
+  store float %t.1, ptr %a_b_c.addr
+  %t.2 = fptrunc double 2.0 to float
+  store float %t.2, ptr %long_variable_name_1.addr
+  %t.3 = load float, ptr %a_b_c.addr
+  %t.4 = fpext float %t.3 to double
+  call void @lv__rt_print_float(double %t.4)
+  %t.5 = load float, ptr %long_variable_name_1.addr
+  %t.6 = fpext float %t.5 to double
+  call void @lv__rt_print_float(double %t.6)
+  ret i32 0
+}
@@ -0,0 +1,170 @@
+; ModuleID = 'test_loop_reduction.lov'
+source_filename = "test_loop_reduction.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define float @quadrado(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = load float, ptr %x.addr
+  %t.3 = fmul float %t.1, %t.2
+  ret float %t.3
+}
+
+define float @mostra(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = fpext float %t.1 to double
+  call void @lv__rt_print_float(double %t.2)
+  %t.3 = load float, ptr %x.addr
+  ret float %t.3
+}
+
+define i32 @main() {
+entrada.0:
+  %i.addr = alloca float
+  %n.addr = alloca float
+  %soma.addr = alloca float
+  %prod.addr = alloca float
+  %quadrados.addr = alloca float
+  call void @lv__rt_read_float(ptr %n.addr)
+  %t.1 = fptrunc double 0.0 to float
+  store float %t.1, ptr %soma.addr
+  %t.2 = fptrunc double 0.0 to float
+  store float %t.2, ptr %quadrados.addr
+  %t.3 = fptrunc double 0.0 to float
+  store float %t.3, ptr %i.addr
+  br label %laco.1
+
+laco.1:
+  %t.4 = load float, ptr %i.addr
+  %t.5 = load float, ptr %n.addr
+  %t.6 = fcmp olt float %t.4, %t.5
+  br i1 %t.6, label %corpo.1, label %fimlaco.1
+
+corpo.1:
+  %t.7 = load float, ptr %soma.addr
+  %t.8 = load float, ptr %i.addr
+  %t.9 = fadd float %t.7, %t.8
+  store float %t.9, ptr %soma.addr
+  %t.10 = load float, ptr %i.addr
+  %t.11 = call float @quadrado(float %t.10)
+  %t.12 = load float, ptr %quadrados.addr
+  %t.13 = fadd float %t.11, %t.12
+  store float %t.13, ptr %quadrados.addr
+  %t.14 = load float, ptr %i.addr
+  %t.15 = fpext float %t.14 to double
+  %t.16 = fadd double %t.15, 1.0
+  %t.17 = fptrunc double %t.16 to float
+  store float %t.17, ptr %i.addr
+  br label %laco.1
+
+fimlaco.1:
+  %t.18 = load float, ptr %soma.addr
+  %t.19 = fpext float %t.18 to double
+  call void @lv__rt_print_float(double %t.19)
+  %t.20 = load float, ptr %quadrados.addr
+  %t.21 = fpext float %t.20 to double
+  call void @lv__rt_print_float(double %t.21)
+  %t.22 = load float, ptr %i.addr
+  %t.23 = fpext float %t.22 to double
+  call void @lv__rt_print_float(double %t.23)
+  %t.24 = fptrunc double 1.0 to float
+  store float %t.24, ptr %prod.addr
+  %t.25 = fptrunc double 1.0 to float
+  store float %t.25, ptr %i.addr
+  br label %laco.2
+
+laco.2:
+  %t.26 = load float, ptr %i.addr
+  %t.27 = fpext float %t.26 to double
+  %t.28 = fcmp ogt double 11.0, %t.27
+  br i1 %t.28, label %corpo.2, label %fimlaco.2
+
+corpo.2:
+  %t.29 = load float, ptr %prod.addr
+  %t.30 = load float, ptr %i.addr
+  %t.31 = fpext float %t.30 to double
+  %t.32 = fadd double %t.31, 1.0
+  %t.33 = fpext float %t.29 to double
+  %t.34 = fmul double %t.33, %t.32
+  %t.35 = fptrunc double %t.34 to float
+  store float %t.35, ptr %prod.addr
+  %t.36 = load float, ptr %i.addr
+  %t.37 = fpext float %t.36 to double
+  %t.38 = fadd double %t.37, 2.0
+  %t.39 = fptrunc double %t.38 to float
+  store float %t.39, ptr %i.addr
+  br label %laco.2
+
+fimlaco.2:
+  %t.40 = load float, ptr %prod.addr
+  %t.41 = fpext float %t.40 to double
+  call void @lv__rt_print_float(double %t.41)
+  %t.42 = load float, ptr %i.addr
+  %t.43 = fpext float %t.42 to double
+  call void @lv__rt_print_float(double %t.43)
+  %t.44 = fptrunc double 0x3FE0000000000000 to float
+  store float %t.44, ptr %i.addr
+  %t.45 = fptrunc double 0.0 to float
+  store float %t.45, ptr %soma.addr
+  br label %laco.3
+
+laco.3:
+  %t.46 = load float, ptr %i.addr
+  %t.47 = fpext float %t.46 to double
+  %t.48 = fcmp olt double %t.47, 10.0
+  br i1 %t.48, label %corpo.3, label %fimlaco.3
+
+corpo.3:
+  %t.49 = load float, ptr %soma.addr
+  %t.50 = load float, ptr %i.addr
+  %t.51 = call float @quadrado(float %t.50)
+  %t.52 = fadd float %t.49, %t.51
+  store float %t.52, ptr %soma.addr
+  %t.53 = load float, ptr %i.addr
+  %t.54 = fpext float %t.53 to double
+  %t.55 = fadd double %t.54, 1.0
+  %t.56 = fptrunc double %t.55 to float
+  store float %t.56, ptr %i.addr
+  br label %laco.3
+
+fimlaco.3:
+  %t.57 = load float, ptr %soma.addr
+  %t.58 = fpext float %t.57 to double
+  call void @lv__rt_print_float(double %t.58)
+  %t.59 = fptrunc double 0.0 to float
+  store float %t.59, ptr %i.addr
+  br label %laco.4
+
+laco.4:
+  %t.60 = load float, ptr %i.addr
+  %t.61 = fpext float %t.60 to double
+  %t.62 = fcmp olt double %t.61, 3.0
+  br i1 %t.62, label %corpo.4, label %fimlaco.4
+
+corpo.4:
+  %t.63 = load float, ptr %soma.addr
+  %t.64 = load float, ptr %i.addr
+  %t.65 = call float @mostra(float %t.64)
+  %t.66 = fadd float %t.63, %t.65
+  store float %t.66, ptr %soma.addr
+  %t.67 = load float, ptr %i.addr
+  %t.68 = fpext float %t.67 to double
+  %t.69 = fadd double %t.68, 1.0
+  %t.70 = fptrunc double %t.69 to float
+  store float %t.70, ptr %i.addr
+  br label %laco.4
+
+fimlaco.4:
+  %t.71 = load float, ptr %soma.addr
+  %t.72 = fpext float %t.71 to double
+  call void @lv__rt_print_float(double %t.72)
+  ret i32 0
+}
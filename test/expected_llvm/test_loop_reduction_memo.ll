@@ -0,0 +1,150 @@
+; ModuleID = 'test_loop_reduction_memo.lov'
+source_filename = "test_loop_reduction_memo.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define float @fib(float %n) {
+entrada.0:
+  %n.addr = alloca float
+  store float %n, ptr %n.addr
+  %t.1 = load float, ptr %n.addr
+  %t.2 = fpext float %t.1 to double
+  %t.3 = fcmp olt double %t.2, 2.0
+  br i1 %t.3, label %se.1, label %fimse.1
+
+se.1:
+  %t.4 = load float, ptr %n.addr
+  ret float %t.4
+
+fimse.1:
+  %t.5 = load float, ptr %n.addr
+  %t.6 = fpext float %t.5 to double
+  %t.7 = fsub double %t.6, 1.0
+  %t.8 = fptrunc double %t.7 to float
+  %t.9 = call float @fib(float %t.8)
+  %t.10 = load float, ptr %n.addr
+  %t.11 = fpext float %t.10 to double
+  %t.12 = fsub double %t.11, 2.0
+  %t.13 = fptrunc double %t.12 to float
+  %t.14 = call float @fib(float %t.13)
+  %t.15 = fadd float %t.9, %t.14
+  ret float %t.15
+}
+
+define float @g(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = call float @fib(float %t.1)
+  %t.3 = fpext float %t.2 to double
+  %t.4 = fadd double %t.3, 1.0
+  %t.5 = fptrunc double %t.4 to float
+  ret float %t.5
+}
+
+define float @dobro(float %x) {
+entrada.0:
+  %x.addr = alloca float
+  store float %x, ptr %x.addr
+  %t.1 = load float, ptr %x.addr
+  %t.2 = load float, ptr %x.addr
+  %t.3 = fadd float %t.1, %t.2
+  ret float %t.3
+}
+
+define i32 @main() {
+entrada.0:
+  %i.addr = alloca float
+  %soma.addr = alloca float
+  %t.1 = fptrunc double 0.0 to float
+  store float %t.1, ptr %soma.addr
+  %t.2 = fptrunc double 0.0 to float
+  store float %t.2, ptr %i.addr
+  br label %laco.1
+
+laco.1:
+  %t.3 = load float, ptr %i.addr
+  %t.4 = fpext float %t.3 to double
+  %t.5 = fcmp olt double %t.4, 20.0
+  br i1 %t.5, label %corpo.1, label %fimlaco.1
+
+corpo.1:
+  %t.6 = load float, ptr %soma.addr
+  %t.7 = load float, ptr %i.addr
+  %t.8 = call float @fib(float %t.7)
+  %t.9 = fadd float %t.6, %t.8
+  store float %t.9, ptr %soma.addr
+  %t.10 = load float, ptr %i.addr
+  %t.11 = fpext float %t.10 to double
+  %t.12 = fadd double %t.11, 1.0
+  %t.13 = fptrunc double %t.12 to float
+  store float %t.13, ptr %i.addr
+  br label %laco.1
+
+fimlaco.1:
+  %t.14 = load float, ptr %soma.addr
+  %t.15 = fpext float %t.14 to double
+  call void @lv__rt_print_float(double %t.15)
+  %t.16 = fptrunc double 0.0 to float
+  store float %t.16, ptr %soma.addr
+  %t.17 = fptrunc double 0.0 to float
+  store float %t.17, ptr %i.addr
+  br label %laco.2
+
+laco.2:
+  %t.18 = load float, ptr %i.addr
+  %t.19 = fpext float %t.18 to double
+  %t.20 = fcmp olt double %t.19, 20.0
+  br i1 %t.20, label %corpo.2, label %fimlaco.2
+
+corpo.2:
+  %t.21 = load float, ptr %soma.addr
+  %t.22 = load float, ptr %i.addr
+  %t.23 = call float @g(float %t.22)
+  %t.24 = fadd float %t.21, %t.23
+  store float %t.24, ptr %soma.addr
+  %t.25 = load float, ptr %i.addr
+  %t.26 = fpext float %t.25 to double
+  %t.27 = fadd double %t.26, 1.0
+  %t.28 = fptrunc double %t.27 to float
+  store float %t.28, ptr %i.addr
+  br label %laco.2
+
+fimlaco.2:
+  %t.29 = load float, ptr %soma.addr
+  %t.30 = fpext float %t.29 to double
+  call void @lv__rt_print_float(double %t.30)
+  %t.31 = fptrunc double 0.0 to float
+  store float %t.31, ptr %soma.addr
+  %t.32 = fptrunc double 0.0 to float
+  store float %t.32, ptr %i.addr
+  br label %laco.3
+
+laco.3:
+  %t.33 = load float, ptr %i.addr
+  %t.34 = fpext float %t.33 to double
+  %t.35 = fcmp olt double %t.34, 20.0
+  br i1 %t.35, label %corpo.3, label %fimlaco.3
+
+corpo.3:
+  %t.36 = load float, ptr %soma.addr
+  %t.37 = load float, ptr %i.addr
+  %t.38 = call float @dobro(float %t.37)
+  %t.39 = fadd float %t.36, %t.38
+  store float %t.39, ptr %soma.addr
+  %t.40 = load float, ptr %i.addr
+  %t.41 = fpext float %t.40 to double
+  %t.42 = fadd double %t.41, 1.0
+  %t.43 = fptrunc double %t.42 to float
+  store float %t.43, ptr %i.addr
+  br label %laco.3
+
+fimlaco.3:
+  %t.44 = load float, ptr %soma.addr
+  %t.45 = fpext float %t.44 to double
+  call void @lv__rt_print_float(double %t.45)
+  ret i32 0
+}
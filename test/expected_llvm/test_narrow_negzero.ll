@@ -0,0 +1,70 @@
+; ModuleID = 'test_narrow_negzero.lov'
+source_filename = "test_narrow_negzero.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %k.addr = alloca float
+  %y.addr = alloca float
+  %z.addr = alloca float
+  %w.addr = alloca float
+  %t.1 = fptrunc double 0.0 to float
+  store float %t.1, ptr %k.addr
+  br label %laco.1
+
+laco.1:
+  %t.2 = load float, ptr %k.addr
+  %t.3 = fpext float %t.2 to double
+  %t.4 = fcmp olt double %t.3, 3.0
+  br i1 %t.4, label %corpo.1, label %fimlaco.1
+
+corpo.1:
+  %t.5 = load float, ptr %k.addr
+  %t.6 = fsub double 0.0, 1.0
+  %t.7 = fpext float %t.5 to double
+  %t.8 = fmul double %t.7, %t.6
+  %t.9 = fptrunc double %t.8 to float
+  store float %t.9, ptr %y.addr
+  %t.10 = load float, ptr %y.addr
+  %t.11 = fpext float %t.10 to double
+  call void @lv__rt_print_float(double %t.11)
+  %t.12 = load float, ptr %y.addr
+  %t.13 = fpext float %t.12 to double
+  %t.14 = fdiv double 1.0, %t.13
+  call void @lv__rt_print_float(double %t.14)
+  %t.15 = load float, ptr %y.addr
+  %t.16 = fpext float %t.15 to double
+  %t.17 = fsub double %t.16, 0.0
+  %t.18 = fptrunc double %t.17 to float
+  store float %t.18, ptr %z.addr
+  %t.19 = load float, ptr %z.addr
+  %t.20 = fpext float %t.19 to double
+  %t.21 = fdiv double 1.0, %t.20
+  call void @lv__rt_print_float(double %t.21)
+  %t.22 = load float, ptr %y.addr
+  %t.23 = fpext float %t.22 to double
+  %t.24 = fadd double %t.23, 0.0
+  %t.25 = fptrunc double %t.24 to float
+  store float %t.25, ptr %w.addr
+  %t.26 = load float, ptr %w.addr
+  %t.27 = fpext float %t.26 to double
+  %t.28 = fdiv double 1.0, %t.27
+  call void @lv__rt_print_float(double %t.28)
+  %t.29 = load float, ptr %k.addr
+  %t.30 = fpext float %t.29 to double
+  %t.31 = fmul double %t.30, 2.0
+  %t.32 = fdiv double 1.0, %t.31
+  call void @lv__rt_print_float(double %t.32)
+  %t.33 = load float, ptr %k.addr
+  %t.34 = fpext float %t.33 to double
+  %t.35 = fadd double %t.34, 1.0
+  %t.36 = fptrunc double %t.35 to float
+  store float %t.36, ptr %k.addr
+  br label %laco.1
+
+fimlaco.1:
+  ret i32 0
+}
@@ -0,0 +1,29 @@
+; ModuleID = 'test_num_integer.lov'
+source_filename = "test_num_integer.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %a.addr = alloca float
+  %b.addr = alloca float
+  %c.addr = alloca float
+  %t.1 = fptrunc double 5.0 to float
+  store float %t.1, ptr %a.addr
+  %t.2 = fptrunc double 100.0 to float
+  store float %t.2, ptr %b.addr
+  %t.3 = fptrunc double 0.0 to float
+  store float %t.3, ptr %c.addr
+  %t.4 = load float, ptr %a.addr
+  %t.5 = fpext float %t.4 to double
+  call void @lv__rt_print_float(double %t.5)
+  %t.6 = load float, ptr %b.addr
+  %t.7 = fpext float %t.6 to double
+  call void @lv__rt_print_float(double %t.7)
+  %t.8 = load float, ptr %c.addr
+  %t.9 = fpext float %t.8 to double
+  call void @lv__rt_print_float(double %t.9)
+  ret i32 0
+}
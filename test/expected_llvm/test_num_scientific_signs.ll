@@ -0,0 +1,23 @@
+; ModuleID = 'test_num_scientific_signs.lov'
+source_filename = "test_num_scientific_signs.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %a.addr = alloca float
+  %b.addr = alloca float
+  %t.1 = fptrunc double 100000.0 to float
+  store float %t.1, ptr %a.addr
+  %t.2 = fptrunc double 0x3F647AE147AE147B to float
+  store float %t.2, ptr %b.addr
+  %t.3 = load float, ptr %a.addr
+  %t.4 = fpext float %t.3 to double
+  call void @lv__rt_print_float(double %t.4)
+  %t.5 = load float, ptr %b.addr
+  %t.6 = fpext float %t.5 to double
+  call void @lv__rt_print_float(double %t.6)
+  ret i32 0
+}
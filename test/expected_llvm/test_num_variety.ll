@@ -0,0 +1,35 @@
+; ModuleID = 'test_num_variety.lov'
+source_filename = "test_num_variety.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %a.addr = alloca float
+  %b.addr = alloca float
+  %c.addr = alloca float
+  %d.addr = alloca float
+  %t.1 = fptrunc double 42.0 to float
+  store float %t.1, ptr %a.addr
+  %t.2 = fptrunc double 0x40091EB851EB851F to float
+  store float %t.2, ptr %b.addr
+  %t.3 = fptrunc double 10000000000.0 to float
+  store float %t.3, ptr %c.addr
+  %t.4 = fptrunc double 0x3FA999999999999A to float
+  store float %t.4, ptr %d.addr
+  %t.5 = load float, ptr %a.addr
+  %t.6 = fpext float %t.5 to double
+  call void @lv__rt_print_float(double %t.6)
+  %t.7 = load float, ptr %b.addr
+  %t.8 = fpext float %t.7 to double
+  call void @lv__rt_print_float(double %t.8)
+  %t.9 = load float, ptr %c.addr
+  %t.10 = fpext float %t.9 to double
+  call void @lv__rt_print_float(double %t.10)
+  %t.11 = load float, ptr %d.addr
+  %t.12 = fpext float %t.11 to double
+  call void @lv__rt_print_float(double %t.12)
+  ret i32 0
+}
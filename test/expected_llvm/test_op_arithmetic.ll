@@ -0,0 +1,46 @@
+; ModuleID = 'test_op_arithmetic.lov'
+source_filename = "test_op_arithmetic.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %a.addr = alloca float
+  %b.addr = alloca float
+  %r.addr = alloca float
+  %t.1 = fptrunc double 10.0 to float
+  store float %t.1, ptr %a.addr
+  %t.2 = fptrunc double 3.0 to float
+  store float %t.2, ptr %b.addr
+  %t.3 = load float, ptr %a.addr
+  %t.4 = load float, ptr %b.addr
+  %t.5 = fadd float %t.3, %t.4
+  store float %t.5, ptr %r.addr
+  %t.6 = load float, ptr %r.addr
+  %t.7 = fpext float %t.6 to double
+  call void @lv__rt_print_float(double %t.7)
+  %t.8 = load float, ptr %a.addr
+  %t.9 = load float, ptr %b.addr
+  %t.10 = fsub float %t.8, %t.9
+  store float %t.10, ptr %r.addr
+  %t.11 = load float, ptr %r.addr
+  %t.12 = fpext float %t.11 to double
+  call void @lv__rt_print_float(double %t.12)
+  %t.13 = load float, ptr %a.addr
+  %t.14 = load float, ptr %b.addr
+  %t.15 = fmul float %t.13, %t.14
+  store float %t.15, ptr %r.addr
+  %t.16 = load float, ptr %r.addr
+  %t.17 = fpext float %t.16 to double
+  call void @lv__rt_print_float(double %t.17)
+  %t.18 = load float, ptr %a.addr
+  %t.19 = load float, ptr %b.addr
+  %t.20 = fdiv float %t.18, %t.19
+  store float %t.20, ptr %r.addr
+  %t.21 = load float, ptr %r.addr
+  %t.22 = fpext float %t.21 to double
+  call void @lv__rt_print_float(double %t.22)
+  ret i32 0
+}
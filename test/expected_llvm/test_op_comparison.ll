@@ -0,0 +1,47 @@
+; ModuleID = 'test_op_comparison.lov'
+source_filename = "test_op_comparison.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %a.addr = alloca float
+  %b.addr = alloca float
+  %t.1 = fptrunc double 5.0 to float
+  store float %t.1, ptr %a.addr
+  %t.2 = fptrunc double 10.0 to float
+  store float %t.2, ptr %b.addr
+  %t.3 = load float, ptr %a.addr
+  %t.4 = load float, ptr %b.addr
+  %t.5 = fcmp olt float %t.3, %t.4
+  br i1 %t.5, label %se.1, label %fimse.1
+
+se.1:
+  call void @lv__rt_print_float(double 1.0)
+  br label %fimse.1
+
+fimse.1:
+  %t.6 = load float, ptr %b.addr
+  %t.7 = load float, ptr %a.addr
+  %t.8 = fcmp ogt float %t.6, %t.7
+  br i1 %t.8, label %se.2, label %fimse.2
+
+se.2:
+  call void @lv__rt_print_float(double 2.0)
+  br label %fimse.2
+
+fimse.2:
+  %t.9 = load float, ptr %a.addr
+  %t.10 = load float, ptr %a.addr
+  %t.11 = fcmp oeq float %t.9, %t.10
+  br i1 %t.11, label %se.3, label %fimse.3
+
+se.3:
+  call void @lv__rt_print_float(double 3.0)
+  br label %fimse.3
+
+fimse.3:
+  ret i32 0
+}
@@ -0,0 +1,68 @@
+; ModuleID = 'test_op_logical.lov'
+source_filename = "test_op_logical.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %a.addr = alloca i1
+  %b.addr = alloca i1
+  %c.addr = alloca i1
+  store i1 true, ptr %a.addr
+  store i1 false, ptr %b.addr
+  %t.1 = load i1, ptr %a.addr
+  br i1 %t.1, label %e.1, label %fime.1
+
+e.1:
+  %t.2 = load i1, ptr %b.addr
+  br label %fime.1
+
+fime.1:
+  %t.3 = phi i1 [ false, %entrada.0 ], [ %t.2, %e.1 ]
+  store i1 %t.3, ptr %c.addr
+  %t.4 = load i1, ptr %c.addr
+  %t.5 = zext i1 %t.4 to i32
+  call void @lv__rt_print_int(i32 %t.5)
+  %t.6 = load i1, ptr %a.addr
+  br i1 %t.6, label %fimou.2, label %ou.2
+
+ou.2:
+  %t.7 = load i1, ptr %b.addr
+  br label %fimou.2
+
+fimou.2:
+  %t.8 = phi i1 [ true, %fime.1 ], [ %t.7, %ou.2 ]
+  store i1 %t.8, ptr %c.addr
+  %t.9 = load i1, ptr %c.addr
+  %t.10 = zext i1 %t.9 to i32
+  call void @lv__rt_print_int(i32 %t.10)
+  %t.11 = load i1, ptr %a.addr
+  br i1 %t.11, label %e.3, label %fime.3
+
+e.3:
+  %t.12 = load i1, ptr %a.addr
+  br label %fime.3
+
+fime.3:
+  %t.13 = phi i1 [ false, %fimou.2 ], [ %t.12, %e.3 ]
+  store i1 %t.13, ptr %c.addr
+  %t.14 = load i1, ptr %c.addr
+  %t.15 = zext i1 %t.14 to i32
+  call void @lv__rt_print_int(i32 %t.15)
+  %t.16 = load i1, ptr %b.addr
+  br i1 %t.16, label %fimou.4, label %ou.4
+
+ou.4:
+  %t.17 = load i1, ptr %b.addr
+  br label %fimou.4
+
+fimou.4:
+  %t.18 = phi i1 [ true, %fime.3 ], [ %t.17, %ou.4 ]
+  store i1 %t.18, ptr %c.addr
+  %t.19 = load i1, ptr %c.addr
+  %t.20 = zext i1 %t.19 to i32
+  call void @lv__rt_print_int(i32 %t.20)
+  ret i32 0
+}
@@ -0,0 +1,35 @@
+; ModuleID = 'test_prec_arith.lov'
+source_filename = "test_prec_arith.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %r.addr = alloca float
+  %t.1 = fmul double 3.0, 4.0
+  %t.2 = fadd double 2.0, %t.1
+  %t.3 = fptrunc double %t.2 to float
+  store float %t.3, ptr %r.addr
+  %t.4 = load float, ptr %r.addr
+  %t.5 = fpext float %t.4 to double
+  call void @lv__rt_print_float(double %t.5)
+  %t.6 = fdiv double 6.0, 2.0
+  %t.7 = fsub double 10.0, %t.6
+  %t.8 = fptrunc double %t.7 to float
+  store float %t.8, ptr %r.addr
+  %t.9 = load float, ptr %r.addr
+  %t.10 = fpext float %t.9 to double
+  call void @lv__rt_print_float(double %t.10)
+  %t.11 = fmul double 2.0, 3.0
+  %t.12 = fadd double 1.0, %t.11
+  %t.13 = fdiv double 4.0, 2.0
+  %t.14 = fsub double %t.12, %t.13
+  %t.15 = fptrunc double %t.14 to float
+  store float %t.15, ptr %r.addr
+  %t.16 = load float, ptr %r.addr
+  %t.17 = fpext float %t.16 to double
+  call void @lv__rt_print_float(double %t.17)
+  ret i32 0
+}
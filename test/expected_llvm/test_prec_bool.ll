@@ -0,0 +1,48 @@
+; ModuleID = 'test_prec_bool.lov'
+source_filename = "test_prec_bool.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %r.addr = alloca i1
+  br i1 true, label %fimou.1, label %ou.1
+
+ou.1:
+  br i1 false, label %e.2, label %fime.2
+
+e.2:
+  br label %fime.2
+
+fime.2:
+  %t.1 = phi i1 [ false, %ou.1 ], [ false, %e.2 ]
+  br label %fimou.1
+
+fimou.1:
+  %t.2 = phi i1 [ true, %entrada.0 ], [ %t.1, %fime.2 ]
+  store i1 %t.2, ptr %r.addr
+  %t.3 = load i1, ptr %r.addr
+  %t.4 = zext i1 %t.3 to i32
+  call void @lv__rt_print_int(i32 %t.4)
+  br i1 false, label %fimou.3, label %ou.3
+
+ou.3:
+  br i1 true, label %e.4, label %fime.4
+
+e.4:
+  br label %fime.4
+
+fime.4:
+  %t.5 = phi i1 [ false, %ou.3 ], [ true, %e.4 ]
+  br label %fimou.3
+
+fimou.3:
+  %t.6 = phi i1 [ true, %fimou.1 ], [ %t.5, %fime.4 ]
+  store i1 %t.6, ptr %r.addr
+  %t.7 = load i1, ptr %r.addr
+  %t.8 = zext i1 %t.7 to i32
+  call void @lv__rt_print_int(i32 %t.8)
+  ret i32 0
+}
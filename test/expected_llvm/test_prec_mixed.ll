@@ -0,0 +1,60 @@
+; ModuleID = 'test_prec_mixed.lov'
+source_filename = "test_prec_mixed.lov"
+
+declare void @lv__rt_print_float(double)
+declare void @lv__rt_print_int(i32)
+declare void @lv__rt_read_float(ptr)
+
+define i32 @main() {
+entrada.0:
+  %a.addr = alloca float
+  %b.addr = alloca float
+  %r.addr = alloca i1
+  %t.1 = fptrunc double 10.0 to float
+  store float %t.1, ptr %a.addr
+  %t.2 = fptrunc double 5.0 to float
+  store float %t.2, ptr %b.addr
+  %t.3 = load float, ptr %a.addr
+  %t.4 = load float, ptr %b.addr
+  %t.5 = fadd float %t.3, %t.4
+  %t.6 = fpext float %t.5 to double
+  %t.7 = fcmp ogt double %t.6, 10.0
+  br i1 %t.7, label %e.1, label %fime.1
+
+e.1:
+  %t.8 = load float, ptr %a.addr
+  %t.9 = load float, ptr %b.addr
+  %t.10 = fmul float %t.8, %t.9
+  %t.11 = fpext float %t.10 to double
+  %t.12 = fcmp ogt double %t.11, 40.0
+  br label %fime.1
+
+fime.1:
+  %t.13 = phi i1 [ false, %entrada.0 ], [ %t.12, %e.1 ]
+  store i1 %t.13, ptr %r.addr
+  %t.14 = load i1, ptr %r.addr
+  %t.15 = zext i1 %t.14 to i32
+  call void @lv__rt_print_int(i32 %t.15)
+  %t.16 = load float, ptr %a.addr
+  %t.17 = load float, ptr %b.addr
+  %t.18 = fsub float %t.16, %t.17
+  %t.19 = fpext float %t.18 to double
+  %t.20 = fcmp olt double %t.19, 10.0
+  br i1 %t.20, label %fimou.2, label %ou.2
+
+ou.2:
+  %t.21 = load float, ptr %a.addr
+  %t.22 = load float, ptr %b.addr
+  %t.23 = fdiv float %t.21, %t.22
+  %t.24 = fpext float %t.23 to double
+  %t.25 = fcmp oeq double %t.24, 2.0
+  br label %fimou.2
+
+fimou.2:
+  %t.26 = phi i1 [ true, %fime.1 ], [ %t.25, %ou.2 ]
+  store i1 %t.26, ptr %r.addr
+  %t.27 = load i1, ptr %r.addr
+  %t.28 = zext i1 %t.27 to i32
+  call void @lv__rt_print_int(i32 %t.28)
+  ret i32 0
+}
@@ -0,0 +1,19 @@
+#include "lovelace_rt.h"
+
+int main() {
+    int b;
+    float f;
+    b = 1;
+    lv__print_int(b);
+    f = (b + 0.5);
+    lv__print_float(f);
+    b = 0;
+    lv__print_int(b);
+    b = 1;
+    lv__print_int(b);
+    lv__print_int(1);
+    lv__print_int(0);
+    lv__print_int(1);
+    lv__print_int(0);
+    return 0;
+}
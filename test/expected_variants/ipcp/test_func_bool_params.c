@@ -0,0 +1,10 @@
+#include "lovelace_rt.h"
+
+int main() {
+    int r;
+    r = 0;
+    lv__print_int(r);
+    r = 1;
+    lv__print_int(r);
+    return 0;
+}
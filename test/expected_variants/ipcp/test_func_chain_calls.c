@@ -0,0 +1,10 @@
+#include "lovelace_rt.h"
+
+int main() {
+    float r;
+    r = 12.0;
+    lv__print_float(r);
+    r = 10.0;
+    lv__print_float(r);
+    return 0;
+}
@@ -0,0 +1,58 @@
+#include "lovelace_rt.h"
+
+float soma3(float a, float b, float c);
+void lv__mostra__1(float v);
+void lv__mostra__2(float v);
+float limite(float v, float teto);
+float escala(float v, int dobra);
+
+float soma3(float a, float b, float c) {
+    return ((a + b) + c);
+}
+
+void lv__mostra__1(float v) {
+    lv__print_float(v);
+}
+
+void lv__mostra__2(float v) {
+    lv__print_float((v * 10.0));
+}
+
+float limite(float v, float teto) {
+    if ((v > 20.0)) {
+        return 20.0;
+    }
+    return v;
+}
+
+float escala(float v, int dobra) {
+    if (dobra) {
+        return (v * 2.0);
+    }
+    return v;
+}
+
+int main() {
+    float x;
+    float i;
+    int grande;
+    x = 9.0;
+    lv__print_float(x);
+    lv__print_float(soma3(0.5, 0.25, x));
+    lv__print_float(3.375);
+    i = 0.0;
+    while ((i < 3.0)) {
+        lv__mostra__1(i);
+        lv__mostra__1((i + 0.5));
+        lv__mostra__2(i);
+        lv__mostra__2((i * 2.0));
+        lv__print_float(limite((x * i), 20.0));
+        i = (i + 1.0);
+    }
+    lv__print_float(limite(x, 20.0));
+    lv__print_float(escala(x, 1));
+    lv__print_float(escala(x, 0));
+    grande = 1;
+    lv__print_int(grande);
+    return 0;
+}
@@ -0,0 +1,132 @@
+#include "lovelace_rt.h"
+#include "lovelace_memo.h"
+
+float fib(float n);
+int par(float n);
+int impar(float n);
+float conta(float n);
+float dobro(float x);
+
+static struct { unsigned ok; unsigned k[1]; float r; } lv__memo_fib[LV__MEMO_TAM];
+static struct { unsigned ok; unsigned k[1]; int r; } lv__memo_par[LV__MEMO_TAM];
+static struct { unsigned ok; unsigned k[1]; int r; } lv__memo_impar[LV__MEMO_TAM];
+
+#line 16 "test_func_recursion.lov"
+static float lv__fib(float n) {
+#line 18 "test_func_recursion.lov"
+    if ((n < 2.0)) {
+#line 19 "test_func_recursion.lov"
+        return n;
+    }
+#line 21 "test_func_recursion.lov"
+    return (fib((n - 1.0)) + fib((n - 2.0)));
+}
+
+float fib(float n) {
+    float lv__r;
+    unsigned lv__k0 = lv__memo_float(n);
+    unsigned lv__i = lv__memo_hash(0x811c9dc5u, lv__k0) & (LV__MEMO_TAM - 1);
+    if (lv__memo_fib[lv__i].ok && lv__memo_fib[lv__i].k[0] == lv__k0) {
+        lv__r = lv__memo_fib[lv__i].r;
+    } else {
+        lv__r = lv__fib(n);
+        lv__memo_fib[lv__i].ok = 1;
+        lv__memo_fib[lv__i].k[0] = lv__k0;
+        lv__memo_fib[lv__i].r = lv__r;
+    }
+    return lv__r;
+}
+
+#line 24 "test_func_recursion.lov"
+static int lv__par(float n) {
+#line 26 "test_func_recursion.lov"
+    if ((n == 0.0)) {
+#line 27 "test_func_recursion.lov"
+        return 1;
+    }
+#line 29 "test_func_recursion.lov"
+    return impar((n - 1.0));
+}
+
+int par(float n) {
+    int lv__r;
+    unsigned lv__k0 = lv__memo_float(n);
+    unsigned lv__i = lv__memo_hash(0x811c9dc5u, lv__k0) & (LV__MEMO_TAM - 1);
+    if (lv__memo_par[lv__i].ok && lv__memo_par[lv__i].k[0] == lv__k0) {
+        lv__r = lv__memo_par[lv__i].r;
+    } else {
+        lv__r = lv__par(n);
+        lv__memo_par[lv__i].ok = 1;
+        lv__memo_par[lv__i].k[0] = lv__k0;
+        lv__memo_par[lv__i].r = lv__r;
+    }
+    return lv__r;
+}
+
+#line 32 "test_func_recursion.lov"
+static int lv__impar(float n) {
+#line 34 "test_func_recursion.lov"
+    if ((n == 0.0)) {
+#line 35 "test_func_recursion.lov"
+        return 0;
+    }
+#line 37 "test_func_recursion.lov"
+    return par((n - 1.0));
+}
+
+int impar(float n) {
+    int lv__r;
+    unsigned lv__k0 = lv__memo_float(n);
+    unsigned lv__i = lv__memo_hash(0x811c9dc5u, lv__k0) & (LV__MEMO_TAM - 1);
+    if (lv__memo_impar[lv__i].ok && lv__memo_impar[lv__i].k[0] == lv__k0) {
+        lv__r = lv__memo_impar[lv__i].r;
+    } else {
+        lv__r = lv__impar(n);
+        lv__memo_impar[lv__i].ok = 1;
+        lv__memo_impar[lv__i].k[0] = lv__k0;
+        lv__memo_impar[lv__i].r = lv__r;
+    }
+    return lv__r;
+}
+
+#line 40 "test_func_recursion.lov"
+float conta(float n) {
+#line 42 "test_func_recursion.lov"
+    lv__print_float(n);
+#line 43 "test_func_recursion.lov"
+    if ((n < 1.0)) {
+#line 44 "test_func_recursion.lov"
+        return 0.0;
+    }
+#line 46 "test_func_recursion.lov"
+    return (1.0 + conta((n - 1.0)));
+}
+
+#line 49 "test_func_recursion.lov"
+float dobro(float x) {
+#line 51 "test_func_recursion.lov"
+    return (x * 2.0);
+}
+
+#line 2 "test_func_recursion.lov"
+int main() {
+    float x;
+    int p;
+#line 6 "test_func_recursion.lov"
+    x = fib(20.0);
+#line 7 "test_func_recursion.lov"
+    lv__print_float(x);
+#line 8 "test_func_recursion.lov"
+    p = par(7.0);
+#line 9 "test_func_recursion.lov"
+    lv__print_int(p);
+#line 10 "test_func_recursion.lov"
+    x = conta(3.0);
+#line 11 "test_func_recursion.lov"
+    lv__print_float(x);
+#line 12 "test_func_recursion.lov"
+    x = dobro(x);
+#line 13 "test_func_recursion.lov"
+    lv__print_float(x);
+    return 0;
+}
@@ -0,0 +1,75 @@
+#include "lovelace_rt.h"
+
+float calcular(float a, float b);
+int verificar(float valor);
+
+#line 37 "exemplo2.lov"
+float calcular(float a, float b) {
+    float resultado;
+#line 40 "exemplo2.lov"
+    resultado = ((a + b) * 2.0);
+#line 41 "exemplo2.lov"
+    return resultado;
+}
+
+#line 44 "exemplo2.lov"
+int verificar(float valor) {
+    int ok;
+#line 47 "exemplo2.lov"
+    if ((valor > 0.0)) {
+#line 48 "exemplo2.lov"
+        ok = 1;
+    }
+#line 50 "exemplo2.lov"
+    if (((valor < 0.0) || (valor == 0.0))) {
+#line 51 "exemplo2.lov"
+        ok = 0;
+    }
+#line 53 "exemplo2.lov"
+    return ok;
+}
+
+#line 2 "exemplo2.lov"
+int main() {
+    float num1;
+    float num2;
+    float resultado;
+    int valido;
+    float contador;
+#line 10 "exemplo2.lov"
+    num1 = 15.5;
+#line 11 "exemplo2.lov"
+    num2 = 3.2;
+#line 13 "exemplo2.lov"
+    resultado = calcular(num1, num2);
+#line 14 "exemplo2.lov"
+    lv__print_float(resultado);
+#line 16 "exemplo2.lov"
+    valido = verificar(resultado);
+#line 18 "exemplo2.lov"
+    if ((valido && (resultado > 10.0))) {
+#line 19 "exemplo2.lov"
+        contador = 0.0;
+#line 20 "exemplo2.lov"
+        while ((contador < 5.0)) {
+#line 21 "exemplo2.lov"
+            contador = (contador + 1.0);
+#line 22 "exemplo2.lov"
+            lv__print_float(contador);
+        }
+    }
+#line 26 "exemplo2.lov"
+    lv__read_float(&num1);
+#line 27 "exemplo2.lov"
+    lv__read_float(&num2);
+#line 29 "exemplo2.lov"
+    if (((num1 < num2) || (num1 == num2))) {
+#line 30 "exemplo2.lov"
+        lv__print_float(num1);
+    }
+#line 33 "exemplo2.lov"
+    resultado = calcular(num1, num2);
+#line 34 "exemplo2.lov"
+    lv__print_float(resultado);
+    return 0;
+}
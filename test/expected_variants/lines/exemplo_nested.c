@@ -0,0 +1,22 @@
+#include "lovelace_rt.h"
+
+#line 2 "exemplo_nested.lov"
+int main() {
+    float x;
+#line 5 "exemplo_nested.lov"
+    x = 10.0;
+#line 6 "exemplo_nested.lov"
+    if ((x > 0.0)) {
+#line 7 "exemplo_nested.lov"
+        if ((x > 5.0)) {
+#line 8 "exemplo_nested.lov"
+            while ((x > 5.0)) {
+#line 9 "exemplo_nested.lov"
+                x = (x - 1.0);
+            }
+        }
+    }
+#line 13 "exemplo_nested.lov"
+    lv__print_float(x);
+    return 0;
+}
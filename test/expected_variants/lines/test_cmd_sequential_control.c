@@ -0,0 +1,36 @@
+#include "lovelace_rt.h"
+
+#line 2 "test_cmd_sequential_control.lov"
+int main() {
+    float x;
+    float y;
+#line 6 "test_cmd_sequential_control.lov"
+    x = 5.0;
+#line 7 "test_cmd_sequential_control.lov"
+    y = 10.0;
+#line 8 "test_cmd_sequential_control.lov"
+    if ((x > 0.0)) {
+#line 9 "test_cmd_sequential_control.lov"
+        lv__print_float(x);
+    }
+#line 11 "test_cmd_sequential_control.lov"
+    if ((y > 0.0)) {
+#line 12 "test_cmd_sequential_control.lov"
+        lv__print_float(y);
+    }
+#line 14 "test_cmd_sequential_control.lov"
+    while ((x > 0.0)) {
+#line 15 "test_cmd_sequential_control.lov"
+        x = (x - 1.0);
+    }
+#line 17 "test_cmd_sequential_control.lov"
+    while ((y > 5.0)) {
+#line 18 "test_cmd_sequential_control.lov"
+        y = (y - 1.0);
+    }
+#line 20 "test_cmd_sequential_control.lov"
+    lv__print_float(x);
+#line 21 "test_cmd_sequential_control.lov"
+    lv__print_float(y);
+    return 0;
+}
@@ -0,0 +1,79 @@
+#include "lovelace_rt.h"
+#include "lovelace_memo.h"
+#include "lovelace_omp.h"
+
+float fib(float n);
+float g(float x);
+float dobro(float x);
+
+static struct { unsigned ok; unsigned k[1]; float r; } lv__memo_fib[LV__MEMO_TAM];
+
+static float lv__fib(float n) {
+    if ((n < 2.0)) {
+        return n;
+    }
+    return (fib((n - 1.0)) + fib((n - 2.0)));
+}
+
+float fib(float n) {
+    float lv__r;
+    unsigned lv__k0 = lv__memo_float(n);
+    unsigned lv__i = lv__memo_hash(0x811c9dc5u, lv__k0) & (LV__MEMO_TAM - 1);
+    if (lv__memo_fib[lv__i].ok && lv__memo_fib[lv__i].k[0] == lv__k0) {
+        lv__r = lv__memo_fib[lv__i].r;
+    } else {
+        lv__r = lv__fib(n);
+        lv__memo_fib[lv__i].ok = 1;
+        lv__memo_fib[lv__i].k[0] = lv__k0;
+        lv__memo_fib[lv__i].r = lv__r;
+    }
+    return lv__r;
+}
+
+float g(float x) {
+    return (fib(x) + 1.0);
+}
+
+float dobro(float x) {
+    return (x + x);
+}
+
+int main() {
+    float i;
+    float soma;
+    soma = 0.0;
+    i = 0.0;
+    while ((i < 20.0)) {
+        soma = (soma + fib(i));
+        i = (i + 1.0);
+    }
+    lv__print_float(soma);
+    soma = 0.0;
+    i = 0.0;
+    while ((i < 20.0)) {
+        soma = (soma + g(i));
+        i = (i + 1.0);
+    }
+    lv__print_float(soma);
+    soma = 0.0;
+    i = 0.0;
+    {
+        long lv__n = lv__omp_voltas(i, 20.0, 1.0);
+        if (lv__n >= 0) {
+            float lv__i0 = i;
+            #pragma omp parallel for reduction(+:soma)
+            for (long lv__k = 0; lv__k < lv__n; lv__k++) {
+                float i = lv__i0 + lv__k * 1.0;
+                soma = (soma + dobro(i));
+            }
+            i = lv__i0 + lv__n * 1.0;
+        } else {
+            while ((i < 20.0)) {
+                soma = (soma + dobro(i));
+                i = (i + 1.0);
+            }
+        }
+    }
+    lv__print_float(soma);
+    return 0;
+}
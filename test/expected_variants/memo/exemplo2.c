@@ -0,0 +1,50 @@
+#include "lovelace_rt.h"
+#include "lovelace_memo.h"
+
+float calcular(float a, float b);
+int verificar(float valor);
+
+float calcular(float a, float b) {
+    float resultado;
+    resultado = ((a + b) * 2.0);
+    return resultado;
+}
+
+int verificar(float valor) {
+    int ok;
+    if ((valor > 0.0)) {
+        ok = 1;
+    }
+    if (((valor < 0.0) || (valor == 0.0))) {
+        ok = 0;
+    }
+    return ok;
+}
+
+int main() {
+    float num1;
+    float num2;
+    float resultado;
+    int valido;
+    float contador;
+    num1 = 15.5;
+    num2 = 3.2;
+    resultado = calcular(num1, num2);
+    lv__print_float(resultado);
+    valido = verificar(resultado);
+    if ((valido && (resultado > 10.0))) {
+        contador = 0.0;
+        while ((contador < 5.0)) {
+            contador = (contador + 1.0);
+            lv__print_float(contador);
+        }
+    }
+    lv__read_float(&num1);
+    lv__read_float(&num2);
+    if (((num1 < num2) || (num1 == num2))) {
+        lv__print_float(num1);
+    }
+    resultado = calcular(num1, num2);
+    lv__print_float(resultado);
+    return 0;
+}
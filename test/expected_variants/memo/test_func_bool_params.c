@@ -0,0 +1,20 @@
+#include "lovelace_rt.h"
+#include "lovelace_memo.h"
+
+int negar(int v);
+
+int negar(int v) {
+    if (v) {
+        return 0;
+    }
+    return 1;
+}
+
+int main() {
+    int r;
+    r = negar(1);
+    lv__print_int(r);
+    r = negar(0);
+    lv__print_int(r);
+    return 0;
+}
@@ -0,0 +1,104 @@
+#include "lovelace_rt.h"
+#include "lovelace_memo.h"
+
+float fib(float n);
+int par(float n);
+int impar(float n);
+float conta(float n);
+float dobro(float x);
+
+static struct { unsigned ok; unsigned k[1]; float r; } lv__memo_fib[LV__MEMO_TAM];
+static struct { unsigned ok; unsigned k[1]; int r; } lv__memo_par[LV__MEMO_TAM];
+static struct { unsigned ok; unsigned k[1]; int r; } lv__memo_impar[LV__MEMO_TAM];
+
+static float lv__fib(float n) {
+    if ((n < 2.0)) {
+        return n;
+    }
+    return (fib((n - 1.0)) + fib((n - 2.0)));
+}
+
+float fib(float n) {
+    float lv__r;
+    unsigned lv__k0 = lv__memo_float(n);
+    unsigned lv__i = lv__memo_hash(0x811c9dc5u, lv__k0) & (LV__MEMO_TAM - 1);
+    if (lv__memo_fib[lv__i].ok && lv__memo_fib[lv__i].k[0] == lv__k0) {
+        lv__r = lv__memo_fib[lv__i].r;
+    } else {
+        lv__r = lv__fib(n);
+        lv__memo_fib[lv__i].ok = 1;
+        lv__memo_fib[lv__i].k[0] = lv__k0;
+        lv__memo_fib[lv__i].r = lv__r;
+    }
+    return lv__r;
+}
+
+static int lv__par(float n) {
+    if ((n == 0.0)) {
+        return 1;
+    }
+    return impar((n - 1.0));
+}
+
+int par(float n) {
+    int lv__r;
+    unsigned lv__k0 = lv__memo_float(n);
+    unsigned lv__i = lv__memo_hash(0x811c9dc5u, lv__k0) & (LV__MEMO_TAM - 1);
+    if (lv__memo_par[lv__i].ok && lv__memo_par[lv__i].k[0] == lv__k0) {
+        lv__r = lv__memo_par[lv__i].r;
+    } else {
+        lv__r = lv__par(n);
+        lv__memo_par[lv__i].ok = 1;
+        lv__memo_par[lv__i].k[0] = lv__k0;
+        lv__memo_par[lv__i].r = lv__r;
+    }
+    return lv__r;
+}
+
+static int lv__impar(float n) {
+    if ((n == 0.0)) {
+        return 0;
+    }
+    return par((n - 1.0));
+}
+
+int impar(float n) {
+    int lv__r;
+    unsigned lv__k0 = lv__memo_float(n);
+    unsigned lv__i = lv__memo_hash(0x811c9dc5u, lv__k0) & (LV__MEMO_TAM - 1);
+    if (lv__memo_impar[lv__i].ok && lv__memo_impar[lv__i].k[0] == lv__k0) {
+        lv__r = lv__memo_impar[lv__i].r;
+    } else {
+        lv__r = lv__impar(n);
+        lv__memo_impar[lv__i].ok = 1;
+        lv__memo_impar[lv__i].k[0] = lv__k0;
+        lv__memo_impar[lv__i].r = lv__r;
+    }
+    return lv__r;
+}
+
+float conta(float n) {
+    lv__print_float(n);
+    if ((n < 1.0)) {
+        return 0.0;
+    }
+    return (1.0 + conta((n - 1.0)));
+}
+
+float dobro(float x) {
+    return (x * 2.0);
+}
+
+int main() {
+    float x;
+    int p;
+    x = fib(20.0);
+    lv__print_float(x);
+    p = par(7.0);
+    lv__print_int(p);
+    x = conta(3.0);
+    lv__print_float(x);
+    x = dobro(x);
+    lv__print_float(x);
+    return 0;
+}
@@ -0,0 +1,23 @@
+#include <stdio.h>
+
+int main() {
+    int x;
+    int y;
+    x = 5;
+    y = 10;
+    if ((x > 0)) {
+        printf("%f\n", (float) x);
+    }
+    if ((y > 0)) {
+        printf("%f\n", (float) y);
+    }
+    while ((x > 0)) {
+        x = (x - 1);
+    }
+    while ((y > 5)) {
+        y = (y - 1);
+    }
+    printf("%f\n", (float) x);
+    printf("%f\n", (float) y);
+    return 0;
+}
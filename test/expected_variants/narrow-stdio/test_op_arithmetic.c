@@ -0,0 +1,18 @@
+#include <stdio.h>
+
+int main() {
+    int a;
+    int b;
+    float r;
+    a = 10;
+    b = 3;
+    r = (a + b);
+    printf("%f\n", r);
+    r = (a - b);
+    printf("%f\n", r);
+    r = (a * b);
+    printf("%f\n", r);
+    r = (((float) a) / ((float) b));
+    printf("%f\n", r);
+    return 0;
+}
@@ -0,0 +1,42 @@
+#include "lovelace_rt.h"
+
+void mostrar(float valor);
+float dobro(float x);
+float soma3(float a, float b, float c);
+
+void mostrar(float valor) {
+    lv__print_float(valor);
+}
+
+float dobro(float x) {
+    return (x * 2.0);
+}
+
+float soma3(float a, float b, float c) {
+    return ((a + b) + c);
+}
+
+int main() {
+    int i;
+    float resultado;
+    int x;
+    int y;
+    int z;
+    i = 0;
+    while ((i < 3)) {
+        mostrar(i);
+        i = (i + 1);
+    }
+    x = 2;
+    y = 3;
+    z = 4;
+    resultado = soma3(x, y, z);
+    mostrar(resultado);
+    if ((resultado > 5.0)) {
+        if ((resultado < 20.0)) {
+            resultado = dobro(resultado);
+        }
+    }
+    lv__print_float(resultado);
+    return 0;
+}
@@ -0,0 +1,15 @@
+#include "lovelace_rt.h"
+
+int main() {
+    int x;
+    x = 10;
+    if ((x > 0)) {
+        if ((x > 5)) {
+            while ((x > 5)) {
+                x = (x - 1);
+            }
+        }
+    }
+    lv__print_float(x);
+    return 0;
+}
@@ -0,0 +1,23 @@
+#include "lovelace_rt.h"
+
+int main() {
+    int x;
+    int y;
+    x = 5;
+    y = 10;
+    if ((x > 0)) {
+        lv__print_float(x);
+    }
+    if ((y > 0)) {
+        lv__print_float(y);
+    }
+    while ((x > 0)) {
+        x = (x - 1);
+    }
+    while ((y > 5)) {
+        y = (y - 1);
+    }
+    lv__print_float(x);
+    lv__print_float(y);
+    return 0;
+}
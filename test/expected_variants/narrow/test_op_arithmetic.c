@@ -0,0 +1,18 @@
+#include "lovelace_rt.h"
+
+int main() {
+    int a;
+    int b;
+    float r;
+    a = 10;
+    b = 3;
+    r = (a + b);
+    lv__print_float(r);
+    r = (a - b);
+    lv__print_float(r);
+    r = (a * b);
+    lv__print_float(r);
+    r = (((float) a) / ((float) b));
+    lv__print_float(r);
+    return 0;
+}
@@ -0,0 +1,96 @@
+#include "lovelace_rt.h"
+#include "lovelace_omp.h"
+
+float quadrado(float x);
+float mostra(float x);
+
+float quadrado(float x) {
+    return (x * x);
+}
+
+float mostra(float x) {
+    lv__print_float(x);
+    return x;
+}
+
+int main() {
+    float i;
+    float n;
+    float soma;
+    float prod;
+    float quadrados;
+    lv__read_float(&n);
+    soma = 0.0;
+    quadrados = 0.0;
+    i = 0.0;
+    {
+        long lv__n = lv__omp_voltas(i, n, 1.0);
+        if (lv__n >= 0) {
+            float lv__i0 = i;
+            #pragma omp parallel for reduction(+:soma) reduction(+:quadrados)
+            for (long lv__k = 0; lv__k < lv__n; lv__k++) {
+                float i = lv__i0 + lv__k * 1.0;
+                soma = (soma + i);
+                quadrados = (quadrado(i) + quadrados);
+            }
+            i = lv__i0 + lv__n * 1.0;
+        } else {
+            while ((i < n)) {
+                soma = (soma + i);
+                quadrados = (quadrado(i) + quadrados);
+                i = (i + 1.0);
+            }
+        }
+    }
+    lv__print_float(soma);
+    lv__print_float(quadrados);
+    lv__print_float(i);
+    prod = 1.0;
+    i = 1.0;
+    {
+        long lv__n = lv__omp_voltas(i, 11.0, 2.0);
+        if (lv__n >= 0) {
+            float lv__i0 = i;
+            #pragma omp parallel for reduction(*:prod)
+            for (long lv__k = 0; lv__k < lv__n; lv__k++) {
+                float i = lv__i0 + lv__k * 2.0;
+                prod = (prod * (i + 1.0));
+            }
+            i = lv__i0 + lv__n * 2.0;
+        } else {
+            while ((11.0 > i)) {
+                prod = (prod * (i + 1.0));
+                i = (i + 2.0);
+            }
+        }
+    }
+    lv__print_float(prod);
+    lv__print_float(i);
+    i = 0.5;
+    soma = 0.0;
+    {
+        long lv__n = lv__omp_voltas(i, 10.0, 1.0);
+        if (lv__n >= 0) {
+            float lv__i0 = i;
+            #pragma omp parallel for reduction(+:soma)
+            for (long lv__k = 0; lv__k < lv__n; lv__k++) {
+                float i = lv__i0 + lv__k * 1.0;
+                soma = (soma + quadrado(i));
+            }
+            i = lv__i0 + lv__n * 1.0;
+        } else {
+            while ((i < 10.0)) {
+                soma = (soma + quadrado(i));
+                i = (i + 1.0);
+            }
+        }
+    }
+    lv__print_float(soma);
+    i = 0.0;
+    while ((i < 3.0)) {
+        soma = (soma + mostra(i));
+        i = (i + 1.0);
+    }
+    lv__print_float(soma);
+    return 0;
+}
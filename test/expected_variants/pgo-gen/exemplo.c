@@ -0,0 +1,20 @@
+#include "lovelace_rt.h"
+#define LV__PGO_GEN
+#include "lovelace_pgo.h"
+
+static const lv__pgo_sitio lv__pgo_cs[] = {
+    {0}
+};
+static unsigned long long lv__pgo_c[1];
+static const lv__pgo_sitio lv__pgo_is[] = {
+    {0}
+};
+static unsigned long long lv__pgo_i[1][2];
+
+int main() {
+    float teste;
+    lv__pgo_inicia("exemplo.lovpgo", lv__pgo_cs, lv__pgo_c, 0, lv__pgo_is, lv__pgo_i, 0);
+    teste = 9.0;
+    lv__print_float(teste);
+    return 0;
+}
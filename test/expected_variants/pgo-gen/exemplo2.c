@@ -0,0 +1,66 @@
+#include "lovelace_rt.h"
+#define LV__PGO_GEN
+#include "lovelace_pgo.h"
+
+float calcular(float a, float b);
+int verificar(float valor);
+
+static const lv__pgo_sitio lv__pgo_cs[] = {
+    {.fun = "main", .linha = 13, .alvo = "calcular"},
+    {.fun = "main", .linha = 16, .alvo = "verificar"},
+    {.fun = "main", .linha = 33, .alvo = "calcular"}
+};
+static unsigned long long lv__pgo_c[3];
+static const lv__pgo_sitio lv__pgo_is[] = {
+    {.fun = "verificar", .linha = 47},
+    {.fun = "verificar", .linha = 50},
+    {.fun = "main", .linha = 18},
+    {.fun = "main", .linha = 29}
+};
+static unsigned long long lv__pgo_i[4][2];
+
+float calcular(float a, float b) {
+    float resultado;
+    resultado = ((a + b) * 2.0);
+    return resultado;
+}
+
+int verificar(float valor) {
+    int ok;
+    if (lv__pgo_se(lv__pgo_i[0], (valor > 0.0))) {
+        ok = 1;
+    }
+    if (lv__pgo_se(lv__pgo_i[1], ((valor < 0.0) || (valor == 0.0)))) {
+        ok = 0;
+    }
+    return ok;
+}
+
+int main() {
+    float num1;
+    float num2;
+    float resultado;
+    int valido;
+    float contador;
+    lv__pgo_inicia("exemplo2.lovpgo", lv__pgo_cs, lv__pgo_c, 3, lv__pgo_is, lv__pgo_i, 4);
+    num1 = 15.5;
+    num2 = 3.2;
+    resultado = (lv__pgo_c[0]++, calcular(num1, num2));
+    lv__print_float(resultado);
+    valido = (lv__pgo_c[1]++, verificar(resultado));
+    if (lv__pgo_se(lv__pgo_i[2], (valido && (resultado > 10.0)))) {
+        contador = 0.0;
+        while ((contador < 5.0)) {
+            contador = (contador + 1.0);
+            lv__print_float(contador);
+        }
+    }
+    lv__read_float(&num1);
+    lv__read_float(&num2);
+    if (lv__pgo_se(lv__pgo_i[3], ((num1 < num2) || (num1 == num2)))) {
+        lv__print_float(num1);
+    }
+    resultado = (lv__pgo_c[2]++, calcular(num1, num2));
+    lv__print_float(resultado);
+    return 0;
+}
@@ -0,0 +1,27 @@
+#include "lovelace_rt.h"
+#define LV__PGO_GEN
+#include "lovelace_pgo.h"
+
+void imprimir(float x);
+
+static const lv__pgo_sitio lv__pgo_cs[] = {
+    {.fun = "main", .linha = 6, .alvo = "imprimir"}
+};
+static unsigned long long lv__pgo_c[1];
+static const lv__pgo_sitio lv__pgo_is[] = {
+    {0}
+};
+static unsigned long long lv__pgo_i[1][2];
+
+void imprimir(float x) {
+    lv__print_float(x);
+}
+
+int main() {
+    float a;
+    lv__pgo_inicia("exemplo_funcall_stmt.lovpgo", lv__pgo_cs, lv__pgo_c, 1, lv__pgo_is, lv__pgo_i, 0);
+    a = 42.0;
+    lv__pgo_c[0]++;
+    imprimir(a);
+    return 0;
+}
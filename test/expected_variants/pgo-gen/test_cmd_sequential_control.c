@@ -0,0 +1,36 @@
+#include "lovelace_rt.h"
+#define LV__PGO_GEN
+#include "lovelace_pgo.h"
+
+static const lv__pgo_sitio lv__pgo_cs[] = {
+    {0}
+};
+static unsigned long long lv__pgo_c[1];
+static const lv__pgo_sitio lv__pgo_is[] = {
+    {.fun = "main", .linha = 8},
+    {.fun = "main", .linha = 11}
+};
+static unsigned long long lv__pgo_i[2][2];
+
+int main() {
+    float x;
+    float y;
+    lv__pgo_inicia("test_cmd_sequential_control.lovpgo", lv__pgo_cs, lv__pgo_c, 0, lv__pgo_is, lv__pgo_i, 2);
+    x = 5.0;
+    y = 10.0;
+    if (lv__pgo_se(lv__pgo_i[0], (x > 0.0))) {
+        lv__print_float(x);
+    }
+    if (lv__pgo_se(lv__pgo_i[1], (y > 0.0))) {
+        lv__print_float(y);
+    }
+    while ((x > 0.0)) {
+        x = (x - 1.0);
+    }
+    while ((y > 5.0)) {
+        y = (y - 1.0);
+    }
+    lv__print_float(x);
+    lv__print_float(y);
+    return 0;
+}
@@ -0,0 +1,42 @@
+#include "lovelace_rt.h"
+#define LV__PGO_GEN
+#include "lovelace_pgo.h"
+
+float dobro(float x);
+float quadruplo(float x);
+float somaEDobra(float a, float b);
+
+static const lv__pgo_sitio lv__pgo_cs[] = {
+    {.fun = "quadruplo", .linha = 18, .alvo = "dobro"},
+    {.fun = "quadruplo", .linha = 18, .alvo = "dobro"},
+    {.fun = "somaEDobra", .linha = 23, .alvo = "dobro"},
+    {.fun = "main", .linha = 5, .alvo = "quadruplo"},
+    {.fun = "main", .linha = 7, .alvo = "somaEDobra"}
+};
+static unsigned long long lv__pgo_c[5];
+static const lv__pgo_sitio lv__pgo_is[] = {
+    {0}
+};
+static unsigned long long lv__pgo_i[1][2];
+
+float dobro(float x) {
+    return (x * 2.0);
+}
+
+float quadruplo(float x) {
+    return (lv__pgo_c[0]++, dobro((lv__pgo_c[1]++, dobro(x))));
+}
+
+float somaEDobra(float a, float b) {
+    return (lv__pgo_c[2]++, dobro((a + b)));
+}
+
+int main() {
+    float r;
+    lv__pgo_inicia("test_func_chain_calls.lovpgo", lv__pgo_cs, lv__pgo_c, 5, lv__pgo_is, lv__pgo_i, 0);
+    r = (lv__pgo_c[3]++, quadruplo(3.0));
+    lv__print_float(r);
+    r = (lv__pgo_c[4]++, somaEDobra(2.0, 3.0));
+    lv__print_float(r);
+    return 0;
+}
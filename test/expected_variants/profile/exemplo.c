@@ -0,0 +1,26 @@
+#include "lovelace_rt.h"
+#include "lovelace_prof.h"
+
+static lv__prof_fun lv__pf[] = {
+    {.nome = "main"}
+};
+static lv__prof_laco lv__pl[] = {
+    {0}
+};
+
+static int lv__main(void) {
+    float teste;
+    teste = 9.0;
+    lv__print_float(teste);
+    return 0;
+}
+
+int main() {
+    lv__prof_quadro lv__q;
+    int lv__r;
+    lv__prof_inicia(lv__pf, 1, lv__pl, 0);
+    lv__prof_entra(&lv__pf[0], &lv__q);
+    lv__r = lv__main();
+    lv__prof_sai(&lv__pf[0], &lv__q);
+    return lv__r;
+}
@@ -0,0 +1,89 @@
+#include "lovelace_rt.h"
+#include "lovelace_prof.h"
+
+float calcular(float a, float b);
+int verificar(float valor);
+
+static lv__prof_fun lv__pf[] = {
+    {.nome = "calcular"},
+    {.nome = "verificar"},
+    {.nome = "main"}
+};
+static lv__prof_laco lv__pl[] = {
+    {.fun = "main", .linha = 20}
+};
+
+static float lv__calcular(float a, float b) {
+    float resultado;
+    resultado = ((a + b) * 2.0);
+    return resultado;
+}
+
+float calcular(float a, float b) {
+    lv__prof_quadro lv__q;
+    float lv__r;
+    lv__prof_entra(&lv__pf[0], &lv__q);
+    lv__r = lv__calcular(a, b);
+    lv__prof_sai(&lv__pf[0], &lv__q);
+    return lv__r;
+}
+
+static int lv__verificar(float valor) {
+    int ok;
+    if ((valor > 0.0)) {
+        ok = 1;
+    }
+    if (((valor < 0.0) || (valor == 0.0))) {
+        ok = 0;
+    }
+    return ok;
+}
+
+int verificar(float valor) {
+    lv__prof_quadro lv__q;
+    int lv__r;
+    lv__prof_entra(&lv__pf[1], &lv__q);
+    lv__r = lv__verificar(valor);
+    lv__prof_sai(&lv__pf[1], &lv__q);
+    return lv__r;
+}
+
+static int lv__main(void) {
+    float num1;
+    float num2;
+    float resultado;
+    int valido;
+    float contador;
+    num1 = 15.5;
+    num2 = 3.2;
+    resultado = calcular(num1, num2);
+    lv__print_float(resultado);
+    valido = verificar(resultado);
+    if ((valido && (resultado > 10.0))) {
+        contador = 0.0;
+        lv__pl[0].entradas++;
+        while ((contador < 5.0)) {
+            lv__pl[0].iteracoes++;
+            contador = (contador + 1.0);
+            lv__print_float(contador);
+        }
+    }
+    lv__read_float(&num1);
+    lv__read_float(&num2);
+    if (((num1 < num2) || (num1 == num2))) {
+        lv__print_float(num1);
+    }
+    resultado = calcular(num1, num2);
+    lv__print_float(resultado);
+    return 0;
+}
+
+int main() {
+    lv__prof_quadro lv__q;
+    int lv__r;
+    lv__prof_inicia(lv__pf, 3, lv__pl, 1);
+    lv__prof_entra(&lv__pf[2], &lv__q);
+    lv__r = lv__main();
+    lv__prof_sai(&lv__pf[2], &lv__q);
+    return lv__r;
+}
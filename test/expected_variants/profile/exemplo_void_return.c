@@ -0,0 +1,37 @@
+#include "lovelace_rt.h"
+#include "lovelace_prof.h"
+
+void nada();
+
+static lv__prof_fun lv__pf[] = {
+    {.nome = "nada"},
+    {.nome = "main"}
+};
+static lv__prof_laco lv__pl[] = {
+    {0}
+};
+
+static void lv__nada() {
+}
+
+void nada() {
+    lv__prof_quadro lv__q;
+    lv__prof_entra(&lv__pf[0], &lv__q);
+    lv__nada();
+    lv__prof_sai(&lv__pf[0], &lv__q);
+}
+
+static int lv__main(void) {
+    nada();
+    return 0;
+}
+
+int main() {
+    lv__prof_quadro lv__q;
+    int lv__r;
+    lv__prof_inicia(lv__pf, 2, lv__pl, 0);
+    lv__prof_entra(&lv__pf[1], &lv__q);
+    lv__r = lv__main();
+    lv__prof_sai(&lv__pf[1], &lv__q);
+    return lv__r;
+}
@@ -0,0 +1,74 @@
+#include "lovelace_rt.h"
+#include "lovelace_prof.h"
+
+float dobro(float x);
+float quadruplo(float x);
+float somaEDobra(float a, float b);
+
+static lv__prof_fun lv__pf[] = {
+    {.nome = "dobro"},
+    {.nome = "quadruplo"},
+    {.nome = "somaEDobra"},
+    {.nome = "main"}
+};
+static lv__prof_laco lv__pl[] = {
+    {0}
+};
+
+static float lv__dobro(float x) {
+    return (x * 2.0);
+}
+
+float dobro(float x) {
+    lv__prof_quadro lv__q;
+    float lv__r;
+    lv__prof_entra(&lv__pf[0], &lv__q);
+    lv__r = lv__dobro(x);
+    lv__prof_sai(&lv__pf[0], &lv__q);
+    return lv__r;
+}
+
+static float lv__quadruplo(float x) {
+    return dobro(dobro(x));
+}
+
+float quadruplo(float x) {
+    lv__prof_quadro lv__q;
+    float lv__r;
+    lv__prof_entra(&lv__pf[1], &lv__q);
+    lv__r = lv__quadruplo(x);
+    lv__prof_sai(&lv__pf[1], &lv__q);
+    return lv__r;
+}
+
+static float lv__somaEDobra(float a, float b) {
+    return dobro((a + b));
+}
+
+float somaEDobra(float a, float b) {
+    lv__prof_quadro lv__q;
+    float lv__r;
+    lv__prof_entra(&lv__pf[2], &lv__q);
+    lv__r = lv__somaEDobra(a, b);
+    lv__prof_sai(&lv__pf[2], &lv__q);
+    return lv__r;
+}
+
+static int lv__main(void) {
+    float r;
+    r = quadruplo(3.0);
+    lv__print_float(r);
+    r = somaEDobra(2.0, 3.0);
+    lv__print_float(r);
+    return 0;
+}
+
+int main() {
+    lv__prof_quadro lv__q;
+    int lv__r;
+    lv__prof_inicia(lv__pf, 4, lv__pl, 0);
+    lv__prof_entra(&lv__pf[3], &lv__q);
+    lv__r = lv__main();
+    lv__prof_sai(&lv__pf[3], &lv__q);
+    return lv__r;
+}
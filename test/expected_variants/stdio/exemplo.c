@@ -0,0 +1,8 @@
+#include <stdio.h>
+
+int main() {
+    float teste;
+    teste = 9.0;
+    printf("%f\n", teste);
+    return 0;
+}
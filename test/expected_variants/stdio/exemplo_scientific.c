@@ -0,0 +1,10 @@
+#include <stdio.h>
+
+int main() {
+    float x;
+    x = 1.5E10;
+    printf("%f\n", x);
+    x = 2000.0;
+    printf("%f\n", x);
+    return 0;
+}
@@ -0,0 +1,11 @@
+#include <stdio.h>
+
+void nada();
+
+void nada() {
+}
+
+int main() {
+    nada();
+    return 0;
+}
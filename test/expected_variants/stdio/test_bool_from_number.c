@@ -0,0 +1,30 @@
+#include <stdio.h>
+
+int id(int x);
+int metade(float x);
+
+int id(int x) {
+    return x;
+}
+
+int metade(float x) {
+    return ((int) ((x / 2.0)) != 0);
+}
+
+int main() {
+    int b;
+    float f;
+    b = ((int) (2.0) != 0);
+    printf("%d\n", b);
+    f = (b + 0.5);
+    printf("%f\n", f);
+    b = ((int) (0.5) != 0);
+    printf("%d\n", b);
+    b = ((int) ((0.0 - 2.5)) != 0);
+    printf("%d\n", b);
+    printf("%d\n", id(((int) (3.0) != 0)));
+    printf("%d\n", id(((int) (0.25) != 0)));
+    printf("%d\n", metade(6.0));
+    printf("%d\n", metade(1.0));
+    return 0;
+}
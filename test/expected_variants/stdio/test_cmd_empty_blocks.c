@@ -0,0 +1,12 @@
+#include <stdio.h>
+
+int main() {
+    float x;
+    x = 1.0;
+    if ((x > 0.0)) {
+    }
+    while (0) {
+    }
+    printf("%f\n", x);
+    return 0;
+}
@@ -0,0 +1,14 @@
+#include <stdio.h>
+
+int main() {
+    float x;
+    int b;
+    x = 5.0;
+    b = 1;
+    printf("%f\n", 42.0);
+    printf("%f\n", x);
+    printf("%f\n", (x + 1.0));
+    printf("%d\n", (x > 3.0));
+    printf("%d\n", b);
+    return 0;
+}
@@ -0,0 +1,8 @@
+#include <stdio.h>
+
+int main() {
+    float x;
+    float y;
+    int flag;
+    return 0;
+}
@@ -0,0 +1,17 @@
+#include <stdio.h>
+
+int main() {
+    int a;
+    int b;
+    a = 1;
+    b = 0;
+    if (1) {
+        printf("%f\n", 1.0);
+    }
+    if ((a == 1)) {
+        printf("%f\n", 2.0);
+    }
+    printf("%d\n", a);
+    printf("%d\n", b);
+    return 0;
+}
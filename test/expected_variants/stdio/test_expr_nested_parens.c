@@ -0,0 +1,10 @@
+#include <stdio.h>
+
+int main() {
+    float r;
+    r = ((1.0 + 2.0) * (3.0 - 1.0));
+    printf("%f\n", r);
+    r = (((4.0 + 1.0) * 2.0) / (1.0 + 1.0));
+    printf("%f\n", r);
+    return 0;
+}
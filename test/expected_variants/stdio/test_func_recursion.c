@@ -0,0 +1,54 @@
+#include <stdio.h>
+
+float fib(float n);
+int par(float n);
+int impar(float n);
+float conta(float n);
+float dobro(float x);
+
+float fib(float n) {
+    if ((n < 2.0)) {
+        return n;
+    }
+    return (fib((n - 1.0)) + fib((n - 2.0)));
+}
+
+int par(float n) {
+    if ((n == 0.0)) {
+        return 1;
+    }
+    return impar((n - 1.0));
+}
+
+int impar(float n) {
+    if ((n == 0.0)) {
+        return 0;
+    }
+    return par((n - 1.0));
+}
+
+float conta(float n) {
+    printf("%f\n", n);
+    if ((n < 1.0)) {
+        return 0.0;
+    }
+    return (1.0 + conta((n - 1.0)));
+}
+
+float dobro(float x) {
+    return (x * 2.0);
+}
+
+int main() {
+    float x;
+    int p;
+    x = fib(20.0);
+    printf("%f\n", x);
+    p = par(7.0);
+    printf("%d\n", p);
+    x = conta(3.0);
+    printf("%f\n", x);
+    x = dobro(x);
+    printf("%f\n", x);
+    return 0;
+}
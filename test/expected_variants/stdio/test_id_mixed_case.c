@@ -0,0 +1,11 @@
+#include <stdio.h>
+
+int main() {
+    float myVar;
+    int isReady;
+    myVar = 42.0;
+    isReady = 1;
+    printf("%f\n", myVar);
+    printf("%d\n", isReady);
+    return 0;
+}
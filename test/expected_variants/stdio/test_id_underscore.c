@@ -0,0 +1,11 @@
+#include <stdio.h>
+
+int main() {
+    float my_var;
+    float x_1;
+    my_var = 3.0;
+    x_1 = 7.0;
+    printf("%f\n", my_var);
+    printf("%f\n", x_1);
+    return 0;
+}
@@ -0,0 +1,14 @@
+#include <stdio.h>
+
+int main() {
+    float a;
+    float b;
+    float c;
+    a = 5.0;
+    b = 100.0;
+    c = 0.0;
+    printf("%f\n", a);
+    printf("%f\n", b);
+    printf("%f\n", c);
+    return 0;
+}
@@ -0,0 +1,11 @@
+#include <stdio.h>
+
+int main() {
+    float a;
+    float b;
+    a = 100000.0;
+    b = 0.0025;
+    printf("%f\n", a);
+    printf("%f\n", b);
+    return 0;
+}
@@ -0,0 +1,17 @@
+#include <stdio.h>
+
+int main() {
+    float a;
+    float b;
+    float c;
+    float d;
+    a = 42.0;
+    b = 3.14;
+    c = 1.0E10;
+    d = 0.05;
+    printf("%f\n", a);
+    printf("%f\n", b);
+    printf("%f\n", c);
+    printf("%f\n", d);
+    return 0;
+}
@@ -0,0 +1,18 @@
+#include <stdio.h>
+
+int main() {
+    float a;
+    float b;
+    float r;
+    a = 10.0;
+    b = 3.0;
+    r = (a + b);
+    printf("%f\n", r);
+    r = (a - b);
+    printf("%f\n", r);
+    r = (a * b);
+    printf("%f\n", r);
+    r = (a / b);
+    printf("%f\n", r);
+    return 0;
+}
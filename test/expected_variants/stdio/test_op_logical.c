@@ -0,0 +1,18 @@
+#include <stdio.h>
+
+int main() {
+    int a;
+    int b;
+    int c;
+    a = 1;
+    b = 0;
+    c = (a && b);
+    printf("%d\n", c);
+    c = (a || b);
+    printf("%d\n", c);
+    c = (a && a);
+    printf("%d\n", c);
+    c = (b || b);
+    printf("%d\n", c);
+    return 0;
+}
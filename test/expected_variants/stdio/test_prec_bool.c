@@ -0,0 +1,10 @@
+#include <stdio.h>
+
+int main() {
+    int r;
+    r = (1 || (0 && 0));
+    printf("%d\n", r);
+    r = (0 || (1 && 1));
+    printf("%d\n", r);
+    return 0;
+}
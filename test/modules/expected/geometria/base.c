@@ -0,0 +1,23 @@
+#define LV__RT_MODULO
+#include "lovelace_rt.h"
+#include "base.h"
+
+float quadrado(float x);
+float absoluto(float x);
+int positivo(float x);
+
+float quadrado(float x) {
+    return (x * x);
+}
+
+float absoluto(float x) {
+    if ((x < 0.0)) {
+        return (0.0 - x);
+    }
+    return x;
+}
+
+int positivo(float x) {
+    return (x > 0.0);
+}
+
@@ -0,0 +1,8 @@
+#ifndef LV__MODULO_base_H
+#define LV__MODULO_base_H
+
+float quadrado(float x);
+float absoluto(float x);
+int positivo(float x);
+
+#endif
@@ -0,0 +1,22 @@
+#define LV__RT_MODULO
+#include "lovelace_rt.h"
+#include "base.h"
+#include "estat.h"
+
+float media(float soma, float n);
+float desvio(float x, float m);
+void relata(float x);
+
+float media(float soma, float n) {
+    return (soma / n);
+}
+
+float desvio(float x, float m) {
+    return absoluto((x - m));
+}
+
+void relata(float x) {
+    lv__print_float(x);
+    lv__print_int(positivo(x));
+}
+
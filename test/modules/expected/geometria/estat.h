@@ -0,0 +1,8 @@
+#ifndef LV__MODULO_estat_H
+#define LV__MODULO_estat_H
+
+float media(float soma, float n);
+float desvio(float x, float m);
+void relata(float x);
+
+#endif
@@ -0,0 +1,28 @@
+#define LV__RT_PRINCIPAL
+#include "lovelace_rt.h"
+#include "vetor.h"
+#include "estat.h"
+#include "base.h"
+
+float dobro(float x);
+
+float dobro(float x) {
+    return (x + x);
+}
+
+int main() {
+    float i;
+    float s;
+    i = (0.0 - 2.0);
+    s = 0.0;
+    while ((i < 3.0)) {
+        lv__print_float(norma2(i, (i + 1.0)));
+        relata(manhattan(i, 1.0));
+        lv__print_int(positivo(i));
+        s = (s + desvio(i, 0.5));
+        i = (i + 1.0);
+    }
+    lv__print_float(media(s, 5.0));
+    lv__print_float(dobro(s));
+    return 0;
+}
@@ -0,0 +1,16 @@
+#define LV__RT_MODULO
+#include "lovelace_rt.h"
+#include "base.h"
+#include "vetor.h"
+
+float norma2(float x, float y);
+float manhattan(float x, float y);
+
+float norma2(float x, float y) {
+    return (quadrado(x) + quadrado(y));
+}
+
+float manhattan(float x, float y) {
+    return (absoluto(x) + absoluto(y));
+}
+
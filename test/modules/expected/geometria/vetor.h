@@ -0,0 +1,7 @@
+#ifndef LV__MODULO_vetor_H
+#define LV__MODULO_vetor_H
+
+float norma2(float x, float y);
+float manhattan(float x, float y);
+
+#endif